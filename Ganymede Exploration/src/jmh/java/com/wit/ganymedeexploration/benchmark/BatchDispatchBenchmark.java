@@ -0,0 +1,115 @@
+package com.wit.ganymedeexploration.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wit.ganymedeexploration.GanymedeExploration;
+import com.wit.ganymedeexploration.collection.LeaseTable;
+import com.wit.ganymedeexploration.model.command.CommandBatch;
+import com.wit.ganymedeexploration.model.command.CommandContents;
+import com.wit.ganymedeexploration.model.command.ExploreCommandContents;
+import com.wit.ganymedeexploration.service.ExplorationManager;
+
+/**
+ * Measures what {@link GanymedeExploration} does for every command it dispatches: leasing its
+ * room in a {@link LeaseTable}, creating its {@link CommandContents} and adding it to the
+ * {@link CommandBatch} of its batch. Every lease is completed again and the batch cleared for
+ * reuse once it has been built, so the table stays as small as it is during an exploration. One
+ * operation is one command; run with <code>-prof gc</code> to see the bytes every dispatched
+ * command allocates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class BatchDispatchBenchmark {
+	/**
+	 * The number of full batches dispatched by every invocation.
+	 */
+	private static final int BATCH_COUNT = 1000;
+
+	/**
+	 * The number of commands dispatched by every invocation.
+	 */
+	private static final int COMMAND_COUNT = BatchDispatchBenchmark.BATCH_COUNT
+			* ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE;
+
+	/**
+	 * The {@link CommandBatch} every batch is built in.
+	 */
+	private CommandBatch commandBatch;
+
+	/**
+	 * The {@link LeaseTable} every command leases its room in.
+	 */
+	private LeaseTable<CommandBatch> leaseTable;
+
+	/**
+	 * The IDs of the rooms dispatched, as long as those of the stand-in server.
+	 */
+	private String[] roomIds;
+
+	/**
+	 * Dispatches full batches of "explore" commands, one for every room.
+	 *
+	 * @return The number of commands dispatched, so that the work cannot be optimized away.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BatchDispatchBenchmark.COMMAND_COUNT)
+	public int dispatchBatches() {
+		final long nanoTime = System.nanoTime();
+		int commandCount = 0;
+
+		for (int batchIndex = 0; batchIndex < BatchDispatchBenchmark.BATCH_COUNT; batchIndex++) {
+			final CommandBatch commandBatch = this.commandBatch;
+
+			for (int commandIndex = 0; commandIndex < ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE;
+					commandIndex++) {
+				final int room = (batchIndex * ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE)
+						+ commandIndex;
+
+				if (this.leaseTable.acquire(room, true, commandBatch, nanoTime)) {
+					commandBatch.add(new ExploreCommandContents(this.roomIds[room]), room);
+				}
+			}
+
+			for (int commandIndex = 0; commandIndex < commandBatch.size(); commandIndex++) {
+				this.leaseTable.complete(commandBatch.getRoom(commandIndex), true);
+			}
+
+			commandCount += commandBatch.size();
+
+			commandBatch.clear();
+		}
+
+		return commandCount;
+	}
+
+	/**
+	 * Generates the IDs of the rooms to dispatch and creates the {@link LeaseTable} and the
+	 * {@link CommandBatch}.
+	 */
+	@Setup
+	public void setUp() {
+		this.commandBatch = new CommandBatch(ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE);
+		this.leaseTable = new LeaseTable<>(TimeUnit.SECONDS.toNanos(30));
+		this.roomIds = new String[BatchDispatchBenchmark.COMMAND_COUNT];
+
+		for (int room = 0; room < this.roomIds.length; room++) {
+			this.roomIds[room] = String.format("%016x", room);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,236 @@
+package com.wit.ganymedeexploration.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
+import com.wit.ganymedeexploration.collection.HeapRoomIndex;
+import com.wit.ganymedeexploration.collection.RoomIndex;
+import com.wit.ganymedeexploration.model.CommandResult;
+import com.wit.ganymedeexploration.model.adapter.CommandResultTypeAdapter;
+import com.wit.ganymedeexploration.model.adapter.ModelTypeAdapters;
+import com.wit.ganymedeexploration.model.command.CommandContents;
+import com.wit.ganymedeexploration.model.command.ExploreCommandContents;
+import com.wit.ganymedeexploration.model.command.ReadCommandContents;
+import com.wit.ganymedeexploration.service.CommandBatchRequestBody;
+import com.wit.ganymedeexploration.service.ExplorationManager;
+
+import okio.Buffer;
+
+/**
+ * Measures serializing a full batch of commands and deserializing a full batch of
+ * {@link CommandResult}s, comparing Gson's reflective adapters with the streaming ones used by
+ * {@link ExplorationManager}, and writing a batch of commands into a request the way Retrofit's
+ * Gson converter does with the {@link CommandBatchRequestBody} that {@link ExplorationManager}
+ * sends instead. Run with <code>-prof gc</code> to see the bytes allocated by every operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class CommandCodecBenchmark {
+	/**
+	 * The ways in which batches can be serialized and deserialized.
+	 */
+	public static enum Codec {
+		/**
+		 * The streaming adapters, with batches of commands written by a
+		 * {@link CommandBatchRequestBody} rather than by Gson.
+		 */
+		DIRECT,
+
+		/**
+		 * The streaming adapters, interning the IDs of connected rooms into a {@link RoomIndex}
+		 * that already knows them.
+		 */
+		INTERNING,
+
+		/**
+		 * Gson's reflective adapters.
+		 */
+		REFLECTIVE,
+
+		/**
+		 * The streaming adapters, keeping the IDs of connected rooms as they are.
+		 */
+		STREAMING
+	}
+
+	/**
+	 * The number of rooms connected to every explored room within the results.
+	 */
+	private static final int CONNECTED_ROOM_COUNT = 4;
+
+	/**
+	 * The way in which batches are serialized and deserialized.
+	 */
+	@Param({ "REFLECTIVE", "STREAMING", "INTERNING", "DIRECT" })
+	public Codec codec;
+
+	/**
+	 * The buffer every batch of commands is written into, cleared after every write so that its
+	 * segments go back to the pool as they would once a request is sent.
+	 */
+	private final Buffer buffer = new Buffer();
+
+	/**
+	 * The batch of commands to serialize.
+	 */
+	private Map<String, CommandContents> commandIdCommandContents;
+
+	/**
+	 * Used to serialize batches of commands.
+	 */
+	private TypeAdapter<Map<String, CommandContents>> commandIdCommandContentsTypeAdapter;
+
+	/**
+	 * The JSON of the batch of results to deserialize.
+	 */
+	private String commandIdCommandResultsJson;
+
+	/**
+	 * Used to deserialize batches of results.
+	 */
+	private TypeAdapter<Map<String, CommandResult>> commandIdCommandResultsTypeAdapter;
+
+	/**
+	 * Used to create the {@link JsonWriter}s batches of commands are written with.
+	 */
+	private Gson gson;
+
+	/**
+	 * Deserializes a full batch of results.
+	 *
+	 * @return The deserialized results, so that the work cannot be optimized away.
+	 * @throws IOException
+	 *             The JSON could not be read.
+	 */
+	@Benchmark
+	public Map<String, CommandResult> deserializeCommandResults() throws IOException {
+		return this.commandIdCommandResultsTypeAdapter.fromJson(this.commandIdCommandResultsJson);
+	}
+
+	/**
+	 * Serializes a full batch of commands.
+	 *
+	 * @return The serialized commands, so that the work cannot be optimized away.
+	 */
+	@Benchmark
+	public String serializeCommandBatch() {
+		return this.commandIdCommandContentsTypeAdapter.toJson(this.commandIdCommandContents);
+	}
+
+	/**
+	 * Builds a full batch of commands made up of both "read" and "explore" commands, along with the
+	 * JSON of their results.
+	 */
+	@Setup
+	public void setUp() {
+		final CommandResultTypeAdapter commandResultTypeAdapter = new CommandResultTypeAdapter();
+		final RoomIndex roomIndex = new HeapRoomIndex();
+
+		if (this.codec == Codec.REFLECTIVE) {
+			this.gson = new Gson();
+		} else {
+			this.gson = ModelTypeAdapters.createGson(commandResultTypeAdapter);
+		}
+
+		this.commandIdCommandContentsTypeAdapter = this.gson
+				.getAdapter(new TypeToken<Map<String, CommandContents>>() {
+				});
+		this.commandIdCommandResultsTypeAdapter = this.gson
+				.getAdapter(new TypeToken<Map<String, CommandResult>>() {
+				});
+		this.commandIdCommandContents = new HashMap<>();
+
+		final Map<String, CommandResult> commandIdCommandResults = new HashMap<>();
+
+		for (int commandIndex = 0; commandIndex < ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE; commandIndex++) {
+			final String roomId = UUID.randomUUID().toString();
+			final CommandContents commandContents;
+			final CommandResult commandResult;
+
+			if ((commandIndex % 2) == 0) {
+				final List<String> connectedRoomIds = new ArrayList<>();
+
+				for (int connectedRoomIndex = 0; connectedRoomIndex < CommandCodecBenchmark.CONNECTED_ROOM_COUNT; connectedRoomIndex++) {
+					final String connectedRoomId = UUID.randomUUID().toString();
+
+					connectedRoomIds.add(connectedRoomId);
+					roomIndex.index(connectedRoomId);
+				}
+
+				commandContents = new ExploreCommandContents(roomId);
+				commandResult = new CommandResult(connectedRoomIds, null, null, null);
+			} else {
+				commandContents = new ReadCommandContents(roomId);
+				commandResult = new CommandResult(null, "writing", commandIndex, null);
+			}
+
+			final String commandId = commandContents.getCommandId();
+
+			this.commandIdCommandContents.put(commandId, commandContents);
+			commandIdCommandResults.put(commandId, commandResult);
+		}
+
+		this.commandIdCommandResultsJson = this.commandIdCommandResultsTypeAdapter
+				.toJson(commandIdCommandResults);
+
+		if (this.codec == Codec.INTERNING) {
+			commandResultTypeAdapter.setRoomIndex(roomIndex);
+		}
+	}
+
+	/**
+	 * Writes a full batch of commands into a request buffer.
+	 *
+	 * @return The number of bytes written, so that the work cannot be optimized away.
+	 * @throws IOException
+	 *             The batch could not be written.
+	 */
+	@Benchmark
+	public long writeCommandBatch() throws IOException {
+		if (this.codec == Codec.DIRECT) {
+			new CommandBatchRequestBody(this.commandIdCommandContents).writeTo(this.buffer);
+		} else {
+			final Writer writer = new OutputStreamWriter(this.buffer.outputStream(),
+					StandardCharsets.UTF_8);
+			final JsonWriter jsonWriter = this.gson.newJsonWriter(writer);
+
+			this.commandIdCommandContentsTypeAdapter.write(jsonWriter,
+					this.commandIdCommandContents);
+			jsonWriter.close();
+		}
+
+		final long byteCount = this.buffer.size();
+
+		this.buffer.clear();
+
+		return byteCount;
+	}
+}
\ No newline at end of file
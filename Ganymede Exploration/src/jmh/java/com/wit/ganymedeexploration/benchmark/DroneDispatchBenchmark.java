@@ -0,0 +1,167 @@
+package com.wit.ganymedeexploration.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wit.ganymedeexploration.model.Drone;
+import com.wit.ganymedeexploration.service.DroneExecutors;
+
+/**
+ * Measures how quickly each kind of {@link DroneExecutors} hands a batch of commands to a thread,
+ * both one batch at a time and for a wave of batches from many {@link Drone}s with a short
+ * simulated round trip. The number of threads used is printed once each trial is over.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class DroneDispatchBenchmark {
+	/**
+	 * Counts down a {@link CountDownLatch} after simulating a round trip.
+	 */
+	private static final class BatchTask implements Runnable {
+		/**
+		 * The {@link CountDownLatch} to count down.
+		 */
+		private final CountDownLatch countDownLatch;
+
+		/**
+		 * The number of nanoseconds the simulated round trip takes.
+		 */
+		private final long roundTripNanoseconds;
+
+		/**
+		 * Creates a new {@link BatchTask}.
+		 *
+		 * @param countDownLatch
+		 *            The {@link CountDownLatch} to count down.
+		 * @param roundTripNanoseconds
+		 *            The number of nanoseconds the simulated round trip takes.
+		 */
+		public BatchTask(final CountDownLatch countDownLatch, final long roundTripNanoseconds) {
+			this.countDownLatch = countDownLatch;
+			this.roundTripNanoseconds = roundTripNanoseconds;
+		}
+
+		@Override
+		public void run() {
+			if (this.roundTripNanoseconds > 0) {
+				LockSupport.parkNanos(this.roundTripNanoseconds);
+			}
+
+			this.countDownLatch.countDown();
+		}
+	}
+
+	/**
+	 * The number of {@link Drone}s dispatching a batch at the same time within a wave.
+	 */
+	@Param({ "256" })
+	public int droneCount;
+
+	/**
+	 * The kind of {@link Executor} that batches are dispatched to.
+	 */
+	@Param({ "THREAD", "POOL", "VIRTUAL" })
+	public DroneExecutors.Kind kind;
+
+	/**
+	 * The number of microseconds the simulated round trip of a batch takes within a wave.
+	 */
+	@Param({ "100" })
+	public long roundTripMicroseconds;
+
+	/**
+	 * The {@link Executor} that batches are dispatched to.
+	 */
+	private Executor executor;
+
+	/**
+	 * The number of threads started by the JVM before the trial.
+	 */
+	private long startedThreadCount;
+
+	/**
+	 * Used to count the threads in use.
+	 */
+	private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+	/**
+	 * Dispatches a single batch with no round trip and waits for it to have run, measuring the
+	 * dispatch latency.
+	 *
+	 * @throws InterruptedException
+	 *             The wait was interrupted.
+	 */
+	@Benchmark
+	public void dispatch() throws InterruptedException {
+		final CountDownLatch countDownLatch = new CountDownLatch(1);
+
+		this.executor.execute(new BatchTask(countDownLatch, 0));
+
+		countDownLatch.await();
+	}
+
+	/**
+	 * Dispatches a batch from every {@link Drone} and waits for all of them to have returned.
+	 *
+	 * @throws InterruptedException
+	 *             The wait was interrupted.
+	 */
+	@Benchmark
+	public void dispatchWave() throws InterruptedException {
+		final CountDownLatch countDownLatch = new CountDownLatch(this.droneCount);
+		final long roundTripNanoseconds = TimeUnit.MICROSECONDS
+				.toNanos(this.roundTripMicroseconds);
+
+		for (int droneIndex = 0; droneIndex < this.droneCount; droneIndex++) {
+			this.executor.execute(new BatchTask(countDownLatch, roundTripNanoseconds));
+		}
+
+		countDownLatch.await();
+	}
+
+	/**
+	 * Creates the {@link Executor} and resets the thread statistics.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.executor = DroneExecutors.create(this.kind, this.droneCount);
+		this.startedThreadCount = this.threadMXBean.getTotalStartedThreadCount();
+
+		this.threadMXBean.resetPeakThreadCount();
+	}
+
+	/**
+	 * Prints how many threads were used during the trial.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		final long startedThreadCount = this.threadMXBean.getTotalStartedThreadCount()
+				- this.startedThreadCount;
+		final int peakThreadCount = this.threadMXBean.getPeakThreadCount();
+
+		System.out.println(String.format("%s: %d platform threads started, peak of %d live",
+				this.kind, startedThreadCount, peakThreadCount));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.wit.ganymedeexploration.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wit.ganymedeexploration.GanymedeExploration;
+import com.wit.ganymedeexploration.exception.ServerException;
+import com.wit.ganymedeexploration.standin.Labyrinth;
+import com.wit.ganymedeexploration.standin.StandInConfiguration;
+
+/**
+ * Measures a full run of {@link GanymedeExploration}, that is, merging results and building
+ * batches, against a {@link LabyrinthExplorationManager} with zero latency.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class ExplorationBenchmark {
+	/**
+	 * The number of drones exploring the labyrinth.
+	 */
+	@Param({ "1", "8", "64" })
+	public int droneCount;
+
+	/**
+	 * The number of rooms within the labyrinth.
+	 */
+	@Param({ "1000", "10000", "100000" })
+	public long roomCount;
+
+	/**
+	 * The {@link LabyrinthExplorationManager} answering every call.
+	 */
+	private LabyrinthExplorationManager labyrinthExplorationManager;
+
+	/**
+	 * Runs a full exploration.
+	 *
+	 * @return The response to the report, so that the work cannot be optimized away.
+	 * @throws IOException
+	 *             Never, as no network is involved.
+	 * @throws ServerException
+	 *             Never, as no errors are injected.
+	 * @throws InterruptedException
+	 *             The exploration was interrupted.
+	 */
+	@Benchmark
+	public String explore() throws IOException, ServerException, InterruptedException {
+		final GanymedeExploration ganymedeExploration = new GanymedeExploration(
+				this.labyrinthExplorationManager);
+
+		return ganymedeExploration.explore();
+	}
+
+	/**
+	 * Generates the labyrinth to explore.
+	 */
+	@Setup
+	public void setUp() {
+		final StandInConfiguration standInConfiguration = new StandInConfiguration();
+
+		standInConfiguration.setDroneCount(this.droneCount);
+		standInConfiguration.setRoomCount(this.roomCount);
+
+		final Labyrinth labyrinth = new Labyrinth(standInConfiguration);
+
+		this.labyrinthExplorationManager = new LabyrinthExplorationManager(labyrinth);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.wit.ganymedeexploration.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wit.ganymedeexploration.GanymedeExploration;
+import com.wit.ganymedeexploration.collection.Frontier;
+import com.wit.ganymedeexploration.collection.Frontiers;
+import com.wit.ganymedeexploration.exception.ServerException;
+import com.wit.ganymedeexploration.service.ExplorationManager;
+import com.wit.ganymedeexploration.standin.StandInConfiguration;
+import com.wit.ganymedeexploration.standin.StandInServer;
+
+/**
+ * Measures full explorations of a {@link StandInServer} with jittery latency for every
+ * {@link Frontiers.Kind} of {@link Frontier}, printing how idle the drones were on average once
+ * done.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+public class FrontierBenchmark {
+	/**
+	 * The number of drones exploring the labyrinth.
+	 */
+	@Param({ "8", "64" })
+	public int droneCount;
+
+	/**
+	 * The {@link Frontiers.Kind} of {@link Frontier} that drones are handed rooms from.
+	 */
+	@Param({ "SHARED", "PARTITIONED" })
+	public Frontiers.Kind frontierKind;
+
+	/**
+	 * The minimum number of milliseconds that every command takes.
+	 */
+	@Param({ "1" })
+	public double latencyBaseMilliseconds;
+
+	/**
+	 * The mean, in milliseconds, of the exponentially distributed extra latency of every command.
+	 */
+	@Param({ "2" })
+	public double latencyJitterMilliseconds;
+
+	/**
+	 * The number of rooms within the labyrinth.
+	 */
+	@Param({ "5000" })
+	public long roomCount;
+
+	/**
+	 * The sum of the percentages of every exploration that the average drone spent idle.
+	 */
+	private double droneIdlePercentageSum;
+
+	/**
+	 * The number of explorations run.
+	 */
+	private int explorationCount;
+
+	/**
+	 * The {@link ExplorationManager} talking to {@link #standInServer}.
+	 */
+	private ExplorationManager explorationManager;
+
+	/**
+	 * The {@link StandInServer} serving the labyrinth.
+	 */
+	private StandInServer standInServer;
+
+	/**
+	 * Runs a full exploration.
+	 *
+	 * @return The response to the report, so that the work cannot be optimized away.
+	 * @throws IOException
+	 *             A network error occurred.
+	 * @throws ServerException
+	 *             The stand-in server returned an error.
+	 * @throws InterruptedException
+	 *             The exploration was interrupted.
+	 */
+	@Benchmark
+	public String explore() throws IOException, ServerException, InterruptedException {
+		final GanymedeExploration ganymedeExploration = new GanymedeExploration(
+				this.explorationManager);
+
+		ganymedeExploration.setFrontierKind(this.frontierKind);
+
+		final String responseMessage = ganymedeExploration.explore();
+
+		this.droneIdlePercentageSum += ganymedeExploration.getDroneIdlePercentage();
+		this.explorationCount++;
+
+		return responseMessage;
+	}
+
+	/**
+	 * Starts the {@link StandInServer}.
+	 *
+	 * @throws IOException
+	 *             The {@link StandInServer} failed to start.
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		final StandInConfiguration standInConfiguration = new StandInConfiguration();
+
+		standInConfiguration.setDroneCount(this.droneCount);
+		standInConfiguration.setLatencyBaseMilliseconds(this.latencyBaseMilliseconds);
+		standInConfiguration
+				.setLatencyDistribution(StandInConfiguration.LatencyDistribution.EXPONENTIAL);
+		standInConfiguration.setLatencyJitterMilliseconds(this.latencyJitterMilliseconds);
+		standInConfiguration.setRoomCount(this.roomCount);
+
+		this.standInServer = new StandInServer(standInConfiguration);
+
+		this.standInServer.start();
+
+		this.explorationManager = new StandInExplorationManager(this.standInServer);
+	}
+
+	/**
+	 * Stops the {@link StandInServer} and prints how idle the drones were on average.
+	 */
+	@TearDown
+	public void tearDown() {
+		this.standInServer.stop();
+
+		System.out.println(String.format(
+				"%nDrones were idle for %.1f%% of the exploration on average with a %s frontier.",
+				this.droneIdlePercentageSum / Math.max(1, this.explorationCount),
+				this.frontierKind));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.wit.ganymedeexploration.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.wit.ganymedeexploration.model.CommandResult;
+import com.wit.ganymedeexploration.model.ReportDetails;
+import com.wit.ganymedeexploration.model.ReportResponse;
+import com.wit.ganymedeexploration.model.Room;
+import com.wit.ganymedeexploration.model.command.CommandContents;
+import com.wit.ganymedeexploration.model.command.ExploreCommandContents;
+import com.wit.ganymedeexploration.model.command.ReadCommandContents;
+import com.wit.ganymedeexploration.service.CancellationSignal;
+import com.wit.ganymedeexploration.service.ExplorationManager;
+import com.wit.ganymedeexploration.standin.Labyrinth;
+
+/**
+ * An {@link ExplorationManager} that answers every call directly from a {@link Labyrinth} with no
+ * network involved, so that benchmarks measure only the client-side bookkeeping.
+ */
+public class LabyrinthExplorationManager extends ExplorationManager {
+	/**
+	 * The {@link Labyrinth} that answers every call.
+	 */
+	private final Labyrinth labyrinth;
+
+	/**
+	 * Creates a new {@link LabyrinthExplorationManager}.
+	 *
+	 * @param labyrinth
+	 *            The {@link Labyrinth} that answers every call.
+	 */
+	public LabyrinthExplorationManager(final Labyrinth labyrinth) {
+		this.labyrinth = labyrinth;
+	}
+
+	@Override
+	public Map<String, CommandResult> execute(final String droneId,
+			final Map<String, CommandContents> commandIdCommandContents,
+			final CancellationSignal cancellationSignal) {
+		final Map<String, CommandResult> commandIdCommandResults = new HashMap<>();
+
+		for (final Map.Entry<String, CommandContents> commandIdCommandContentsEntry : commandIdCommandContents
+				.entrySet()) {
+			final String commandId = commandIdCommandContentsEntry.getKey();
+			final CommandContents commandContents = commandIdCommandContentsEntry.getValue();
+			final CommandResult commandResult;
+
+			if (commandContents instanceof ExploreCommandContents) {
+				final String roomId = ((ExploreCommandContents) commandContents).getRoomId();
+				final List<String> connectedRoomIds = this.labyrinth.explore(roomId);
+
+				commandResult = new CommandResult(connectedRoomIds, null, null, null);
+			} else {
+				final String roomId = ((ReadCommandContents) commandContents).getRoomId();
+				final Integer order = this.labyrinth.readOrder(roomId);
+				final String writing = this.labyrinth.readWriting(order);
+
+				commandResult = new CommandResult(null, writing, order, null);
+			}
+
+			commandIdCommandResults.put(commandId, commandResult);
+		}
+
+		return commandIdCommandResults;
+	}
+
+	@Override
+	public ReportResponse report(final ReportDetails reportDetails) {
+		final String message = reportDetails.getMessage();
+		final boolean correct = this.labyrinth.getMessage().equals(message);
+
+		return new ReportResponse(correct ? "Correct!" : "Incorrect.");
+	}
+
+	@Override
+	public Room start() {
+		final String startingRoomId = this.labyrinth.getStartingRoomId();
+		final List<String> droneIds = this.labyrinth.getDroneIds();
+
+		return new Room(startingRoomId, droneIds);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,372 @@
+package com.wit.ganymedeexploration.benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.wit.ganymedeexploration.GanymedeExploration;
+import com.wit.ganymedeexploration.metrics.ExplorationMetrics;
+import com.wit.ganymedeexploration.metrics.LatencyHistogram;
+import com.wit.ganymedeexploration.standin.StandInConfiguration;
+import com.wit.ganymedeexploration.standin.StandInServer;
+
+/**
+ * Runs one long exploration of a large {@link StandInServer} and, at a fixed interval, prints the
+ * heap retained right after a full collection, both in all and per completed batch, and the mean
+ * time the coordinating thread took to merge each batch completed within the interval.
+ * <p>
+ * The heap rightly grows with every room found, so only the samples taken once the number of
+ * known rooms has stopped growing are checked. Completed batches are handed over once and then
+ * released, so from then on neither the heap nor the merge time should grow with the number of
+ * batches completed. The check fails, exiting with status 1, if the heap grew by more than a given
+ * number of bytes per batch completed between the first quarter of those samples and the last, if
+ * the merge time grew by more than a given ratio, or if too few of those samples were taken. A
+ * high <code>--branching-factor</code> makes every room known early, leaving most of the run to
+ * check.
+ * <p>
+ * This is not a JMH benchmark, since what matters is how the numbers move over one long run rather
+ * than the average of many short ones.
+ */
+public final class LongRunCheck {
+	/**
+	 * One sample of the exploration.
+	 */
+	private static final class Sample {
+		/**
+		 * The number of batches completed.
+		 */
+		public final long batchCount;
+
+		/**
+		 * The number of {@link com.wit.ganymedeexploration.model.Room}s known.
+		 */
+		public final long knownRoomCount;
+
+		/**
+		 * The mean time, in microseconds, taken to merge each batch completed since the previous
+		 * sample.
+		 */
+		public final double mergeMicroseconds;
+
+		/**
+		 * The number of bytes of heap in use after a full collection, beyond that in use before the
+		 * exploration started.
+		 */
+		public final long retainedHeapBytes;
+
+		/**
+		 * Creates a new {@link Sample}.
+		 *
+		 * @param batchCount
+		 *            The number of batches completed.
+		 * @param knownRoomCount
+		 *            The number of rooms known.
+		 * @param mergeMicroseconds
+		 *            The mean time, in microseconds, taken to merge each batch completed since
+		 *            the previous sample.
+		 * @param retainedHeapBytes
+		 *            The number of bytes of heap retained by the exploration.
+		 */
+		public Sample(final long batchCount, final long knownRoomCount,
+				final double mergeMicroseconds, final long retainedHeapBytes) {
+			this.batchCount = batchCount;
+			this.knownRoomCount = knownRoomCount;
+			this.mergeMicroseconds = mergeMicroseconds;
+			this.retainedHeapBytes = retainedHeapBytes;
+		}
+	}
+
+	/**
+	 * The prefix of the argument setting the number of seconds between two samples.
+	 */
+	private static final String INTERVAL_ARGUMENT_PREFIX = "--interval-seconds=";
+
+	/**
+	 * The prefix of the argument setting how many bytes the heap may grow by per completed batch.
+	 */
+	private static final String MAX_BYTES_PER_BATCH_ARGUMENT_PREFIX = "--max-bytes-per-batch=";
+
+	/**
+	 * The prefix of the argument setting by which ratio the merge time may grow.
+	 */
+	private static final String MAX_MERGE_GROWTH_ARGUMENT_PREFIX = "--max-merge-growth=";
+
+	/**
+	 * Returns the number of bytes of heap in use once garbage has been collected.
+	 *
+	 * @return The number of bytes of heap in use after a full collection.
+	 */
+	private static long getHeapBytesAfterGc() {
+		System.gc();
+
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	/**
+	 * Starts a {@link StandInServer} described by the given arguments, explores it and samples the
+	 * heap and the merge time until the exploration has ended, exiting with status 1 if the check
+	 * fails.
+	 *
+	 * @param args
+	 *            Arguments of the form <code>--name=value</code> as accepted by
+	 *            {@link StandInConfiguration#fromArguments(String[])}, optionally with
+	 *            <code>--interval-seconds=N</code> to sample every N seconds rather than every 5,
+	 *            <code>--max-bytes-per-batch=N</code> to let the heap grow by N bytes per
+	 *            completed batch rather than 64 and <code>--max-merge-growth=X</code> to let the
+	 *            merge time grow by a ratio of X rather than 1.5.
+	 * @throws IOException
+	 *             The server could not be started.
+	 * @throws InterruptedException
+	 *             Interrupted while waiting for the exploration.
+	 * @throws ExecutionException
+	 *             The exploration failed.
+	 */
+	public static void main(final String[] args) throws IOException, InterruptedException,
+			ExecutionException {
+		final List<String> arguments = new ArrayList<>(Arrays.asList(args));
+		long intervalSeconds = 5;
+		double maximumBytesPerBatch = 64;
+		double maximumMergeGrowth = 1.5;
+
+		for (final Iterator<String> iterator = arguments.iterator(); iterator.hasNext();) {
+			final String argument = iterator.next();
+
+			if (argument.startsWith(LongRunCheck.INTERVAL_ARGUMENT_PREFIX)) {
+				intervalSeconds = Long.parseLong(
+						argument.substring(LongRunCheck.INTERVAL_ARGUMENT_PREFIX.length()));
+
+				iterator.remove();
+			} else if (argument.startsWith(LongRunCheck.MAX_BYTES_PER_BATCH_ARGUMENT_PREFIX)) {
+				maximumBytesPerBatch = Double.parseDouble(argument
+						.substring(LongRunCheck.MAX_BYTES_PER_BATCH_ARGUMENT_PREFIX.length()));
+
+				iterator.remove();
+			} else if (argument.startsWith(LongRunCheck.MAX_MERGE_GROWTH_ARGUMENT_PREFIX)) {
+				maximumMergeGrowth = Double.parseDouble(argument
+						.substring(LongRunCheck.MAX_MERGE_GROWTH_ARGUMENT_PREFIX.length()));
+
+				iterator.remove();
+			}
+		}
+
+		final StandInConfiguration standInConfiguration = StandInConfiguration
+				.fromArguments(arguments.toArray(new String[arguments.size()]));
+		final StandInServer standInServer = new StandInServer(standInConfiguration);
+		final boolean passed;
+
+		standInServer.start();
+
+		try {
+			final LongRunCheck longRunCheck = new LongRunCheck(new GanymedeExploration(
+					new StandInExplorationManager(standInServer)));
+
+			System.out.println(String.format("Exploring %d rooms with %d drones",
+					standInConfiguration.getRoomCount(), standInConfiguration.getDroneCount()));
+
+			passed = longRunCheck.run(intervalSeconds, maximumBytesPerBatch, maximumMergeGrowth);
+		} finally {
+			standInServer.stop();
+		}
+
+		if (!passed) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * The number of bytes of heap in use after a full collection before the exploration started,
+	 * including the labyrinth of the {@link StandInServer}.
+	 */
+	private long baselineHeapBytes;
+
+	/**
+	 * The number of batches completed when the previous sample was taken.
+	 */
+	private long batchCount = 0;
+
+	/**
+	 * The {@link GanymedeExploration} being sampled.
+	 */
+	private final GanymedeExploration ganymedeExploration;
+
+	/**
+	 * The number of merges recorded when the previous sample was taken.
+	 */
+	private long mergeCount = 0;
+
+	/**
+	 * The number of nanoseconds spent merging when the previous sample was taken.
+	 */
+	private double mergeNanoseconds = 0;
+
+	/**
+	 * The {@link System#nanoTime()} at which sampling started.
+	 */
+	private long startNanoTime;
+
+	/**
+	 * Creates a new {@link LongRunCheck}.
+	 *
+	 * @param ganymedeExploration
+	 *            The {@link GanymedeExploration} to run and sample.
+	 */
+	private LongRunCheck(final GanymedeExploration ganymedeExploration) {
+		this.ganymedeExploration = ganymedeExploration;
+	}
+
+	/**
+	 * Runs the exploration on a thread of its own and samples it at the given interval until it
+	 * has ended, then compares the first quarter of the samples taken once every room was known
+	 * with the last.
+	 *
+	 * @param intervalSeconds
+	 *            The number of seconds between two samples.
+	 * @param maximumBytesPerBatch
+	 *            The number of bytes the heap may grow by per completed batch.
+	 * @param maximumMergeGrowth
+	 *            The ratio by which the merge time may grow.
+	 * @return Whether the check passed.
+	 * @throws InterruptedException
+	 *             Interrupted while waiting for the exploration.
+	 * @throws ExecutionException
+	 *             The exploration failed.
+	 */
+	private boolean run(final long intervalSeconds, final double maximumBytesPerBatch,
+			final double maximumMergeGrowth) throws InterruptedException, ExecutionException {
+		final FutureTask<String> explorationTask = new FutureTask<>(new Callable<String>() {
+			@Override
+			public String call() throws Exception {
+				return LongRunCheck.this.ganymedeExploration.explore();
+			}
+		});
+		final Thread explorationThread = new Thread(explorationTask, "ganymede-long-run");
+		final List<Sample> samples = new ArrayList<>();
+
+		explorationThread.setDaemon(true);
+
+		this.baselineHeapBytes = LongRunCheck.getHeapBytesAfterGc();
+		this.startNanoTime = System.nanoTime();
+
+		explorationThread.start();
+
+		while (!explorationTask.isDone()) {
+			try {
+				explorationTask.get(intervalSeconds, TimeUnit.SECONDS);
+			} catch (final TimeoutException timeoutException) {
+				samples.add(this.sample());
+			}
+		}
+
+		final String responseMessage = explorationTask.get();
+		final List<Sample> settledSamples = new ArrayList<>();
+		final boolean passed;
+
+		if (!samples.isEmpty()) {
+			final long knownRoomCount = samples.get(samples.size() - 1).knownRoomCount;
+
+			for (final Sample sample : samples) {
+				if (sample.knownRoomCount == knownRoomCount) {
+					settledSamples.add(sample);
+				}
+			}
+		}
+
+		System.out.println(responseMessage);
+
+		if (settledSamples.size() < 4) {
+			System.out.println(String.format("FAILED: only %d samples were taken once every room "
+					+ "was known, rather than at least four; explore more rooms, sample more often "
+					+ "or raise --branching-factor.", settledSamples.size()));
+
+			passed = false;
+		} else {
+			final int quarterSize = settledSamples.size() / 4;
+			final List<Sample> firstQuarter = settledSamples.subList(0, quarterSize);
+			final List<Sample> lastQuarter = settledSamples.subList(settledSamples.size()
+					- quarterSize, settledSamples.size());
+			double firstBatchCount = 0;
+			double firstHeapBytes = 0;
+			double firstMergeMicroseconds = 0;
+			double lastBatchCount = 0;
+			double lastHeapBytes = 0;
+			double lastMergeMicroseconds = 0;
+
+			for (final Sample sample : firstQuarter) {
+				firstBatchCount += sample.batchCount / (double) quarterSize;
+				firstHeapBytes += sample.retainedHeapBytes / (double) quarterSize;
+				firstMergeMicroseconds += sample.mergeMicroseconds / quarterSize;
+			}
+
+			for (final Sample sample : lastQuarter) {
+				lastBatchCount += sample.batchCount / (double) quarterSize;
+				lastHeapBytes += sample.retainedHeapBytes / (double) quarterSize;
+				lastMergeMicroseconds += sample.mergeMicroseconds / quarterSize;
+			}
+
+			final double bytesPerBatch = (lastHeapBytes - firstHeapBytes)
+					/ Math.max(1, lastBatchCount - firstBatchCount);
+			final double mergeGrowth = lastMergeMicroseconds / firstMergeMicroseconds;
+
+			System.out.println(String.format("Of %d samples, %d were taken once every room was "
+					+ "known, over %.0f batches between their first quarter and their last.",
+					samples.size(), settledSamples.size(), lastBatchCount - firstBatchCount));
+			System.out.println(String.format("Retained heap went from %.1f MB to %.1f MB "
+					+ "(%.2fx), %.1f bytes per completed batch (at most %.1f).",
+					firstHeapBytes / (1024 * 1024), lastHeapBytes / (1024 * 1024),
+					lastHeapBytes / firstHeapBytes, bytesPerBatch, maximumBytesPerBatch));
+			System.out.println(String.format("Merge time per completed batch went from %.1f us "
+					+ "to %.1f us (%.2fx, at most %.2fx).", firstMergeMicroseconds,
+					lastMergeMicroseconds, mergeGrowth, maximumMergeGrowth));
+
+			passed = (bytesPerBatch <= maximumBytesPerBatch)
+					&& (mergeGrowth <= maximumMergeGrowth);
+
+			System.out.println(passed ? "PASSED" : "FAILED");
+		}
+
+		return passed;
+	}
+
+	/**
+	 * Prints one sample of the heap and the merge time.
+	 *
+	 * @return The sample.
+	 */
+	private Sample sample() {
+		final long retainedHeapBytes = LongRunCheck.getHeapBytesAfterGc()
+				- this.baselineHeapBytes;
+		final ExplorationMetrics explorationMetrics = this.ganymedeExploration
+				.getExplorationMetrics();
+		final LatencyHistogram mergeHistogram = explorationMetrics.getMergeHistogram();
+		final long batchCount = explorationMetrics.getBatchCount();
+		final long mergeCount = mergeHistogram.getCount();
+		final double mergeNanoseconds = mergeHistogram.getMeanNanoseconds() * mergeCount;
+		final long knownRoomCount = explorationMetrics.getExploredRoomCount()
+				+ explorationMetrics.getUnexploredFrontierSize();
+		final double intervalMergeMicroseconds = ((mergeNanoseconds - this.mergeNanoseconds)
+				/ Math.max(1, mergeCount - this.mergeCount)) / 1000;
+
+		System.out.println(String.format(
+				"%5d s: %9d batches (+%7d), %9d rooms known, retained heap after GC %7.1f MB "
+						+ "(%5.0f B/batch), merge %6.1f us",
+				TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - this.startNanoTime),
+				batchCount, batchCount - this.batchCount, knownRoomCount,
+				retainedHeapBytes / (1024.0 * 1024.0),
+				retainedHeapBytes / (double) Math.max(1, batchCount), intervalMergeMicroseconds));
+
+		this.batchCount = batchCount;
+		this.mergeCount = mergeCount;
+		this.mergeNanoseconds = mergeNanoseconds;
+
+		return new Sample(batchCount, knownRoomCount, intervalMergeMicroseconds,
+				retainedHeapBytes);
+	}
+}
\ No newline at end of file
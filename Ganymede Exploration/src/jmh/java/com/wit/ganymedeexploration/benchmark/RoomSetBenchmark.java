@@ -0,0 +1,97 @@
+package com.wit.ganymedeexploration.benchmark;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wit.ganymedeexploration.collection.IntSetQueue;
+import com.wit.ganymedeexploration.collection.RoomIndex;
+import com.wit.ganymedeexploration.collection.RoomIndexes;
+
+/**
+ * Measures the room-set operations performed for every room during an exploration: indexing its
+ * ID, queuing it (twice, as rooms are usually reached from more than one neighbour) and finally
+ * dispatching it, for every {@link RoomIndexes.Kind} of {@link RoomIndex}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class RoomSetBenchmark {
+	/**
+	 * The {@link RoomIndexes.Kind} of {@link RoomIndex} the IDs are indexed into.
+	 */
+	@Param({ "HEAP", "OFF_HEAP", "FILTERED" })
+	public RoomIndexes.Kind kind;
+
+	/**
+	 * The number of distinct rooms.
+	 */
+	@Param({ "1000", "10000", "100000", "1000000", "10000000" })
+	public int roomCount;
+
+	/**
+	 * The IDs of the rooms.
+	 */
+	private String[] roomIds;
+
+	/**
+	 * Indexes, queues and dispatches every room.
+	 *
+	 * @return The number of rooms dispatched, so that the work cannot be optimized away.
+	 * @throws IOException
+	 *             The stores of the {@link RoomIndex} could not be created.
+	 */
+	@Benchmark
+	public int indexQueueAndDispatch() throws IOException {
+		final RoomIndex roomIndex = RoomIndexes.create(this.kind, this.roomCount);
+		final BitSet exploredRooms = new BitSet();
+		final IntSetQueue unexploredRooms = new IntSetQueue();
+
+		for (int repetition = 0; repetition < 2; repetition++) {
+			for (final String roomId : this.roomIds) {
+				final int room = roomIndex.index(roomId);
+
+				if (!exploredRooms.get(room)) {
+					unexploredRooms.offer(room);
+				}
+			}
+		}
+
+		while (!unexploredRooms.isEmpty()) {
+			exploredRooms.set(unexploredRooms.poll());
+		}
+
+		roomIndex.close();
+
+		return exploredRooms.cardinality();
+	}
+
+	/**
+	 * Generates the IDs of the rooms.
+	 */
+	@Setup
+	public void setUp() {
+		this.roomIds = new String[this.roomCount];
+
+		for (int room = 0; room < this.roomCount; room++) {
+			final long scrambledRoom = room * 0x9e3779b97f4a7c15L;
+
+			this.roomIds[room] = String.format("%016x", scrambledRoom);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.wit.ganymedeexploration.benchmark;
+
+import com.wit.ganymedeexploration.service.ExplorationManager;
+import com.wit.ganymedeexploration.standin.StandInServer;
+
+/**
+ * An {@link ExplorationManager} talking to a {@link StandInServer}, so that benchmarks include the
+ * network and the stand-in's simulated latency.
+ */
+public class StandInExplorationManager extends ExplorationManager {
+	/**
+	 * Creates a new {@link StandInExplorationManager}.
+	 *
+	 * @param standInServer
+	 *            The {@link StandInServer} to talk to, which must have been started.
+	 */
+	public StandInExplorationManager(final StandInServer standInServer) {
+		super(standInServer.getBaseUrl());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,508 @@
+package com.wit.ganymedeexploration;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import com.wit.ganymedeexploration.collection.Frontiers;
+import com.wit.ganymedeexploration.planner.BatchPlanners;
+import com.wit.ganymedeexploration.service.DroneExecutors;
+import com.wit.ganymedeexploration.service.ExplorationManager;
+import com.wit.ganymedeexploration.service.TransportConfiguration;
+
+/**
+ * Keeps one {@link ExplorationManager} and one {@link Executor} warm in a long-running JVM and
+ * runs exploration jobs back to back as they arrive over a local socket, so that only the first
+ * job pays for class loading, building the Retrofit proxy, warming up Gson and compiling the hot
+ * paths. Every job is a fresh {@link GanymedeExploration}, of the labyrinth the
+ * {@link ExplorationManager} talks to unless the job names another.
+ * <p>
+ * Every line sent to the daemon is a job: its name, optionally followed by settings of the form
+ * <code>key=value</code>, separated by spaces, namely <code>baseUrl</code>,
+ * <code>messageFile</code>, <code>planner</code> and <code>frontier</code>. A job naming a base
+ * URL explores that labyrinth through an {@link ExplorationManager} of its own, kept warm for
+ * later jobs naming the same one, and sharing the connection pool of the daemon's
+ * {@link TransportConfiguration}, much as {@link ExplorationSessions} do. Every line is answered
+ * once the job has ended with a line of the form
+ * <code>OK &lt;milliseconds&gt; &lt;batches&gt; &lt;message&gt;</code>, or
+ * <code>FAILED &lt;milliseconds&gt; &lt;error&gt;</code>. Jobs sent over several connections at
+ * once still run one at a time.
+ */
+public final class ExplorationDaemon implements Closeable, Runnable {
+	/**
+	 * A job as sent to the daemon, with the settings it overrides.
+	 */
+	private static final class Job {
+		/**
+		 * Parses a job out of a line sent to the daemon.
+		 *
+		 * @param jobLine
+		 *            The line, holding the name of the job optionally followed by settings.
+		 * @return The parsed {@link Job}.
+		 * @throws IllegalArgumentException
+		 *             A setting is unknown, malformed or has an unknown value.
+		 */
+		public static Job parse(final String jobLine) {
+			final String[] jobParts = jobLine.split("\\s+");
+			final Job job = new Job(jobParts[0]);
+
+			for (int partIndex = 1; partIndex < jobParts.length; partIndex++) {
+				final String setting = jobParts[partIndex];
+				final int separatorIndex = setting.indexOf('=');
+
+				if (separatorIndex <= 0) {
+					throw new IllegalArgumentException(String.format(
+							"Setting \"%s\" is not of the form key=value.", setting));
+				}
+
+				final String key = setting.substring(0, separatorIndex);
+				final String value = setting.substring(separatorIndex + 1);
+
+				switch (key) {
+				case ExplorationDaemon.BASE_URL_SETTING:
+					job.baseUrl = value;
+					break;
+				case ExplorationDaemon.FRONTIER_SETTING:
+					job.frontierKind = Frontiers.Kind.valueOf(value.toUpperCase());
+					break;
+				case ExplorationDaemon.MESSAGE_FILE_SETTING:
+					job.messageFile = new File(value);
+					break;
+				case ExplorationDaemon.PLANNER_SETTING:
+					job.batchPlannerKind = BatchPlanners.Kind.valueOf(value.toUpperCase());
+					break;
+				default:
+					throw new IllegalArgumentException(String.format("Unknown setting \"%s\".",
+							key));
+				}
+			}
+
+			return job;
+		}
+
+		/**
+		 * The base URL of the labyrinth to explore, or <code>null</code> for that of the daemon.
+		 */
+		private String baseUrl;
+
+		/**
+		 * The {@link BatchPlanners.Kind} of planner to compose batches with, or
+		 * <code>null</code> for the default.
+		 */
+		private BatchPlanners.Kind batchPlannerKind;
+
+		/**
+		 * The {@link Frontiers.Kind} of frontier to hand rooms out from, or <code>null</code> for
+		 * the default.
+		 */
+		private Frontiers.Kind frontierKind;
+
+		/**
+		 * The file to write the message to, or <code>null</code> for the default.
+		 */
+		private File messageFile;
+
+		/**
+		 * The name of the job, which tells it apart in the output of the daemon.
+		 */
+		private final String name;
+
+		/**
+		 * Creates a new {@link Job} overriding no settings.
+		 *
+		 * @param name
+		 *            The name of the job.
+		 */
+		private Job(final String name) {
+			this.name = name;
+		}
+	}
+
+	/**
+	 * The setting of a job naming the base URL of the labyrinth to explore.
+	 */
+	public static final String BASE_URL_SETTING = "baseUrl";
+
+	/**
+	 * The port the daemon listens on, unless overridden.
+	 */
+	public static final int DEFAULT_PORT = 7373;
+
+	/**
+	 * The reply prefix of a job that failed.
+	 */
+	private static final String FAILED_REPLY_PREFIX = "FAILED";
+
+	/**
+	 * The setting of a job naming the {@link Frontiers.Kind} of frontier to use.
+	 */
+	public static final String FRONTIER_SETTING = "frontier";
+
+	/**
+	 * The setting of a job naming the file to write the message to.
+	 */
+	public static final String MESSAGE_FILE_SETTING = "messageFile";
+
+	/**
+	 * The reply prefix of a job that succeeded.
+	 */
+	private static final String OK_REPLY_PREFIX = "OK";
+
+	/**
+	 * The setting of a job naming the {@link BatchPlanners.Kind} of planner to use.
+	 */
+	public static final String PLANNER_SETTING = "planner";
+
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_PORT}. Setting it to 0 picks
+	 * any free port.
+	 */
+	public static final String PORT_PROPERTY = "ganymede.daemonPort";
+
+	/**
+	 * Returns the number of milliseconds taken by a job, out of a reply from the daemon.
+	 *
+	 * @param reply
+	 *            The reply to a job.
+	 * @return The number of milliseconds the job took.
+	 */
+	public static long getElapsedMilliseconds(final String reply) {
+		final String[] replyParts = reply.split(" ", 3);
+
+		return Long.parseLong(replyParts[1]);
+	}
+
+	/**
+	 * Returns whether a reply from the daemon is that of a job that succeeded.
+	 *
+	 * @param reply
+	 *            The reply to a job.
+	 * @return Whether the job succeeded.
+	 */
+	public static boolean isOk(final String reply) {
+		return reply.startsWith(ExplorationDaemon.OK_REPLY_PREFIX + " ");
+	}
+
+	/**
+	 * The entry-point for the daemon, which listens on the port given by the
+	 * {@link #PORT_PROPERTY} system property until the JVM is stopped.
+	 *
+	 * @param args
+	 *            Unused.
+	 * @throws IOException
+	 *             The port could not be listened on.
+	 */
+	public static void main(final String[] args) throws IOException {
+		final long startNanoTime = System.nanoTime();
+		final ExplorationDaemon explorationDaemon = new ExplorationDaemon(
+				ExplorationManager.getInstance(), DroneExecutors.getDefault(),
+				Integer.getInteger(ExplorationDaemon.PORT_PROPERTY,
+						ExplorationDaemon.DEFAULT_PORT));
+
+		System.out.println(String.format("Accepting exploration jobs on port %d after %d ms.",
+				explorationDaemon.getPort(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanoTime)));
+
+		explorationDaemon.run();
+	}
+
+	/**
+	 * Sends a job to a daemon on this machine and waits for it to end.
+	 *
+	 * @param port
+	 *            The port the daemon listens on.
+	 * @param job
+	 *            The job: its name, which tells it apart in the output of the daemon, optionally
+	 *            followed by settings of the form <code>key=value</code>.
+	 * @return The reply of the daemon.
+	 * @throws IOException
+	 *             The daemon could not be reached, or closed the connection without replying.
+	 */
+	public static String submit(final int port, final String job) throws IOException {
+		try (final Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+			final PrintWriter printWriter = new PrintWriter(new OutputStreamWriter(
+					socket.getOutputStream(), StandardCharsets.UTF_8));
+			final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(
+					socket.getInputStream(), StandardCharsets.UTF_8));
+
+			printWriter.println(job);
+			printWriter.flush();
+
+			final String reply = bufferedReader.readLine();
+
+			if (reply == null) {
+				throw new IOException("The daemon closed the connection without replying.");
+			}
+
+			return reply;
+		}
+	}
+
+	/**
+	 * The {@link Executor} every job's {@link com.wit.ganymedeexploration.model.Drone}s run their
+	 * batches of commands on.
+	 */
+	private final Executor executor;
+
+	/**
+	 * The {@link ExplorationManager} every job not naming a base URL talks to the labyrinth
+	 * through.
+	 */
+	private final ExplorationManager explorationManager;
+
+	/**
+	 * The {@link ExplorationManager}s of the jobs naming a base URL, by base URL.
+	 */
+	private final Map<String, ExplorationManager> explorationManagers = new HashMap<>();
+
+	/**
+	 * The number of jobs run so far.
+	 */
+	private int jobCount = 0;
+
+	/**
+	 * The socket jobs are accepted on.
+	 */
+	private final ServerSocket serverSocket;
+
+	/**
+	 * The {@link TransportConfiguration} that the {@link TransportConfiguration} of every job
+	 * naming a base URL is derived from.
+	 */
+	private final TransportConfiguration transportConfiguration;
+
+	/**
+	 * Creates a new {@link ExplorationDaemon}, listening on the loopback address only, whose jobs
+	 * naming a base URL share the default {@link TransportConfiguration}.
+	 *
+	 * @param explorationManager
+	 *            The {@link ExplorationManager} every job not naming a base URL talks to the
+	 *            labyrinth through.
+	 * @param executor
+	 *            The {@link Executor} every job's {@link com.wit.ganymedeexploration.model.Drone}s
+	 *            run their batches of commands on.
+	 * @param port
+	 *            The port to listen on, or 0 to pick any free port.
+	 * @throws IOException
+	 *             The port could not be listened on.
+	 */
+	public ExplorationDaemon(final ExplorationManager explorationManager,
+			final Executor executor, final int port) throws IOException {
+		this(explorationManager, TransportConfiguration.getDefault(), executor, port);
+	}
+
+	/**
+	 * Creates a new {@link ExplorationDaemon}, listening on the loopback address only.
+	 *
+	 * @param explorationManager
+	 *            The {@link ExplorationManager} every job not naming a base URL talks to the
+	 *            labyrinth through.
+	 * @param transportConfiguration
+	 *            The {@link TransportConfiguration} that the {@link TransportConfiguration} of
+	 *            every job naming a base URL is derived from.
+	 * @param executor
+	 *            The {@link Executor} every job's {@link com.wit.ganymedeexploration.model.Drone}s
+	 *            run their batches of commands on.
+	 * @param port
+	 *            The port to listen on, or 0 to pick any free port.
+	 * @throws IOException
+	 *             The port could not be listened on.
+	 */
+	public ExplorationDaemon(final ExplorationManager explorationManager,
+			final TransportConfiguration transportConfiguration, final Executor executor,
+			final int port) throws IOException {
+		this.explorationManager = explorationManager;
+		this.transportConfiguration = transportConfiguration;
+		this.executor = executor;
+		this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+	}
+
+	/**
+	 * Stops accepting jobs. A job already running is left to end.
+	 *
+	 * @throws IOException
+	 *             The socket could not be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.serverSocket.close();
+	}
+
+	/**
+	 * Creates the {@link GanymedeExploration} running a job, configured as the job says.
+	 *
+	 * @param job
+	 *            The job.
+	 * @return The {@link GanymedeExploration} running the job.
+	 */
+	private GanymedeExploration createExploration(final Job job) {
+		final ExplorationManager explorationManager = (job.baseUrl == null)
+				? this.explorationManager : this.getExplorationManager(job.baseUrl);
+		final GanymedeExploration ganymedeExploration = new GanymedeExploration(
+				explorationManager, this.executor);
+
+		if (job.batchPlannerKind != null) {
+			ganymedeExploration.setBatchPlanner(BatchPlanners.create(job.batchPlannerKind));
+		}
+
+		if (job.frontierKind != null) {
+			ganymedeExploration.setFrontierKind(job.frontierKind);
+		}
+
+		if (job.messageFile != null) {
+			ganymedeExploration.setMessageFile(job.messageFile);
+		}
+
+		return ganymedeExploration;
+	}
+
+	/**
+	 * Returns the {@link ExplorationManager} of the labyrinth at the given base URL, creating it
+	 * for the first job naming that base URL and keeping it warm for the next ones.
+	 *
+	 * @param baseUrl
+	 *            The base URL of the labyrinth.
+	 * @return The {@link ExplorationManager} of the labyrinth.
+	 */
+	private ExplorationManager getExplorationManager(final String baseUrl) {
+		ExplorationManager explorationManager = this.explorationManagers.get(baseUrl);
+
+		if (explorationManager == null) {
+			final TransportConfiguration jobTransportConfiguration = this.transportConfiguration
+					.derive();
+
+			jobTransportConfiguration.setBaseUrl(baseUrl);
+
+			explorationManager = new ExplorationManager(jobTransportConfiguration);
+
+			this.explorationManagers.put(baseUrl, explorationManager);
+		}
+
+		return explorationManager;
+	}
+
+	/**
+	 * Returns the port the daemon listens on.
+	 *
+	 * @return The port the daemon listens on.
+	 */
+	public int getPort() {
+		return this.serverSocket.getLocalPort();
+	}
+
+	/**
+	 * Accepts connections until the daemon is closed, reading each on a thread of its own.
+	 */
+	@Override
+	public void run() {
+		try {
+			while (true) {
+				final Socket socket = this.serverSocket.accept();
+				final Thread connectionThread = new Thread(new Runnable() {
+					@Override
+					public void run() {
+						ExplorationDaemon.this.serve(socket);
+					}
+				}, "ganymede-daemon-connection");
+
+				connectionThread.setDaemon(true);
+				connectionThread.start();
+			}
+		} catch (final IOException ioException) {
+			if (!this.serverSocket.isClosed()) {
+				System.err.println("Failed to accept exploration jobs; no longer accepting any.");
+				ioException.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Runs a job, once every job sent before it has ended, and prints how it went.
+	 *
+	 * @param jobLine
+	 *            The line sent for the job, holding its name optionally followed by settings.
+	 * @return The reply to the job.
+	 */
+	private synchronized String runJob(final String jobLine) {
+		final long startNanoTime = System.nanoTime();
+		final String jobName = jobLine.split("\\s+", 2)[0];
+		GanymedeExploration ganymedeExploration = null;
+		String responseMessage = null;
+		Exception failure = null;
+
+		this.jobCount++;
+
+		try {
+			ganymedeExploration = this.createExploration(Job.parse(jobLine));
+			responseMessage = ganymedeExploration.explore();
+		} catch (final Exception exception) {
+			failure = exception;
+		}
+
+		final long elapsedMilliseconds = TimeUnit.NANOSECONDS
+				.toMillis(System.nanoTime() - startNanoTime);
+		final String reply;
+
+		if (failure == null) {
+			System.out.println(String.format(
+					"[%s] Job %d sent %d batches of commands in %d ms.", jobName,
+					this.jobCount, ganymedeExploration.getBatchCount(), elapsedMilliseconds));
+
+			reply = String.format("%s %d %d %s", ExplorationDaemon.OK_REPLY_PREFIX,
+					elapsedMilliseconds, ganymedeExploration.getBatchCount(),
+					String.valueOf(responseMessage).replace('\n', ' '));
+		} else {
+			System.out.println(String.format("[%s] Job %d failed after %d ms.", jobName,
+					this.jobCount, elapsedMilliseconds));
+			failure.printStackTrace();
+
+			reply = String.format("%s %d %s", ExplorationDaemon.FAILED_REPLY_PREFIX,
+					elapsedMilliseconds, String.valueOf(failure).replace('\n', ' '));
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Runs every job sent over a connection, replying to each once it has ended, until the
+	 * connection is closed.
+	 *
+	 * @param socket
+	 *            The connection.
+	 */
+	private void serve(final Socket socket) {
+		try (final Socket connectionSocket = socket) {
+			final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(
+					connectionSocket.getInputStream(), StandardCharsets.UTF_8));
+			final PrintWriter printWriter = new PrintWriter(new OutputStreamWriter(
+					connectionSocket.getOutputStream(), StandardCharsets.UTF_8));
+			String jobLine = bufferedReader.readLine();
+
+			while (jobLine != null) {
+				if (!jobLine.trim().isEmpty()) {
+					printWriter.println(this.runJob(jobLine.trim()));
+					printWriter.flush();
+				}
+
+				jobLine = bufferedReader.readLine();
+			}
+		} catch (final SocketException socketException) {
+			// The client went away; any job it sent has run regardless.
+		} catch (final IOException ioException) {
+			ioException.printStackTrace();
+		}
+	}
+}
\ No newline at end of file
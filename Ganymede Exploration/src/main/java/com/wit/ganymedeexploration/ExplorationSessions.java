@@ -0,0 +1,302 @@
+package com.wit.ganymedeexploration;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.wit.ganymedeexploration.model.Drone;
+import com.wit.ganymedeexploration.service.DroneExecutors;
+import com.wit.ganymedeexploration.service.ExplorationManager;
+import com.wit.ganymedeexploration.service.FairExecutor;
+import com.wit.ganymedeexploration.service.TransportConfiguration;
+
+/**
+ * Runs several explorations of different labyrinths at once within a single JVM. Every session
+ * has its own {@link ExplorationManager}, state and {@link Drone}s, while all of them share one
+ * connection pool and one {@link java.util.concurrent.Executor}, on which their batches of
+ * commands take turns through a {@link FairExecutor}. Batches sent asynchronously, as set through
+ * {@link Drone#ASYNCHRONOUS_PROPERTY}, take those turns too, each holding its own until its
+ * response has arrived.
+ */
+public final class ExplorationSessions {
+	/**
+	 * A single exploration run by {@link ExplorationSessions}.
+	 */
+	public static final class Session implements Runnable {
+		/**
+		 * How long the exploration took, in nanoseconds, once it has ended.
+		 */
+		private long elapsedNanoseconds;
+
+		/**
+		 * What failed the exploration, if it failed.
+		 */
+		private Exception failure;
+
+		/**
+		 * The exploration itself.
+		 */
+		private final GanymedeExploration ganymedeExploration;
+
+		/**
+		 * The name of the session, which tells it apart in the metrics and output.
+		 */
+		private final String name;
+
+		/**
+		 * The message returned once the exploration succeeded.
+		 */
+		private String responseMessage;
+
+		/**
+		 * Creates a new {@link Session}.
+		 *
+		 * @param name
+		 *            The name of the session.
+		 * @param ganymedeExploration
+		 *            The exploration itself.
+		 */
+		private Session(final String name, final GanymedeExploration ganymedeExploration) {
+			this.name = name;
+			this.ganymedeExploration = ganymedeExploration;
+		}
+
+		/**
+		 * Returns how long the exploration took, once it has ended.
+		 *
+		 * @return How long the exploration took, in nanoseconds.
+		 */
+		public long getElapsedNanoseconds() {
+			return this.elapsedNanoseconds;
+		}
+
+		/**
+		 * Returns what failed the exploration, if it failed.
+		 *
+		 * @return What failed the exploration, or <code>null</code> if it did not fail.
+		 */
+		public Exception getFailure() {
+			return this.failure;
+		}
+
+		/**
+		 * Returns the exploration itself, which may be configured until the sessions are run.
+		 *
+		 * @return The exploration itself.
+		 */
+		public GanymedeExploration getGanymedeExploration() {
+			return this.ganymedeExploration;
+		}
+
+		/**
+		 * Returns the name of the session.
+		 *
+		 * @return The name of the session.
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Returns the message returned once the exploration succeeded.
+		 *
+		 * @return The message returned, or <code>null</code> if the exploration has not succeeded.
+		 */
+		public String getResponseMessage() {
+			return this.responseMessage;
+		}
+
+		@Override
+		public void run() {
+			final long startNanoTime = System.nanoTime();
+
+			try {
+				this.responseMessage = this.ganymedeExploration.explore();
+			} catch (final Exception exception) {
+				this.failure = exception;
+			} finally {
+				this.elapsedNanoseconds = System.nanoTime() - startNanoTime;
+			}
+		}
+	}
+
+	/**
+	 * Returns the given file with the name of a session added before its extension, so that
+	 * sessions configured alike do not write over each other's files.
+	 *
+	 * @param file
+	 *            The file configured for every session, if any.
+	 * @param name
+	 *            The name of the session.
+	 * @return The file of the session, or <code>null</code> if none is configured.
+	 */
+	private static File getSessionFile(final File file, final String name) {
+		final File sessionFile;
+
+		if (file == null) {
+			sessionFile = null;
+		} else {
+			final String fileName = file.getName();
+			final int extensionIndex = fileName.lastIndexOf('.');
+			final String sessionFileName = (extensionIndex > 0) ? String.format("%s-%s%s",
+					fileName.substring(0, extensionIndex), name,
+					fileName.substring(extensionIndex)) : String.format("%s-%s", fileName, name);
+
+			sessionFile = new File(file.getParentFile(), sessionFileName);
+		}
+
+		return sessionFile;
+	}
+
+	/**
+	 * The {@link FairExecutor} every session runs its batches of commands on.
+	 */
+	private final FairExecutor fairExecutor;
+
+	/**
+	 * The sessions added so far, in order.
+	 */
+	private final List<Session> sessions = new ArrayList<>();
+
+	/**
+	 * The {@link TransportConfiguration} that the {@link TransportConfiguration} of every session
+	 * is derived from, so that they share its connection pool.
+	 */
+	private final TransportConfiguration transportConfiguration;
+
+	/**
+	 * Creates new {@link ExplorationSessions} sharing the default {@link TransportConfiguration}
+	 * and the default {@link java.util.concurrent.Executor} of {@link Drone}s, as many of whose
+	 * threads as configured through {@link DroneExecutors#THREAD_COUNT_PROPERTY} are handed out
+	 * fairly between sessions.
+	 */
+	public ExplorationSessions() {
+		this(TransportConfiguration.getDefault(),
+				new FairExecutor(DroneExecutors.getDefault(),
+						Integer.getInteger(DroneExecutors.THREAD_COUNT_PROPERTY,
+								DroneExecutors.DEFAULT_THREAD_COUNT)));
+	}
+
+	/**
+	 * Creates new {@link ExplorationSessions}.
+	 *
+	 * @param transportConfiguration
+	 *            The {@link TransportConfiguration} that the {@link TransportConfiguration} of
+	 *            every session is derived from.
+	 * @param fairExecutor
+	 *            The {@link FairExecutor} every session runs its batches of commands on.
+	 */
+	public ExplorationSessions(final TransportConfiguration transportConfiguration,
+			final FairExecutor fairExecutor) {
+		this.transportConfiguration = transportConfiguration;
+		this.fairExecutor = fairExecutor;
+	}
+
+	/**
+	 * Adds a session exploring the labyrinth at the given base URL. Its message and graph files,
+	 * and the files its exchanges are recorded to or replayed from, if configured, are named after
+	 * the session.
+	 *
+	 * @param name
+	 *            The name of the session, which must be unique.
+	 * @param baseUrl
+	 *            The base URL of the labyrinth to explore.
+	 * @return The added {@link Session}, whose exploration may be configured further.
+	 */
+	public synchronized Session addSession(final String name, final String baseUrl) {
+		final TransportConfiguration sessionTransportConfiguration = this.transportConfiguration
+				.derive();
+
+		sessionTransportConfiguration.setBaseUrl(baseUrl);
+		sessionTransportConfiguration.setRecordFile(ExplorationSessions
+				.getSessionFile(sessionTransportConfiguration.getRecordFile(), name));
+		sessionTransportConfiguration.setReplayFile(ExplorationSessions
+				.getSessionFile(sessionTransportConfiguration.getReplayFile(), name));
+
+		final ExplorationManager explorationManager = new ExplorationManager(
+				sessionTransportConfiguration);
+		final GanymedeExploration ganymedeExploration = new GanymedeExploration(
+				explorationManager, this.fairExecutor.newLane());
+
+		ganymedeExploration.getExplorationMetrics().setSessionName(name);
+		ganymedeExploration.setGraphFile(
+				ExplorationSessions.getSessionFile(ganymedeExploration.getGraphFile(), name));
+		ganymedeExploration.setMessageFile(
+				ExplorationSessions.getSessionFile(ganymedeExploration.getMessageFile(), name));
+
+		final Session session = new Session(name, ganymedeExploration);
+
+		this.sessions.add(session);
+
+		return session;
+	}
+
+	/**
+	 * Returns the sessions added so far.
+	 *
+	 * @return The sessions added so far, in order.
+	 */
+	public synchronized List<Session> getSessions() {
+		return new ArrayList<>(this.sessions);
+	}
+
+	/**
+	 * Runs every session added so far at once, each coordinated by a thread of its own, waits for
+	 * all of them to end and prints how each of them went.
+	 *
+	 * @return Whether every session succeeded.
+	 * @throws InterruptedException
+	 *             Interrupted while waiting for the sessions to end.
+	 */
+	public boolean run() throws InterruptedException {
+		final List<Session> sessions = this.getSessions();
+		final List<Thread> threads = new ArrayList<>();
+		final long startNanoTime = System.nanoTime();
+		boolean succeeded = true;
+
+		for (final Session session : sessions) {
+			final Thread thread = new Thread(session,
+					String.format("session-%s", session.getName()));
+
+			thread.start();
+
+			threads.add(thread);
+		}
+
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+
+		final long elapsedNanoseconds = System.nanoTime() - startNanoTime;
+		long batchCount = 0;
+
+		for (final Session session : sessions) {
+			final long sessionMilliseconds = TimeUnit.NANOSECONDS
+					.toMillis(session.getElapsedNanoseconds());
+
+			if (session.getFailure() != null) {
+				System.out.println(String.format("[%s] Failed after %d ms.", session.getName(),
+						sessionMilliseconds));
+				session.getFailure().printStackTrace();
+
+				succeeded = false;
+			} else {
+				System.out.println(String.format("[%s] %s", session.getName(),
+						session.getResponseMessage()));
+				System.out.println(String.format("[%s] Sent %d batches of commands in %d ms.",
+						session.getName(), session.getGanymedeExploration().getBatchCount(),
+						sessionMilliseconds));
+			}
+
+			batchCount += session.getGanymedeExploration().getBatchCount();
+		}
+
+		System.out.println(String.format(
+				"Ran %d sessions, sending %d batches of commands in %d ms (%.1f per second).",
+				sessions.size(), batchCount, TimeUnit.NANOSECONDS.toMillis(elapsedNanoseconds),
+				(batchCount * 1e9) / Math.max(1, elapsedNanoseconds)));
+
+		return succeeded;
+	}
+}
\ No newline at end of file
@@ -1,39 +1,73 @@
 package com.wit.ganymedeexploration;
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
+import javax.management.JMException;
+
+import com.wit.ganymedeexploration.collection.Frontier;
+import com.wit.ganymedeexploration.collection.Frontiers;
+import com.wit.ganymedeexploration.collection.LeaseTable;
+import com.wit.ganymedeexploration.collection.RoomIndex;
+import com.wit.ganymedeexploration.collection.RoomIndexes;
+import com.wit.ganymedeexploration.event.ExplorationEvent;
+import com.wit.ganymedeexploration.event.ExplorationEventPublisher;
+import com.wit.ganymedeexploration.event.ExplorationListener;
 import com.wit.ganymedeexploration.exception.ServerException;
+import com.wit.ganymedeexploration.graph.LabyrinthGraph;
+import com.wit.ganymedeexploration.graph.LabyrinthGraphBuilder;
+import com.wit.ganymedeexploration.journal.ExplorationJournal;
+import com.wit.ganymedeexploration.journal.JournalRecord;
+import com.wit.ganymedeexploration.journal.JournalState;
+import com.wit.ganymedeexploration.message.MessageAssembler;
+import com.wit.ganymedeexploration.metrics.ExplorationMetrics;
+import com.wit.ganymedeexploration.metrics.LatencyHistogram;
+import com.wit.ganymedeexploration.model.CommandBatchResult;
 import com.wit.ganymedeexploration.model.CommandResult;
 import com.wit.ganymedeexploration.model.Drone;
 import com.wit.ganymedeexploration.model.ReportDetails;
 import com.wit.ganymedeexploration.model.ReportResponse;
 import com.wit.ganymedeexploration.model.Room;
+import com.wit.ganymedeexploration.model.command.CommandBatch;
 import com.wit.ganymedeexploration.model.command.CommandContents;
 import com.wit.ganymedeexploration.model.command.ExploreCommandContents;
 import com.wit.ganymedeexploration.model.command.ReadCommandContents;
+import com.wit.ganymedeexploration.planner.BatchPlanner;
+import com.wit.ganymedeexploration.planner.BatchPlanners;
+import com.wit.ganymedeexploration.service.DroneExecutors;
 import com.wit.ganymedeexploration.service.ExplorationManager;
+import com.wit.ganymedeexploration.service.TransportConfiguration;
+import com.wit.ganymedeexploration.shard.ShardCluster;
 
 /**
  * The core class where the exploration is managed.
  */
 public class GanymedeExploration {
 	/**
-	 * Performs any work necessary after a {@link Drone} has completed exploring.
+	 * Hands the outcome of every batch of commands a {@link Drone} completes over to the
+	 * coordinating thread.
 	 */
-	private final class DroneOnCommandsCompletedListener
+	private static final class DroneOnCommandsCompletedListener
 			implements Drone.OnCommandsCompletedListener {
-		/**
-		 * The {@link Drone} that we are waiting on the completion for.
-		 */
-		private final Drone drone;
-
 		/**
 		 * The current {@link State} of the exploration.
 		 */
@@ -42,24 +76,71 @@ public class GanymedeExploration {
 		/**
 		 * Creates a new {@link DroneOnCommandsCompletedListener}.
 		 *
-		 * @param drone
-		 *            The {@link Drone} that we are waiting on the completion for.
 		 * @param state
 		 *            The current {@link State} of the exploration.
 		 */
-		public DroneOnCommandsCompletedListener(final Drone drone, final State state) {
-			this.drone = drone;
+		public DroneOnCommandsCompletedListener(final State state) {
 			this.state = state;
 		}
 
 		@Override
-		public void onCompleted() {
-			synchronized (GanymedeExploration.this) {
-				this.state.busyDrones.remove(this.drone);
-				this.state.pendingDrones.add(this.drone);
+		public void onCompleted(final CommandBatchResult commandBatchResult) {
+			this.state.commandBatchResults.add(commandBatchResult);
+		}
+	}
 
-				GanymedeExploration.this.notify();
-			}
+	/**
+	 * A batch of commands that has been sent but whose results have not been merged yet, along
+	 * with the {@link Drone}s executing copies of it.
+	 */
+	private static final class InFlightBatch {
+		/**
+		 * The commands of the batch, shared by every copy and reused for another batch once every
+		 * copy has been taken in.
+		 */
+		public final CommandBatch commandBatch;
+
+		/**
+		 * The number of copies of the batch still being executed.
+		 */
+		public int copyCount = 1;
+
+		/**
+		 * Whether the results of a copy of the batch have been merged, or the batch was given up on
+		 * and its commands put back on the {@link Frontier}s.
+		 */
+		public boolean done = false;
+
+		/**
+		 * The {@link Drone} the batch was first sent to.
+		 */
+		public final Drone drone;
+
+		/**
+		 * The {@link Drone} executing the hedged copy of the batch, if it was hedged.
+		 */
+		public Drone hedgeDrone;
+
+		/**
+		 * The {@link System#nanoTime()} at which the batch was first sent.
+		 */
+		public final long sentNanoTime;
+
+		/**
+		 * Creates a new {@link InFlightBatch}.
+		 *
+		 * @param commandBatch
+		 *            The commands of the batch.
+		 * @param drone
+		 *            The {@link Drone} the batch is first sent to.
+		 * @param sentNanoTime
+		 *            The {@link System#nanoTime()} at which the batch was first sent.
+		 */
+		public InFlightBatch(final CommandBatch commandBatch, final Drone drone,
+				final long sentNanoTime) {
+			this.commandBatch = commandBatch;
+			this.drone = drone;
+			this.sentNanoTime = sentNanoTime;
 		}
 	}
 
@@ -68,273 +149,2009 @@ public class GanymedeExploration {
 	 */
 	private static final class State {
 		/**
-		 * The {@link Drone}s available to receive new commands.
+		 * The {@link CommandBatch}es of the batches whose every copy has been taken in, cleared
+		 * and ready to be filled again.
+		 */
+		public final Deque<CommandBatch> availableCommandBatches = new ArrayDeque<>();
+
+		/**
+		 * The {@link Drone}s available to receive new commands, most recently freed first.
+		 */
+		public final Deque<Drone> availableDrones = new ArrayDeque<>();
+
+		/**
+		 * The number of batches of commands sent, that is, the number of round trips made.
+		 */
+		public long batchCount = 0;
+
+		/**
+		 * The number of {@link Drone}s currently executing commands.
+		 */
+		public int busyDroneCount = 0;
+
+		/**
+		 * The outcomes of the batches of commands that {@link Drone}s have completed but that have
+		 * not been merged yet, in the order they completed. This is the only part of the
+		 * {@link State} touched by threads other than the coordinating one.
+		 */
+		public final BlockingQueue<CommandBatchResult> commandBatchResults = new LinkedBlockingQueue<>();
+
+		/**
+		 * The batch of commands every busy {@link Drone} is executing.
+		 */
+		public final Map<Drone, InFlightBatch> droneBatches = new HashMap<>();
+
+		/**
+		 * The partition of the {@link Frontier}s owned by every {@link Drone}.
+		 */
+		public final Map<Drone, Integer> dronePartitions = new HashMap<>();
+
+		/**
+		 * All {@link Drone}s taking part in the exploration.
+		 */
+		public final List<Drone> drones = new ArrayList<>();
+
+		/**
+		 * The total number of nanoseconds that {@link Drone}s spent idle during the exploration.
+		 */
+		public long droneIdleNanoseconds = 0;
+
+		/**
+		 * Hands {@link ExplorationEvent}s to the {@link ExplorationListener}, if there is one, once
+		 * the exploration has started.
+		 */
+		public ExplorationEventPublisher eventPublisher;
+
+		/**
+		 * The number of nanoseconds the exploration took, from the first dispatch until the last
+		 * result was merged.
 		 */
-		public final List<Drone> availableDrones = new ArrayList<>();
+		public long explorationNanoseconds = 0;
 
 		/**
-		 * The {@link Drone}s currently executing commands.
+		 * The batches of commands that could still be hedged, oldest first. Batches completed in
+		 * the meantime are only dropped once they reach the front.
 		 */
-		public final List<Drone> busyDrones = new ArrayList<>();
+		public final Deque<InFlightBatch> hedgeCandidates = new ArrayDeque<>();
 
 		/**
-		 * The {@link Drone}s that have completed executing commands and that are carrying the
-		 * results of those commands.
+		 * The number of batches of commands sent again on another {@link Drone} because they were
+		 * taking too long.
 		 */
-		public final List<Drone> pendingDrones = new ArrayList<>();
+		public long hedgedBatchCount = 0;
 
 		/**
-		 * The IDs of the {@link Room}s that have been previously explored.
+		 * The number of hedged batches of commands whose hedged copy completed first.
 		 */
-		public final List<String> exploredRoomIds = new ArrayList<>();
+		public long hedgeWinCount = 0;
 
 		/**
-		 * The IDs of the {@link Room}s that have had their writing read already.
+		 * Collects the connections found between {@link Room}s, if they are to be kept.
 		 */
-		public final List<String> readRoomIds = new ArrayList<>();
+		public LabyrinthGraphBuilder labyrinthGraphBuilder;
 
 		/**
-		 * The IDs of the {@link Room}s that have not been "explore"d yet.
+		 * The leases held by every command dispatched but not completed yet.
 		 */
-		public final List<String> unexploredRoomIds = new ArrayList<>();
+		public LeaseTable<InFlightBatch> leaseTable;
 
 		/**
-		 * The IDs of the {@link Room}s that have not been "read" yet.
+		 * The number of commands put back on the {@link Frontier}s because their lease ran out or
+		 * they failed.
 		 */
-		public final List<String> unreadRoomIds = new ArrayList<>();
+		public long requeuedCommandCount = 0;
 
 		/**
-		 * The indices and associated writings that have been found within the explored labyrinth.
+		 * The dense indices assigned to the IDs of every {@link Room} seen so far, once the
+		 * exploration has started.
 		 */
-		public final Map<Integer, String> indexedWritings = new HashMap<>();
+		public RoomIndex roomIndex;
+
+		/**
+		 * The number of bytes {@link #roomIndex} took, on or off the heap, when it was released at
+		 * the end of the exploration.
+		 */
+		public long roomIndexMemoryBytes = 0;
+
+		/**
+		 * The indices of the {@link Room}s that have been explored, or that are leased by an
+		 * "explore" command.
+		 */
+		public final BitSet exploredRooms = new BitSet();
+
+		/**
+		 * The indices of the {@link Room}s that have had their writing read, or that are leased by
+		 * a "read" command.
+		 */
+		public final BitSet readRooms = new BitSet();
+
+		/**
+		 * The indices of the {@link Room}s owned by another shard that have been forwarded to it.
+		 */
+		public final BitSet forwardedRooms = new BitSet();
+
+		/**
+		 * The indices of the {@link Room}s that have not been "explore"d yet.
+		 */
+		public Frontier unexploredRooms;
+
+		/**
+		 * The indices of the {@link Room}s that have not been "read" yet.
+		 */
+		public Frontier unreadRooms;
+
+		/**
+		 * The number of "explore" commands that were not sent because the {@link Room} was already
+		 * waiting to be explored.
+		 */
+		public long avoidedExploreCommandCount = 0;
+
+		/**
+		 * The number of "read" commands that were not sent because the {@link Room} was already
+		 * waiting to be read.
+		 */
+		public long avoidedReadCommandCount = 0;
+
+		/**
+		 * Assembles the message from the writings found within the explored labyrinth, writing it
+		 * to {@link #messageWriter} as they arrive.
+		 */
+		public MessageAssembler messageAssembler;
+
+		/**
+		 * The {@link Writer} the message is written to as it is assembled.
+		 */
+		public Writer messageWriter;
 	}
 
 	/**
-	 * The entry-point for the application.
-	 *
-	 * @param args
-	 *            Any arguments that need to be passed in to run the application.
+	 * The percentile of batch round-trip times past which a batch is hedged, unless overridden.
 	 */
-	public static void main(final String[] args) {
-		final GanymedeExploration ganymedeExploration = new GanymedeExploration();
+	public static final double DEFAULT_HEDGE_PERCENTILE = 95;
 
-		ganymedeExploration.execute();
-	}
+	/**
+	 * The number of times a command may be leased in all before losing its lease fails the
+	 * exploration, unless overridden.
+	 */
+	public static final int DEFAULT_LEASE_ATTEMPTS = 3;
 
 	/**
-	 * The current state of the exploration.
+	 * How long a command may take before its lease runs out and its {@link Room} is handed to
+	 * another {@link Drone}, in milliseconds, unless overridden.
 	 */
-	private final State state = new State();
+	public static final long DEFAULT_LEASE_MILLISECONDS = 30000;
 
 	/**
-	 * Decode the message uncovered through the writings.
-	 *
-	 * @return The decoded message.
+	 * The system property naming the file the connections found between {@link Room}s are saved
+	 * to once the exploration ends, in the form read by {@link LabyrinthGraph#map(File)}. Unless it
+	 * is set, the connections are not kept.
 	 */
-	private String decodeMessage() {
-		final List<Integer> indices = new ArrayList<>(this.state.indexedWritings.keySet());
+	public static final String GRAPH_FILE_PROPERTY = "ganymede.graphFile";
 
-		Collections.sort(indices);
+	/**
+	 * The system property that, if set to <code>true</code>, makes batches of commands that take
+	 * unusually long be sent again on an idle {@link Drone}, keeping whichever copy completes
+	 * first.
+	 */
+	public static final String HEDGE_PROPERTY = "ganymede.hedge";
 
-		final StringBuilder messageStringBuilder = new StringBuilder();
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_HEDGE_PERCENTILE}.
+	 */
+	public static final String HEDGE_PERCENTILE_PROPERTY = "ganymede.hedgePercentile";
 
-		for (final Integer index : indices) {
-			final String writing = this.state.indexedWritings.get(index);
+	/**
+	 * The system property deciding whether the IDs of connected {@link Room}s are interned while
+	 * the results of commands are being parsed, which is the default.
+	 */
+	public static final String INTERN_ROOM_IDS_PROPERTY = "ganymede.internRoomIds";
 
-			messageStringBuilder.append(writing);
-		}
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_LEASE_ATTEMPTS}.
+	 */
+	public static final String LEASE_ATTEMPTS_PROPERTY = "ganymede.leaseAttempts";
 
-		final String message = messageStringBuilder.toString();
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_LEASE_MILLISECONDS}.
+	 */
+	public static final String LEASE_PROPERTY = "ganymede.leaseMs";
+
+	/**
+	 * The system property naming the file the message is written to as it is assembled. Unless it
+	 * is set, the message is assembled in memory.
+	 */
+	public static final String MESSAGE_FILE_PROPERTY = "ganymede.messageFile";
+
+	/**
+	 * The number of batch round-trip times needed before the percentile past which batches are
+	 * hedged is trusted.
+	 */
+	private static final int MINIMUM_HEDGE_SAMPLE_COUNT = 20;
 
-		return message;
+	/**
+	 * The argument resuming the exploration recorded in the journal named by the
+	 * {@link ExplorationJournal#DIRECTORY_PROPERTY} system property, rather than starting afresh.
+	 */
+	public static final String RESUME_ARGUMENT = "--resume";
+
+	/**
+	 * Returns the file named by the {@link #GRAPH_FILE_PROPERTY} system property, if any.
+	 *
+	 * @return The file named by the {@link #GRAPH_FILE_PROPERTY} system property, or
+	 *         <code>null</code> if it is not set.
+	 */
+	private static File getDefaultGraphFile() {
+		final String graphFileName = System.getProperty(GanymedeExploration.GRAPH_FILE_PROPERTY);
+
+		return (graphFileName == null) ? null : new File(graphFileName);
 	}
 
 	/**
-	 * Performs the exploration from start to finish.
+	 * Returns the percentile named by the {@link #HEDGE_PERCENTILE_PROPERTY} system property, or
+	 * {@link #DEFAULT_HEDGE_PERCENTILE} if it is not set.
+	 *
+	 * @return The percentile of batch round-trip times past which a batch is hedged.
 	 */
-	public void execute() {
-		try {
-			this.initializeExploration();
-			this.performExploration();
+	private static double getDefaultHedgePercentile() {
+		final String hedgePercentile = System
+				.getProperty(GanymedeExploration.HEDGE_PERCENTILE_PROPERTY);
 
-			final String message = this.decodeMessage();
-			final String responseMessage = this.reportMessage(message);
+		return (hedgePercentile == null) ? GanymedeExploration.DEFAULT_HEDGE_PERCENTILE
+				: Double.parseDouble(hedgePercentile);
+	}
 
-			System.out.println(responseMessage);
-		} catch (final IOException ioException) {
-			ioException.printStackTrace();
-		} catch (final ServerException serverException) {
-			serverException.printStackTrace();
-		} catch (final InterruptedException interruptedException) {
-			interruptedException.printStackTrace();
-		}
+	/**
+	 * Returns the file named by the {@link #MESSAGE_FILE_PROPERTY} system property, if any.
+	 *
+	 * @return The file named by the {@link #MESSAGE_FILE_PROPERTY} system property, or
+	 *         <code>null</code> if it is not set.
+	 */
+	private static File getDefaultMessageFile() {
+		final String messageFileName = System
+				.getProperty(GanymedeExploration.MESSAGE_FILE_PROPERTY);
+
+		return (messageFileName == null) ? null : new File(messageFileName);
 	}
 
 	/**
-	 * Start the exploration process.
+	 * The entry-point for the application.
 	 *
+	 * @param args
+	 *            Any arguments that need to be passed in to run the application, which may include
+	 *            {@link #RESUME_ARGUMENT}.
 	 * @throws IOException
-	 *             A network error occurred.
-	 * @throws ServerException
-	 *             The server returned an error.
+	 *             The journal could not be opened, written or closed, or the shards of a sharded
+	 *             exploration could not be connected.
 	 */
-	private void initializeExploration() throws IOException, ServerException {
-		final ExplorationManager explorationManager = ExplorationManager.getInstance();
-		final Room startingRoom = explorationManager.start();
-		final String roomId = startingRoom.getId();
+	public static void main(final String[] args) throws IOException {
+		final boolean resume = Arrays.asList(args).contains(GanymedeExploration.RESUME_ARGUMENT);
+		final ExplorationJournal explorationJournal = ExplorationJournal.getDefault(resume);
 
-		this.state.unexploredRoomIds.add(roomId);
-		this.state.unreadRoomIds.add(roomId);
+		if (resume && (explorationJournal == null)) {
+			throw new IllegalArgumentException(String.format(
+					"Resuming requires the \"%s\" system property to name a journal directory.",
+					ExplorationJournal.DIRECTORY_PROPERTY));
+		}
 
-		final List<String> droneIds = startingRoom.getDroneIds();
+		final ShardCluster shardCluster = ShardCluster.getDefault();
+		final ExplorationManager explorationManager = ExplorationManager.getInstance();
+		final GanymedeExploration ganymedeExploration = new GanymedeExploration(
+				explorationManager);
 
-		for (final String droneId : droneIds) {
-			final Drone drone = new Drone(droneId);
-			final DroneOnCommandsCompletedListener droneOnCommandsCompletedListener = new DroneOnCommandsCompletedListener(
-					drone, this.state);
+		ganymedeExploration.setExplorationJournal(explorationJournal);
+		ganymedeExploration.setShardCluster(shardCluster);
 
-			drone.setOnCommandsCompletedListener(droneOnCommandsCompletedListener);
+		try {
+			ganymedeExploration.execute();
+		} finally {
+			if (explorationJournal != null) {
+				explorationJournal.close();
+			}
 
-			this.state.availableDrones.add(drone);
+			if (shardCluster != null) {
+				shardCluster.close();
+			}
 		}
 	}
 
 	/**
-	 * Performs the exploration by sending commands to the available {@link Drone}s and compiling
-	 * the data they find.
-	 * 
-	 * @throws ServerException
-	 *             At least one command failed to be executed by a {@link Drone}.
-	 * @throws InterruptedException
-	 *             Failed to asynchronously wait for {@link Drone}s to finish their work.
+	 * Decides how every batch of commands is split between "explore" and "read" commands.
 	 */
-	private void performExploration() throws ServerException, InterruptedException {
-		synchronized (this) {
-			while (!this.state.unexploredRoomIds.isEmpty() || !this.state.unreadRoomIds.isEmpty()
-					|| !this.state.busyDrones.isEmpty() || !this.state.pendingDrones.isEmpty()) {
-				final boolean pendingDronesExist = !this.state.pendingDrones.isEmpty();
-
-				if (pendingDronesExist) {
-					for (final Drone pendingDrone : this.state.pendingDrones) {
-						final Map<String, CommandResult> commandIdCommandResults = pendingDrone
-								.getCommandIdCommandResults();
-						final Collection<CommandResult> commandResults = commandIdCommandResults
-								.values();
-
-						for (final CommandResult commandResult : commandResults) {
-							final List<String> connectedRoomIds = commandResult
-									.getConnectedRoomIds();
-							final Integer order = commandResult.getOrder();
-
-							if ((connectedRoomIds == null) && (order == null)) {
-								final String error = commandResult.getError();
-								final String message = String.format(
-										"Failed to execute command \"%s\": %s", commandResult,
-										error);
-
-								throw new ServerException(message);
-							} else {
-								if (connectedRoomIds != null) {
-									for (final String connectedRoomId : connectedRoomIds) {
-										if (!this.state.exploredRoomIds.contains(connectedRoomId)) {
-											this.state.unexploredRoomIds.add(connectedRoomId);
-										}
-
-										if (!this.state.readRoomIds.contains(connectedRoomId)) {
-											this.state.unreadRoomIds.add(connectedRoomId);
-										}
-									}
-								}
-
-								if ((order != null) && (order != -1)) {
-									final String writing = commandResult.getWriting();
-									this.state.indexedWritings.put(order, writing);
-								}
-							}
-						}
-					}
+	private BatchPlanner batchPlanner = BatchPlanners.getDefault();
 
-					this.state.availableDrones.addAll(this.state.pendingDrones);
-					this.state.pendingDrones.clear();
-				}
+	/**
+	 * The number of {@link ExplorationEvent}s that may wait for the {@link ExplorationListener}
+	 * before the exploration waits for it to catch up.
+	 */
+	private int eventCapacity = ExplorationEventPublisher.getDefaultCapacity();
 
-				final boolean availableDronesExist = !this.state.availableDrones.isEmpty();
-				final boolean unexploredRoomsExist = !this.state.unexploredRoomIds.isEmpty();
-				final boolean unreadRoomsExist = !this.state.unreadRoomIds.isEmpty();
-
-				if (availableDronesExist && (unexploredRoomsExist || unreadRoomsExist)) {
-					for (final Drone availableDrone : new ArrayList<>(this.state.availableDrones)) {
-						final Map<String, CommandContents> commandIdCommandContents = new HashMap<>();
-
-						for (final String unreadRoomId : new ArrayList<>(
-								this.state.unreadRoomIds)) {
-							if (commandIdCommandContents
-									.size() == ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE) {
-								break;
-							} else {
-								final String commandId = UUID.randomUUID().toString();
-								final CommandContents commandContents = new ReadCommandContents(
-										unreadRoomId);
-
-								commandIdCommandContents.put(commandId, commandContents);
-
-								this.state.unreadRoomIds.remove(unreadRoomId);
-								this.state.readRoomIds.add(unreadRoomId);
-							}
-						}
+	/**
+	 * The {@link Executor} that {@link Drone}s run their batches of commands on.
+	 */
+	private final Executor executor;
 
-						for (final String unexploredRoomId : new ArrayList<>(
-								this.state.unexploredRoomIds)) {
-							if (commandIdCommandContents
-									.size() == ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE) {
-								break;
-							} else {
-								final String commandId = UUID.randomUUID().toString();
-								final CommandContents commandContents = new ExploreCommandContents(
-										unexploredRoomId);
-
-								commandIdCommandContents.put(commandId, commandContents);
-
-								this.state.unexploredRoomIds.remove(unexploredRoomId);
-								this.state.exploredRoomIds.add(unexploredRoomId);
-							}
-						}
+	/**
+	 * The number of {@link Room}s expected, which sizes the {@link RoomIndex} up front.
+	 */
+	private int expectedRoomCount = RoomIndexes.getDefaultExpectedRoomCount();
+
+	/**
+	 * The {@link ExplorationJournal} every change to the exploration is recorded in, if any.
+	 */
+	private ExplorationJournal explorationJournal;
 
-						if (commandIdCommandContents.size() > 0) {
-							this.state.availableDrones.remove(availableDrone);
-							this.state.busyDrones.add(availableDrone);
+	/**
+	 * Notified of every {@link ExplorationEvent} while the exploration runs, if any.
+	 */
+	private ExplorationListener explorationListener;
 
-							availableDrone.execute(commandIdCommandContents);
-						}
-					}
-				} else {
-					final boolean busyDronesExist = !this.state.busyDrones.isEmpty();
+	/**
+	 * The {@link ExplorationManager} used to talk to the labyrinth.
+	 */
+	private final ExplorationManager explorationManager;
 
-					if (busyDronesExist) {
-						this.wait();
-					}
-				}
+	/**
+	 * The metrics recorded during the exploration.
+	 */
+	private final ExplorationMetrics explorationMetrics = new ExplorationMetrics(
+			ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE);
+
+	/**
+	 * The {@link Frontiers.Kind} of {@link Frontier} that {@link Drone}s are handed {@link Room}s
+	 * from.
+	 */
+	private Frontiers.Kind frontierKind = Frontiers.getDefaultKind();
+
+	/**
+	 * The file the connections found between {@link Room}s are saved to, if they are to be kept.
+	 */
+	private File graphFile = GanymedeExploration.getDefaultGraphFile();
+
+	/**
+	 * The percentile of batch round-trip times past which a batch is hedged.
+	 */
+	private double hedgePercentile = GanymedeExploration.getDefaultHedgePercentile();
+
+	/**
+	 * Whether batches of commands that take unusually long are sent again on an idle
+	 * {@link Drone}.
+	 */
+	private boolean hedging = Boolean.getBoolean(GanymedeExploration.HEDGE_PROPERTY);
+
+	/**
+	 * The connections found between {@link Room}s, once saved to {@link #graphFile}.
+	 */
+	private LabyrinthGraph labyrinthGraph;
+
+	/**
+	 * The number of times a command may be leased in all before losing its lease fails the
+	 * exploration.
+	 */
+	private int leaseAttempts = Integer.getInteger(GanymedeExploration.LEASE_ATTEMPTS_PROPERTY,
+			GanymedeExploration.DEFAULT_LEASE_ATTEMPTS);
+
+	/**
+	 * How long a command may take before its lease runs out, in milliseconds.
+	 */
+	private long leaseMilliseconds = Long.getLong(GanymedeExploration.LEASE_PROPERTY,
+			GanymedeExploration.DEFAULT_LEASE_MILLISECONDS);
+
+	/**
+	 * The file the message is written to as it is assembled, or <code>null</code> to assemble it in
+	 * memory.
+	 */
+	private File messageFile = GanymedeExploration.getDefaultMessageFile();
+
+	/**
+	 * The {@link RoomIndexes.Kind} of {@link RoomIndex} that the IDs of {@link Room}s are indexed
+	 * into.
+	 */
+	private RoomIndexes.Kind roomIndexKind = RoomIndexes.getDefaultKind();
+
+	/**
+	 * The {@link ShardCluster} the exploration is split across, if it is sharded.
+	 */
+	private ShardCluster shardCluster;
+
+	/**
+	 * The current state of the exploration.
+	 */
+	private final State state = new State();
+
+	/**
+	 * Creates a new {@link GanymedeExploration} whose {@link Drone}s run on the default
+	 * {@link Executor}.
+	 *
+	 * @param explorationManager
+	 *            The {@link ExplorationManager} used to talk to the labyrinth.
+	 */
+	public GanymedeExploration(final ExplorationManager explorationManager) {
+		this(explorationManager, DroneExecutors.getDefault());
+	}
+
+	/**
+	 * Creates a new {@link GanymedeExploration}.
+	 *
+	 * @param explorationManager
+	 *            The {@link ExplorationManager} used to talk to the labyrinth.
+	 * @param executor
+	 *            The {@link Executor} that {@link Drone}s run their batches of commands on.
+	 */
+	public GanymedeExploration(final ExplorationManager explorationManager,
+			final Executor executor) {
+		this.explorationManager = explorationManager;
+		this.executor = executor;
+	}
+
+	/**
+	 * Adds "explore" commands to a batch until it holds the given number of commands or there are
+	 * no {@link Room}s left to explore, leasing every {@link Room} to the batch.
+	 *
+	 * @param inFlightBatch
+	 *            The batch of commands to add to, which holds the lease of every command added.
+	 * @param dronePartition
+	 *            The partition of the {@link Frontier}s owned by the {@link Drone} the batch is for.
+	 * @param commandCount
+	 *            The number of commands the batch should hold at most once done.
+	 */
+	private void addExploreCommands(final InFlightBatch inFlightBatch, final int dronePartition,
+			final int commandCount) {
+		final CommandBatch commandBatch = inFlightBatch.commandBatch;
+
+		while ((commandBatch.size() < commandCount) && !this.state.unexploredRooms.isEmpty()) {
+			final int unexploredRoom = this.state.unexploredRooms.poll(dronePartition);
+
+			// A requeued room may have been completed by a late result while it waited.
+			if (this.state.exploredRooms.get(unexploredRoom)) {
+				continue;
+			}
+
+			if (!this.state.leaseTable.acquire(unexploredRoom, true, inFlightBatch,
+					inFlightBatch.sentNanoTime)) {
+				continue;
+			}
+
+			final String unexploredRoomId = this.state.roomIndex.getRoomId(unexploredRoom);
+			final CommandContents commandContents = new ExploreCommandContents(unexploredRoomId);
+
+			commandBatch.add(commandContents, unexploredRoom);
+
+			this.state.exploredRooms.set(unexploredRoom);
+
+			if (this.explorationJournal != null) {
+				final String droneId = this.state.drones.get(dronePartition).getId();
+
+				this.explorationJournal.append(JournalRecord.dispatched(
+						commandContents.getCommandId(), droneId, true, unexploredRoomId));
 			}
 		}
 	}
 
 	/**
-	 * Reports a message.
+	 * Adds "read" commands to a batch until it holds the given number of commands or there are no
+	 * {@link Room}s left to read, leasing every {@link Room} to the batch.
 	 *
-	 * @param message
-	 *            The message to report back.
-	 * @return The message sent back as a response.
-	 * @throws IOException
-	 *             A network error occurred.
-	 * @throws ServerException
-	 *             The server returned an error.
+	 * @param inFlightBatch
+	 *            The batch of commands to add to, which holds the lease of every command added.
+	 * @param dronePartition
+	 *            The partition of the {@link Frontier}s owned by the {@link Drone} the batch is for.
+	 * @param commandCount
+	 *            The number of commands the batch should hold at most once done.
 	 */
-	private String reportMessage(final String message) throws IOException, ServerException {
-		final ExplorationManager explorationManager = ExplorationManager.getInstance();
-		final ReportDetails reportDetails = new ReportDetails(message);
-		final ReportResponse reportResponse = explorationManager.report(reportDetails);
-		final String responseMessage = reportResponse.getMessage();
+	private void addReadCommands(final InFlightBatch inFlightBatch, final int dronePartition,
+			final int commandCount) {
+		final CommandBatch commandBatch = inFlightBatch.commandBatch;
 
-		return responseMessage;
+		while ((commandBatch.size() < commandCount) && !this.state.unreadRooms.isEmpty()) {
+			final int unreadRoom = this.state.unreadRooms.poll(dronePartition);
+
+			// A requeued room may have been completed by a late result while it waited.
+			if (this.state.readRooms.get(unreadRoom)) {
+				continue;
+			}
+
+			if (!this.state.leaseTable.acquire(unreadRoom, false, inFlightBatch,
+					inFlightBatch.sentNanoTime)) {
+				continue;
+			}
+
+			final String unreadRoomId = this.state.roomIndex.getRoomId(unreadRoom);
+			final CommandContents commandContents = new ReadCommandContents(unreadRoomId);
+
+			commandBatch.add(commandContents, unreadRoom);
+
+			this.state.readRooms.set(unreadRoom);
+
+			if (this.explorationJournal != null) {
+				final String droneId = this.state.drones.get(dronePartition).getId();
+
+				this.explorationJournal.append(JournalRecord.dispatched(
+						commandContents.getCommandId(), droneId, false, unreadRoomId));
+			}
+		}
+	}
+
+	/**
+	 * Cancels every copy of a batch of commands that a {@link Drone} is still executing. Each
+	 * cancelled copy still hands its outcome over, most often a failure, once it has stopped.
+	 *
+	 * @param inFlightBatch
+	 *            The batch of commands to cancel.
+	 */
+	private void cancelBatch(final InFlightBatch inFlightBatch) {
+		if (this.state.droneBatches.get(inFlightBatch.drone) == inFlightBatch) {
+			inFlightBatch.drone.cancel();
+		}
+
+		if ((inFlightBatch.hedgeDrone != null)
+				&& (this.state.droneBatches.get(inFlightBatch.hedgeDrone) == inFlightBatch)) {
+			inFlightBatch.hedgeDrone.cancel();
+		}
+	}
+
+	/**
+	 * Cancels every batch of commands still in flight, such as the losing copies of hedged batches
+	 * and batches whose leases ran out, and waits for each {@link Drone} to hand its outcome over.
+	 * Once this returns, no call of the exploration is left to intern {@link Room} IDs into the room
+	 * index, so the {@link ExplorationManager} can be handed to the next exploration. Being
+	 * interrupted does not cut the wait short, since every cancelled call stops promptly.
+	 */
+	private void cancelOutstandingBatches() {
+		boolean interrupted = false;
+
+		for (final Drone drone : this.state.droneBatches.keySet()) {
+			drone.cancel();
+		}
+
+		while (this.state.busyDroneCount > 0) {
+			try {
+				this.state.commandBatchResults.take();
+
+				this.state.busyDroneCount--;
+			} catch (final InterruptedException interruptedException) {
+				interrupted = true;
+			}
+		}
+
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Takes in the outcome of a copy of a batch of commands. The results of any copy that succeeds
+	 * are merged, but only for commands that have not been completed yet, so a hedged batch is
+	 * never applied twice. Once every copy of a batch has failed, its commands are put back on the
+	 * {@link Frontier}s. Once every copy of a batch has been taken in, its {@link CommandBatch} is
+	 * cleared and reused for another batch.
+	 *
+	 * @param commandBatchResult
+	 *            The outcome of the copy of the batch.
+	 * @throws ServerException
+	 *             A command failed too many times with an error from the server.
+	 * @throws IOException
+	 *             A command failed too many times with a network error, or the message could not
+	 *             be written.
+	 */
+	private void completeBatch(final CommandBatchResult commandBatchResult)
+			throws ServerException, IOException {
+		final Drone drone = commandBatchResult.getDrone();
+		final InFlightBatch inFlightBatch = this.state.droneBatches.remove(drone);
+		final CommandBatch commandBatch = inFlightBatch.commandBatch;
+
+		inFlightBatch.copyCount--;
+
+		if (commandBatchResult.isSuccessful()) {
+			if (!inFlightBatch.done) {
+				inFlightBatch.done = true;
+
+				if (drone == inFlightBatch.hedgeDrone) {
+					this.state.hedgeWinCount++;
+				}
+			}
+
+			this.mergeResults(commandBatchResult, inFlightBatch);
+		} else if ((inFlightBatch.copyCount == 0) && !inFlightBatch.done) {
+			final Exception exception = commandBatchResult.getException();
+
+			inFlightBatch.done = true;
+
+			for (int commandIndex = 0; commandIndex < commandBatch.size(); commandIndex++) {
+				final LeaseTable.Lease<InFlightBatch> lease = this.state.leaseTable.getHeldLease(
+						commandBatch.getRoom(commandIndex), commandBatch.isExplore(commandIndex));
+
+				if ((lease != null) && (lease.getHolder() == inFlightBatch)) {
+					this.state.leaseTable.release(lease);
+
+					if (lease.getFailureCount() < this.leaseAttempts) {
+						this.requeueCommand(lease);
+					} else {
+						final String message = String.format(
+								"Failed to execute commands from drone with ID \"%s\".",
+								drone.getId());
+
+						if (exception instanceof IOException) {
+							throw new IOException(message, exception);
+						} else {
+							throw new ServerException(message, exception);
+						}
+					}
+				}
+			}
+		}
+
+		if (inFlightBatch.copyCount == 0) {
+			commandBatch.clear();
+
+			this.state.availableCommandBatches.addFirst(commandBatch);
+		}
+	}
+
+	/**
+	 * Creates the {@link Drone}s taking part in the exploration, along with the {@link Frontier}s
+	 * they are handed {@link Room}s from.
+	 *
+	 * @param droneIds
+	 *            The IDs of the {@link Drone}s usable for exploration.
+	 */
+	private void createDrones(final List<String> droneIds) {
+		final DroneOnCommandsCompletedListener droneOnCommandsCompletedListener = new DroneOnCommandsCompletedListener(
+				this.state);
+
+		for (final String droneId : droneIds) {
+			final Drone drone = new Drone(droneId, this.explorationManager, this.executor);
+
+			drone.setOnCommandsCompletedListener(droneOnCommandsCompletedListener);
+
+			this.state.availableDrones.add(drone);
+			this.state.dronePartitions.put(drone, this.state.drones.size());
+			this.state.drones.add(drone);
+		}
+
+		final int droneCount = this.state.drones.size();
+
+		this.state.unexploredRooms = Frontiers.create(this.frontierKind, droneCount);
+		this.state.unreadRooms = Frontiers.create(this.frontierKind, droneCount);
+	}
+
+	/**
+	 * Decode the message uncovered through the writings. Most of it has already been written as
+	 * the writings arrived, so this only writes out those that arrived ahead of their
+	 * predecessors.
+	 *
+	 * @throws IOException
+	 *             The message could not be written.
+	 */
+	private void decodeMessage() throws IOException {
+		this.state.messageAssembler.finish();
+		this.state.messageWriter.close();
+	}
+
+	/**
+	 * Sends a batch of commands to every available {@link Drone} for as long as there are
+	 * {@link Room}s left to explore or read, split between "explore" and "read" commands as the
+	 * {@link BatchPlanner} prefers.
+	 */
+	private void dispatchBatches() {
+		while (!this.state.availableDrones.isEmpty()
+				&& (!this.state.unexploredRooms.isEmpty() || !this.state.unreadRooms.isEmpty())) {
+			final int plannedExploreCommandCount = this.batchPlanner.getExploreCommandCount(
+					ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE,
+					this.state.unexploredRooms.size(), this.state.unreadRooms.size(),
+					this.state.availableDrones.size(), this.state.busyDroneCount);
+			final int exploreCommandCount = Math.max(0, Math.min(plannedExploreCommandCount,
+					ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE));
+			final Drone availableDrone = this.state.availableDrones.pollFirst();
+			final int dronePartition = this.state.dronePartitions.get(availableDrone);
+			final CommandBatch availableCommandBatch = this.state.availableCommandBatches
+					.pollFirst();
+			final CommandBatch commandBatch = (availableCommandBatch == null) ? new CommandBatch(
+					ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE) : availableCommandBatch;
+			final long nanoTime = System.nanoTime();
+			final InFlightBatch inFlightBatch = new InFlightBatch(commandBatch, availableDrone,
+					nanoTime);
+
+			this.addExploreCommands(inFlightBatch, dronePartition, exploreCommandCount);
+			this.addReadCommands(inFlightBatch, dronePartition,
+					ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE);
+			this.addExploreCommands(inFlightBatch, dronePartition,
+					ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE);
+
+			if (commandBatch.isEmpty()) {
+				this.state.availableCommandBatches.addFirst(commandBatch);
+				this.state.availableDrones.addFirst(availableDrone);
+
+				continue;
+			}
+
+			this.state.batchCount++;
+			this.state.busyDroneCount++;
+
+			this.explorationMetrics.recordBatch(commandBatch.size());
+			this.explorationMetrics.recordIdle(dronePartition,
+					availableDrone.getIdleNanoseconds(nanoTime));
+			this.explorationMetrics.recordFrontierSizes(this.state.unexploredRooms.size(),
+					this.state.unreadRooms.size());
+			this.explorationMetrics.recordStealCount(this.state.unexploredRooms.getStealCount()
+					+ this.state.unreadRooms.getStealCount());
+
+			availableDrone.execute(commandBatch);
+
+			this.state.droneBatches.put(availableDrone, inFlightBatch);
+
+			if (this.hedging) {
+				this.state.hedgeCandidates.add(inFlightBatch);
+			}
+		}
+	}
+
+	/**
+	 * Performs the exploration from start to finish.
+	 */
+	public void execute() {
+		try {
+			final String responseMessage = this.explore();
+
+			if (responseMessage != null) {
+				System.out.println(responseMessage);
+			}
+
+			if (this.shardCluster != null) {
+				System.out.println(String.format(
+						"Explored shard %d of %d, forwarding %d rooms to the shards owning them.",
+						this.shardCluster.getShardIndex(), this.shardCluster.getShardCount(),
+						this.shardCluster.getForwardedRoomCount()));
+			}
+			System.out.println(String.format("Sent %d batches of commands.",
+					this.state.batchCount));
+			System.out.println(String.format(
+					"Held at most %d of %d writings out of order while assembling the message.",
+					this.state.messageAssembler.getPeakPendingWritingCount(),
+					this.state.messageAssembler.getWrittenWritingCount()));
+			System.out.println(String.format(
+					"Avoided %d duplicate \"explore\" and %d duplicate \"read\" commands.",
+					this.state.avoidedExploreCommandCount, this.state.avoidedReadCommandCount));
+
+			final long averageDroneIdleNanoseconds = this.getAverageDroneIdleNanoseconds();
+			final double droneIdlePercentage = this.getDroneIdlePercentage();
+
+			System.out.println(String.format(
+					"Drones were idle for %d ms on average (%.1f%% of the exploration).",
+					TimeUnit.NANOSECONDS.toMillis(averageDroneIdleNanoseconds),
+					droneIdlePercentage));
+			System.out.println(String.format(
+					"Retried %d failed batches and hedged %d slow ones, %d of which won.",
+					this.explorationManager.getRetryCount(), this.state.hedgedBatchCount,
+					this.state.hedgeWinCount));
+			System.out.println(String.format(
+					"Requeued %d commands whose leases ran out or that failed.",
+					this.state.requeuedCommandCount));
+			System.out.println(String.format(
+					"Indexed %d rooms in %.1f MB, with a false-positive rate of %.2f%%.",
+					this.state.roomIndex.size(),
+					this.state.roomIndexMemoryBytes / (1024.0 * 1024.0),
+					this.state.roomIndex.getFalsePositiveRate() * 100));
+
+			if (this.labyrinthGraph != null) {
+				System.out.println(String.format(
+						"Saved %d rooms and %d connections between them to \"%s\".",
+						this.labyrinthGraph.getRoomCount(), this.labyrinthGraph.getEdgeCount(),
+						this.graphFile));
+			}
+
+			System.out.println(this.explorationMetrics.format());
+		} catch (final IOException ioException) {
+			ioException.printStackTrace();
+		} catch (final ServerException serverException) {
+			serverException.printStackTrace();
+		} catch (final InterruptedException interruptedException) {
+			interruptedException.printStackTrace();
+		}
+	}
+
+	/**
+	 * Puts back on the {@link Frontier}s the {@link Room}s of every command whose lease has run
+	 * out, so that an idle {@link Drone} picks them up. The batch that held the leases is given up
+	 * on and every copy of it still in flight is cancelled, retries included, so that no
+	 * {@link Room} is worked on by two {@link Drone}s at once. Results that arrived before the
+	 * cancellation took effect are still merged if the {@link Room}s have not been completed
+	 * since.
+	 *
+	 * @throws InterruptedIOException
+	 *             A command ran out of time too many times.
+	 */
+	private void expireLeases() throws InterruptedIOException {
+		final long nanoTime = System.nanoTime();
+		LeaseTable.Lease<InFlightBatch> expiredLease = this.state.leaseTable
+				.pollExpired(nanoTime);
+
+		while (expiredLease != null) {
+			if (expiredLease.getFailureCount() >= this.leaseAttempts) {
+				final String message = String.format(
+						"Command \"%s:%s\" was not completed within %d ms, %d times.",
+						expiredLease.isExplore() ? ExploreCommandContents.NAME
+								: ReadCommandContents.NAME,
+						this.state.roomIndex.getRoomId(expiredLease.getRoom()),
+						this.leaseMilliseconds, expiredLease.getFailureCount());
+
+				throw new InterruptedIOException(message);
+			}
+
+			final InFlightBatch expiredBatch = expiredLease.getHolder();
+
+			expiredBatch.done = true;
+
+			this.cancelBatch(expiredBatch);
+			this.requeueCommand(expiredLease);
+
+			expiredLease = this.state.leaseTable.pollExpired(nanoTime);
+		}
+	}
+
+	/**
+	 * Explores the labyrinth, saves the connections found within it if asked to, decodes the message
+	 * found within it and reports it back. The {@link ExplorationListener}, if any, is told that the
+	 * exploration has completed once every {@link ExplorationEvent} has been delivered to it, before
+	 * the message is reported.
+	 *
+	 * @return The message sent back as a response to the report.
+	 * @throws IOException
+	 *             A network error occurred.
+	 * @throws ServerException
+	 *             The server returned an error.
+	 * @throws InterruptedException
+	 *             Failed to asynchronously wait for {@link Drone}s to finish their work.
+	 */
+	public String explore() throws IOException, ServerException, InterruptedException {
+		if (this.explorationListener != null) {
+			this.state.eventPublisher = ExplorationEventPublisher.start(this.explorationListener,
+					this.eventCapacity);
+		}
+
+		try {
+			this.initializeExploration();
+			this.performExploration();
+			this.saveLabyrinthGraph();
+		} catch (final Exception exception) {
+			if (this.state.eventPublisher != null) {
+				this.state.eventPublisher.fail(exception);
+			}
+
+			throw exception;
+		} finally {
+			this.cancelOutstandingBatches();
+			this.explorationManager.setRoomIndex(null);
+
+			try {
+				if (this.explorationJournal != null) {
+					// The writer thread still encodes against the shared room index.
+					this.explorationJournal.close();
+				}
+			} finally {
+				if (this.state.roomIndex != null) {
+					this.state.roomIndexMemoryBytes = this.state.roomIndex.getMemoryBytes();
+
+					this.state.roomIndex.close();
+				}
+			}
+		}
+
+		if (this.state.eventPublisher != null) {
+			this.state.eventPublisher.close();
+		}
+
+		this.decodeMessage();
+
+		final String responseMessage;
+
+		if ((this.shardCluster == null) || this.shardCluster.isCoordinator()) {
+			responseMessage = this.reportMessage();
+		} else {
+			responseMessage = null;
+		}
+
+		return responseMessage;
+	}
+
+	/**
+	 * Returns the average number of nanoseconds that every {@link Drone} spent idle during the
+	 * exploration.
+	 *
+	 * @return The average number of nanoseconds that every {@link Drone} spent idle during the
+	 *         exploration.
+	 */
+	public long getAverageDroneIdleNanoseconds() {
+		final int droneCount = Math.max(1, this.state.drones.size());
+
+		return this.state.droneIdleNanoseconds / droneCount;
+	}
+
+	/**
+	 * Returns the number of batches of commands sent, that is, the number of round trips made.
+	 *
+	 * @return The number of batches of commands sent.
+	 */
+	public long getBatchCount() {
+		return this.state.batchCount;
+	}
+
+	/**
+	 * Returns the {@link BatchPlanner} deciding how every batch of commands is split between
+	 * "explore" and "read" commands.
+	 *
+	 * @return The {@link BatchPlanner} deciding how every batch of commands is split between
+	 *         "explore" and "read" commands.
+	 */
+	public BatchPlanner getBatchPlanner() {
+		return this.batchPlanner;
+	}
+
+	/**
+	 * Returns the share of the exploration, as a percentage, that the average {@link Drone} spent
+	 * idle.
+	 *
+	 * @return The share of the exploration, as a percentage, that the average {@link Drone} spent
+	 *         idle.
+	 */
+	public double getDroneIdlePercentage() {
+		final long averageDroneIdleNanoseconds = this.getAverageDroneIdleNanoseconds();
+
+		return (100.0 * averageDroneIdleNanoseconds)
+				/ Math.max(1, this.state.explorationNanoseconds);
+	}
+
+	/**
+	 * Returns the number of nanoseconds the exploration spent waiting for the
+	 * {@link ExplorationListener} to catch up.
+	 *
+	 * @return The number of nanoseconds spent waiting for the {@link ExplorationListener}, or 0 if
+	 *         there is none.
+	 */
+	public long getEventBlockedNanoseconds() {
+		return (this.state.eventPublisher == null) ? 0
+				: this.state.eventPublisher.getBlockedNanoseconds();
+	}
+
+	/**
+	 * Returns the number of {@link ExplorationEvent}s that may wait for the
+	 * {@link ExplorationListener} before the exploration waits for it to catch up.
+	 *
+	 * @return The number of {@link ExplorationEvent}s that may wait for the
+	 *         {@link ExplorationListener}.
+	 */
+	public int getEventCapacity() {
+		return this.eventCapacity;
+	}
+
+	/**
+	 * Returns the number of {@link Room}s expected, which sizes the {@link RoomIndex} up front.
+	 *
+	 * @return The number of {@link Room}s expected.
+	 */
+	public int getExpectedRoomCount() {
+		return this.expectedRoomCount;
+	}
+
+	/**
+	 * Returns the {@link ExplorationJournal} every change to the exploration is recorded in, if
+	 * any.
+	 *
+	 * @return The {@link ExplorationJournal} every change to the exploration is recorded in, or
+	 *         <code>null</code> if the exploration is not journaled.
+	 */
+	public ExplorationJournal getExplorationJournal() {
+		return this.explorationJournal;
+	}
+
+	/**
+	 * Returns the {@link ExplorationListener} notified of every {@link ExplorationEvent} while the
+	 * exploration runs, if any.
+	 *
+	 * @return The {@link ExplorationListener}, or <code>null</code> if there is none.
+	 */
+	public ExplorationListener getExplorationListener() {
+		return this.explorationListener;
+	}
+
+	/**
+	 * Returns the metrics recorded during the exploration.
+	 *
+	 * @return The metrics recorded during the exploration.
+	 */
+	public ExplorationMetrics getExplorationMetrics() {
+		return this.explorationMetrics;
+	}
+
+	/**
+	 * Returns the {@link Frontiers.Kind} of {@link Frontier} that {@link Drone}s are handed
+	 * {@link Room}s from.
+	 *
+	 * @return The {@link Frontiers.Kind} of {@link Frontier} that {@link Drone}s are handed
+	 *         {@link Room}s from.
+	 */
+	public Frontiers.Kind getFrontierKind() {
+		return this.frontierKind;
+	}
+
+	/**
+	 * Returns the file the connections found between {@link Room}s are saved to.
+	 *
+	 * @return The file the connections found between {@link Room}s are saved to, or
+	 *         <code>null</code> if they are not kept.
+	 */
+	public File getGraphFile() {
+		return this.graphFile;
+	}
+
+	/**
+	 * Returns the round-trip time past which a batch of commands is hedged.
+	 *
+	 * @return The round-trip time past which a batch of commands is hedged, in nanoseconds, or -1
+	 *         if batches are not hedged or too few have completed yet to tell.
+	 */
+	private long getHedgeThresholdNanoseconds() {
+		final LatencyHistogram batchRoundTripHistogram = this.explorationMetrics
+				.getBatchRoundTripHistogram();
+		final long hedgeThresholdNanoseconds;
+
+		if (!this.hedging || (batchRoundTripHistogram
+				.getCount() < GanymedeExploration.MINIMUM_HEDGE_SAMPLE_COUNT)) {
+			hedgeThresholdNanoseconds = -1;
+		} else {
+			hedgeThresholdNanoseconds = batchRoundTripHistogram
+					.getPercentileNanoseconds(this.hedgePercentile);
+		}
+
+		return hedgeThresholdNanoseconds;
+	}
+
+	/**
+	 * Returns the percentile of batch round-trip times past which a batch is hedged.
+	 *
+	 * @return The percentile of batch round-trip times past which a batch is hedged.
+	 */
+	public double getHedgePercentile() {
+		return this.hedgePercentile;
+	}
+
+	/**
+	 * Returns the connections found between {@link Room}s, mapped back in from the file they were
+	 * saved to, which the caller may close once done with.
+	 *
+	 * @return The connections found between {@link Room}s, or <code>null</code> if they were not
+	 *         kept or the exploration has not ended yet.
+	 */
+	public LabyrinthGraph getLabyrinthGraph() {
+		return this.labyrinthGraph;
+	}
+
+	/**
+	 * Returns the number of times a command may be leased in all before losing its lease fails the
+	 * exploration.
+	 *
+	 * @return The number of times a command may be leased in all.
+	 */
+	public int getLeaseAttempts() {
+		return this.leaseAttempts;
+	}
+
+	/**
+	 * Returns how long a command may take before its lease runs out and its {@link Room} is handed
+	 * to another {@link Drone}.
+	 *
+	 * @return How long a command may take before its lease runs out, in milliseconds.
+	 */
+	public long getLeaseMilliseconds() {
+		return this.leaseMilliseconds;
+	}
+
+	/**
+	 * Returns the file the message is written to as it is assembled.
+	 *
+	 * @return The file the message is written to as it is assembled, or <code>null</code> if it is
+	 *         assembled in memory.
+	 */
+	public File getMessageFile() {
+		return this.messageFile;
+	}
+
+	/**
+	 * Returns the {@link RoomIndexes.Kind} of {@link RoomIndex} that the IDs of {@link Room}s are
+	 * indexed into.
+	 *
+	 * @return The {@link RoomIndexes.Kind} of {@link RoomIndex} that the IDs of {@link Room}s are
+	 *         indexed into.
+	 */
+	public RoomIndexes.Kind getRoomIndexKind() {
+		return this.roomIndexKind;
+	}
+
+	/**
+	 * Returns the {@link ShardCluster} the exploration is split across.
+	 *
+	 * @return The {@link ShardCluster} the exploration is split across, or <code>null</code> if it
+	 *         is not sharded.
+	 */
+	public ShardCluster getShardCluster() {
+		return this.shardCluster;
+	}
+
+	/**
+	 * Sends again, each on an idle {@link Drone}, every batch of commands that has been running
+	 * for longer than the hedging percentile of batch round-trip times, for as long as there are
+	 * idle {@link Drone}s. Idle {@link Drone}s are only left over once the {@link Frontier}s run
+	 * dry, so this mostly keeps a single slow {@link Drone} from holding up the end of the
+	 * exploration.
+	 */
+	private void hedgeBatches() {
+		final long hedgeThresholdNanoseconds = this.getHedgeThresholdNanoseconds();
+		final long nanoTime = System.nanoTime();
+		InFlightBatch hedgeCandidate = this.peekHedgeCandidate();
+
+		while ((hedgeThresholdNanoseconds >= 0) && (hedgeCandidate != null)
+				&& !this.state.availableDrones.isEmpty()
+				&& ((nanoTime - hedgeCandidate.sentNanoTime) >= hedgeThresholdNanoseconds)) {
+			final Drone availableDrone = this.state.availableDrones.pollFirst();
+
+			this.state.hedgeCandidates.pollFirst();
+
+			hedgeCandidate.copyCount++;
+			hedgeCandidate.hedgeDrone = availableDrone;
+
+			this.state.busyDroneCount++;
+			this.state.hedgedBatchCount++;
+			this.state.droneBatches.put(availableDrone, hedgeCandidate);
+
+			availableDrone.execute(hedgeCandidate.commandBatch);
+
+			hedgeCandidate = this.peekHedgeCandidate();
+		}
+	}
+
+	/**
+	 * Start the exploration process, or resume it from the {@link ExplorationJournal} if it
+	 * recorded an exploration that had started, then warms up a connection for every {@link Drone}
+	 * if the {@link TransportConfiguration} asks for it. A sharded exploration is started across
+	 * its {@link ShardCluster}, and only the shard owning the starting {@link Room} queues it.
+	 *
+	 * @throws IOException
+	 *             A network error occurred.
+	 * @throws ServerException
+	 *             The server returned an error.
+	 */
+	private void initializeExploration() throws IOException, ServerException {
+		final String internRoomIds = System
+				.getProperty(GanymedeExploration.INTERN_ROOM_IDS_PROPERTY, "true");
+
+		if ((this.shardCluster != null)
+				&& ((this.explorationJournal != null) || (this.graphFile != null))) {
+			throw new IllegalStateException(
+					"A sharded exploration can neither be journaled nor keep its graph.");
+		}
+
+		this.state.roomIndex = RoomIndexes.create(this.roomIndexKind, this.expectedRoomCount);
+
+		if (Boolean.parseBoolean(internRoomIds)) {
+			this.explorationManager.setRoomIndex(this.state.roomIndex);
+		}
+
+		if ((this.messageFile != null)
+				&& ((this.shardCluster == null) || this.shardCluster.isCoordinator())) {
+			final FileOutputStream messageFileOutputStream = new FileOutputStream(this.messageFile);
+
+			this.state.messageWriter = new BufferedWriter(new OutputStreamWriter(
+					messageFileOutputStream, StandardCharsets.UTF_8));
+		} else {
+			this.state.messageWriter = new StringWriter();
+		}
+
+		this.state.messageAssembler = new MessageAssembler(this.state.messageWriter);
+		this.state.leaseTable = new LeaseTable<>(
+				TimeUnit.MILLISECONDS.toNanos(this.leaseMilliseconds));
+
+		if (this.graphFile != null) {
+			this.state.labyrinthGraphBuilder = LabyrinthGraphBuilder.create();
+		}
+
+		final JournalState recoveredState = (this.explorationJournal == null) ? null
+				: this.explorationJournal.getRecoveredState();
+
+		if ((recoveredState != null) && recoveredState.isStarted()) {
+			this.resumeExploration(recoveredState);
+		} else {
+			final Room startingRoom = (this.shardCluster == null) ? this.explorationManager
+					.start() : this.shardCluster.start(this.explorationManager);
+			final List<String> droneIds = startingRoom.getDroneIds();
+
+			this.createDrones(droneIds);
+
+			final String roomId = startingRoom.getId();
+			final int roomIndex = this.state.roomIndex.index(roomId);
+
+			if ((this.shardCluster == null)
+					|| (this.shardCluster.getOwner(roomId) == this.shardCluster.getShardIndex())) {
+				this.state.unexploredRooms.offer(0, roomIndex);
+				this.state.unreadRooms.offer(0, roomIndex);
+			}
+
+			if (this.explorationJournal != null) {
+				this.explorationJournal.shareRoomIndex(this.state.roomIndex);
+				this.explorationJournal.append(JournalRecord.start(roomId, droneIds));
+			}
+		}
+
+		if (this.explorationManager.getTransportConfiguration().isWarmUpConnections()) {
+			final int droneCount = this.state.drones.size();
+			final int idleConnectionCount = this.explorationManager
+					.warmUpConnections(droneCount);
+
+			System.out.println(String.format("Warmed up %d connections for %d drones.",
+					idleConnectionCount, droneCount));
+		}
+	}
+
+	/**
+	 * Returns whether batches of commands that take unusually long are sent again on an idle
+	 * {@link Drone}, keeping whichever copy completes first.
+	 *
+	 * @return Whether batches of commands that take unusually long are hedged.
+	 */
+	public boolean isHedging() {
+		return this.hedging;
+	}
+
+	/**
+	 * Records the outcome of a command in the {@link ExplorationJournal}.
+	 *
+	 * @param commandId
+	 *            The unique ID of the command.
+	 * @param commandContents
+	 *            The contents of the command.
+	 * @param commandResult
+	 *            The outcome of the command.
+	 */
+	private void journalResult(final String commandId, final CommandContents commandContents,
+			final CommandResult commandResult) {
+		final String roomId = commandContents.getRoomId();
+		final Integer order = commandResult.getOrder();
+
+		if (commandResult.getConnectedRooms() != null) {
+			this.explorationJournal.append(JournalRecord.explored(commandId, roomId,
+					commandResult.getConnectedRooms(), this.state.roomIndex));
+		} else if (commandResult.getConnectedRoomIds() != null) {
+			this.explorationJournal.append(JournalRecord.explored(commandId, roomId,
+					commandResult.getConnectedRoomIds()));
+		}
+
+		if (order != null) {
+			this.explorationJournal.append(JournalRecord.read(commandId, roomId, order,
+					commandResult.getWriting()));
+		}
+	}
+
+	/**
+	 * Merges the outcome of a batch of commands into the {@link State}, completing the lease of
+	 * every command. Results of commands completed already are dropped, while commands that
+	 * failed are put back on the {@link Frontier}s.
+	 *
+	 * @param commandBatchResult
+	 *            The outcome of the batch of commands.
+	 * @param inFlightBatch
+	 *            The batch of commands the outcome is for.
+	 * @throws ServerException
+	 *             A command failed to be executed by {@link Drone}s too many times.
+	 * @throws IOException
+	 *             The message could not be written.
+	 */
+	private void mergeResults(final CommandBatchResult commandBatchResult,
+			final InFlightBatch inFlightBatch) throws ServerException, IOException {
+		final CommandBatch commandBatch = inFlightBatch.commandBatch;
+		final Map<String, CommandResult> commandIdCommandResults = commandBatchResult
+				.getCommandIdCommandResults();
+		final Drone drone = commandBatchResult.getDrone();
+		final int dronePartition = this.state.dronePartitions.get(drone);
+		int exploreCommandCount = 0;
+		int readCommandCount = 0;
+
+		for (final Map.Entry<String, CommandResult> commandIdCommandResultsEntry : commandIdCommandResults
+				.entrySet()) {
+			final String commandId = commandIdCommandResultsEntry.getKey();
+			final CommandResult commandResult = commandIdCommandResultsEntry.getValue();
+			final Integer order = commandResult.getOrder();
+			final int commandIndex = commandBatch.indexOf(commandId);
+
+			// The server answered a command that was not sent.
+			if (commandIndex < 0) {
+				continue;
+			}
+
+			final int room = commandBatch.getRoom(commandIndex);
+			final boolean explore = commandBatch.isExplore(commandIndex);
+
+			if (!commandResult.hasConnections() && (order == null)) {
+				final LeaseTable.Lease<InFlightBatch> lease = this.state.leaseTable.getHeldLease(
+						room, explore);
+
+				if ((lease != null) && (lease.getHolder() == inFlightBatch)) {
+					this.state.leaseTable.release(lease);
+
+					if (lease.getFailureCount() < this.leaseAttempts) {
+						this.requeueCommand(lease);
+					} else {
+						final String error = commandResult.getError();
+						final String message = String.format(
+								"Failed to execute command \"%s\": %s", commandId, error);
+
+						throw new ServerException(message);
+					}
+				}
+			} else {
+				// The command was completed already, by another copy of the batch or by the
+				// batch it was handed to after its lease ran out.
+				if (!this.state.leaseTable.complete(room, explore)) {
+					continue;
+				}
+
+				if (explore) {
+					this.state.exploredRooms.set(room);
+				} else {
+					this.state.readRooms.set(room);
+				}
+
+				final int[] connectedRooms = commandResult.getConnectedRooms();
+				final List<String> connectedRoomIds = commandResult.getConnectedRoomIds();
+
+				if (commandResult.hasConnections()) {
+					exploreCommandCount++;
+				}
+
+				if (order != null) {
+					readCommandCount++;
+				}
+
+				if (connectedRooms != null) {
+					for (final int connectedRoom : connectedRooms) {
+						this.queueRoom(dronePartition, connectedRoom);
+					}
+
+					if (this.state.labyrinthGraphBuilder != null) {
+						this.state.labyrinthGraphBuilder.addRoom(room, connectedRooms);
+					}
+				} else if (connectedRoomIds != null) {
+					final int[] indexedConnectedRooms = new int[connectedRoomIds.size()];
+					int connectedRoomCount = 0;
+
+					for (final String connectedRoomId : connectedRoomIds) {
+						final int connectedRoom = this.state.roomIndex.index(connectedRoomId);
+
+						this.queueRoom(dronePartition, connectedRoom);
+
+						indexedConnectedRooms[connectedRoomCount++] = connectedRoom;
+					}
+
+					if (this.state.labyrinthGraphBuilder != null) {
+						this.state.labyrinthGraphBuilder.addRoom(room, indexedConnectedRooms);
+					}
+				}
+
+				if ((order != null) && (order != -1)) {
+					final String writing = commandResult.getWriting();
+
+					if ((this.shardCluster == null) || this.shardCluster.isCoordinator()) {
+						this.state.messageAssembler.add(order, writing);
+					} else {
+						this.shardCluster.forwardWriting(order, writing);
+					}
+				}
+
+				if (this.explorationJournal != null) {
+					this.journalResult(commandId, commandBatch.getCommandContents(commandIndex),
+							commandResult);
+				}
+
+				if (this.state.eventPublisher != null) {
+					this.publishResult(commandBatch.getCommandContents(commandIndex),
+							commandResult);
+				}
+			}
+		}
+
+		this.explorationMetrics.recordRoundTrip(dronePartition,
+				commandBatchResult.getRoundTripNanoseconds(), exploreCommandCount,
+				readCommandCount);
+
+		if (this.state.eventPublisher != null) {
+			this.state.eventPublisher.publish(ExplorationEvent.batchCompleted(drone.getId(),
+					exploreCommandCount, readCommandCount,
+					commandBatchResult.getRoundTripNanoseconds()));
+		}
+	}
+
+	/**
+	 * Returns the oldest batch of commands that could still be hedged, dropping any completed
+	 * batches ahead of it.
+	 *
+	 * @return The oldest batch of commands that could still be hedged, or <code>null</code> if
+	 *         there is none.
+	 */
+	private InFlightBatch peekHedgeCandidate() {
+		InFlightBatch hedgeCandidate = this.state.hedgeCandidates.peekFirst();
+
+		while ((hedgeCandidate != null) && hedgeCandidate.done) {
+			this.state.hedgeCandidates.pollFirst();
+
+			hedgeCandidate = this.state.hedgeCandidates.peekFirst();
+		}
+
+		return hedgeCandidate;
+	}
+
+	/**
+	 * Performs the exploration by sending commands to the available {@link Drone}s and compiling
+	 * the data they find. The outcomes of completed batches are taken off
+	 * {@link State#commandBatchResults} one at a time, so each {@link Drone} is given its next
+	 * batch as soon as its results have been merged, without waiting for any other {@link Drone}.
+	 * The exploration ends once no {@link Room} is left on the {@link Frontier}s and no command
+	 * holds a lease, without waiting for the losing copies of hedged batches or for batches whose
+	 * leases ran out; those are cancelled once the exploration has ended. A sharded exploration
+	 * goes on until its {@link ShardCluster} finds that this holds for every shard at once.
+	 *
+	 * @throws ServerException
+	 *             A command failed to be executed by {@link Drone}s too many times.
+	 * @throws IOException
+	 *             A command failed or ran out of time too many times, or the message could not be
+	 *             written.
+	 * @throws InterruptedException
+	 *             Failed to asynchronously wait for {@link Drone}s to finish their work.
+	 */
+	private void performExploration() throws ServerException, IOException,
+			InterruptedException {
+		final long startNanoTime = System.nanoTime();
+		final List<String> droneIds = new ArrayList<>(this.state.drones.size());
+
+		for (final Drone drone : this.state.drones) {
+			drone.resetIdleTime(startNanoTime);
+
+			droneIds.add(drone.getId());
+		}
+
+		this.explorationMetrics.start(droneIds, startNanoTime);
+		this.startReportingMetrics();
+
+		try {
+			this.dispatchBatches();
+
+			while ((this.state.leaseTable.getHeldLeaseCount() > 0)
+					|| !this.state.unexploredRooms.isEmpty()
+					|| !this.state.unreadRooms.isEmpty()
+					|| ((this.shardCluster != null) && !this.shardCluster.isStopped())) {
+				final CommandBatchResult commandBatchResult = this.takeCommandBatchResult();
+
+				if (commandBatchResult != null) {
+					final Drone completedDrone = commandBatchResult.getDrone();
+					final long mergeStartNanoTime = System.nanoTime();
+
+					this.state.busyDroneCount--;
+
+					this.completeBatch(commandBatchResult);
+
+					this.explorationMetrics
+							.recordMerge(System.nanoTime() - mergeStartNanoTime);
+
+					this.state.availableDrones.addFirst(completedDrone);
+				}
+
+				this.expireLeases();
+				this.receiveShardMessages();
+				this.dispatchBatches();
+				this.hedgeBatches();
+				this.sendShardMessages();
+			}
+		} finally {
+			this.stopReportingMetrics();
+		}
+
+		final long endNanoTime = System.nanoTime();
+
+		this.explorationMetrics.finish(endNanoTime);
+		this.state.explorationNanoseconds = endNanoTime - startNanoTime;
+
+		for (final Drone drone : this.state.drones) {
+			this.state.droneIdleNanoseconds += drone.getIdleNanoseconds(endNanoTime);
+		}
+	}
+
+	/**
+	 * Publishes the outcome of a command as {@link ExplorationEvent}s, waiting for the
+	 * {@link ExplorationListener} to catch up if it has fallen too far behind.
+	 *
+	 * @param commandContents
+	 *            The contents of the command.
+	 * @param commandResult
+	 *            The outcome of the command.
+	 * @throws IOException
+	 *             The {@link ExplorationListener} failed, or the thread was interrupted while
+	 *             waiting for it.
+	 */
+	private void publishResult(final CommandContents commandContents,
+			final CommandResult commandResult) throws IOException {
+		final String roomId = commandContents.getRoomId();
+		final Integer order = commandResult.getOrder();
+		final int[] connectedRooms = commandResult.getConnectedRooms();
+
+		if (connectedRooms != null) {
+			final List<String> connectedRoomIds = new ArrayList<>(connectedRooms.length);
+
+			for (final int connectedRoom : connectedRooms) {
+				connectedRoomIds.add(this.state.roomIndex.getRoomId(connectedRoom));
+			}
+
+			this.state.eventPublisher.publish(ExplorationEvent.roomDiscovered(roomId,
+					connectedRoomIds));
+		} else if (commandResult.getConnectedRoomIds() != null) {
+			this.state.eventPublisher.publish(ExplorationEvent.roomDiscovered(roomId,
+					commandResult.getConnectedRoomIds()));
+		}
+
+		if (order != null) {
+			this.state.eventPublisher.publish(ExplorationEvent.roomRead(roomId, order,
+					commandResult.getWriting()));
+		}
+	}
+
+	/**
+	 * Queues a {@link Room} to be explored and read, unless it has been already. In a sharded
+	 * exploration, a {@link Room} owned by another shard is forwarded to it instead, once.
+	 *
+	 * @param dronePartition
+	 *            The partition of the {@link Frontier}s owned by the {@link Drone} that discovered
+	 *            the {@link Room}.
+	 * @param room
+	 *            The index of the {@link Room} to queue.
+	 * @throws IOException
+	 *             The {@link Room} could not be forwarded to the shard owning it.
+	 */
+	private void queueRoom(final int dronePartition, final int room) throws IOException {
+		if (this.shardCluster != null) {
+			final String roomId = this.state.roomIndex.getRoomId(room);
+			final int owner = this.shardCluster.getOwner(roomId);
+
+			if (owner != this.shardCluster.getShardIndex()) {
+				if (!this.state.forwardedRooms.get(room)) {
+					this.state.forwardedRooms.set(room);
+					this.shardCluster.forwardRoom(owner, roomId);
+				}
+
+				return;
+			}
+		}
+
+		if (!this.state.exploredRooms.get(room)
+				&& !this.state.unexploredRooms.offer(dronePartition, room)) {
+			this.state.avoidedExploreCommandCount++;
+		}
+
+		if (!this.state.readRooms.get(room)
+				&& !this.state.unreadRooms.offer(dronePartition, room)) {
+			this.state.avoidedReadCommandCount++;
+		}
+	}
+
+	/**
+	 * Takes in the messages forwarded by other shards, queuing the {@link Room}s forwarded to this
+	 * shard and, on the coordinator, assembling the writings forwarded to it.
+	 *
+	 * @throws IOException
+	 *             The message could not be written.
+	 */
+	private void receiveShardMessages() throws IOException {
+		if (this.shardCluster != null) {
+			final int droneCount = this.state.drones.size();
+			String roomId = this.shardCluster.pollRoomId();
+			ShardCluster.Writing writing = this.shardCluster.pollWriting();
+
+			while (roomId != null) {
+				final int room = this.state.roomIndex.index(roomId);
+
+				this.queueRoom(room % droneCount, room);
+
+				roomId = this.shardCluster.pollRoomId();
+			}
+
+			while (writing != null) {
+				this.state.messageAssembler.add(writing.getOrder(), writing.getWriting());
+
+				writing = this.shardCluster.pollWriting();
+			}
+		}
+	}
+
+	/**
+	 * Reports the decoded message, streaming it from the message file if it was written to one.
+	 *
+	 * @return The message sent back as a response.
+	 * @throws IOException
+	 *             A network error occurred.
+	 * @throws ServerException
+	 *             The server returned an error.
+	 */
+	private String reportMessage() throws IOException, ServerException {
+		final ReportResponse reportResponse;
+
+		if (this.messageFile != null) {
+			reportResponse = this.explorationManager.report(this.messageFile);
+		} else {
+			final String message = this.state.messageWriter.toString();
+			final ReportDetails reportDetails = new ReportDetails(message);
+
+			reportResponse = this.explorationManager.report(reportDetails);
+		}
+
+		final String responseMessage = reportResponse.getMessage();
+
+		return responseMessage;
+	}
+
+	/**
+	 * Puts the {@link Room} of a command whose lease was released back on the {@link Frontier}s,
+	 * so that it is explored or read again.
+	 *
+	 * @param lease
+	 *            The released lease of the command.
+	 */
+	private void requeueCommand(final LeaseTable.Lease<InFlightBatch> lease) {
+		final int room = lease.getRoom();
+		final int dronePartition = room % this.state.drones.size();
+
+		if (lease.isExplore()) {
+			this.state.exploredRooms.clear(room);
+			this.state.unexploredRooms.offer(dronePartition, room);
+		} else {
+			this.state.readRooms.clear(room);
+			this.state.unreadRooms.offer(dronePartition, room);
+		}
+
+		this.state.requeuedCommandCount++;
+	}
+
+	/**
+	 * Rebuilds the {@link State} from the progress recorded in the {@link ExplorationJournal},
+	 * without starting the exploration anew. Every {@link Room} seen but not yet explored or read
+	 * is queued again, starting with those whose commands were in flight when the exploration
+	 * stopped, so that only the commands whose results were lost are sent again.
+	 *
+	 * @param recoveredState
+	 *            The progress recorded in the {@link ExplorationJournal}.
+	 * @throws IOException
+	 *             The writings could not be read back, or the message could not be written.
+	 */
+	private void resumeExploration(final JournalState recoveredState) throws IOException {
+		final RoomIndex recoveredRoomIndex = recoveredState.getRoomIndex();
+		final int roomCount = recoveredRoomIndex.size();
+
+		this.createDrones(recoveredState.getDroneIds());
+
+		for (int room = 0; room < roomCount; room++) {
+			this.state.roomIndex.index(recoveredRoomIndex.getRoomId(room));
+		}
+
+		this.explorationJournal.shareRoomIndex(this.state.roomIndex);
+		this.explorationJournal.replayWritings(this.state.messageAssembler);
+
+		this.state.exploredRooms.or(recoveredState.getExploredRooms());
+		this.state.readRooms.or(recoveredState.getReadRooms());
+
+		final int droneCount = Math.max(1, this.state.drones.size());
+		int dronePartition = 0;
+
+		for (final int inFlightExplore : recoveredState.getInFlightExplores().keySet()) {
+			this.state.unexploredRooms.offer(dronePartition, inFlightExplore);
+
+			dronePartition = (dronePartition + 1) % droneCount;
+		}
+
+		for (final int inFlightRead : recoveredState.getInFlightReads().keySet()) {
+			this.state.unreadRooms.offer(dronePartition, inFlightRead);
+
+			dronePartition = (dronePartition + 1) % droneCount;
+		}
+
+		for (int room = 0; room < roomCount; room++) {
+			if (!this.state.exploredRooms.get(room)) {
+				this.state.unexploredRooms.offer(room % droneCount, room);
+			}
+
+			if (!this.state.readRooms.get(room)) {
+				this.state.unreadRooms.offer(room % droneCount, room);
+			}
+		}
+
+		System.out.println(String.format(
+				"Resuming with %d rooms known, %d to explore and %d to read, of which %d and %d "
+						+ "were in flight.", roomCount, this.state.unexploredRooms.size(),
+				this.state.unreadRooms.size(), recoveredState.getInFlightExplores().size(),
+				recoveredState.getInFlightReads().size()));
+	}
+
+	/**
+	 * Saves the connections found between {@link Room}s, along with the ID of every {@link Room},
+	 * to {@link #graphFile}, if they were kept, and maps them back in.
+	 *
+	 * @throws IOException
+	 *             The connections could not be saved.
+	 */
+	private void saveLabyrinthGraph() throws IOException {
+		final LabyrinthGraphBuilder labyrinthGraphBuilder = this.state.labyrinthGraphBuilder;
+
+		if (labyrinthGraphBuilder != null) {
+			this.state.labyrinthGraphBuilder = null;
+
+			try {
+				this.labyrinthGraph = labyrinthGraphBuilder.writeTo(this.graphFile,
+						this.state.roomIndex);
+			} finally {
+				labyrinthGraphBuilder.close();
+			}
+		}
+	}
+
+	/**
+	 * Sends the messages forwarded to other shards on their way and records whether this shard
+	 * has nothing left to do until more are forwarded to it.
+	 *
+	 * @throws IOException
+	 *             The {@link ShardCluster} broke, or the messages could not be sent.
+	 */
+	private void sendShardMessages() throws IOException {
+		if (this.shardCluster != null) {
+			this.shardCluster.flush();
+			this.shardCluster.setIdle((this.state.leaseTable.getHeldLeaseCount() == 0)
+					&& this.state.unexploredRooms.isEmpty() && this.state.unreadRooms.isEmpty());
+		}
+	}
+
+	/**
+	 * Sets the {@link BatchPlanner} deciding how every batch of commands is split between
+	 * "explore" and "read" commands.
+	 *
+	 * @param batchPlanner
+	 *            The {@link BatchPlanner} deciding how every batch of commands is split between
+	 *            "explore" and "read" commands.
+	 */
+	public void setBatchPlanner(final BatchPlanner batchPlanner) {
+		this.batchPlanner = batchPlanner;
+	}
+
+	/**
+	 * Sets the number of {@link ExplorationEvent}s that may wait for the
+	 * {@link ExplorationListener} before the exploration waits for it to catch up, which only takes
+	 * effect if set before the exploration starts.
+	 *
+	 * @param eventCapacity
+	 *            The number of {@link ExplorationEvent}s that may wait for the
+	 *            {@link ExplorationListener}.
+	 */
+	public void setEventCapacity(final int eventCapacity) {
+		this.eventCapacity = eventCapacity;
+	}
+
+	/**
+	 * Sets the number of {@link Room}s expected, which sizes the {@link RoomIndex} up front and
+	 * only takes effect if set before the exploration starts.
+	 *
+	 * @param expectedRoomCount
+	 *            The number of {@link Room}s expected.
+	 */
+	public void setExpectedRoomCount(final int expectedRoomCount) {
+		this.expectedRoomCount = expectedRoomCount;
+	}
+
+	/**
+	 * Sets the {@link ExplorationJournal} every change to the exploration is recorded in, which
+	 * only takes effect if set before the exploration starts. If it recovered an exploration that
+	 * had started, that exploration is resumed. It shares the {@link RoomIndex} of the exploration,
+	 * so it is closed once the exploration ends, before that index is released.
+	 *
+	 * @param explorationJournal
+	 *            The {@link ExplorationJournal} every change to the exploration is recorded in, or
+	 *            <code>null</code> if the exploration is not to be journaled.
+	 */
+	public void setExplorationJournal(final ExplorationJournal explorationJournal) {
+		this.explorationJournal = explorationJournal;
+	}
+
+	/**
+	 * Sets the {@link ExplorationListener} notified of every {@link ExplorationEvent} while the
+	 * exploration runs, which only takes effect if set before the exploration starts. Rooms
+	 * explored or read before resuming from an {@link ExplorationJournal} are not published again.
+	 *
+	 * @param explorationListener
+	 *            The {@link ExplorationListener} to notify, or <code>null</code> if there is none.
+	 */
+	public void setExplorationListener(final ExplorationListener explorationListener) {
+		this.explorationListener = explorationListener;
+	}
+
+	/**
+	 * Sets the {@link Frontiers.Kind} of {@link Frontier} that {@link Drone}s are handed
+	 * {@link Room}s from, which only takes effect if set before the exploration starts.
+	 *
+	 * @param frontierKind
+	 *            The {@link Frontiers.Kind} of {@link Frontier} that {@link Drone}s are handed
+	 *            {@link Room}s from.
+	 */
+	public void setFrontierKind(final Frontiers.Kind frontierKind) {
+		this.frontierKind = frontierKind;
+	}
+
+	/**
+	 * Sets the file the connections found between {@link Room}s are saved to once the exploration
+	 * ends, or <code>null</code> not to keep them.
+	 *
+	 * @param graphFile
+	 *            The file the connections found between {@link Room}s are saved to.
+	 */
+	public void setGraphFile(final File graphFile) {
+		this.graphFile = graphFile;
+	}
+
+	/**
+	 * Sets the percentile of batch round-trip times past which a batch is hedged.
+	 *
+	 * @param hedgePercentile
+	 *            The percentile of batch round-trip times past which a batch is hedged.
+	 */
+	public void setHedgePercentile(final double hedgePercentile) {
+		this.hedgePercentile = hedgePercentile;
+	}
+
+	/**
+	 * Sets whether batches of commands that take unusually long are sent again on an idle
+	 * {@link Drone}, keeping whichever copy completes first.
+	 *
+	 * @param hedging
+	 *            Whether batches of commands that take unusually long are hedged.
+	 */
+	public void setHedging(final boolean hedging) {
+		this.hedging = hedging;
+	}
+
+	/**
+	 * Sets the number of times a command may be leased in all before losing its lease, because it
+	 * ran out or the command failed, fails the exploration.
+	 *
+	 * @param leaseAttempts
+	 *            The number of times a command may be leased in all.
+	 */
+	public void setLeaseAttempts(final int leaseAttempts) {
+		this.leaseAttempts = leaseAttempts;
+	}
+
+	/**
+	 * Sets how long a command may take before its lease runs out and its {@link Room} is handed to
+	 * another {@link Drone}.
+	 *
+	 * @param leaseMilliseconds
+	 *            How long a command may take before its lease runs out, in milliseconds.
+	 */
+	public void setLeaseMilliseconds(final long leaseMilliseconds) {
+		this.leaseMilliseconds = leaseMilliseconds;
+	}
+
+	/**
+	 * Sets the file the message is written to as it is assembled, which only takes effect if set
+	 * before the exploration starts.
+	 *
+	 * @param messageFile
+	 *            The file the message is written to as it is assembled, or <code>null</code> to
+	 *            assemble it in memory.
+	 */
+	public void setMessageFile(final File messageFile) {
+		this.messageFile = messageFile;
+	}
+
+	/**
+	 * Sets the {@link RoomIndexes.Kind} of {@link RoomIndex} that the IDs of {@link Room}s are
+	 * indexed into, which only takes effect if set before the exploration starts.
+	 *
+	 * @param roomIndexKind
+	 *            The {@link RoomIndexes.Kind} of {@link RoomIndex} that the IDs of {@link Room}s
+	 *            are indexed into.
+	 */
+	public void setRoomIndexKind(final RoomIndexes.Kind roomIndexKind) {
+		this.roomIndexKind = roomIndexKind;
+	}
+
+	/**
+	 * Sets the {@link ShardCluster} to split the exploration across, which only takes effect if
+	 * set before the exploration starts. A sharded exploration can neither be journaled nor keep
+	 * its graph.
+	 *
+	 * @param shardCluster
+	 *            The {@link ShardCluster} to split the exploration across, or <code>null</code> to
+	 *            run it in this process alone.
+	 */
+	public void setShardCluster(final ShardCluster shardCluster) {
+		this.shardCluster = shardCluster;
+	}
+
+	/**
+	 * Starts exposing the metrics over JMX and printing them periodically, as configured through
+	 * the {@link ExplorationMetrics#JMX_PROPERTY} and
+	 * {@link ExplorationMetrics#INTERVAL_SECONDS_PROPERTY} system properties. Failing to expose
+	 * them over JMX does not stop the exploration.
+	 */
+	private void startReportingMetrics() {
+		final long intervalSeconds = Long
+				.getLong(ExplorationMetrics.INTERVAL_SECONDS_PROPERTY, 0);
+
+		if (Boolean.getBoolean(ExplorationMetrics.JMX_PROPERTY)) {
+			try {
+				this.explorationMetrics.register();
+			} catch (final JMException jmException) {
+				System.err.println("Failed to expose the exploration metrics over JMX.");
+				jmException.printStackTrace();
+			}
+		}
+
+		if (intervalSeconds > 0) {
+			this.explorationMetrics.startDumping(intervalSeconds, System.out);
+		}
+	}
+
+	/**
+	 * Stops exposing the metrics over JMX and printing them periodically.
+	 */
+	private void stopReportingMetrics() {
+		this.explorationMetrics.stopDumping();
+
+		try {
+			this.explorationMetrics.unregister();
+		} catch (final JMException jmException) {
+			System.err.println("Failed to stop exposing the exploration metrics over JMX.");
+			jmException.printStackTrace();
+		}
+	}
+
+	/**
+	 * Takes the outcome of the next batch of commands to complete, waiting no longer than until
+	 * the next lease runs out or, if a batch could be hedged, until it has run for too long. A
+	 * sharded exploration also waits no longer than {@link ShardCluster#POLL_INTERVAL_NANOSECONDS},
+	 * so that messages forwarded by other shards are taken in soon after they arrive.
+	 *
+	 * @return The outcome of the next batch of commands to complete, or <code>null</code> if a
+	 *         lease ran out, a batch became due for hedging or a sharded exploration should take
+	 *         in forwarded messages first.
+	 * @throws InterruptedException
+	 *             Interrupted while waiting.
+	 */
+	private CommandBatchResult takeCommandBatchResult() throws InterruptedException {
+		final long hedgeThresholdNanoseconds = this.getHedgeThresholdNanoseconds();
+		final InFlightBatch hedgeCandidate = this.peekHedgeCandidate();
+		long wakeUpNanoTime = this.state.leaseTable.getNextDeadlineNanoTime();
+
+		if ((hedgeThresholdNanoseconds >= 0) && (hedgeCandidate != null)
+				&& !this.state.availableDrones.isEmpty()) {
+			wakeUpNanoTime = Math.min(wakeUpNanoTime,
+					hedgeCandidate.sentNanoTime + hedgeThresholdNanoseconds);
+		}
+
+		if (this.shardCluster != null) {
+			wakeUpNanoTime = Math.min(wakeUpNanoTime,
+					System.nanoTime() + ShardCluster.POLL_INTERVAL_NANOSECONDS);
+		}
+
+		final CommandBatchResult commandBatchResult;
+
+		if (wakeUpNanoTime == Long.MAX_VALUE) {
+			commandBatchResult = this.state.commandBatchResults.take();
+		} else {
+			final long waitNanoseconds = wakeUpNanoTime - System.nanoTime();
+
+			commandBatchResult = this.state.commandBatchResults
+					.poll(Math.max(0, waitNanoseconds), TimeUnit.NANOSECONDS);
+		}
+
+		return commandBatchResult;
 	}
 }
\ No newline at end of file
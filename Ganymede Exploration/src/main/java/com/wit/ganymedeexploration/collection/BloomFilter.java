@@ -0,0 +1,111 @@
+package com.wit.ganymedeexploration.collection;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.wit.ganymedeexploration.graph.MappedStore;
+
+/**
+ * A Bloom filter over 64-bit hashes, whose bits are kept outside the heap in a
+ * {@link MappedStore}. It never forgets a hash it was given, but may mistake a hash it was never
+ * given for one it was, increasingly often as it fills up. Its size is fixed when it is created,
+ * so it never takes more memory than it was given, however many hashes it is given.
+ * <p>
+ * The {@link #HASH_COUNT} bits of a hash are derived from its two halves by double hashing.
+ */
+public final class BloomFilter implements Closeable {
+	/**
+	 * The number of bits set for every hash, which keeps the false-positive rate below 1% while
+	 * the filter holds no more than a tenth as many hashes as it has bits.
+	 */
+	private static final int HASH_COUNT = 7;
+
+	/**
+	 * The smallest number of bits a filter has.
+	 */
+	private static final long MINIMUM_BIT_COUNT = 1L << 16;
+
+	/**
+	 * The number of bits of the filter, a power of 2.
+	 */
+	private final long bitCount;
+
+	/**
+	 * The bits of the filter, 64 to a <code>long</code>.
+	 */
+	private final MappedStore bits;
+
+	/**
+	 * Creates a new, empty {@link BloomFilter}.
+	 *
+	 * @param bitCount
+	 *            The number of bits the filter should have at least, which is rounded up to a
+	 *            power of 2.
+	 * @throws IOException
+	 *             The store of the bits could not be created.
+	 */
+	public BloomFilter(final long bitCount) throws IOException {
+		this.bitCount = Math.max(BloomFilter.MINIMUM_BIT_COUNT,
+				Long.highestOneBit(Math.max(1, bitCount - 1)) << 1);
+		this.bits = MappedStore.createTemporary("ganymede-filter");
+
+		this.bits.ensureCapacity(this.bitCount / 8);
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.bits.close();
+	}
+
+	/**
+	 * Returns the number of bytes mapped for the bits of the filter.
+	 *
+	 * @return The number of bytes mapped for the bits of the filter.
+	 */
+	public long getMemoryBytes() {
+		return this.bits.getCapacity();
+	}
+
+	/**
+	 * Returns whether the given hash may have been given to the filter.
+	 *
+	 * @param hash
+	 *            The hash to look up.
+	 * @return <code>false</code> if the hash was certainly never given to the filter,
+	 *         <code>true</code> if it probably was.
+	 */
+	public boolean mightContain(final long hash) {
+		final long firstHash = hash & 0xffffffffL;
+		final long secondHash = (hash >>> 32) | 1;
+		final long bitMask = this.bitCount - 1;
+		boolean contained = true;
+
+		for (int hashIndex = 0; contained && (hashIndex < BloomFilter.HASH_COUNT); hashIndex++) {
+			final long bit = (firstHash + (hashIndex * secondHash)) & bitMask;
+			final long word = this.bits.getLong((bit >>> 6) * 8);
+
+			contained = (word & (1L << bit)) != 0;
+		}
+
+		return contained;
+	}
+
+	/**
+	 * Gives a hash to the filter.
+	 *
+	 * @param hash
+	 *            The hash to give.
+	 */
+	public void put(final long hash) {
+		final long firstHash = hash & 0xffffffffL;
+		final long secondHash = (hash >>> 32) | 1;
+		final long bitMask = this.bitCount - 1;
+
+		for (int hashIndex = 0; hashIndex < BloomFilter.HASH_COUNT; hashIndex++) {
+			final long bit = (firstHash + (hashIndex * secondHash)) & bitMask;
+			final long position = (bit >>> 6) * 8;
+
+			this.bits.putLong(position, this.bits.getLong(position) | (1L << bit));
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.wit.ganymedeexploration.collection;
+
+import java.util.NoSuchElementException;
+
+/**
+ * The {@link com.wit.ganymedeexploration.model.Room}s, by index, still waiting to have a given
+ * command sent for them, split into partitions that each belong to one drone. A {@link Frontier}
+ * never holds the same {@link com.wit.ganymedeexploration.model.Room} more than once at a time.
+ */
+public interface Frontier {
+	/**
+	 * Returns the number of times a partition ran dry and took rooms from another one, which is
+	 * always 0 if the partitions share their rooms.
+	 *
+	 * @return The number of times a partition took rooms from another one.
+	 */
+	long getStealCount();
+
+	/**
+	 * Returns whether this {@link Frontier} holds no rooms in any of its partitions.
+	 *
+	 * @return Whether this {@link Frontier} holds no rooms in any of its partitions.
+	 */
+	boolean isEmpty();
+
+	/**
+	 * Adds the given room to the given partition, unless it is already held in any partition.
+	 *
+	 * @param partition
+	 *            The partition of the drone that discovered the room.
+	 * @param room
+	 *            The index of the room to add.
+	 * @return Whether the room was added.
+	 */
+	boolean offer(final int partition, final int room);
+
+	/**
+	 * Removes and returns the next room for the drone owning the given partition, taking it from
+	 * another partition if need be.
+	 *
+	 * @param partition
+	 *            The partition of the drone asking for a room.
+	 * @return The index of the room.
+	 * @throws NoSuchElementException
+	 *             This {@link Frontier} is empty.
+	 */
+	int poll(final int partition);
+
+	/**
+	 * Returns the number of rooms held across all partitions.
+	 *
+	 * @return The number of rooms held across all partitions.
+	 */
+	int size();
+}
\ No newline at end of file
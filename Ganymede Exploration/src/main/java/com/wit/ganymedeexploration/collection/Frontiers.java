@@ -0,0 +1,67 @@
+package com.wit.ganymedeexploration.collection;
+
+/**
+ * Creates the {@link Frontier}s that drones are handed rooms from.
+ */
+public final class Frontiers {
+	/**
+	 * The kinds of {@link Frontier} that drones can be handed rooms from.
+	 */
+	public static enum Kind {
+		/**
+		 * A {@link PartitionedFrontier}, with a deque per drone and work stealing.
+		 */
+		PARTITIONED,
+
+		/**
+		 * A {@link SharedFrontier}, with a single queue shared by all drones.
+		 */
+		SHARED
+	}
+
+	/**
+	 * The system property naming the {@link Kind} of {@link Frontier} to use by default.
+	 */
+	public static final String KIND_PROPERTY = "ganymede.frontier";
+
+	/**
+	 * Creates a {@link Frontier} of the given {@link Kind}.
+	 *
+	 * @param kind
+	 *            The {@link Kind} of {@link Frontier} to create.
+	 * @param partitionCount
+	 *            The number of partitions, one per drone.
+	 * @return The created {@link Frontier}.
+	 */
+	public static Frontier create(final Kind kind, final int partitionCount) {
+		final Frontier frontier;
+
+		switch (kind) {
+		case PARTITIONED:
+			frontier = new PartitionedFrontier(partitionCount);
+			break;
+		case SHARED:
+		default:
+			frontier = new SharedFrontier();
+			break;
+		}
+
+		return frontier;
+	}
+
+	/**
+	 * Returns the {@link Kind} of {@link Frontier} to use unless told otherwise, configured through
+	 * the {@link #KIND_PROPERTY} system property.
+	 *
+	 * @return The {@link Kind} of {@link Frontier} to use unless told otherwise.
+	 */
+	public static Kind getDefaultKind() {
+		final String kindName = System.getProperty(Frontiers.KIND_PROPERTY, Kind.SHARED.name());
+		final Kind kind = Kind.valueOf(kindName.toUpperCase());
+
+		return kind;
+	}
+
+	private Frontiers() {
+	}
+}
\ No newline at end of file
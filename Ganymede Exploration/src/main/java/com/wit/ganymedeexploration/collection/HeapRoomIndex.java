@@ -0,0 +1,136 @@
+package com.wit.ganymedeexploration.collection;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.wit.ganymedeexploration.model.Room;
+
+/**
+ * A {@link RoomIndex} keeping every {@link Room} ID on the heap, as a {@link String} in a
+ * {@link ConcurrentMap}. It is the fastest {@link RoomIndex}, but its footprint of around a hundred
+ * bytes per {@link Room} bounds the labyrinths it can index by the size of the heap.
+ * <p>
+ * {@link Room} IDs are looked up without locking. Looking up an index that was handed over from
+ * another thread is safe as long as that hand-over itself was properly synchronized.
+ */
+public class HeapRoomIndex implements RoomIndex {
+	/**
+	 * The number of {@link Room} IDs held by each chunk of {@link #roomIdChunks}.
+	 */
+	private static final int CHUNK_SIZE = 4096;
+
+	/**
+	 * The estimated number of bytes taken by each {@link Room} ID besides its characters: the
+	 * headers of the {@link String} and of its array, the entry of {@link #roomIdIndices} and the
+	 * boxed index.
+	 */
+	private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+	/**
+	 * The estimated number of bytes taken by the characters of the {@link Room} IDs seen so far.
+	 */
+	private volatile long roomIdBytes = 0;
+
+	/**
+	 * The {@link Room} IDs seen so far, positioned at their assigned indices and split into chunks
+	 * so that growing never copies the IDs themselves.
+	 */
+	private volatile String[][] roomIdChunks = new String[16][];
+
+	/**
+	 * The indices assigned to each {@link Room} ID seen so far.
+	 */
+	private final ConcurrentMap<String, Integer> roomIdIndices = new ConcurrentHashMap<>();
+
+	/**
+	 * The number of distinct {@link Room} IDs seen so far.
+	 */
+	private volatile int size = 0;
+
+	@Override
+	public void close() {
+	}
+
+	@Override
+	public double getFalsePositiveRate() {
+		return 0;
+	}
+
+	@Override
+	public long getMemoryBytes() {
+		final int chunkCount = (this.size + HeapRoomIndex.CHUNK_SIZE - 1)
+				/ HeapRoomIndex.CHUNK_SIZE;
+
+		return (this.size * (long) HeapRoomIndex.ENTRY_OVERHEAD_BYTES) + this.roomIdBytes
+				+ (chunkCount * (long) HeapRoomIndex.CHUNK_SIZE * 4);
+	}
+
+	@Override
+	public String getRoomId(final int index) {
+		final String[] roomIdChunk = this.roomIdChunks[index / HeapRoomIndex.CHUNK_SIZE];
+
+		return roomIdChunk[index % HeapRoomIndex.CHUNK_SIZE];
+	}
+
+	@Override
+	public int index(final String roomId) {
+		final Integer existingIndex = this.roomIdIndices.get(roomId);
+		final int index;
+
+		if (existingIndex == null) {
+			index = this.indexNew(roomId);
+		} else {
+			index = existingIndex;
+		}
+
+		return index;
+	}
+
+	/**
+	 * Assigns the next available index to the given {@link Room} ID, unless another thread got
+	 * there first.
+	 *
+	 * @param roomId
+	 *            The {@link Room} ID to assign an index to.
+	 * @return The index assigned to the given {@link Room} ID.
+	 */
+	private synchronized int indexNew(final String roomId) {
+		final Integer existingIndex = this.roomIdIndices.get(roomId);
+		final int index;
+
+		if (existingIndex == null) {
+			index = this.size;
+
+			final int chunkIndex = index / HeapRoomIndex.CHUNK_SIZE;
+			String[][] roomIdChunks = this.roomIdChunks;
+
+			if (chunkIndex == roomIdChunks.length) {
+				final String[][] grownRoomIdChunks = new String[roomIdChunks.length * 2][];
+
+				System.arraycopy(roomIdChunks, 0, grownRoomIdChunks, 0, roomIdChunks.length);
+
+				roomIdChunks = grownRoomIdChunks;
+			}
+
+			if (roomIdChunks[chunkIndex] == null) {
+				roomIdChunks[chunkIndex] = new String[HeapRoomIndex.CHUNK_SIZE];
+			}
+
+			roomIdChunks[chunkIndex][index % HeapRoomIndex.CHUNK_SIZE] = roomId;
+
+			this.roomIdChunks = roomIdChunks;
+			this.roomIdIndices.put(roomId, index);
+			this.roomIdBytes += (roomId.length() + 7) & ~7;
+			this.size = index + 1;
+		} else {
+			index = existingIndex;
+		}
+
+		return index;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+}
\ No newline at end of file
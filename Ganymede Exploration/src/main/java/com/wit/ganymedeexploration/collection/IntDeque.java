@@ -0,0 +1,134 @@
+package com.wit.ganymedeexploration.collection;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A double-ended queue of primitive <code>int</code>s backed by a growable circular buffer.
+ */
+public class IntDeque {
+	/**
+	 * The capacity of the backing array when none is specified.
+	 */
+	private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+	/**
+	 * The circular buffer holding the values.
+	 */
+	private int[] values;
+
+	/**
+	 * The position within {@link #values} of the head of this {@link IntDeque}.
+	 */
+	private int head = 0;
+
+	/**
+	 * The number of values currently held within this {@link IntDeque}.
+	 */
+	private int size = 0;
+
+	/**
+	 * Creates a new {@link IntDeque}.
+	 */
+	public IntDeque() {
+		this(IntDeque.DEFAULT_INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Creates a new {@link IntDeque}.
+	 *
+	 * @param initialCapacity
+	 *            The number of values that can be held before the backing array needs to grow.
+	 */
+	public IntDeque(final int initialCapacity) {
+		this.values = new int[Math.max(1, initialCapacity)];
+	}
+
+	/**
+	 * Adds the given value to the tail of this {@link IntDeque}.
+	 *
+	 * @param value
+	 *            The value to add.
+	 */
+	public void addLast(final int value) {
+		if (this.size == this.values.length) {
+			this.grow();
+		}
+
+		final int tail = (this.head + this.size) % this.values.length;
+
+		this.values[tail] = value;
+		this.size++;
+	}
+
+	/**
+	 * Doubles the capacity of the backing array, unrolling the circular buffer in the process.
+	 */
+	private void grow() {
+		final int[] grownValues = new int[this.values.length * 2];
+		final int headLength = this.values.length - this.head;
+
+		System.arraycopy(this.values, this.head, grownValues, 0, headLength);
+		System.arraycopy(this.values, 0, grownValues, headLength, this.head);
+
+		this.values = grownValues;
+		this.head = 0;
+	}
+
+	/**
+	 * Returns whether this {@link IntDeque} holds no values.
+	 *
+	 * @return Whether this {@link IntDeque} holds no values.
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Removes and returns the value at the head of this {@link IntDeque}.
+	 *
+	 * @return The value at the head of this {@link IntDeque}.
+	 * @throws NoSuchElementException
+	 *             This {@link IntDeque} is empty.
+	 */
+	public int pollFirst() {
+		if (this.size == 0) {
+			throw new NoSuchElementException("The deque is empty.");
+		} else {
+			final int value = this.values[this.head];
+
+			this.head = (this.head + 1) % this.values.length;
+			this.size--;
+
+			return value;
+		}
+	}
+
+	/**
+	 * Removes and returns the value at the tail of this {@link IntDeque}.
+	 *
+	 * @return The value at the tail of this {@link IntDeque}.
+	 * @throws NoSuchElementException
+	 *             This {@link IntDeque} is empty.
+	 */
+	public int pollLast() {
+		if (this.size == 0) {
+			throw new NoSuchElementException("The deque is empty.");
+		} else {
+			final int tail = (this.head + this.size - 1) % this.values.length;
+			final int value = this.values[tail];
+
+			this.size--;
+
+			return value;
+		}
+	}
+
+	/**
+	 * Returns the number of values currently held within this {@link IntDeque}.
+	 *
+	 * @return The number of values currently held within this {@link IntDeque}.
+	 */
+	public int size() {
+		return this.size;
+	}
+}
\ No newline at end of file
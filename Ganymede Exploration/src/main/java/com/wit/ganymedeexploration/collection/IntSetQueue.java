@@ -0,0 +1,145 @@
+package com.wit.ganymedeexploration.collection;
+
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+
+/**
+ * A first-in-first-out queue of non-negative primitive <code>int</code>s that never holds the same
+ * value more than once at a time.
+ */
+public class IntSetQueue {
+	/**
+	 * The capacity of the backing array when none is specified.
+	 */
+	private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+	/**
+	 * The values currently held within this {@link IntSetQueue}.
+	 */
+	private final BitSet members = new BitSet();
+
+	/**
+	 * The circular buffer holding the queued values.
+	 */
+	private int[] values;
+
+	/**
+	 * The position within {@link #values} of the head of this {@link IntSetQueue}.
+	 */
+	private int head = 0;
+
+	/**
+	 * The number of values currently held within this {@link IntSetQueue}.
+	 */
+	private int size = 0;
+
+	/**
+	 * Creates a new {@link IntSetQueue}.
+	 */
+	public IntSetQueue() {
+		this(IntSetQueue.DEFAULT_INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Creates a new {@link IntSetQueue}.
+	 *
+	 * @param initialCapacity
+	 *            The number of values that can be held before the backing array needs to grow.
+	 */
+	public IntSetQueue(final int initialCapacity) {
+		this.values = new int[Math.max(1, initialCapacity)];
+	}
+
+	/**
+	 * Returns whether the given value is currently held within this {@link IntSetQueue}.
+	 *
+	 * @param value
+	 *            The value to look for.
+	 * @return Whether the given value is currently held within this {@link IntSetQueue}.
+	 */
+	public boolean contains(final int value) {
+		return this.members.get(value);
+	}
+
+	/**
+	 * Doubles the capacity of the backing array, unrolling the circular buffer in the process.
+	 */
+	private void grow() {
+		final int[] grownValues = new int[this.values.length * 2];
+		final int headLength = this.values.length - this.head;
+
+		System.arraycopy(this.values, this.head, grownValues, 0, headLength);
+		System.arraycopy(this.values, 0, grownValues, headLength, this.head);
+
+		this.values = grownValues;
+		this.head = 0;
+	}
+
+	/**
+	 * Returns whether this {@link IntSetQueue} holds no values.
+	 *
+	 * @return Whether this {@link IntSetQueue} holds no values.
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Adds the given value to the tail of this {@link IntSetQueue}, unless it is already held.
+	 *
+	 * @param value
+	 *            The value to add.
+	 * @return Whether the value was added.
+	 */
+	public boolean offer(final int value) {
+		final boolean added;
+
+		if (this.members.get(value)) {
+			added = false;
+		} else {
+			if (this.size == this.values.length) {
+				this.grow();
+			}
+
+			final int tail = (this.head + this.size) % this.values.length;
+
+			this.values[tail] = value;
+			this.size++;
+			this.members.set(value);
+
+			added = true;
+		}
+
+		return added;
+	}
+
+	/**
+	 * Removes and returns the value at the head of this {@link IntSetQueue}.
+	 *
+	 * @return The value at the head of this {@link IntSetQueue}.
+	 * @throws NoSuchElementException
+	 *             This {@link IntSetQueue} is empty.
+	 */
+	public int poll() {
+		if (this.size == 0) {
+			throw new NoSuchElementException("The queue is empty.");
+		} else {
+			final int value = this.values[this.head];
+
+			this.head = (this.head + 1) % this.values.length;
+			this.size--;
+			this.members.clear(value);
+
+			return value;
+		}
+	}
+
+	/**
+	 * Returns the number of values currently held within this {@link IntSetQueue}.
+	 *
+	 * @return The number of values currently held within this {@link IntSetQueue}.
+	 */
+	public int size() {
+		return this.size;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,497 @@
+package com.wit.ganymedeexploration.collection;
+
+import com.wit.ganymedeexploration.model.Room;
+
+/**
+ * Tracks every command that has been dispatched but whose result has not been taken in yet. Each
+ * such command holds a lease, with a deadline, on the {@link Room} it is about, so that no
+ * {@link Room} is explored or read by two batches of commands at once. A lease that runs out or
+ * whose command fails is released, and the {@link Room} it was about should then go back to the
+ * frontier, while the lease itself is remembered until its command is finally completed.
+ * <p>
+ * A command is identified by the index of its {@link Room} and whether it is an "explore" or a
+ * "read" command, so that no command ID has to be built to lease a {@link Room}. Leases are kept
+ * in an open-addressing table sized to the commands not yet completed rather than to the
+ * {@link Room}s, and a lease is reused once its command is completed, so that leasing a
+ * {@link Room} allocates nothing once the table has grown to the number of commands in flight.
+ * <p>
+ * Every lease lasts equally long, so leases run out in the order they were granted and finding
+ * those that have run out never means searching the whole table. Only the coordinating thread may
+ * use a {@link LeaseTable}.
+ *
+ * @param <H>
+ *            The type of whatever holds leases, such as a batch of commands.
+ */
+public class LeaseTable<H> {
+	/**
+	 * A lease on a {@link Room}, taken by a single command.
+	 *
+	 * @param <H>
+	 *            The type of whatever holds the lease.
+	 */
+	public static final class Lease<H> {
+		/**
+		 * The {@link System#nanoTime()} past which the lease has run out.
+		 */
+		private long deadlineNanoTime;
+
+		/**
+		 * Whether the command is an "explore" command rather than a "read" command.
+		 */
+		private boolean explore;
+
+		/**
+		 * The number of times the lease was released because it ran out or its command failed.
+		 */
+		private int failureCount;
+
+		/**
+		 * Whether the lease is currently held rather than released.
+		 */
+		private boolean held;
+
+		/**
+		 * Whatever holds the lease or, once it has been released, last held it.
+		 */
+		private H holder;
+
+		/**
+		 * The lease granted right after this one while both are held, or the next unused lease
+		 * once this one is unused too.
+		 */
+		private Lease<H> newer;
+
+		/**
+		 * The lease granted right before this one while both are held.
+		 */
+		private Lease<H> older;
+
+		/**
+		 * The index of the {@link Room} the command is about.
+		 */
+		private int room;
+
+		/**
+		 * Creates a new, unused {@link Lease}.
+		 */
+		private Lease() {
+		}
+
+		/**
+		 * Returns the {@link System#nanoTime()} past which the lease has run out.
+		 *
+		 * @return The {@link System#nanoTime()} past which the lease has run out.
+		 */
+		public long getDeadlineNanoTime() {
+			return this.deadlineNanoTime;
+		}
+
+		/**
+		 * Returns the number of times the lease was released because it ran out or its command
+		 * failed.
+		 *
+		 * @return The number of times the lease was released.
+		 */
+		public int getFailureCount() {
+			return this.failureCount;
+		}
+
+		/**
+		 * Returns whatever holds the lease or, once it has been released, last held it.
+		 *
+		 * @return Whatever holds or last held the lease.
+		 */
+		public H getHolder() {
+			return this.holder;
+		}
+
+		/**
+		 * Returns the index of the {@link Room} the command is about.
+		 *
+		 * @return The index of the {@link Room} the command is about.
+		 */
+		public int getRoom() {
+			return this.room;
+		}
+
+		/**
+		 * Returns whether the command is an "explore" command rather than a "read" command.
+		 *
+		 * @return Whether the command is an "explore" command.
+		 */
+		public boolean isExplore() {
+			return this.explore;
+		}
+	}
+
+	/**
+	 * The number of commands that can be in flight before the table needs to grow, when none is
+	 * specified.
+	 */
+	private static final int DEFAULT_INITIAL_CAPACITY = 64;
+
+	/**
+	 * Creates an array of slots for leases.
+	 *
+	 * @param capacity
+	 *            The number of slots.
+	 * @return The array of slots.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <H> Lease<H>[] createLeases(final int capacity) {
+		return new Lease[capacity];
+	}
+
+	/**
+	 * Returns the slot a command's lease is put in unless another lease is in it already.
+	 *
+	 * @param room
+	 *            The index of the {@link Room} the command is about.
+	 * @param explore
+	 *            Whether the command is an "explore" command rather than a "read" command.
+	 * @param mask
+	 *            The number of slots, less one.
+	 * @return The slot the lease of the command is put in first.
+	 */
+	private static int getHomeSlot(final int room, final boolean explore, final int mask) {
+		final int hash = ((room * 2) + (explore ? 1 : 0)) * 0x9e3779b9;
+
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+	/**
+	 * How long every lease lasts, in nanoseconds.
+	 */
+	private final long durationNanoseconds;
+
+	/**
+	 * The number of leases currently held.
+	 */
+	private int heldLeaseCount = 0;
+
+	/**
+	 * The number of leases, held or released, whose commands have not been completed yet.
+	 */
+	private int leaseCount = 0;
+
+	/**
+	 * The slots of the open-addressing table of leases whose commands have not been completed
+	 * yet, at most half of which are in use.
+	 */
+	private Lease<H>[] leases;
+
+	/**
+	 * The most recently granted lease still held.
+	 */
+	private Lease<H> newestHeldLease;
+
+	/**
+	 * The least recently granted lease still held, and therefore the next one to run out.
+	 */
+	private Lease<H> oldestHeldLease;
+
+	/**
+	 * The first of the leases whose commands were completed, ready to be reused.
+	 */
+	private Lease<H> unusedLease;
+
+	/**
+	 * Creates a new {@link LeaseTable}.
+	 *
+	 * @param durationNanoseconds
+	 *            How long every lease lasts, in nanoseconds.
+	 */
+	public LeaseTable(final long durationNanoseconds) {
+		this(durationNanoseconds, LeaseTable.DEFAULT_INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Creates a new {@link LeaseTable}.
+	 *
+	 * @param durationNanoseconds
+	 *            How long every lease lasts, in nanoseconds.
+	 * @param initialCapacity
+	 *            The number of commands that can be in flight before the table needs to grow.
+	 */
+	public LeaseTable(final long durationNanoseconds, final int initialCapacity) {
+		this.durationNanoseconds = durationNanoseconds;
+		// At least twice as many slots as commands, rounded to a power of two.
+		this.leases = LeaseTable.createLeases(
+				Integer.highestOneBit((Math.max(1, initialCapacity) * 4) - 1));
+	}
+
+	/**
+	 * Grants a command a lease on a {@link Room}, unless the command already holds one. A command
+	 * whose lease was released takes it back, keeping count of its failures.
+	 *
+	 * @param room
+	 *            The index of the {@link Room} the command is about.
+	 * @param explore
+	 *            Whether the command is an "explore" command rather than a "read" command.
+	 * @param holder
+	 *            Whatever is to hold the lease.
+	 * @param nanoTime
+	 *            The {@link System#nanoTime()} at which the command is dispatched.
+	 * @return Whether the lease was granted.
+	 */
+	public boolean acquire(final int room, final boolean explore, final H holder,
+			final long nanoTime) {
+		int slot = this.findSlot(room, explore);
+		Lease<H> lease = this.leases[slot];
+		final boolean acquired;
+
+		if ((lease != null) && lease.held) {
+			acquired = false;
+		} else {
+			if (lease == null) {
+				if (((this.leaseCount + 1) * 2) > this.leases.length) {
+					this.grow();
+
+					slot = this.findSlot(room, explore);
+				}
+
+				if (this.unusedLease == null) {
+					lease = new Lease<>();
+				} else {
+					lease = this.unusedLease;
+
+					this.unusedLease = lease.newer;
+				}
+
+				lease.room = room;
+				lease.explore = explore;
+				lease.failureCount = 0;
+
+				this.leases[slot] = lease;
+				this.leaseCount++;
+			}
+
+			lease.holder = holder;
+			lease.deadlineNanoTime = nanoTime + this.durationNanoseconds;
+			lease.held = true;
+			lease.older = this.newestHeldLease;
+			lease.newer = null;
+
+			if (this.newestHeldLease == null) {
+				this.oldestHeldLease = lease;
+			} else {
+				this.newestHeldLease.newer = lease;
+			}
+
+			this.newestHeldLease = lease;
+			this.heldLeaseCount++;
+
+			acquired = true;
+		}
+
+		return acquired;
+	}
+
+	/**
+	 * Completes a command, forgetting its lease whether it was still held or had been released.
+	 * The lease is reused for another command afterwards.
+	 *
+	 * @param room
+	 *            The index of the {@link Room} the command is about.
+	 * @param explore
+	 *            Whether the command is an "explore" command rather than a "read" command.
+	 * @return Whether the command had a lease, which it does not if it had been completed already
+	 *         or was never granted one.
+	 */
+	public boolean complete(final int room, final boolean explore) {
+		final int slot = this.findSlot(room, explore);
+		final Lease<H> lease = this.leases[slot];
+		final boolean completed;
+
+		if (lease == null) {
+			completed = false;
+		} else {
+			if (lease.held) {
+				this.unlink(lease);
+			}
+
+			this.removeSlot(slot);
+
+			lease.holder = null;
+			lease.older = null;
+			lease.newer = this.unusedLease;
+
+			this.unusedLease = lease;
+
+			completed = true;
+		}
+
+		return completed;
+	}
+
+	/**
+	 * Returns the slot holding the lease of a command, or the free slot it would be put in.
+	 *
+	 * @param room
+	 *            The index of the {@link Room} the command is about.
+	 * @param explore
+	 *            Whether the command is an "explore" command rather than a "read" command.
+	 * @return The slot holding the lease of the command, or the free slot it would be put in.
+	 */
+	private int findSlot(final int room, final boolean explore) {
+		final int mask = this.leases.length - 1;
+		int slot = LeaseTable.getHomeSlot(room, explore, mask);
+		Lease<H> lease = this.leases[slot];
+
+		while ((lease != null) && ((lease.room != room) || (lease.explore != explore))) {
+			slot = (slot + 1) & mask;
+			lease = this.leases[slot];
+		}
+
+		return slot;
+	}
+
+	/**
+	 * Returns the lease held by a command.
+	 *
+	 * @param room
+	 *            The index of the {@link Room} the command is about.
+	 * @param explore
+	 *            Whether the command is an "explore" command rather than a "read" command.
+	 * @return The lease held by the command, or <code>null</code> if it holds none.
+	 */
+	public Lease<H> getHeldLease(final int room, final boolean explore) {
+		final Lease<H> lease = this.leases[this.findSlot(room, explore)];
+
+		return ((lease != null) && lease.held) ? lease : null;
+	}
+
+	/**
+	 * Returns the number of leases currently held.
+	 *
+	 * @return The number of leases currently held.
+	 */
+	public int getHeldLeaseCount() {
+		return this.heldLeaseCount;
+	}
+
+	/**
+	 * Returns the {@link System#nanoTime()} at which the next held lease runs out.
+	 *
+	 * @return The {@link System#nanoTime()} at which the next held lease runs out, or
+	 *         {@link Long#MAX_VALUE} if no lease is held.
+	 */
+	public long getNextDeadlineNanoTime() {
+		return (this.oldestHeldLease == null) ? Long.MAX_VALUE
+				: this.oldestHeldLease.deadlineNanoTime;
+	}
+
+	/**
+	 * Doubles the number of slots of the table, putting every lease in its new slot.
+	 */
+	private void grow() {
+		final Lease<H>[] leases = this.leases;
+
+		this.leases = LeaseTable.createLeases(leases.length * 2);
+
+		for (final Lease<H> lease : leases) {
+			if (lease != null) {
+				this.leases[this.findSlot(lease.room, lease.explore)] = lease;
+			}
+		}
+	}
+
+	/**
+	 * Records that a held lease is no longer held.
+	 *
+	 * @param lease
+	 *            The lease no longer held.
+	 */
+	private void markReleased(final Lease<H> lease) {
+		this.unlink(lease);
+
+		lease.failureCount++;
+	}
+
+	/**
+	 * Releases the oldest held lease if it has run out.
+	 *
+	 * @param nanoTime
+	 *            The current {@link System#nanoTime()}.
+	 * @return The released lease, or <code>null</code> if no held lease has run out.
+	 */
+	public Lease<H> pollExpired(final long nanoTime) {
+		final Lease<H> oldestLease = this.oldestHeldLease;
+		Lease<H> expiredLease = null;
+
+		if ((oldestLease != null) && ((nanoTime - oldestLease.deadlineNanoTime) >= 0)) {
+			this.markReleased(oldestLease);
+
+			expiredLease = oldestLease;
+		}
+
+		return expiredLease;
+	}
+
+	/**
+	 * Releases a held lease because its command failed.
+	 *
+	 * @param lease
+	 *            The held lease.
+	 */
+	public void release(final Lease<H> lease) {
+		this.markReleased(lease);
+	}
+
+	/**
+	 * Empties a slot of the table, moving back into it any lease further along the same run of
+	 * slots that would otherwise no longer be found.
+	 *
+	 * @param slot
+	 *            The slot to empty.
+	 */
+	private void removeSlot(final int slot) {
+		final int mask = this.leases.length - 1;
+		int freeSlot = slot;
+		int nextSlot = (slot + 1) & mask;
+
+		this.leases[freeSlot] = null;
+
+		while (this.leases[nextSlot] != null) {
+			final Lease<H> lease = this.leases[nextSlot];
+			final int homeSlot = LeaseTable.getHomeSlot(lease.room, lease.explore, mask);
+
+			if (((nextSlot - homeSlot) & mask) >= ((nextSlot - freeSlot) & mask)) {
+				this.leases[freeSlot] = lease;
+				this.leases[nextSlot] = null;
+
+				freeSlot = nextSlot;
+			}
+
+			nextSlot = (nextSlot + 1) & mask;
+		}
+
+		this.leaseCount--;
+	}
+
+	/**
+	 * Takes a held lease out of the order in which held leases run out.
+	 *
+	 * @param lease
+	 *            The held lease.
+	 */
+	private void unlink(final Lease<H> lease) {
+		if (lease.older == null) {
+			this.oldestHeldLease = lease.newer;
+		} else {
+			lease.older.newer = lease.newer;
+		}
+
+		if (lease.newer == null) {
+			this.newestHeldLease = lease.older;
+		} else {
+			lease.newer.older = lease.older;
+		}
+
+		lease.held = false;
+		lease.older = null;
+		lease.newer = null;
+
+		this.heldLeaseCount--;
+	}
+}
\ No newline at end of file
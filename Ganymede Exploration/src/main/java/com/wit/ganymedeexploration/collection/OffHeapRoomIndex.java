@@ -0,0 +1,442 @@
+package com.wit.ganymedeexploration.collection;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.wit.ganymedeexploration.graph.MappedStore;
+import com.wit.ganymedeexploration.model.Room;
+
+/**
+ * A {@link RoomIndex} keeping every {@link Room} ID outside the heap, in temporary memory-mapped
+ * files, so that the labyrinths it can index are bounded by the disk rather than by the heap. It
+ * is made of three {@link MappedStore}s:
+ * <ul>
+ * <li>the records, holding every {@link Room} ID as a header followed by its bytes, in the order
+ * they were first seen. IDs made only of lowercase hexadecimal digits, as the server hands out,
+ * are packed two digits to a byte, and any others are kept in UTF-8;</li>
+ * <li>the offsets, holding the position of the record of every index;</li>
+ * <li>the slots, an open-addressing hash table holding, for every {@link Room} ID, its index and
+ * its hash, which is probed linearly and doubled once it is half full.</li>
+ * </ul>
+ * All of that takes between 36 and 52 bytes per hexadecimal {@link Room} ID of 16 digits,
+ * depending on how full the hash table is. {@link #getMemoryBytes()} reports what is mapped,
+ * which each store rounds up to a power of 2 until it spans whole chunks.
+ * <p>
+ * A {@link BloomFilter} may stand in front of the slots, in which case the {@link Room} IDs it has
+ * certainly never been given skip comparing records altogether and only look for a free slot.
+ * Only the {@link Room} IDs it has probably been given are looked up in full, and those that turn
+ * out never to have been seen after all are counted as its false positives.
+ * <p>
+ * Every method locks the {@link OffHeapRoomIndex}, as growing a {@link MappedStore} is not safe
+ * while it is being read from another thread.
+ */
+public final class OffHeapRoomIndex implements RoomIndex {
+	/**
+	 * The hexadecimal digits that {@link Room} IDs packed two to a byte are made of.
+	 */
+	private static final char[] HEXADECIMAL_DIGITS = "0123456789abcdef".toCharArray();
+
+	/**
+	 * The smallest number of slots of the hash table.
+	 */
+	private static final long MINIMUM_SLOT_COUNT = 1L << 12;
+
+	/**
+	 * The number of bytes of the offset of every record.
+	 */
+	private static final int OFFSET_SIZE = 8;
+
+	/**
+	 * The number of bytes of the header of every record, which holds the length of the
+	 * {@link Room} ID, shifted left once, and whether it is packed, in the lowest bit.
+	 */
+	private static final int RECORD_HEADER_SIZE = 4;
+
+	/**
+	 * The number of bytes of every slot of the hash table: the index of its {@link Room} ID plus
+	 * one, so that 0 marks a free slot, followed by the hash of the {@link Room} ID.
+	 */
+	private static final int SLOT_SIZE = 8;
+
+	/**
+	 * Returns the 64-bit hash of a {@link Room} ID: the FNV-1a hash of its characters, mixed with
+	 * the finalizer of MurmurHash3 so that every bit depends on every character.
+	 *
+	 * @param roomId
+	 *            The {@link Room} ID.
+	 * @return The hash of the {@link Room} ID.
+	 */
+	private static long hash(final String roomId) {
+		long hash = 0xcbf29ce484222325L;
+
+		for (int characterIndex = 0; characterIndex < roomId.length(); characterIndex++) {
+			hash = (hash ^ roomId.charAt(characterIndex)) * 0x100000001b3L;
+		}
+
+		hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+		hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+
+		return hash ^ (hash >>> 33);
+	}
+
+	/**
+	 * Returns whether a {@link Room} ID is made only of lowercase hexadecimal digits, so that it
+	 * can be packed two digits to a byte.
+	 *
+	 * @param roomId
+	 *            The {@link Room} ID.
+	 * @return Whether the {@link Room} ID can be packed.
+	 */
+	private static boolean isPackable(final String roomId) {
+		boolean packable = true;
+
+		for (int characterIndex = 0; packable
+				&& (characterIndex < roomId.length()); characterIndex++) {
+			final char character = roomId.charAt(characterIndex);
+
+			packable = ((character >= '0') && (character <= '9'))
+					|| ((character >= 'a') && (character <= 'f'));
+		}
+
+		return packable;
+	}
+
+	/**
+	 * The {@link BloomFilter} standing in front of the hash table, if any.
+	 */
+	private final BloomFilter bloomFilter;
+
+	/**
+	 * The number of bytes of the last {@link Room} ID encoded by {@link #encode(String)}.
+	 */
+	private int encodedByteCount;
+
+	/**
+	 * The bytes of the last {@link Room} ID encoded by {@link #encode(String)}, grown as needed.
+	 */
+	private byte[] encodedBytes = new byte[32];
+
+	/**
+	 * The header of the record of the last {@link Room} ID encoded by {@link #encode(String)}.
+	 */
+	private int encodedHeader;
+
+	/**
+	 * The number of {@link Room} IDs that {@link #bloomFilter} had probably been given, but that
+	 * had never been seen.
+	 */
+	private long falsePositiveCount = 0;
+
+	/**
+	 * The position of the record of every index.
+	 */
+	private final MappedStore offsets;
+
+	/**
+	 * The {@link Room} IDs seen so far, in the order they were first seen.
+	 */
+	private final MappedStore records;
+
+	/**
+	 * The number of bytes used within {@link #records}.
+	 */
+	private long recordsSize = 0;
+
+	/**
+	 * The number of distinct {@link Room} IDs seen so far.
+	 */
+	private int size = 0;
+
+	/**
+	 * The number of slots of the hash table, a power of 2.
+	 */
+	private long slotCount;
+
+	/**
+	 * The slots of the hash table.
+	 */
+	private MappedStore slots;
+
+	/**
+	 * Creates a new, empty {@link OffHeapRoomIndex}.
+	 *
+	 * @param expectedRoomCount
+	 *            The number of {@link Room} IDs expected, which sizes the hash table up front.
+	 * @param bloomFilter
+	 *            The {@link BloomFilter} to stand in front of the hash table, which is closed
+	 *            along with the {@link OffHeapRoomIndex}, or <code>null</code> for none.
+	 * @throws IOException
+	 *             The stores could not be created.
+	 */
+	public OffHeapRoomIndex(final int expectedRoomCount, final BloomFilter bloomFilter)
+			throws IOException {
+		this.bloomFilter = bloomFilter;
+		this.slotCount = Math.max(OffHeapRoomIndex.MINIMUM_SLOT_COUNT,
+				Long.highestOneBit(Math.max(1, (expectedRoomCount * 2L) - 1)) << 1);
+		this.slots = MappedStore.createTemporary("ganymede-slots");
+		this.offsets = MappedStore.createTemporary("ganymede-offsets");
+		this.records = MappedStore.createTemporary("ganymede-records");
+
+		this.slots.ensureCapacity(this.slotCount * OffHeapRoomIndex.SLOT_SIZE);
+	}
+
+	/**
+	 * Adds the last {@link Room} ID encoded by {@link #encode(String)}, assigning it the next
+	 * available index.
+	 *
+	 * @param slot
+	 *            The free slot of the hash table to add it into.
+	 * @param slotHash
+	 *            The hash kept in the slot.
+	 * @return The index assigned to the {@link Room} ID.
+	 */
+	private int add(final long slot, final int slotHash) {
+		final int index = this.size;
+		final long recordPosition = this.recordsSize;
+		final long bytesPosition = recordPosition + OffHeapRoomIndex.RECORD_HEADER_SIZE;
+		final long nextRecordPosition = (bytesPosition + this.encodedByteCount + 3) & ~3L;
+		final long offsetPosition = index * (long) OffHeapRoomIndex.OFFSET_SIZE;
+		final long slotPosition = slot * OffHeapRoomIndex.SLOT_SIZE;
+
+		try {
+			this.records.ensureCapacity(nextRecordPosition);
+			this.offsets.ensureCapacity(offsetPosition + OffHeapRoomIndex.OFFSET_SIZE);
+		} catch (final IOException ioException) {
+			throw new IllegalStateException("Could not grow the room index.", ioException);
+		}
+
+		this.records.putInt(recordPosition, this.encodedHeader);
+
+		for (int byteIndex = 0; byteIndex < this.encodedByteCount; byteIndex++) {
+			this.records.putByte(bytesPosition + byteIndex, this.encodedBytes[byteIndex]);
+		}
+
+		this.offsets.putLong(offsetPosition, recordPosition);
+		this.slots.putInt(slotPosition, index + 1);
+		this.slots.putInt(slotPosition + 4, slotHash);
+
+		this.recordsSize = nextRecordPosition;
+		this.size = index + 1;
+
+		if ((this.size * 2L) > this.slotCount) {
+			this.growSlots();
+		}
+
+		return index;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			this.slots.close();
+			this.offsets.close();
+			this.records.close();
+		} finally {
+			if (this.bloomFilter != null) {
+				this.bloomFilter.close();
+			}
+		}
+	}
+
+	/**
+	 * Encodes a {@link Room} ID into {@link #encodedBytes}, {@link #encodedByteCount} and
+	 * {@link #encodedHeader}.
+	 *
+	 * @param roomId
+	 *            The {@link Room} ID to encode.
+	 */
+	private void encode(final String roomId) {
+		final int length = roomId.length();
+
+		if (OffHeapRoomIndex.isPackable(roomId)) {
+			this.encodedByteCount = (length + 1) / 2;
+			this.encodedHeader = (length << 1) | 1;
+
+			if (this.encodedBytes.length < this.encodedByteCount) {
+				this.encodedBytes = new byte[this.encodedByteCount * 2];
+			}
+
+			for (int byteIndex = 0; byteIndex < this.encodedByteCount; byteIndex++) {
+				final int characterIndex = byteIndex * 2;
+				final int highNibble = Character.digit(roomId.charAt(characterIndex), 16);
+				final int lowNibble = ((characterIndex + 1) < length) ? Character.digit(
+						roomId.charAt(characterIndex + 1), 16) : 0;
+
+				this.encodedBytes[byteIndex] = (byte) ((highNibble << 4) | lowNibble);
+			}
+		} else {
+			final byte[] bytes = roomId.getBytes(StandardCharsets.UTF_8);
+
+			this.encodedByteCount = bytes.length;
+			this.encodedHeader = bytes.length << 1;
+
+			if (this.encodedBytes.length < this.encodedByteCount) {
+				this.encodedBytes = new byte[this.encodedByteCount * 2];
+			}
+
+			System.arraycopy(bytes, 0, this.encodedBytes, 0, bytes.length);
+		}
+	}
+
+	@Override
+	public synchronized double getFalsePositiveRate() {
+		return (this.size == 0) ? 0 : ((double) this.falsePositiveCount / this.size);
+	}
+
+	@Override
+	public synchronized long getMemoryBytes() {
+		final long filterBytes = (this.bloomFilter == null) ? 0 : this.bloomFilter
+				.getMemoryBytes();
+
+		return this.slots.getCapacity() + this.offsets.getCapacity()
+				+ this.records.getCapacity() + filterBytes;
+	}
+
+	@Override
+	public synchronized String getRoomId(final int index) {
+		final long recordPosition = this.offsets
+				.getLong(index * (long) OffHeapRoomIndex.OFFSET_SIZE);
+		final long bytesPosition = recordPosition + OffHeapRoomIndex.RECORD_HEADER_SIZE;
+		final int header = this.records.getInt(recordPosition);
+		final int length = header >>> 1;
+		final String roomId;
+
+		if ((header & 1) != 0) {
+			final char[] characters = new char[length];
+
+			for (int characterIndex = 0; characterIndex < length; characterIndex++) {
+				final byte packedByte = this.records.getByte(bytesPosition + (characterIndex / 2));
+				final int nibble = ((characterIndex % 2) == 0) ? ((packedByte >>> 4) & 0xf)
+						: (packedByte & 0xf);
+
+				characters[characterIndex] = OffHeapRoomIndex.HEXADECIMAL_DIGITS[nibble];
+			}
+
+			roomId = new String(characters);
+		} else {
+			final byte[] bytes = new byte[length];
+
+			for (int byteIndex = 0; byteIndex < length; byteIndex++) {
+				bytes[byteIndex] = this.records.getByte(bytesPosition + byteIndex);
+			}
+
+			roomId = new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		return roomId;
+	}
+
+	/**
+	 * Doubles the number of slots of the hash table, moving every {@link Room} ID to a new
+	 * {@link MappedStore} using the hash kept in its slot, without reading its record.
+	 */
+	private void growSlots() {
+		final long grownSlotCount = this.slotCount * 2;
+		final long grownSlotMask = grownSlotCount - 1;
+		final MappedStore grownSlots;
+
+		try {
+			grownSlots = MappedStore.createTemporary("ganymede-slots");
+
+			grownSlots.ensureCapacity(grownSlotCount * OffHeapRoomIndex.SLOT_SIZE);
+		} catch (final IOException ioException) {
+			throw new IllegalStateException("Could not grow the room index.", ioException);
+		}
+
+		for (long slot = 0; slot < this.slotCount; slot++) {
+			final long slotPosition = slot * OffHeapRoomIndex.SLOT_SIZE;
+			final int indexPlusOne = this.slots.getInt(slotPosition);
+
+			if (indexPlusOne != 0) {
+				final int slotHash = this.slots.getInt(slotPosition + 4);
+				long grownSlot = slotHash & grownSlotMask;
+
+				while (grownSlots.getInt(grownSlot * OffHeapRoomIndex.SLOT_SIZE) != 0) {
+					grownSlot = (grownSlot + 1) & grownSlotMask;
+				}
+
+				grownSlots.putInt(grownSlot * OffHeapRoomIndex.SLOT_SIZE, indexPlusOne);
+				grownSlots.putInt((grownSlot * OffHeapRoomIndex.SLOT_SIZE) + 4, slotHash);
+			}
+		}
+
+		try {
+			this.slots.close();
+		} catch (final IOException ioException) {
+			// The old slots are no longer used, and their file is gone already.
+		}
+
+		this.slots = grownSlots;
+		this.slotCount = grownSlotCount;
+	}
+
+	@Override
+	public synchronized int index(final String roomId) {
+		final long hash = OffHeapRoomIndex.hash(roomId);
+		final int slotHash = (int) hash;
+		final long slotMask = this.slotCount - 1;
+		final boolean probablySeen = (this.bloomFilter == null)
+				|| this.bloomFilter.mightContain(hash);
+		long slot = slotHash & slotMask;
+		int index = -1;
+
+		this.encode(roomId);
+
+		while (index < 0) {
+			final long slotPosition = slot * OffHeapRoomIndex.SLOT_SIZE;
+			final int slotIndex = this.slots.getInt(slotPosition) - 1;
+
+			if (slotIndex < 0) {
+				break;
+			}
+
+			if (probablySeen && (this.slots.getInt(slotPosition + 4) == slotHash)
+					&& this.matches(slotIndex)) {
+				index = slotIndex;
+			} else {
+				slot = (slot + 1) & slotMask;
+			}
+		}
+
+		if (index < 0) {
+			if (this.bloomFilter != null) {
+				if (probablySeen) {
+					this.falsePositiveCount++;
+				}
+
+				this.bloomFilter.put(hash);
+			}
+
+			index = this.add(slot, slotHash);
+		}
+
+		return index;
+	}
+
+	/**
+	 * Returns whether the record of an index holds the last {@link Room} ID encoded by
+	 * {@link #encode(String)}.
+	 *
+	 * @param index
+	 *            The index whose record to compare.
+	 * @return Whether the record holds the encoded {@link Room} ID.
+	 */
+	private boolean matches(final int index) {
+		final long recordPosition = this.offsets
+				.getLong(index * (long) OffHeapRoomIndex.OFFSET_SIZE);
+		final long bytesPosition = recordPosition + OffHeapRoomIndex.RECORD_HEADER_SIZE;
+		boolean matching = this.records.getInt(recordPosition) == this.encodedHeader;
+
+		for (int byteIndex = 0; matching && (byteIndex < this.encodedByteCount); byteIndex++) {
+			matching = this.records
+					.getByte(bytesPosition + byteIndex) == this.encodedBytes[byteIndex];
+		}
+
+		return matching;
+	}
+
+	@Override
+	public synchronized int size() {
+		return this.size;
+	}
+}
\ No newline at end of file
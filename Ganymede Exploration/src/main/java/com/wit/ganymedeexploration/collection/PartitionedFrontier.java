@@ -0,0 +1,124 @@
+package com.wit.ganymedeexploration.collection;
+
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link Frontier} giving every drone its own deque. A drone pushes the rooms it discovers onto
+ * the tail of its own deque and takes its next room from that same tail, following its own branch
+ * of the labyrinth depth first. Once its deque runs dry it steals the older half of the busiest
+ * deque, taken from the head, where the rooms closest to the root and so most likely to lead to
+ * further work are.
+ */
+public class PartitionedFrontier implements Frontier {
+	/**
+	 * The deque of every partition.
+	 */
+	private final IntDeque[] partitionRooms;
+
+	/**
+	 * The rooms currently held within any partition.
+	 */
+	private final BitSet queuedRooms = new BitSet();
+
+	/**
+	 * The number of rooms held across all partitions.
+	 */
+	private int size = 0;
+
+	/**
+	 * The number of times a partition had to steal from another one.
+	 */
+	private long stealCount = 0;
+
+	/**
+	 * Creates a new {@link PartitionedFrontier}.
+	 *
+	 * @param partitionCount
+	 *            The number of partitions, one per drone.
+	 */
+	public PartitionedFrontier(final int partitionCount) {
+		this.partitionRooms = new IntDeque[Math.max(1, partitionCount)];
+
+		for (int partition = 0; partition < this.partitionRooms.length; partition++) {
+			this.partitionRooms[partition] = new IntDeque();
+		}
+	}
+
+	@Override
+	public long getStealCount() {
+		return this.stealCount;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@Override
+	public boolean offer(final int partition, final int room) {
+		final boolean added;
+
+		if (this.queuedRooms.get(room)) {
+			added = false;
+		} else {
+			this.partitionRooms[partition].addLast(room);
+			this.queuedRooms.set(room);
+			this.size++;
+
+			added = true;
+		}
+
+		return added;
+	}
+
+	@Override
+	public int poll(final int partition) {
+		if (this.size == 0) {
+			throw new NoSuchElementException("The frontier is empty.");
+		} else {
+			final IntDeque rooms = this.partitionRooms[partition];
+
+			if (rooms.isEmpty()) {
+				this.steal(partition);
+			}
+
+			final int room = rooms.pollLast();
+
+			this.queuedRooms.clear(room);
+			this.size--;
+
+			return room;
+		}
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Moves the older half of the busiest partition over to the given, empty one.
+	 *
+	 * @param thiefPartition
+	 *            The partition to steal on behalf of.
+	 */
+	private void steal(final int thiefPartition) {
+		IntDeque victimRooms = this.partitionRooms[0];
+
+		for (final IntDeque rooms : this.partitionRooms) {
+			if (rooms.size() > victimRooms.size()) {
+				victimRooms = rooms;
+			}
+		}
+
+		final IntDeque thiefRooms = this.partitionRooms[thiefPartition];
+		final int stolenRoomCount = (victimRooms.size() + 1) / 2;
+
+		for (int stolenRoom = 0; stolenRoom < stolenRoomCount; stolenRoom++) {
+			thiefRooms.addLast(victimRooms.pollFirst());
+		}
+
+		this.stealCount++;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.wit.ganymedeexploration.collection;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.wit.ganymedeexploration.model.Room;
+
+/**
+ * Assigns each distinct {@link Room} ID a dense, zero-based index the first time it is seen so that
+ * the rest of the exploration can track {@link Room}s using primitive <code>int</code>s. Whether a
+ * {@link Room} has been explored or read is then kept in a single bit per {@link Room}, so the
+ * {@link RoomIndex} holds nearly all of the memory taken by the {@link Room}s seen, and
+ * {@link RoomIndexes} offers several ways of holding it.
+ * <p>
+ * {@link Room} IDs may be indexed from any thread, for instance while responses are being parsed.
+ */
+public interface RoomIndex extends Closeable {
+	/**
+	 * Releases the memory held outside the heap, if any. The number of {@link Room} IDs seen, the
+	 * memory footprint and the false-positive rate may still be asked for afterwards.
+	 *
+	 * @throws IOException
+	 *             The memory could not be released.
+	 */
+	@Override
+	void close() throws IOException;
+
+	/**
+	 * Returns the share of the {@link Room} IDs seen for the first time that a filter in front of
+	 * the {@link RoomIndex} mistook for ones seen before, each of which cost a lookup that a
+	 * correct answer would have saved.
+	 *
+	 * @return The false-positive rate of the filter, between 0 and 1, or 0 if there is none.
+	 */
+	double getFalsePositiveRate();
+
+	/**
+	 * Returns the number of bytes the {@link RoomIndex} takes, on or off the heap.
+	 *
+	 * @return The number of bytes the {@link RoomIndex} takes, possibly estimated.
+	 */
+	long getMemoryBytes();
+
+	/**
+	 * Returns the {@link Room} ID assigned to the given index.
+	 *
+	 * @param index
+	 *            The index previously returned by {@link #index(String)}.
+	 * @return The {@link Room} ID assigned to the given index.
+	 */
+	String getRoomId(final int index);
+
+	/**
+	 * Returns the index assigned to the given {@link Room} ID, assigning the next available one if
+	 * the {@link Room} ID has not been seen before.
+	 *
+	 * @param roomId
+	 *            The {@link Room} ID to look up.
+	 * @return The index assigned to the given {@link Room} ID.
+	 */
+	int index(final String roomId);
+
+	/**
+	 * Returns the number of distinct {@link Room} IDs seen so far.
+	 *
+	 * @return The number of distinct {@link Room} IDs seen so far.
+	 */
+	int size();
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.wit.ganymedeexploration.collection;
+
+import java.io.IOException;
+
+/**
+ * Creates the {@link RoomIndex}es that {@link com.wit.ganymedeexploration.model.Room} IDs are
+ * indexed into.
+ */
+public final class RoomIndexes {
+	/**
+	 * The kinds of {@link RoomIndex} that {@link com.wit.ganymedeexploration.model.Room} IDs can
+	 * be indexed into.
+	 */
+	public static enum Kind {
+		/**
+		 * An {@link OffHeapRoomIndex} with a {@link BloomFilter} in front of it, sized for
+		 * {@link RoomIndexes#BLOOM_FILTER_BITS_PER_ROOM} bits per expected room.
+		 */
+		FILTERED,
+
+		/**
+		 * A {@link HeapRoomIndex}, keeping every ID on the heap.
+		 */
+		HEAP,
+
+		/**
+		 * An {@link OffHeapRoomIndex}, keeping every ID outside the heap.
+		 */
+		OFF_HEAP
+	}
+
+	/**
+	 * The number of bits of the {@link BloomFilter} of a {@link Kind#FILTERED} {@link RoomIndex}
+	 * for every room expected.
+	 */
+	public static final int BLOOM_FILTER_BITS_PER_ROOM = 10;
+
+	/**
+	 * The number of rooms a {@link RoomIndex} is sized for up front, unless overridden.
+	 */
+	public static final int DEFAULT_EXPECTED_ROOM_COUNT = 1 << 20;
+
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_EXPECTED_ROOM_COUNT}.
+	 */
+	public static final String EXPECTED_ROOM_COUNT_PROPERTY = "ganymede.expectedRoomCount";
+
+	/**
+	 * The system property naming the {@link Kind} of {@link RoomIndex} to use by default.
+	 */
+	public static final String KIND_PROPERTY = "ganymede.roomIndex";
+
+	/**
+	 * Creates a {@link RoomIndex} of the given {@link Kind}.
+	 *
+	 * @param kind
+	 *            The {@link Kind} of {@link RoomIndex} to create.
+	 * @param expectedRoomCount
+	 *            The number of rooms expected, which sizes the {@link RoomIndex} up front. A
+	 *            {@link Kind#FILTERED} {@link RoomIndex} never grows its {@link BloomFilter}, whose
+	 *            false-positive rate rises once more rooms than expected are indexed.
+	 * @return The created {@link RoomIndex}.
+	 * @throws IOException
+	 *             The stores of the {@link RoomIndex} could not be created.
+	 */
+	public static RoomIndex create(final Kind kind, final int expectedRoomCount)
+			throws IOException {
+		final RoomIndex roomIndex;
+
+		switch (kind) {
+		case FILTERED:
+			roomIndex = new OffHeapRoomIndex(expectedRoomCount, new BloomFilter(expectedRoomCount
+					* (long) RoomIndexes.BLOOM_FILTER_BITS_PER_ROOM));
+			break;
+		case OFF_HEAP:
+			roomIndex = new OffHeapRoomIndex(expectedRoomCount, null);
+			break;
+		case HEAP:
+		default:
+			roomIndex = new HeapRoomIndex();
+			break;
+		}
+
+		return roomIndex;
+	}
+
+	/**
+	 * Returns the number of rooms a {@link RoomIndex} is sized for unless told otherwise,
+	 * configured through the {@link #EXPECTED_ROOM_COUNT_PROPERTY} system property.
+	 *
+	 * @return The number of rooms a {@link RoomIndex} is sized for unless told otherwise.
+	 */
+	public static int getDefaultExpectedRoomCount() {
+		return Integer.getInteger(RoomIndexes.EXPECTED_ROOM_COUNT_PROPERTY,
+				RoomIndexes.DEFAULT_EXPECTED_ROOM_COUNT);
+	}
+
+	/**
+	 * Returns the {@link Kind} of {@link RoomIndex} to use unless told otherwise, configured
+	 * through the {@link #KIND_PROPERTY} system property.
+	 *
+	 * @return The {@link Kind} of {@link RoomIndex} to use unless told otherwise.
+	 */
+	public static Kind getDefaultKind() {
+		final String kindName = System.getProperty(RoomIndexes.KIND_PROPERTY, Kind.HEAP.name());
+		final Kind kind = Kind.valueOf(kindName.toUpperCase());
+
+		return kind;
+	}
+
+	private RoomIndexes() {
+	}
+}
\ No newline at end of file
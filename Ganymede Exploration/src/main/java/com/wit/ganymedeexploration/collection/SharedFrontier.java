@@ -0,0 +1,37 @@
+package com.wit.ganymedeexploration.collection;
+
+/**
+ * A {@link Frontier} whose partitions all share a single first-in-first-out queue, so that every
+ * drone is handed the oldest room waiting regardless of who discovered it.
+ */
+public class SharedFrontier implements Frontier {
+	/**
+	 * The queue shared by every partition.
+	 */
+	private final IntSetQueue rooms = new IntSetQueue();
+
+	@Override
+	public long getStealCount() {
+		return 0;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.rooms.isEmpty();
+	}
+
+	@Override
+	public boolean offer(final int partition, final int room) {
+		return this.rooms.offer(room);
+	}
+
+	@Override
+	public int poll(final int partition) {
+		return this.rooms.poll();
+	}
+
+	@Override
+	public int size() {
+		return this.rooms.size();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,260 @@
+package com.wit.ganymedeexploration.event;
+
+import java.util.List;
+
+import com.wit.ganymedeexploration.model.Drone;
+import com.wit.ganymedeexploration.model.Room;
+
+/**
+ * Something that happened while exploring, as handed to an {@link ExplorationListener}. Events are
+ * created on the coordinating thread as results are merged, and every field not used by its
+ * {@link Type} is left empty.
+ */
+public final class ExplorationEvent {
+	/**
+	 * The kinds of {@link ExplorationEvent}.
+	 */
+	public static enum Type {
+		/**
+		 * A batch of commands sent to a {@link Drone} succeeded and its results were merged.
+		 */
+		BATCH_COMPLETED,
+
+		/**
+		 * A {@link Room} was explored, uncovering the {@link Room}s connected to it.
+		 */
+		ROOM_DISCOVERED,
+
+		/**
+		 * The writing within a {@link Room} was read.
+		 */
+		ROOM_READ
+	}
+
+	/**
+	 * Creates an {@link ExplorationEvent} of {@link Type#BATCH_COMPLETED}.
+	 *
+	 * @param droneId
+	 *            The ID of the {@link Drone} that executed the batch.
+	 * @param exploreCommandCount
+	 *            The number of "explore" commands of the batch whose results were merged.
+	 * @param readCommandCount
+	 *            The number of "read" commands of the batch whose results were merged.
+	 * @param roundTripNanoseconds
+	 *            The number of nanoseconds between the batch being sent and its results being
+	 *            received.
+	 * @return The created {@link ExplorationEvent}.
+	 */
+	public static ExplorationEvent batchCompleted(final String droneId,
+			final int exploreCommandCount, final int readCommandCount,
+			final long roundTripNanoseconds) {
+		return new ExplorationEvent(Type.BATCH_COMPLETED, droneId, exploreCommandCount,
+				readCommandCount, roundTripNanoseconds, null, null, -1, null);
+	}
+
+	/**
+	 * Creates an {@link ExplorationEvent} of {@link Type#ROOM_DISCOVERED}.
+	 *
+	 * @param roomId
+	 *            The ID of the {@link Room} explored.
+	 * @param connectedRoomIds
+	 *            The IDs of the {@link Room}s connected to it.
+	 * @return The created {@link ExplorationEvent}.
+	 */
+	public static ExplorationEvent roomDiscovered(final String roomId,
+			final List<String> connectedRoomIds) {
+		return new ExplorationEvent(Type.ROOM_DISCOVERED, null, 0, 0, 0, roomId, connectedRoomIds,
+				-1, null);
+	}
+
+	/**
+	 * Creates an {@link ExplorationEvent} of {@link Type#ROOM_READ}.
+	 *
+	 * @param roomId
+	 *            The ID of the {@link Room} read.
+	 * @param order
+	 *            The order of the writing found within the {@link Room}, or -1 if no meaningful
+	 *            writing was found.
+	 * @param writing
+	 *            The writing found within the {@link Room}.
+	 * @return The created {@link ExplorationEvent}.
+	 */
+	public static ExplorationEvent roomRead(final String roomId, final int order,
+			final String writing) {
+		return new ExplorationEvent(Type.ROOM_READ, null, 0, 0, 0, roomId, null, order, writing);
+	}
+
+	/**
+	 * The IDs of the {@link Room}s connected to the {@link Room} explored.
+	 */
+	private final List<String> connectedRoomIds;
+
+	/**
+	 * The ID of the {@link Drone} that executed the batch.
+	 */
+	private final String droneId;
+
+	/**
+	 * The number of "explore" commands of the batch whose results were merged.
+	 */
+	private final int exploreCommandCount;
+
+	/**
+	 * The order of the writing found within the {@link Room} read.
+	 */
+	private final int order;
+
+	/**
+	 * The number of "read" commands of the batch whose results were merged.
+	 */
+	private final int readCommandCount;
+
+	/**
+	 * The ID of the {@link Room} explored or read.
+	 */
+	private final String roomId;
+
+	/**
+	 * The number of nanoseconds between the batch being sent and its results being received.
+	 */
+	private final long roundTripNanoseconds;
+
+	/**
+	 * The kind of the {@link ExplorationEvent}.
+	 */
+	private final Type type;
+
+	/**
+	 * The writing found within the {@link Room} read.
+	 */
+	private final String writing;
+
+	/**
+	 * Creates a new {@link ExplorationEvent}.
+	 *
+	 * @param type
+	 *            The kind of the {@link ExplorationEvent}.
+	 * @param droneId
+	 *            The ID of the {@link Drone} that executed the batch.
+	 * @param exploreCommandCount
+	 *            The number of "explore" commands of the batch whose results were merged.
+	 * @param readCommandCount
+	 *            The number of "read" commands of the batch whose results were merged.
+	 * @param roundTripNanoseconds
+	 *            The number of nanoseconds between the batch being sent and its results being
+	 *            received.
+	 * @param roomId
+	 *            The ID of the {@link Room} explored or read.
+	 * @param connectedRoomIds
+	 *            The IDs of the {@link Room}s connected to the {@link Room} explored.
+	 * @param order
+	 *            The order of the writing found within the {@link Room} read.
+	 * @param writing
+	 *            The writing found within the {@link Room} read.
+	 */
+	private ExplorationEvent(final Type type, final String droneId,
+			final int exploreCommandCount, final int readCommandCount,
+			final long roundTripNanoseconds, final String roomId,
+			final List<String> connectedRoomIds, final int order, final String writing) {
+		this.type = type;
+		this.droneId = droneId;
+		this.exploreCommandCount = exploreCommandCount;
+		this.readCommandCount = readCommandCount;
+		this.roundTripNanoseconds = roundTripNanoseconds;
+		this.roomId = roomId;
+		this.connectedRoomIds = connectedRoomIds;
+		this.order = order;
+		this.writing = writing;
+	}
+
+	/**
+	 * Returns the IDs of the {@link Room}s connected to the {@link Room} explored.
+	 *
+	 * @return The IDs of the connected {@link Room}s, or <code>null</code> unless the
+	 *         {@link Type} is {@link Type#ROOM_DISCOVERED}.
+	 */
+	public List<String> getConnectedRoomIds() {
+		return this.connectedRoomIds;
+	}
+
+	/**
+	 * Returns the ID of the {@link Drone} that executed the batch.
+	 *
+	 * @return The ID of the {@link Drone}, or <code>null</code> unless the {@link Type} is
+	 *         {@link Type#BATCH_COMPLETED}.
+	 */
+	public String getDroneId() {
+		return this.droneId;
+	}
+
+	/**
+	 * Returns the number of "explore" commands of the batch whose results were merged, leaving
+	 * out those completed already by another copy of the batch.
+	 *
+	 * @return The number of "explore" commands merged, or 0 unless the {@link Type} is
+	 *         {@link Type#BATCH_COMPLETED}.
+	 */
+	public int getExploreCommandCount() {
+		return this.exploreCommandCount;
+	}
+
+	/**
+	 * Returns the order of the writing found within the {@link Room} read.
+	 *
+	 * @return The order of the writing, or -1 if no meaningful writing was found or the
+	 *         {@link Type} is not {@link Type#ROOM_READ}.
+	 */
+	public int getOrder() {
+		return this.order;
+	}
+
+	/**
+	 * Returns the number of "read" commands of the batch whose results were merged, leaving out
+	 * those completed already by another copy of the batch.
+	 *
+	 * @return The number of "read" commands merged, or 0 unless the {@link Type} is
+	 *         {@link Type#BATCH_COMPLETED}.
+	 */
+	public int getReadCommandCount() {
+		return this.readCommandCount;
+	}
+
+	/**
+	 * Returns the ID of the {@link Room} explored or read.
+	 *
+	 * @return The ID of the {@link Room}, or <code>null</code> if the {@link Type} is
+	 *         {@link Type#BATCH_COMPLETED}.
+	 */
+	public String getRoomId() {
+		return this.roomId;
+	}
+
+	/**
+	 * Returns the number of nanoseconds between the batch being sent and its results being
+	 * received.
+	 *
+	 * @return The round trip of the batch, or 0 unless the {@link Type} is
+	 *         {@link Type#BATCH_COMPLETED}.
+	 */
+	public long getRoundTripNanoseconds() {
+		return this.roundTripNanoseconds;
+	}
+
+	/**
+	 * Returns the kind of the {@link ExplorationEvent}.
+	 *
+	 * @return The kind of the {@link ExplorationEvent}.
+	 */
+	public Type getType() {
+		return this.type;
+	}
+
+	/**
+	 * Returns the writing found within the {@link Room} read.
+	 *
+	 * @return The writing, or <code>null</code> unless the {@link Type} is {@link Type#ROOM_READ}.
+	 */
+	public String getWriting() {
+		return this.writing;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,276 @@
+package com.wit.ganymedeexploration.event;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Hands the {@link ExplorationEvent}s of an exploration to an {@link ExplorationListener} on a
+ * dedicated delivery thread, so that the exploration does not wait on the listener while it keeps
+ * up. Events wait for delivery in a buffer of fixed capacity: once it is full, publishing blocks
+ * until the listener has taken one in, so a slow listener slows the exploration down to its own
+ * pace instead of having events pile up without bound. Only batches already in flight go on
+ * meanwhile, and their results wait, bounded by the number of drones, to be merged.
+ * <p>
+ * Events are published from a single thread, the one coordinating the exploration.
+ */
+public final class ExplorationEventPublisher implements Closeable {
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_CAPACITY}.
+	 */
+	public static final String CAPACITY_PROPERTY = "ganymede.eventCapacity";
+
+	/**
+	 * The number of {@link ExplorationEvent}s that may wait for delivery before publishing blocks,
+	 * unless overridden.
+	 */
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	/**
+	 * Queued once the exploration has ended to tell the delivery thread that nothing follows.
+	 */
+	private static final ExplorationEvent END_EVENT = ExplorationEvent.batchCompleted(null, 0, 0,
+			0);
+
+	/**
+	 * Returns the number of {@link ExplorationEvent}s that may wait for delivery unless told
+	 * otherwise, configured through the {@link #CAPACITY_PROPERTY} system property.
+	 *
+	 * @return The number of {@link ExplorationEvent}s that may wait for delivery unless told
+	 *         otherwise.
+	 */
+	public static int getDefaultCapacity() {
+		return Integer.getInteger(ExplorationEventPublisher.CAPACITY_PROPERTY,
+				ExplorationEventPublisher.DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an {@link ExplorationEventPublisher} and starts its delivery thread.
+	 *
+	 * @param explorationListener
+	 *            The {@link ExplorationListener} to deliver {@link ExplorationEvent}s to.
+	 * @param capacity
+	 *            The number of {@link ExplorationEvent}s that may wait for delivery before
+	 *            publishing blocks.
+	 * @return The started {@link ExplorationEventPublisher}.
+	 */
+	public static ExplorationEventPublisher start(final ExplorationListener explorationListener,
+			final int capacity) {
+		final ExplorationEventPublisher explorationEventPublisher = new ExplorationEventPublisher(
+				explorationListener, capacity);
+
+		explorationEventPublisher.deliveryThread.start();
+
+		return explorationEventPublisher;
+	}
+
+	/**
+	 * The number of nanoseconds spent waiting for the {@link ExplorationListener} to make room in
+	 * a full buffer.
+	 */
+	private long blockedNanoseconds = 0;
+
+	/**
+	 * The thread delivering published {@link ExplorationEvent}s to the
+	 * {@link ExplorationListener}.
+	 */
+	private final Thread deliveryThread;
+
+	/**
+	 * Whether the end of the exploration has been published.
+	 */
+	private boolean ended = false;
+
+	/**
+	 * Why the exploration failed, if it did.
+	 */
+	private Exception explorationFailure;
+
+	/**
+	 * The {@link ExplorationListener} {@link ExplorationEvent}s are delivered to.
+	 */
+	private final ExplorationListener explorationListener;
+
+	/**
+	 * What the {@link ExplorationListener} threw, if it failed, after which nothing more is
+	 * delivered to it.
+	 */
+	private volatile RuntimeException listenerFailure;
+
+	/**
+	 * The {@link ExplorationEvent}s published but not yet delivered.
+	 */
+	private final BlockingQueue<ExplorationEvent> pendingExplorationEvents;
+
+	/**
+	 * Creates a new {@link ExplorationEventPublisher}.
+	 *
+	 * @param explorationListener
+	 *            The {@link ExplorationListener} to deliver {@link ExplorationEvent}s to.
+	 * @param capacity
+	 *            The number of {@link ExplorationEvent}s that may wait for delivery before
+	 *            publishing blocks.
+	 */
+	private ExplorationEventPublisher(final ExplorationListener explorationListener,
+			final int capacity) {
+		this.explorationListener = explorationListener;
+		this.pendingExplorationEvents = new ArrayBlockingQueue<>(capacity);
+		this.deliveryThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				ExplorationEventPublisher.this.deliver();
+			}
+		}, "ganymede-events");
+
+		this.deliveryThread.setDaemon(true);
+	}
+
+	/**
+	 * Publishes the end of a successful exploration, then waits for every
+	 * {@link ExplorationEvent} published so far to be delivered and for the
+	 * {@link ExplorationListener} to be told that the exploration has completed.
+	 *
+	 * @throws IOException
+	 *             The {@link ExplorationListener} failed.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.end(null);
+
+		if (this.listenerFailure != null) {
+			throw new IOException("The exploration listener failed.", this.listenerFailure);
+		}
+	}
+
+	/**
+	 * Runs on the delivery thread, handing every published {@link ExplorationEvent} to the
+	 * {@link ExplorationListener} until the end of the exploration is taken. Once the
+	 * {@link ExplorationListener} has failed, {@link ExplorationEvent}s are still taken but
+	 * dropped, so that publishing never blocks on a listener that will not take them.
+	 */
+	private void deliver() {
+		boolean endTaken = false;
+
+		while (!endTaken) {
+			final ExplorationEvent explorationEvent;
+
+			try {
+				explorationEvent = this.pendingExplorationEvents.take();
+			} catch (final InterruptedException interruptedException) {
+				// Stopping here could leave the exploration blocked on a full buffer.
+				continue;
+			}
+
+			endTaken = explorationEvent == ExplorationEventPublisher.END_EVENT;
+
+			if (this.listenerFailure == null) {
+				try {
+					if (!endTaken) {
+						this.explorationListener.onEvent(explorationEvent);
+					} else if (this.explorationFailure == null) {
+						this.explorationListener.onCompleted();
+					} else {
+						this.explorationListener.onFailed(this.explorationFailure);
+					}
+				} catch (final RuntimeException runtimeException) {
+					System.err.println(
+							"The exploration listener failed; no longer delivering events.");
+					runtimeException.printStackTrace();
+
+					this.listenerFailure = runtimeException;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Publishes the end of the exploration, unless it was already, and waits for the delivery
+	 * thread to deliver it.
+	 *
+	 * @param exception
+	 *            Why the exploration failed, or <code>null</code> if it succeeded.
+	 */
+	private void end(final Exception exception) {
+		if (!this.ended) {
+			boolean interrupted = false;
+			boolean endQueued = false;
+			boolean delivered = false;
+
+			this.ended = true;
+			this.explorationFailure = exception;
+
+			while (!delivered) {
+				try {
+					if (!endQueued) {
+						this.pendingExplorationEvents.put(ExplorationEventPublisher.END_EVENT);
+
+						endQueued = true;
+					}
+
+					this.deliveryThread.join();
+
+					delivered = true;
+				} catch (final InterruptedException interruptedException) {
+					interrupted = true;
+				}
+			}
+
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Publishes the failure of the exploration, dropping every {@link ExplorationEvent} not yet
+	 * delivered, then waits for the {@link ExplorationListener} to be told.
+	 *
+	 * @param exception
+	 *            Why the exploration failed.
+	 */
+	public void fail(final Exception exception) {
+		this.pendingExplorationEvents.clear();
+
+		this.end(exception);
+	}
+
+	/**
+	 * Returns the number of nanoseconds the exploration spent waiting for the
+	 * {@link ExplorationListener} to make room in a full buffer.
+	 *
+	 * @return The number of nanoseconds spent blocked on a slow {@link ExplorationListener}.
+	 */
+	public long getBlockedNanoseconds() {
+		return this.blockedNanoseconds;
+	}
+
+	/**
+	 * Publishes an {@link ExplorationEvent}, waiting for room in the buffer if it is full.
+	 *
+	 * @param explorationEvent
+	 *            The {@link ExplorationEvent} to publish.
+	 * @throws IOException
+	 *             The {@link ExplorationListener} failed, or the thread was interrupted while
+	 *             waiting for room.
+	 */
+	public void publish(final ExplorationEvent explorationEvent) throws IOException {
+		if (this.listenerFailure != null) {
+			throw new IOException("The exploration listener failed.", this.listenerFailure);
+		} else if (!this.pendingExplorationEvents.offer(explorationEvent)) {
+			final long startNanoTime = System.nanoTime();
+
+			try {
+				this.pendingExplorationEvents.put(explorationEvent);
+			} catch (final InterruptedException interruptedException) {
+				Thread.currentThread().interrupt();
+
+				throw new InterruptedIOException(
+						"Interrupted while waiting for the exploration listener.");
+			}
+
+			this.blockedNanoseconds += System.nanoTime() - startNanoTime;
+		}
+	}
+}
\ No newline at end of file
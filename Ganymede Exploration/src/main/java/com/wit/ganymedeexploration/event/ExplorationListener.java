@@ -0,0 +1,33 @@
+package com.wit.ganymedeexploration.event;
+
+/**
+ * Notified of every {@link ExplorationEvent} while the exploration runs, so that results can be
+ * indexed or persisted as they arrive rather than once the message is decoded. Every method is
+ * called on the delivery thread of an {@link ExplorationEventPublisher}, one call at a time and in
+ * the order the events happened. A listener slower than the exploration slows the exploration
+ * down, rather than having events pile up without bound.
+ */
+public interface ExplorationListener {
+	/**
+	 * Called once the exploration has ended, after every {@link ExplorationEvent}.
+	 */
+	void onCompleted();
+
+	/**
+	 * Called for every {@link ExplorationEvent}. An exception thrown from here fails the
+	 * exploration, and nothing is called afterwards.
+	 *
+	 * @param explorationEvent
+	 *            What happened.
+	 */
+	void onEvent(final ExplorationEvent explorationEvent);
+
+	/**
+	 * Called instead of {@link #onCompleted()} if the exploration failed. Events not yet delivered
+	 * when it failed are dropped.
+	 *
+	 * @param exception
+	 *            Why the exploration failed.
+	 */
+	void onFailed(final Exception exception);
+}
\ No newline at end of file
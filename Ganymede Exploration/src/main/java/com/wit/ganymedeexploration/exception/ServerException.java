@@ -6,23 +6,58 @@ package com.wit.ganymedeexploration.exception;
 public class ServerException extends Exception {
 	private static final long serialVersionUID = -3875483260449303416L;
 
+	/**
+	 * The HTTP status code of the response carrying the error, or 0 if it is not known.
+	 */
+	private final int statusCode;
+
 	public ServerException() {
+		this.statusCode = 0;
 	}
 
 	public ServerException(final String message) {
+		this(message, 0);
+	}
+
+	/**
+	 * Creates a new {@link ServerException} for a response carrying an error.
+	 *
+	 * @param message
+	 *            The message of the response.
+	 * @param statusCode
+	 *            The HTTP status code of the response.
+	 */
+	public ServerException(final String message, final int statusCode) {
 		super(message);
+
+		this.statusCode = statusCode;
 	}
 
 	public ServerException(final String message, final Throwable cause) {
 		super(message, cause);
+
+		this.statusCode = 0;
 	}
 
 	public ServerException(final String message, final Throwable cause,
 			final boolean enableSuppression, final boolean writableStackTrace) {
 		super(message, cause, enableSuppression, writableStackTrace);
+
+		this.statusCode = 0;
 	}
 
 	public ServerException(final Throwable cause) {
 		super(cause);
+
+		this.statusCode = 0;
+	}
+
+	/**
+	 * Returns the HTTP status code of the response carrying the error, or 0 if it is not known.
+	 *
+	 * @return The HTTP status code of the response carrying the error, or 0 if it is not known.
+	 */
+	public int getStatusCode() {
+		return this.statusCode;
 	}
 }
\ No newline at end of file
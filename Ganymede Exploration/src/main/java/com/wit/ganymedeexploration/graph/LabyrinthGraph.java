@@ -0,0 +1,221 @@
+package com.wit.ganymedeexploration.graph;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.wit.ganymedeexploration.collection.RoomIndex;
+
+/**
+ * A {@link RoomGraph} held in a file in compressed sparse row form and mapped straight into
+ * memory, so that loading it costs nothing beyond checking its header. All values are
+ * little-endian and laid out as follows:
+ * <ol>
+ * <li>A 24-byte header: the <code>int</code>s {@link #MAGIC}, {@link #VERSION}, the number of
+ * rooms and 0, then the number of connections as a <code>long</code>.</li>
+ * <li>One <code>long</code> per room, plus one, giving the position of the first neighbour of
+ * every room among the neighbours, such that the neighbours of a room end where those of the next
+ * room start.</li>
+ * <li>The neighbours of every room, in room order, as <code>int</code>s, followed by 4 bytes of
+ * padding if there is an odd number of them.</li>
+ * <li>One <code>long</code> per room, plus one, giving the position of the ID of every room among
+ * the IDs, such that the ID of a room ends where that of the next room starts.</li>
+ * <li>The ID of every room, in room order, in UTF-8.</li>
+ * </ol>
+ * The IDs are taken from the {@link RoomIndex} that numbered the rooms, so that the graph can be
+ * related back to the labyrinth without it. Files are written by
+ * {@link LabyrinthGraphBuilder#writeTo(File, RoomIndex)}.
+ */
+public final class LabyrinthGraph implements RoomGraph, Closeable {
+	/**
+	 * The number of bytes taken by the header.
+	 */
+	static final int HEADER_SIZE = 24;
+
+	/**
+	 * The first <code>int</code> of every file, identifying it as a {@link LabyrinthGraph}.
+	 */
+	static final int MAGIC = 0x47594E47;
+
+	/**
+	 * The version of the file format.
+	 */
+	static final int VERSION = 2;
+
+	/**
+	 * Returns the position, within the file, of the first neighbour of every room.
+	 *
+	 * @param roomCount
+	 *            The number of rooms.
+	 * @return The position of the first neighbour of every room.
+	 */
+	static long getNeighboursPosition(final int roomCount) {
+		return LabyrinthGraph.HEADER_SIZE + (8L * (roomCount + 1));
+	}
+
+	/**
+	 * Returns the position, within the file, of the position of the ID of every room.
+	 *
+	 * @param roomCount
+	 *            The number of rooms.
+	 * @param edgeCount
+	 *            The number of connections.
+	 * @return The position of the position of the ID of every room.
+	 */
+	static long getRoomIdStartsPosition(final int roomCount, final long edgeCount) {
+		return (LabyrinthGraph.getNeighboursPosition(roomCount) + (4L * edgeCount) + 7) & ~7L;
+	}
+
+	/**
+	 * Maps a file written by {@link LabyrinthGraphBuilder#writeTo(File, RoomIndex)}.
+	 *
+	 * @param file
+	 *            The file to map.
+	 * @return The {@link LabyrinthGraph} held in the file.
+	 * @throws IOException
+	 *             The file could not be mapped, or does not hold a {@link LabyrinthGraph}.
+	 */
+	public static LabyrinthGraph map(final File file) throws IOException {
+		final long fileSize = file.length();
+
+		if (fileSize < LabyrinthGraph.HEADER_SIZE) {
+			throw new IOException(String.format("\"%s\" is too short to hold a graph.", file));
+		}
+
+		final MappedStore mappedStore = MappedStore.map(file);
+		final int magic = mappedStore.getInt(0);
+		final int version = mappedStore.getInt(4);
+		final int roomCount = mappedStore.getInt(8);
+		final long edgeCount = mappedStore.getLong(16);
+		final boolean valid = (magic == LabyrinthGraph.MAGIC)
+				&& (version == LabyrinthGraph.VERSION) && (roomCount >= 0) && (edgeCount >= 0);
+		final long roomIdsPosition = valid ? LabyrinthGraph.getRoomIdStartsPosition(roomCount,
+				edgeCount) + (8L * (roomCount + 1)) : 0;
+
+		if (!valid || (fileSize < roomIdsPosition) || (fileSize != (roomIdsPosition
+				+ mappedStore.getLong(roomIdsPosition - 8)))) {
+			mappedStore.close();
+
+			throw new IOException(String.format("\"%s\" does not hold a graph of version %d.",
+					file, LabyrinthGraph.VERSION));
+		}
+
+		return new LabyrinthGraph(mappedStore, roomCount, edgeCount);
+	}
+
+	/**
+	 * The number of connections held, counting each direction separately.
+	 */
+	private final long edgeCount;
+
+	/**
+	 * The mapped file holding the graph.
+	 */
+	private final MappedStore mappedStore;
+
+	/**
+	 * The position, within the file, of the first neighbour of every room.
+	 */
+	private final long neighboursPosition;
+
+	/**
+	 * The number of rooms known.
+	 */
+	private final int roomCount;
+
+	/**
+	 * The position, within the file, of the position of the ID of every room.
+	 */
+	private final long roomIdStartsPosition;
+
+	/**
+	 * The position, within the file, of the ID of the first room.
+	 */
+	private final long roomIdsPosition;
+
+	/**
+	 * Creates a new {@link LabyrinthGraph}.
+	 *
+	 * @param mappedStore
+	 *            The mapped file holding the graph.
+	 * @param roomCount
+	 *            The number of rooms known.
+	 * @param edgeCount
+	 *            The number of connections held.
+	 */
+	private LabyrinthGraph(final MappedStore mappedStore, final int roomCount,
+			final long edgeCount) {
+		this.mappedStore = mappedStore;
+		this.roomCount = roomCount;
+		this.edgeCount = edgeCount;
+		this.neighboursPosition = LabyrinthGraph.getNeighboursPosition(roomCount);
+		this.roomIdStartsPosition = LabyrinthGraph.getRoomIdStartsPosition(roomCount, edgeCount);
+		this.roomIdsPosition = this.roomIdStartsPosition + (8L * (roomCount + 1));
+	}
+
+	/**
+	 * Closes the file holding the graph, after which the graph may no longer be used.
+	 *
+	 * @throws IOException
+	 *             The file could not be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.mappedStore.close();
+	}
+
+	@Override
+	public int getDegree(final int room) {
+		return (int) (this.getRowStart(room + 1) - this.getRowStart(room));
+	}
+
+	@Override
+	public long getEdgeCount() {
+		return this.edgeCount;
+	}
+
+	@Override
+	public int getNeighbour(final int room, final int index) {
+		final long position = this.neighboursPosition + (4L * (this.getRowStart(room) + index));
+
+		return this.mappedStore.getInt(position);
+	}
+
+	@Override
+	public int getRoomCount() {
+		return this.roomCount;
+	}
+
+	/**
+	 * Returns the ID of the given room, as it was known to the labyrinth.
+	 *
+	 * @param room
+	 *            The index of the room.
+	 * @return The ID of the room.
+	 */
+	public String getRoomId(final int room) {
+		final long roomIdStart = this.mappedStore.getLong(this.roomIdStartsPosition + (8L * room));
+		final long roomIdEnd = this.mappedStore.getLong(this.roomIdStartsPosition
+				+ (8L * (room + 1)));
+		final byte[] bytes = new byte[(int) (roomIdEnd - roomIdStart)];
+
+		for (int byteIndex = 0; byteIndex < bytes.length; byteIndex++) {
+			bytes[byteIndex] = this.mappedStore.getByte(this.roomIdsPosition + roomIdStart
+					+ byteIndex);
+		}
+
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the position, among the neighbours, of the first neighbour of the given room.
+	 *
+	 * @param room
+	 *            The index of the room, which may be the number of rooms.
+	 * @return The position of the first neighbour of the room.
+	 */
+	private long getRowStart(final int room) {
+		return this.mappedStore.getLong(LabyrinthGraph.HEADER_SIZE + (8L * room));
+	}
+}
\ No newline at end of file
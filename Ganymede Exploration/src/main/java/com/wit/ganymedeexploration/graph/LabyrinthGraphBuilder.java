@@ -0,0 +1,323 @@
+package com.wit.ganymedeexploration.graph;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import com.wit.ganymedeexploration.collection.RoomIndex;
+
+/**
+ * Collects the neighbours of every room as it is explored, into a {@link RoomGraph} kept in
+ * temporary memory-mapped files rather than on the Java heap. The neighbours of each room arrive
+ * all at once, so they are appended in the order rooms are explored and each room only records
+ * where its own neighbours start, which {@link #writeTo(File, RoomIndex)} then puts into room
+ * order.
+ * <p>
+ * Only the coordinating thread may use a {@link LabyrinthGraphBuilder}.
+ */
+public final class LabyrinthGraphBuilder implements RoomGraph, Closeable {
+	/**
+	 * The number of bytes buffered before being written by {@link #writeTo(File, RoomIndex)}.
+	 */
+	private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+	/**
+	 * Creates a new, empty {@link LabyrinthGraphBuilder}.
+	 *
+	 * @return The created {@link LabyrinthGraphBuilder}.
+	 * @throws IOException
+	 *             The temporary files could not be created.
+	 */
+	public static LabyrinthGraphBuilder create() throws IOException {
+		final MappedStore neighbours = MappedStore.createTemporary("ganymede-neighbours");
+		final MappedStore rowDegrees = MappedStore.createTemporary("ganymede-degrees");
+		final MappedStore rowStarts = MappedStore.createTemporary("ganymede-rows");
+
+		return new LabyrinthGraphBuilder(neighbours, rowDegrees, rowStarts);
+	}
+
+	/**
+	 * Writes out everything buffered, leaving the buffer empty.
+	 *
+	 * @param fileChannel
+	 *            The {@link FileChannel} to write to.
+	 * @param byteBuffer
+	 *            The buffer to write out.
+	 * @throws IOException
+	 *             The buffer could not be written.
+	 */
+	private static void flush(final FileChannel fileChannel, final ByteBuffer byteBuffer)
+			throws IOException {
+		byteBuffer.flip();
+
+		while (byteBuffer.hasRemaining()) {
+			fileChannel.write(byteBuffer);
+		}
+
+		byteBuffer.clear();
+	}
+
+	/**
+	 * Buffers bytes, writing out the buffer whenever it fills up.
+	 *
+	 * @param fileChannel
+	 *            The {@link FileChannel} to write to.
+	 * @param byteBuffer
+	 *            The buffer to buffer the bytes in.
+	 * @param bytes
+	 *            The bytes to buffer.
+	 * @throws IOException
+	 *             The buffer could not be written.
+	 */
+	private static void put(final FileChannel fileChannel, final ByteBuffer byteBuffer,
+			final byte[] bytes) throws IOException {
+		int offset = 0;
+
+		while (offset < bytes.length) {
+			if (!byteBuffer.hasRemaining()) {
+				LabyrinthGraphBuilder.flush(fileChannel, byteBuffer);
+			}
+
+			final int length = Math.min(byteBuffer.remaining(), bytes.length - offset);
+
+			byteBuffer.put(bytes, offset, length);
+
+			offset += length;
+		}
+	}
+
+	/**
+	 * The number of connections held, counting each direction separately.
+	 */
+	private long edgeCount = 0;
+
+	/**
+	 * The neighbours of every room added, as <code>int</code>s, in the order rooms were added.
+	 */
+	private final MappedStore neighbours;
+
+	/**
+	 * The number of rooms known, added or merely seen as a neighbour.
+	 */
+	private int roomCount = 0;
+
+	/**
+	 * The degree of every room, plus one, as <code>int</code>s, so that 0 marks a room not added.
+	 */
+	private final MappedStore rowDegrees;
+
+	/**
+	 * The position of the first neighbour of every room within {@link #neighbours}, as
+	 * <code>long</code>s.
+	 */
+	private final MappedStore rowStarts;
+
+	/**
+	 * Creates a new {@link LabyrinthGraphBuilder}.
+	 *
+	 * @param neighbours
+	 *            The store for the neighbours of every room.
+	 * @param rowDegrees
+	 *            The store for the degree of every room.
+	 * @param rowStarts
+	 *            The store for the position of the first neighbour of every room.
+	 */
+	private LabyrinthGraphBuilder(final MappedStore neighbours, final MappedStore rowDegrees,
+			final MappedStore rowStarts) {
+		this.neighbours = neighbours;
+		this.rowDegrees = rowDegrees;
+		this.rowStarts = rowStarts;
+	}
+
+	/**
+	 * Adds the neighbours of a room, unless they have been added already.
+	 *
+	 * @param room
+	 *            The index of the room.
+	 * @param neighbourRooms
+	 *            The indices of the neighbours of the room.
+	 * @return Whether the neighbours were added.
+	 * @throws IOException
+	 *             The temporary files could not be grown.
+	 */
+	public boolean addRoom(final int room, final int[] neighbourRooms) throws IOException {
+		final boolean added;
+
+		if ((room < this.roomCount) && (this.rowDegrees.getInt(4L * room) != 0)) {
+			added = false;
+		} else {
+			long position = 4L * this.edgeCount;
+			int roomCount = Math.max(this.roomCount, room + 1);
+
+			this.neighbours.ensureCapacity(position + (4L * neighbourRooms.length));
+
+			for (final int neighbourRoom : neighbourRooms) {
+				this.neighbours.putInt(position, neighbourRoom);
+
+				position += 4;
+				roomCount = Math.max(roomCount, neighbourRoom + 1);
+			}
+
+			this.rowDegrees.ensureCapacity(4L * roomCount);
+			this.rowStarts.ensureCapacity(8L * roomCount);
+			this.rowDegrees.putInt(4L * room, neighbourRooms.length + 1);
+			this.rowStarts.putLong(8L * room, this.edgeCount);
+
+			this.edgeCount += neighbourRooms.length;
+			this.roomCount = roomCount;
+
+			added = true;
+		}
+
+		return added;
+	}
+
+	/**
+	 * Deletes the temporary files, after which the graph may no longer be used.
+	 *
+	 * @throws IOException
+	 *             The temporary files could not be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			try {
+				this.neighbours.close();
+			} finally {
+				this.rowDegrees.close();
+			}
+		} finally {
+			this.rowStarts.close();
+		}
+	}
+
+	@Override
+	public int getDegree(final int room) {
+		final int degree;
+
+		if (room >= this.roomCount) {
+			degree = 0;
+		} else {
+			degree = Math.max(0, this.rowDegrees.getInt(4L * room) - 1);
+		}
+
+		return degree;
+	}
+
+	@Override
+	public long getEdgeCount() {
+		return this.edgeCount;
+	}
+
+	@Override
+	public int getNeighbour(final int room, final int index) {
+		return this.neighbours.getInt(4L * (this.rowStarts.getLong(8L * room) + index));
+	}
+
+	@Override
+	public int getRoomCount() {
+		return this.roomCount;
+	}
+
+	/**
+	 * Writes the graph to a file in the form read by {@link LabyrinthGraph#map(File)}, atomically
+	 * replacing the file if it exists, and maps it back in.
+	 *
+	 * @param file
+	 *            The file to write.
+	 * @param roomIndex
+	 *            The {@link RoomIndex} that numbered the rooms, from which the ID of every room is
+	 *            written.
+	 * @return The {@link LabyrinthGraph} held in the written file.
+	 * @throws IOException
+	 *             The file could not be written or mapped.
+	 */
+	public LabyrinthGraph writeTo(final File file, final RoomIndex roomIndex) throws IOException {
+		final File temporaryFile = new File(file.getPath() + ".tmp");
+		final FileChannel fileChannel = FileChannel.open(temporaryFile.toPath(),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+
+		try {
+			final ByteBuffer byteBuffer = ByteBuffer
+					.allocateDirect(LabyrinthGraphBuilder.WRITE_BUFFER_SIZE);
+			long rowStart = 0;
+
+			byteBuffer.order(ByteOrder.LITTLE_ENDIAN);
+			byteBuffer.putInt(LabyrinthGraph.MAGIC);
+			byteBuffer.putInt(LabyrinthGraph.VERSION);
+			byteBuffer.putInt(this.roomCount);
+			byteBuffer.putInt(0);
+			byteBuffer.putLong(this.edgeCount);
+
+			for (int room = 0; room <= this.roomCount; room++) {
+				if (byteBuffer.remaining() < 8) {
+					LabyrinthGraphBuilder.flush(fileChannel, byteBuffer);
+				}
+
+				byteBuffer.putLong(rowStart);
+
+				if (room < this.roomCount) {
+					rowStart += this.getDegree(room);
+				}
+			}
+
+			for (int room = 0; room < this.roomCount; room++) {
+				final int degree = this.getDegree(room);
+
+				for (int index = 0; index < degree; index++) {
+					if (byteBuffer.remaining() < 4) {
+						LabyrinthGraphBuilder.flush(fileChannel, byteBuffer);
+					}
+
+					byteBuffer.putInt(this.getNeighbour(room, index));
+				}
+			}
+
+			if ((this.edgeCount % 2) != 0) {
+				if (byteBuffer.remaining() < 4) {
+					LabyrinthGraphBuilder.flush(fileChannel, byteBuffer);
+				}
+
+				byteBuffer.putInt(0);
+			}
+
+			long roomIdStart = 0;
+
+			for (int room = 0; room <= this.roomCount; room++) {
+				if (byteBuffer.remaining() < 8) {
+					LabyrinthGraphBuilder.flush(fileChannel, byteBuffer);
+				}
+
+				byteBuffer.putLong(roomIdStart);
+
+				if (room < this.roomCount) {
+					roomIdStart += roomIndex.getRoomId(room)
+							.getBytes(StandardCharsets.UTF_8).length;
+				}
+			}
+
+			for (int room = 0; room < this.roomCount; room++) {
+				LabyrinthGraphBuilder.put(fileChannel, byteBuffer,
+						roomIndex.getRoomId(room).getBytes(StandardCharsets.UTF_8));
+			}
+
+			LabyrinthGraphBuilder.flush(fileChannel, byteBuffer);
+			fileChannel.force(false);
+		} finally {
+			fileChannel.close();
+		}
+
+		Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+				StandardCopyOption.REPLACE_EXISTING);
+
+		return LabyrinthGraph.map(file);
+	}
+}
\ No newline at end of file
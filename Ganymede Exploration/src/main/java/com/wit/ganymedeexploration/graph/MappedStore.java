@@ -0,0 +1,338 @@
+package com.wit.ganymedeexploration.graph;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A file mapped into memory in fixed-size chunks, addressed by <code>long</code> byte positions
+ * so that it may hold more than a single {@link MappedByteBuffer} can. Its contents live outside
+ * the Java heap and are paged in and out by the operating system, so a store may grow past both
+ * the heap and the physical memory.
+ * <p>
+ * A writable store maps no more than it was asked to hold, rounded up to a power of 2: its last
+ * chunk starts small and is mapped again at twice its size, at most, whenever it has to grow, until
+ * it is as large as every other chunk. Chunks no longer used, and every chunk once the store is
+ * closed, are unmapped right away rather than whenever they are garbage collected, so growing a
+ * store, or creating and closing many, does not leave mappings behind. Nothing read from a store
+ * may be used once it has grown or been closed, and it must not grow or be closed while another
+ * thread reads from it.
+ * <p>
+ * Values are little-endian and must be aligned to their own size, so that none straddles two
+ * chunks.
+ */
+public final class MappedStore implements Closeable {
+	/**
+	 * The base-2 logarithm of {@link #CHUNK_SIZE}.
+	 */
+	private static final int CHUNK_SHIFT = 26;
+
+	/**
+	 * The number of bytes mapped by each chunk.
+	 */
+	private static final long CHUNK_SIZE = 1L << MappedStore.CHUNK_SHIFT;
+
+	/**
+	 * The mask extracting the position within a chunk from a position within the store.
+	 */
+	private static final long CHUNK_MASK = MappedStore.CHUNK_SIZE - 1;
+
+	/**
+	 * The number of bytes first mapped by a writable store.
+	 */
+	private static final long MINIMUM_CHUNK_SIZE = 1L << 16;
+
+	/**
+	 * Creates a writable store backed by a temporary file, which is deleted right away where the
+	 * operating system allows it, or when the JVM exits otherwise.
+	 *
+	 * @param prefix
+	 *            The prefix of the name of the temporary file.
+	 * @return The created {@link MappedStore}.
+	 * @throws IOException
+	 *             The temporary file could not be created.
+	 */
+	public static MappedStore createTemporary(final String prefix) throws IOException {
+		final File file = File.createTempFile(prefix, ".tmp");
+		final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+
+		if (!file.delete()) {
+			file.deleteOnExit();
+		}
+
+		return new MappedStore(fileChannel, FileChannel.MapMode.READ_WRITE);
+	}
+
+	/**
+	 * Maps the whole of an existing file read-only.
+	 *
+	 * @param file
+	 *            The file to map.
+	 * @return The {@link MappedStore} over the file.
+	 * @throws IOException
+	 *             The file could not be opened or mapped.
+	 */
+	public static MappedStore map(final File file) throws IOException {
+		final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+		try {
+			final MappedStore mappedStore = new MappedStore(fileChannel,
+					FileChannel.MapMode.READ_ONLY);
+
+			mappedStore.ensureCapacity(Files.size(file.toPath()));
+
+			return mappedStore;
+		} catch (final IOException ioException) {
+			fileChannel.close();
+
+			throw ioException;
+		}
+	}
+
+	/**
+	 * Unmaps a chunk right away, through the cleaner of the JDK, the only way to release a
+	 * mapping before it is garbage collected. If neither the JDK 9 nor the JDK 7 way of reaching
+	 * the cleaner is available, the chunk is left to the garbage collector.
+	 *
+	 * @param chunk
+	 *            The chunk to unmap, which must never be read from or written to again.
+	 */
+	private static void unmap(final MappedByteBuffer chunk) {
+		try {
+			final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Method invokeCleanerMethod = null;
+
+			try {
+				invokeCleanerMethod = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			} catch (final NoSuchMethodException noSuchMethodException) {
+				// Before JDK 9, the cleaner is reached through the buffer itself.
+			}
+
+			if (invokeCleanerMethod != null) {
+				final Field theUnsafeField = unsafeClass.getDeclaredField("theUnsafe");
+
+				theUnsafeField.setAccessible(true);
+				invokeCleanerMethod.invoke(theUnsafeField.get(null), chunk);
+			} else {
+				final Method cleanerMethod = chunk.getClass().getMethod("cleaner");
+
+				cleanerMethod.setAccessible(true);
+
+				final Object cleaner = cleanerMethod.invoke(chunk);
+
+				if (cleaner != null) {
+					cleaner.getClass().getMethod("clean").invoke(cleaner);
+				}
+			}
+		} catch (final ReflectiveOperationException | RuntimeException exception) {
+			// The chunk is unmapped once it is garbage collected instead.
+		}
+	}
+
+	/**
+	 * The number of bytes mapped so far.
+	 */
+	private long capacity = 0;
+
+	/**
+	 * The chunks mapped so far, in order.
+	 */
+	private final List<MappedByteBuffer> chunks = new ArrayList<>();
+
+	/**
+	 * The {@link FileChannel} over the file backing the store.
+	 */
+	private final FileChannel fileChannel;
+
+	/**
+	 * How chunks are mapped.
+	 */
+	private final FileChannel.MapMode mapMode;
+
+	/**
+	 * Creates a new {@link MappedStore}.
+	 *
+	 * @param fileChannel
+	 *            The {@link FileChannel} over the file backing the store.
+	 * @param mapMode
+	 *            How chunks are mapped.
+	 */
+	private MappedStore(final FileChannel fileChannel, final FileChannel.MapMode mapMode) {
+		this.fileChannel = fileChannel;
+		this.mapMode = mapMode;
+	}
+
+	/**
+	 * Unmaps every chunk and closes the file backing the store, which may not be used afterwards.
+	 *
+	 * @throws IOException
+	 *             The file could not be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			for (final MappedByteBuffer chunk : this.chunks) {
+				MappedStore.unmap(chunk);
+			}
+		} finally {
+			this.chunks.clear();
+			this.capacity = 0;
+
+			this.fileChannel.close();
+		}
+	}
+
+	/**
+	 * Maps further chunks, or maps the last one again larger, until the store holds at least the
+	 * given number of bytes. Mapping past the end of a writable file grows the file.
+	 *
+	 * @param size
+	 *            The number of bytes the store must hold.
+	 * @throws IOException
+	 *             The file could not be mapped.
+	 */
+	public void ensureCapacity(final long size) throws IOException {
+		while (this.capacity < size) {
+			// The last chunk if it is smaller than the others, the next one otherwise.
+			final int chunkIndex = (int) (this.capacity >>> MappedStore.CHUNK_SHIFT);
+			final long chunkPosition = (long) chunkIndex << MappedStore.CHUNK_SHIFT;
+			final long chunkSize;
+
+			if (this.mapMode == FileChannel.MapMode.READ_ONLY) {
+				chunkSize = Math.min(MappedStore.CHUNK_SIZE, size - chunkPosition);
+			} else {
+				final long neededSize = Long.highestOneBit(size - chunkPosition - 1) << 1;
+				final long doubledSize = (this.capacity - chunkPosition) * 2;
+
+				chunkSize = Math.min(MappedStore.CHUNK_SIZE, Math.max(
+						MappedStore.MINIMUM_CHUNK_SIZE, Math.max(neededSize, doubledSize)));
+			}
+
+			final MappedByteBuffer chunk = this.fileChannel.map(this.mapMode, chunkPosition,
+					chunkSize);
+
+			chunk.order(ByteOrder.LITTLE_ENDIAN);
+
+			if (chunkIndex < this.chunks.size()) {
+				MappedStore.unmap(this.chunks.set(chunkIndex, chunk));
+			} else {
+				this.chunks.add(chunk);
+			}
+
+			this.capacity = chunkPosition + chunkSize;
+		}
+	}
+
+	/**
+	 * Returns the <code>byte</code> at the given position.
+	 *
+	 * @param position
+	 *            The position of the value.
+	 * @return The <code>byte</code> at the given position.
+	 */
+	public byte getByte(final long position) {
+		final MappedByteBuffer chunk = this.getChunk(position);
+
+		return chunk.get((int) (position & MappedStore.CHUNK_MASK));
+	}
+
+	/**
+	 * Returns the number of bytes mapped so far, which a writable store rounds up from what it was
+	 * asked to hold.
+	 *
+	 * @return The number of bytes mapped so far.
+	 */
+	public long getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Returns the chunk holding the given position.
+	 *
+	 * @param position
+	 *            A position within the store.
+	 * @return The chunk holding the given position.
+	 */
+	private MappedByteBuffer getChunk(final long position) {
+		return this.chunks.get((int) (position >>> MappedStore.CHUNK_SHIFT));
+	}
+
+	/**
+	 * Returns the <code>int</code> at the given position.
+	 *
+	 * @param position
+	 *            The position of the value, a multiple of 4.
+	 * @return The <code>int</code> at the given position.
+	 */
+	public int getInt(final long position) {
+		final MappedByteBuffer chunk = this.getChunk(position);
+
+		return chunk.getInt((int) (position & MappedStore.CHUNK_MASK));
+	}
+
+	/**
+	 * Returns the <code>long</code> at the given position.
+	 *
+	 * @param position
+	 *            The position of the value, a multiple of 8.
+	 * @return The <code>long</code> at the given position.
+	 */
+	public long getLong(final long position) {
+		final MappedByteBuffer chunk = this.getChunk(position);
+
+		return chunk.getLong((int) (position & MappedStore.CHUNK_MASK));
+	}
+
+	/**
+	 * Writes a <code>byte</code> at the given position, which must have been mapped already.
+	 *
+	 * @param position
+	 *            The position of the value.
+	 * @param value
+	 *            The value to write.
+	 */
+	public void putByte(final long position, final byte value) {
+		final MappedByteBuffer chunk = this.getChunk(position);
+
+		chunk.put((int) (position & MappedStore.CHUNK_MASK), value);
+	}
+
+	/**
+	 * Writes an <code>int</code> at the given position, which must have been mapped already.
+	 *
+	 * @param position
+	 *            The position of the value, a multiple of 4.
+	 * @param value
+	 *            The value to write.
+	 */
+	public void putInt(final long position, final int value) {
+		final MappedByteBuffer chunk = this.getChunk(position);
+
+		chunk.putInt((int) (position & MappedStore.CHUNK_MASK), value);
+	}
+
+	/**
+	 * Writes a <code>long</code> at the given position, which must have been mapped already.
+	 *
+	 * @param position
+	 *            The position of the value, a multiple of 8.
+	 * @param value
+	 *            The value to write.
+	 */
+	public void putLong(final long position, final long value) {
+		final MappedByteBuffer chunk = this.getChunk(position);
+
+		chunk.putLong((int) (position & MappedStore.CHUNK_MASK), value);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.wit.ganymedeexploration.graph;
+
+/**
+ * The connections between the {@link com.wit.ganymedeexploration.model.Room}s of a labyrinth, by
+ * the dense indices assigned to them by a
+ * {@link com.wit.ganymedeexploration.collection.RoomIndex}. The neighbours of a room are visited
+ * by index, from 0 up to its degree, so that walking the graph never allocates:
+ *
+ * <pre>
+ * for (int index = 0; index &lt; roomGraph.getDegree(room); index++) {
+ * 	final int neighbour = roomGraph.getNeighbour(room, index);
+ * }
+ * </pre>
+ *
+ * A room that has not been explored has no neighbours.
+ */
+public interface RoomGraph {
+	/**
+	 * Returns the number of neighbours of the given room.
+	 *
+	 * @param room
+	 *            The index of the room.
+	 * @return The number of neighbours of the room, which is 0 if it has not been explored.
+	 */
+	int getDegree(final int room);
+
+	/**
+	 * Returns the number of connections held, counting each direction separately.
+	 *
+	 * @return The number of connections held.
+	 */
+	long getEdgeCount();
+
+	/**
+	 * Returns a neighbour of the given room.
+	 *
+	 * @param room
+	 *            The index of the room.
+	 * @param index
+	 *            The position of the neighbour, from 0 up to the degree of the room.
+	 * @return The index of the neighbour.
+	 */
+	int getNeighbour(final int room, final int index);
+
+	/**
+	 * Returns the number of rooms known, whose indices run from 0 up to that number.
+	 *
+	 * @return The number of rooms known.
+	 */
+	int getRoomCount();
+}
\ No newline at end of file
@@ -0,0 +1,699 @@
+package com.wit.ganymedeexploration.journal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import com.wit.ganymedeexploration.collection.RoomIndex;
+import com.wit.ganymedeexploration.message.MessageAssembler;
+import com.wit.ganymedeexploration.model.Room;
+
+/**
+ * An append-only, crash-safe record of an exploration, made of a snapshot of its
+ * {@link JournalState} followed by every {@link JournalRecord} appended since. Appending a
+ * {@link JournalRecord} only queues it: a dedicated writer thread encodes everything queued since
+ * its last write, appends it as a single group, forces it to disk and only then moves on, so the
+ * exploration never waits on the disk. Once the journal grows past
+ * {@link #COMPACTION_BYTES_PROPERTY}, it is folded into a fresh snapshot and emptied.
+ * <p>
+ * Every {@link JournalRecord} is framed by its length and a CRC32 checksum, so a record torn by a
+ * crash is detected and discarded, along with anything after it, when the journal is reopened.
+ * <p>
+ * Writings are not folded into snapshots: every {@link JournalRecord.Type#READ} record that found
+ * one is also appended, framed the same way, to a writings file that is never compacted, so the
+ * message never has to be held in memory to be journaled. Snapshots are streamed to and from disk,
+ * and are written from the {@link RoomIndex} of the exploration rather than a copy of the
+ * {@link Room} IDs of their own.
+ */
+public final class ExplorationJournal implements Closeable {
+	/**
+	 * Handles every intact {@link JournalRecord} replayed from a file.
+	 */
+	private static interface JournalRecordHandler {
+		/**
+		 * Handles a {@link JournalRecord}.
+		 *
+		 * @param journalRecord
+		 *            The {@link JournalRecord} replayed.
+		 * @throws IOException
+		 *             The {@link JournalRecord} could not be handled.
+		 */
+		void handle(final JournalRecord journalRecord) throws IOException;
+	}
+
+	/**
+	 * The system property setting how large, in bytes, the journal may grow before it is compacted
+	 * into a snapshot.
+	 */
+	public static final String COMPACTION_BYTES_PROPERTY = "ganymede.journalCompactionBytes";
+
+	/**
+	 * The system property naming the directory the journal is kept in. The exploration is only
+	 * journaled if it is set.
+	 */
+	public static final String DIRECTORY_PROPERTY = "ganymede.journal";
+
+	/**
+	 * Queued by {@link #close()} to tell the writer thread that nothing follows.
+	 */
+	private static final JournalRecord CLOSE_RECORD = JournalRecord.start(null,
+			Collections.<String> emptyList());
+
+	/**
+	 * How large, in bytes, the journal may grow by default before it is compacted.
+	 */
+	private static final long DEFAULT_COMPACTION_BYTES = 64L * 1024 * 1024;
+
+	/**
+	 * The name of the file holding the {@link JournalRecord}s appended since the last snapshot.
+	 */
+	private static final String JOURNAL_FILE_NAME = "exploration.journal";
+
+	/**
+	 * The name of the file holding the last snapshot.
+	 */
+	private static final String SNAPSHOT_FILE_NAME = "exploration.snapshot";
+
+	/**
+	 * The name of the file holding every writing found so far.
+	 */
+	private static final String WRITINGS_FILE_NAME = "exploration.writings";
+
+	/**
+	 * Returns the {@link ExplorationJournal} configured through the {@link #DIRECTORY_PROPERTY}
+	 * system property, if any.
+	 *
+	 * @param resume
+	 *            Whether to recover the exploration journaled so far instead of starting afresh.
+	 * @return The configured {@link ExplorationJournal}, or <code>null</code> if the exploration is
+	 *         not to be journaled.
+	 * @throws IOException
+	 *             The journal could not be opened.
+	 */
+	public static ExplorationJournal getDefault(final boolean resume) throws IOException {
+		final String directoryName = System.getProperty(ExplorationJournal.DIRECTORY_PROPERTY);
+		final ExplorationJournal explorationJournal;
+
+		if (directoryName == null) {
+			explorationJournal = null;
+		} else {
+			final File directory = new File(directoryName);
+
+			explorationJournal = ExplorationJournal.open(directory, resume);
+		}
+
+		return explorationJournal;
+	}
+
+	/**
+	 * Opens the journal kept in the given directory, recovering the exploration journaled so far if
+	 * resuming or discarding it otherwise, and starts its writer thread.
+	 *
+	 * @param directory
+	 *            The directory the journal is kept in, which is created if need be.
+	 * @param resume
+	 *            Whether to recover the exploration journaled so far instead of starting afresh.
+	 * @return The opened {@link ExplorationJournal}.
+	 * @throws IOException
+	 *             The journal could not be opened.
+	 */
+	public static ExplorationJournal open(final File directory, final boolean resume)
+			throws IOException {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException(String.format("Could not create journal directory \"%s\".",
+					directory));
+		}
+
+		final File journalFile = new File(directory, ExplorationJournal.JOURNAL_FILE_NAME);
+		final File snapshotFile = new File(directory, ExplorationJournal.SNAPSHOT_FILE_NAME);
+		final File writingsFile = new File(directory, ExplorationJournal.WRITINGS_FILE_NAME);
+
+		if (!resume) {
+			Files.deleteIfExists(journalFile.toPath());
+			Files.deleteIfExists(snapshotFile.toPath());
+			Files.deleteIfExists(writingsFile.toPath());
+		}
+
+		final JournalState journalState;
+
+		if (snapshotFile.exists()) {
+			journalState = ExplorationJournal.readSnapshot(snapshotFile);
+		} else {
+			journalState = new JournalState();
+		}
+
+		final FileChannel fileChannel = ExplorationJournal.open(journalFile,
+				new JournalRecordHandler() {
+					@Override
+					public void handle(final JournalRecord journalRecord) {
+						journalState.apply(journalRecord);
+					}
+				});
+		final FileChannel writingsChannel;
+
+		try {
+			// Only checked for now; the writings are replayed once the message can take them.
+			writingsChannel = ExplorationJournal.open(writingsFile, new JournalRecordHandler() {
+				@Override
+				public void handle(final JournalRecord journalRecord) {
+					// Nothing to do.
+				}
+			});
+		} catch (final IOException ioException) {
+			fileChannel.close();
+
+			throw ioException;
+		}
+
+		final long compactionBytes = Long.getLong(ExplorationJournal.COMPACTION_BYTES_PROPERTY,
+				ExplorationJournal.DEFAULT_COMPACTION_BYTES);
+		final ExplorationJournal explorationJournal = new ExplorationJournal(fileChannel,
+				snapshotFile, writingsChannel, writingsFile, journalState, compactionBytes);
+
+		explorationJournal.writerThread.start();
+
+		return explorationJournal;
+	}
+
+	/**
+	 * Opens a file of framed {@link JournalRecord}s, handing every intact one to a
+	 * {@link JournalRecordHandler} and discarding anything after the last of them.
+	 *
+	 * @param file
+	 *            The file to open, which is created if need be.
+	 * @param journalRecordHandler
+	 *            The {@link JournalRecordHandler} to hand every intact {@link JournalRecord} to.
+	 * @return A {@link FileChannel} over the file, positioned at its end.
+	 * @throws IOException
+	 *             The file could not be opened or read.
+	 */
+	private static FileChannel open(final File file,
+			final JournalRecordHandler journalRecordHandler) throws IOException {
+		final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+		try {
+			final long validLength = ExplorationJournal.replay(file, fileChannel,
+					journalRecordHandler);
+
+			fileChannel.truncate(validLength);
+			fileChannel.position(validLength);
+		} catch (final IOException ioException) {
+			fileChannel.close();
+
+			throw ioException;
+		}
+
+		return fileChannel;
+	}
+
+	/**
+	 * Reads the snapshot held in the given file, checking it against its trailing checksum.
+	 *
+	 * @param snapshotFile
+	 *            The file holding the snapshot.
+	 * @return The {@link JournalState} read.
+	 * @throws IOException
+	 *             The snapshot could not be read or is corrupt.
+	 */
+	private static JournalState readSnapshot(final File snapshotFile) throws IOException {
+		final long payloadLength = snapshotFile.length() - 8;
+
+		if (payloadLength < 0) {
+			throw new IOException(String.format("Journal snapshot \"%s\" is truncated.",
+					snapshotFile));
+		}
+
+		final CRC32 crc32 = new CRC32();
+		final long checksum;
+
+		// Checked in full first, so that nothing read from a corrupt snapshot is trusted.
+		try (final DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(
+				new FileInputStream(snapshotFile)))) {
+			final byte[] buffer = new byte[8192];
+			long remainingLength = payloadLength;
+
+			while (remainingLength > 0) {
+				final int readLength = (int) Math.min(buffer.length, remainingLength);
+
+				dataInputStream.readFully(buffer, 0, readLength);
+				crc32.update(buffer, 0, readLength);
+
+				remainingLength -= readLength;
+			}
+
+			checksum = dataInputStream.readLong();
+		}
+
+		if (checksum != crc32.getValue()) {
+			throw new IOException(String.format("Journal snapshot \"%s\" is corrupt.",
+					snapshotFile));
+		}
+
+		try (final DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(
+				new FileInputStream(snapshotFile)))) {
+			return JournalState.readSnapshot(dataInputStream);
+		}
+	}
+
+	/**
+	 * Hands every intact {@link JournalRecord} held in a file to a {@link JournalRecordHandler},
+	 * stopping at the first one that is torn or corrupt.
+	 *
+	 * @param file
+	 *            The file, named if anything is discarded.
+	 * @param fileChannel
+	 *            The {@link FileChannel} over the file, positioned at its start.
+	 * @param journalRecordHandler
+	 *            The {@link JournalRecordHandler} to hand every intact {@link JournalRecord} to.
+	 * @return The length of the file up to and including the last intact {@link JournalRecord}.
+	 * @throws IOException
+	 *             The file could not be read.
+	 */
+	private static long replay(final File file, final FileChannel fileChannel,
+			final JournalRecordHandler journalRecordHandler) throws IOException {
+		final long length = fileChannel.size();
+		final DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(
+				Channels.newInputStream(fileChannel)));
+		final CRC32 crc32 = new CRC32();
+		long validLength = 0;
+		boolean intact = true;
+
+		while (intact && (validLength < length)) {
+			try {
+				final int recordLength = dataInputStream.readInt();
+
+				if ((recordLength <= 0) || (recordLength > (length - validLength - 8))) {
+					intact = false;
+				} else {
+					final byte[] payload = new byte[recordLength];
+
+					dataInputStream.readFully(payload);
+
+					final int checksum = dataInputStream.readInt();
+
+					crc32.reset();
+					crc32.update(payload);
+
+					if (checksum != (int) crc32.getValue()) {
+						intact = false;
+					} else {
+						final JournalRecord journalRecord = JournalRecord
+								.decode(new DataInputStream(new ByteArrayInputStream(payload)));
+
+						journalRecordHandler.handle(journalRecord);
+
+						validLength += 4 + recordLength + 4;
+					}
+				}
+			} catch (final EOFException eofException) {
+				intact = false;
+			}
+		}
+
+		if (validLength < length) {
+			System.err.println(String.format(
+					"Discarding %d bytes of torn records at the end of \"%s\".",
+					length - validLength, file));
+		}
+
+		return validLength;
+	}
+
+	/**
+	 * Writes the whole of a buffer to a {@link FileChannel}.
+	 *
+	 * @param fileChannel
+	 *            The {@link FileChannel} to write to.
+	 * @param bytes
+	 *            The bytes to write.
+	 * @throws IOException
+	 *             The bytes could not be written.
+	 */
+	private static void writeFully(final FileChannel fileChannel, final byte[] bytes)
+			throws IOException {
+		final ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+
+		while (byteBuffer.hasRemaining()) {
+			fileChannel.write(byteBuffer);
+		}
+	}
+
+	/**
+	 * How large, in bytes, the journal may grow before it is compacted into a snapshot.
+	 */
+	private final long compactionBytes;
+
+	/**
+	 * The number of times the journal was compacted into a snapshot.
+	 */
+	private volatile int compactionCount = 0;
+
+	/**
+	 * The first error the writer thread ran into, after which nothing more is journaled.
+	 */
+	private volatile IOException failure;
+
+	/**
+	 * The {@link FileChannel} over the journal, only used by the writer thread once started.
+	 */
+	private final FileChannel fileChannel;
+
+	/**
+	 * The {@link JournalState} as of the last {@link JournalRecord} written, which is the recovered
+	 * one until anything is appended.
+	 */
+	private final JournalState journalState;
+
+	/**
+	 * The {@link JournalRecord}s appended but not yet taken by the writer thread.
+	 */
+	private final BlockingQueue<JournalRecord> pendingJournalRecords = new LinkedBlockingQueue<>();
+
+	/**
+	 * The file holding the last snapshot.
+	 */
+	private final File snapshotFile;
+
+	/**
+	 * The {@link FileChannel} over the writings file, only used by the writer thread once anything
+	 * has been appended.
+	 */
+	private final FileChannel writingsChannel;
+
+	/**
+	 * The file holding every writing found so far.
+	 */
+	private final File writingsFile;
+
+	/**
+	 * The thread writing appended {@link JournalRecord}s to disk.
+	 */
+	private final Thread writerThread;
+
+	/**
+	 * Creates a new {@link ExplorationJournal}.
+	 *
+	 * @param fileChannel
+	 *            The {@link FileChannel} over the journal, positioned at its end.
+	 * @param snapshotFile
+	 *            The file holding the last snapshot.
+	 * @param writingsChannel
+	 *            The {@link FileChannel} over the writings file, positioned at its end.
+	 * @param writingsFile
+	 *            The file holding every writing found so far.
+	 * @param journalState
+	 *            The {@link JournalState} recovered from the snapshot and journal.
+	 * @param compactionBytes
+	 *            How large, in bytes, the journal may grow before it is compacted into a snapshot.
+	 */
+	private ExplorationJournal(final FileChannel fileChannel, final File snapshotFile,
+			final FileChannel writingsChannel, final File writingsFile,
+			final JournalState journalState, final long compactionBytes) {
+		this.fileChannel = fileChannel;
+		this.snapshotFile = snapshotFile;
+		this.writingsChannel = writingsChannel;
+		this.writingsFile = writingsFile;
+		this.journalState = journalState;
+		this.compactionBytes = compactionBytes;
+		this.writerThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				ExplorationJournal.this.write();
+			}
+		}, "ganymede-journal");
+
+		this.writerThread.setDaemon(true);
+	}
+
+	/**
+	 * Queues a {@link JournalRecord} to be appended to the journal, without waiting for it to be
+	 * written.
+	 *
+	 * @param journalRecord
+	 *            The {@link JournalRecord} to append.
+	 */
+	public void append(final JournalRecord journalRecord) {
+		if (this.failure == null) {
+			this.pendingJournalRecords.add(journalRecord);
+		}
+	}
+
+	/**
+	 * Appends a group of {@link JournalRecord}s to the journal, and those that found a writing to
+	 * the writings file as well, and forces them to disk, then compacts the journal if it has
+	 * grown too large.
+	 *
+	 * @param journalRecords
+	 *            The {@link JournalRecord}s to append.
+	 * @param recordByteArrayOutputStream
+	 *            A buffer to encode every {@link JournalRecord} into.
+	 * @param groupByteArrayOutputStream
+	 *            A buffer to frame the whole group into.
+	 * @param writingGroupByteArrayOutputStream
+	 *            A buffer to frame the {@link JournalRecord}s that found a writing into.
+	 * @throws IOException
+	 *             The {@link JournalRecord}s could not be written.
+	 */
+	private void appendGroup(final List<JournalRecord> journalRecords,
+			final ByteArrayOutputStream recordByteArrayOutputStream,
+			final ByteArrayOutputStream groupByteArrayOutputStream,
+			final ByteArrayOutputStream writingGroupByteArrayOutputStream) throws IOException {
+		final DataOutputStream recordDataOutputStream = new DataOutputStream(
+				recordByteArrayOutputStream);
+		final DataOutputStream groupDataOutputStream = new DataOutputStream(
+				groupByteArrayOutputStream);
+		final DataOutputStream writingGroupDataOutputStream = new DataOutputStream(
+				writingGroupByteArrayOutputStream);
+		final CRC32 crc32 = new CRC32();
+
+		groupByteArrayOutputStream.reset();
+		writingGroupByteArrayOutputStream.reset();
+
+		for (final JournalRecord journalRecord : journalRecords) {
+			recordByteArrayOutputStream.reset();
+
+			journalRecord.encode(recordDataOutputStream);
+
+			final byte[] payload = recordByteArrayOutputStream.toByteArray();
+
+			crc32.reset();
+			crc32.update(payload);
+
+			groupDataOutputStream.writeInt(payload.length);
+			groupDataOutputStream.write(payload);
+			groupDataOutputStream.writeInt((int) crc32.getValue());
+
+			if ((journalRecord.getType() == JournalRecord.Type.READ)
+					&& (journalRecord.getOrder() != -1)) {
+				writingGroupDataOutputStream.writeInt(payload.length);
+				writingGroupDataOutputStream.write(payload);
+				writingGroupDataOutputStream.writeInt((int) crc32.getValue());
+			}
+
+			this.journalState.apply(journalRecord);
+		}
+
+		// Writings go first: one whose record is lost in a crash is read again, then ignored.
+		if (writingGroupByteArrayOutputStream.size() > 0) {
+			ExplorationJournal.writeFully(this.writingsChannel,
+					writingGroupByteArrayOutputStream.toByteArray());
+
+			this.writingsChannel.force(false);
+		}
+
+		ExplorationJournal.writeFully(this.fileChannel, groupByteArrayOutputStream.toByteArray());
+
+		this.fileChannel.force(false);
+
+		if (this.fileChannel.position() >= this.compactionBytes) {
+			this.compact();
+		}
+	}
+
+	/**
+	 * Waits for every {@link JournalRecord} appended so far to be written, then closes the
+	 * journal. Closing it again does nothing.
+	 *
+	 * @throws IOException
+	 *             The journal could not be written or closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!this.fileChannel.isOpen()) {
+			return;
+		}
+
+		this.pendingJournalRecords.add(ExplorationJournal.CLOSE_RECORD);
+
+		try {
+			this.writerThread.join();
+		} catch (final InterruptedException interruptedException) {
+			Thread.currentThread().interrupt();
+		}
+
+		try {
+			this.fileChannel.close();
+		} finally {
+			this.writingsChannel.close();
+		}
+
+		if (this.failure != null) {
+			throw this.failure;
+		}
+	}
+
+	/**
+	 * Writes the {@link JournalState} as a new snapshot, atomically replacing the previous one,
+	 * then empties the journal. A crash in between leaves records in the journal that the new
+	 * snapshot already covers, which is harmless since replaying them changes nothing.
+	 *
+	 * @throws IOException
+	 *             The snapshot could not be written or the journal could not be emptied.
+	 */
+	private void compact() throws IOException {
+		final File temporarySnapshotFile = new File(this.snapshotFile.getPath() + ".tmp");
+
+		try (final FileOutputStream fileOutputStream = new FileOutputStream(temporarySnapshotFile)) {
+			final CheckedOutputStream checkedOutputStream = new CheckedOutputStream(
+					new BufferedOutputStream(fileOutputStream), new CRC32());
+			final DataOutputStream dataOutputStream = new DataOutputStream(checkedOutputStream);
+
+			this.journalState.writeSnapshot(dataOutputStream);
+
+			dataOutputStream.writeLong(checkedOutputStream.getChecksum().getValue());
+			dataOutputStream.flush();
+			fileOutputStream.getFD().sync();
+		}
+
+		Files.move(temporarySnapshotFile.toPath(), this.snapshotFile.toPath(),
+				StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+		this.fileChannel.truncate(0);
+		this.fileChannel.position(0);
+		this.fileChannel.force(false);
+
+		this.compactionCount++;
+	}
+
+	/**
+	 * Returns the number of times the journal was compacted into a snapshot.
+	 *
+	 * @return The number of times the journal was compacted into a snapshot.
+	 */
+	public int getCompactionCount() {
+		return this.compactionCount;
+	}
+
+	/**
+	 * Returns the {@link JournalState} recovered when the journal was opened. It must be read
+	 * before anything is appended, after which it belongs to the writer thread.
+	 *
+	 * @return The {@link JournalState} recovered when the journal was opened.
+	 */
+	public JournalState getRecoveredState() {
+		return this.journalState;
+	}
+
+	/**
+	 * Adds every writing found so far, as recovered when the journal was opened, to a
+	 * {@link MessageAssembler}, reading them back from the writings file one at a time. It must be
+	 * called before anything is appended.
+	 *
+	 * @param messageAssembler
+	 *            The {@link MessageAssembler} to add the writings to.
+	 * @throws IOException
+	 *             The writings could not be read, or the message could not be written.
+	 */
+	public void replayWritings(final MessageAssembler messageAssembler) throws IOException {
+		final long length = this.writingsChannel.size();
+
+		this.writingsChannel.position(0);
+
+		ExplorationJournal.replay(this.writingsFile, this.writingsChannel,
+				new JournalRecordHandler() {
+					@Override
+					public void handle(final JournalRecord journalRecord) throws IOException {
+						messageAssembler.add(journalRecord.getOrder(), journalRecord.getWriting());
+					}
+				});
+
+		this.writingsChannel.position(length);
+	}
+
+	/**
+	 * Shares the {@link RoomIndex} of the exploration with the {@link JournalState}, in place of
+	 * the one it recovered, if any. Every {@link Room} ID recovered must have been indexed into it
+	 * already, in the same order, and it must be called before anything is appended.
+	 *
+	 * @param roomIndex
+	 *            The {@link RoomIndex} of the exploration.
+	 * @throws IOException
+	 *             The recovered {@link RoomIndex} could not be released.
+	 */
+	public void shareRoomIndex(final RoomIndex roomIndex) throws IOException {
+		this.journalState.setRoomIndex(roomIndex);
+	}
+
+	/**
+	 * Runs on the writer thread, taking every {@link JournalRecord} queued since the last write
+	 * and appending them as a single group until the journal is closed.
+	 */
+	private void write() {
+		final List<JournalRecord> journalRecords = new ArrayList<>();
+		final ByteArrayOutputStream recordByteArrayOutputStream = new ByteArrayOutputStream();
+		final ByteArrayOutputStream groupByteArrayOutputStream = new ByteArrayOutputStream();
+		final ByteArrayOutputStream writingGroupByteArrayOutputStream = new ByteArrayOutputStream();
+		boolean closed = false;
+
+		while (!closed) {
+			try {
+				journalRecords.add(this.pendingJournalRecords.take());
+			} catch (final InterruptedException interruptedException) {
+				closed = true;
+			}
+
+			this.pendingJournalRecords.drainTo(journalRecords);
+
+			if (journalRecords.remove(ExplorationJournal.CLOSE_RECORD)) {
+				closed = true;
+			}
+
+			if ((this.failure == null) && !journalRecords.isEmpty()) {
+				try {
+					this.appendGroup(journalRecords, recordByteArrayOutputStream,
+							groupByteArrayOutputStream, writingGroupByteArrayOutputStream);
+				} catch (final IOException ioException) {
+					System.err.println("Failed to write to the journal; no longer journaling.");
+					ioException.printStackTrace();
+
+					this.failure = ioException;
+				}
+			}
+
+			journalRecords.clear();
+		}
+	}
+}
\ No newline at end of file
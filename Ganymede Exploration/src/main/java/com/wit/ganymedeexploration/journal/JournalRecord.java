@@ -0,0 +1,553 @@
+package com.wit.ganymedeexploration.journal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.wit.ganymedeexploration.collection.RoomIndex;
+import com.wit.ganymedeexploration.model.Drone;
+import com.wit.ganymedeexploration.model.Room;
+
+/**
+ * A single change to the exploration, as appended to an {@link ExplorationJournal}. Records are
+ * created on the coordinating thread but only encoded later, on the journal's writer thread, so
+ * creating one costs no more than a small allocation.
+ */
+public final class JournalRecord {
+	/**
+	 * The kinds of {@link JournalRecord}, along with the code identifying each of them on disk.
+	 */
+	public static enum Type {
+		/**
+		 * A command was sent to a {@link Drone}.
+		 */
+		DISPATCHED(2),
+
+		/**
+		 * A {@link Room} was explored, uncovering the {@link Room}s connected to it.
+		 */
+		EXPLORED(3),
+
+		/**
+		 * The writing within a {@link Room} was read.
+		 */
+		READ(4),
+
+		/**
+		 * The exploration started from a given {@link Room} with a given set of {@link Drone}s.
+		 */
+		START(1);
+
+		/**
+		 * Returns the {@link Type} identified by the given code.
+		 *
+		 * @param code
+		 *            The code identifying the {@link Type} on disk.
+		 * @return The {@link Type} identified by the given code.
+		 * @throws IOException
+		 *             No {@link Type} is identified by the given code.
+		 */
+		public static Type fromCode(final int code) throws IOException {
+			for (final Type type : Type.values()) {
+				if (type.code == code) {
+					return type;
+				}
+			}
+
+			throw new IOException(String.format("Unknown journal record type %d.", code));
+		}
+
+		/**
+		 * The code identifying this {@link Type} on disk.
+		 */
+		private final int code;
+
+		/**
+		 * Creates a new {@link Type}.
+		 *
+		 * @param code
+		 *            The code identifying this {@link Type} on disk.
+		 */
+		private Type(final int code) {
+			this.code = code;
+		}
+
+		/**
+		 * Returns the code identifying this {@link Type} on disk.
+		 *
+		 * @return The code identifying this {@link Type} on disk.
+		 */
+		public int getCode() {
+			return this.code;
+		}
+	}
+
+	/**
+	 * Decodes a {@link JournalRecord} previously written through {@link #encode(DataOutput)}.
+	 *
+	 * @param dataInput
+	 *            The {@link DataInput} to read from.
+	 * @return The decoded {@link JournalRecord}.
+	 * @throws IOException
+	 *             The {@link JournalRecord} could not be read.
+	 */
+	public static JournalRecord decode(final DataInput dataInput) throws IOException {
+		final Type type = Type.fromCode(dataInput.readUnsignedByte());
+		final JournalRecord journalRecord;
+
+		switch (type) {
+		case DISPATCHED: {
+			final String commandId = JournalRecord.readString(dataInput);
+			final String droneId = JournalRecord.readString(dataInput);
+			final boolean explore = dataInput.readBoolean();
+			final String roomId = JournalRecord.readString(dataInput);
+
+			journalRecord = JournalRecord.dispatched(commandId, droneId, explore, roomId);
+			break;
+		}
+		case EXPLORED: {
+			final String commandId = JournalRecord.readString(dataInput);
+			final String roomId = JournalRecord.readString(dataInput);
+			final List<String> connectedRoomIds = JournalRecord.readStrings(dataInput);
+
+			journalRecord = JournalRecord.explored(commandId, roomId, connectedRoomIds);
+			break;
+		}
+		case READ: {
+			final String commandId = JournalRecord.readString(dataInput);
+			final String roomId = JournalRecord.readString(dataInput);
+			final int order = dataInput.readInt();
+			final String writing = dataInput.readBoolean() ? JournalRecord.readString(dataInput)
+					: null;
+
+			journalRecord = JournalRecord.read(commandId, roomId, order, writing);
+			break;
+		}
+		case START:
+		default: {
+			final String roomId = JournalRecord.readString(dataInput);
+			final List<String> droneIds = JournalRecord.readStrings(dataInput);
+
+			journalRecord = JournalRecord.start(roomId, droneIds);
+			break;
+		}
+		}
+
+		return journalRecord;
+	}
+
+	/**
+	 * Creates a {@link Type#DISPATCHED} {@link JournalRecord}.
+	 *
+	 * @param commandId
+	 *            The unique ID of the command sent.
+	 * @param droneId
+	 *            The ID of the {@link Drone} the command was sent to.
+	 * @param explore
+	 *            Whether the command is an "explore" command, as opposed to a "read" command.
+	 * @param roomId
+	 *            The ID of the {@link Room} the command is about.
+	 * @return The created {@link JournalRecord}.
+	 */
+	public static JournalRecord dispatched(final String commandId, final String droneId,
+			final boolean explore, final String roomId) {
+		return new JournalRecord(Type.DISPATCHED, commandId, droneId, null, explore, roomId, null,
+				null, null, -1, null);
+	}
+
+	/**
+	 * Creates a {@link Type#EXPLORED} {@link JournalRecord} for connected {@link Room}s that were
+	 * interned while parsing, which are only resolved back into IDs once encoded.
+	 *
+	 * @param commandId
+	 *            The unique ID of the command that explored the {@link Room}.
+	 * @param roomId
+	 *            The ID of the explored {@link Room}.
+	 * @param connectedRooms
+	 *            The indices of the {@link Room}s connected to the explored {@link Room}.
+	 * @param roomIndex
+	 *            The {@link RoomIndex} the connected {@link Room}s were interned into.
+	 * @return The created {@link JournalRecord}.
+	 */
+	public static JournalRecord explored(final String commandId, final String roomId,
+			final int[] connectedRooms, final RoomIndex roomIndex) {
+		return new JournalRecord(Type.EXPLORED, commandId, null, null, true, roomId, null,
+				connectedRooms, roomIndex, -1, null);
+	}
+
+	/**
+	 * Creates a {@link Type#EXPLORED} {@link JournalRecord}.
+	 *
+	 * @param commandId
+	 *            The unique ID of the command that explored the {@link Room}.
+	 * @param roomId
+	 *            The ID of the explored {@link Room}.
+	 * @param connectedRoomIds
+	 *            The IDs of the {@link Room}s connected to the explored {@link Room}.
+	 * @return The created {@link JournalRecord}.
+	 */
+	public static JournalRecord explored(final String commandId, final String roomId,
+			final List<String> connectedRoomIds) {
+		return new JournalRecord(Type.EXPLORED, commandId, null, null, true, roomId,
+				connectedRoomIds, null, null, -1, null);
+	}
+
+	/**
+	 * Creates a {@link Type#READ} {@link JournalRecord}.
+	 *
+	 * @param commandId
+	 *            The unique ID of the command that read the {@link Room}.
+	 * @param roomId
+	 *            The ID of the {@link Room} read.
+	 * @param order
+	 *            The order of the writing found, or -1 if no meaningful writing was found.
+	 * @param writing
+	 *            The writing found, if any.
+	 * @return The created {@link JournalRecord}.
+	 */
+	public static JournalRecord read(final String commandId, final String roomId,
+			final int order, final String writing) {
+		return new JournalRecord(Type.READ, commandId, null, null, false, roomId, null, null,
+				null, order, writing);
+	}
+
+	/**
+	 * Reads a string written through {@link #writeString(DataOutput, String)}.
+	 *
+	 * @param dataInput
+	 *            The {@link DataInput} to read from.
+	 * @return The string read.
+	 * @throws IOException
+	 *             The string could not be read.
+	 */
+	static String readString(final DataInput dataInput) throws IOException {
+		final int length = dataInput.readInt();
+
+		if (length < 0) {
+			throw new IOException(String.format("Invalid string length %d.", length));
+		}
+
+		final byte[] bytes = new byte[length];
+
+		dataInput.readFully(bytes);
+
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads a list of strings written through {@link #writeStrings(DataOutput, List)}.
+	 *
+	 * @param dataInput
+	 *            The {@link DataInput} to read from.
+	 * @return The strings read.
+	 * @throws IOException
+	 *             The strings could not be read.
+	 */
+	static List<String> readStrings(final DataInput dataInput) throws IOException {
+		final int count = dataInput.readInt();
+
+		if (count < 0) {
+			throw new IOException(String.format("Invalid string count %d.", count));
+		}
+
+		final List<String> strings = new ArrayList<>(count);
+
+		for (int index = 0; index < count; index++) {
+			strings.add(JournalRecord.readString(dataInput));
+		}
+
+		return strings;
+	}
+
+	/**
+	 * Creates a {@link Type#START} {@link JournalRecord}.
+	 *
+	 * @param roomId
+	 *            The ID of the {@link Room} the exploration started from.
+	 * @param droneIds
+	 *            The IDs of the {@link Drone}s usable for exploration.
+	 * @return The created {@link JournalRecord}.
+	 */
+	public static JournalRecord start(final String roomId, final List<String> droneIds) {
+		return new JournalRecord(Type.START, null, null, droneIds, false, roomId, null, null, null,
+				-1, null);
+	}
+
+	/**
+	 * Writes a string as its length in UTF-8 bytes followed by those bytes.
+	 *
+	 * @param dataOutput
+	 *            The {@link DataOutput} to write to.
+	 * @param string
+	 *            The string to write.
+	 * @throws IOException
+	 *             The string could not be written.
+	 */
+	static void writeString(final DataOutput dataOutput, final String string)
+			throws IOException {
+		final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+
+		dataOutput.writeInt(bytes.length);
+		dataOutput.write(bytes);
+	}
+
+	/**
+	 * Writes a list of strings as their count followed by every string.
+	 *
+	 * @param dataOutput
+	 *            The {@link DataOutput} to write to.
+	 * @param strings
+	 *            The strings to write.
+	 * @throws IOException
+	 *             The strings could not be written.
+	 */
+	static void writeStrings(final DataOutput dataOutput, final List<String> strings)
+			throws IOException {
+		dataOutput.writeInt(strings.size());
+
+		for (final String string : strings) {
+			JournalRecord.writeString(dataOutput, string);
+		}
+	}
+
+	/**
+	 * The unique ID of the command this {@link JournalRecord} is about, if any.
+	 */
+	private final String commandId;
+
+	/**
+	 * The IDs of the {@link Room}s connected to the explored {@link Room}, unless they were
+	 * interned.
+	 */
+	private final List<String> connectedRoomIds;
+
+	/**
+	 * The indices of the {@link Room}s connected to the explored {@link Room}, if they were
+	 * interned.
+	 */
+	private final int[] connectedRooms;
+
+	/**
+	 * The ID of the {@link Drone} the command was sent to, if any.
+	 */
+	private final String droneId;
+
+	/**
+	 * The IDs of the {@link Drone}s usable for exploration, if any.
+	 */
+	private final List<String> droneIds;
+
+	/**
+	 * Whether the command is an "explore" command, as opposed to a "read" command.
+	 */
+	private final boolean explore;
+
+	/**
+	 * The order of the writing found, or -1 if no meaningful writing was found.
+	 */
+	private final int order;
+
+	/**
+	 * The ID of the {@link Room} this {@link JournalRecord} is about.
+	 */
+	private final String roomId;
+
+	/**
+	 * The {@link RoomIndex} that {@link #connectedRooms} were interned into, if any.
+	 */
+	private final RoomIndex roomIndex;
+
+	/**
+	 * The kind of this {@link JournalRecord}.
+	 */
+	private final Type type;
+
+	/**
+	 * The writing found, if any.
+	 */
+	private final String writing;
+
+	/**
+	 * Creates a new {@link JournalRecord}.
+	 *
+	 * @param type
+	 *            The kind of this {@link JournalRecord}.
+	 * @param commandId
+	 *            The unique ID of the command this {@link JournalRecord} is about, if any.
+	 * @param droneId
+	 *            The ID of the {@link Drone} the command was sent to, if any.
+	 * @param droneIds
+	 *            The IDs of the {@link Drone}s usable for exploration, if any.
+	 * @param explore
+	 *            Whether the command is an "explore" command, as opposed to a "read" command.
+	 * @param roomId
+	 *            The ID of the {@link Room} this {@link JournalRecord} is about.
+	 * @param connectedRoomIds
+	 *            The IDs of the connected {@link Room}s, unless they were interned.
+	 * @param connectedRooms
+	 *            The indices of the connected {@link Room}s, if they were interned.
+	 * @param roomIndex
+	 *            The {@link RoomIndex} the connected {@link Room}s were interned into, if any.
+	 * @param order
+	 *            The order of the writing found, or -1 if no meaningful writing was found.
+	 * @param writing
+	 *            The writing found, if any.
+	 */
+	private JournalRecord(final Type type, final String commandId, final String droneId,
+			final List<String> droneIds, final boolean explore, final String roomId,
+			final List<String> connectedRoomIds, final int[] connectedRooms,
+			final RoomIndex roomIndex, final int order, final String writing) {
+		this.type = type;
+		this.commandId = commandId;
+		this.droneId = droneId;
+		this.droneIds = droneIds;
+		this.explore = explore;
+		this.roomId = roomId;
+		this.connectedRoomIds = connectedRoomIds;
+		this.connectedRooms = connectedRooms;
+		this.roomIndex = roomIndex;
+		this.order = order;
+		this.writing = writing;
+	}
+
+	/**
+	 * Encodes this {@link JournalRecord}, starting with the code of its {@link Type}.
+	 *
+	 * @param dataOutput
+	 *            The {@link DataOutput} to write to.
+	 * @throws IOException
+	 *             The {@link JournalRecord} could not be written.
+	 */
+	public void encode(final DataOutput dataOutput) throws IOException {
+		dataOutput.writeByte(this.type.getCode());
+
+		switch (this.type) {
+		case DISPATCHED:
+			JournalRecord.writeString(dataOutput, this.commandId);
+			JournalRecord.writeString(dataOutput, this.droneId);
+			dataOutput.writeBoolean(this.explore);
+			JournalRecord.writeString(dataOutput, this.roomId);
+			break;
+		case EXPLORED:
+			JournalRecord.writeString(dataOutput, this.commandId);
+			JournalRecord.writeString(dataOutput, this.roomId);
+			JournalRecord.writeStrings(dataOutput, this.getConnectedRoomIds());
+			break;
+		case READ:
+			JournalRecord.writeString(dataOutput, this.commandId);
+			JournalRecord.writeString(dataOutput, this.roomId);
+			dataOutput.writeInt(this.order);
+			dataOutput.writeBoolean(this.writing != null);
+
+			if (this.writing != null) {
+				JournalRecord.writeString(dataOutput, this.writing);
+			}
+			break;
+		case START:
+		default:
+			JournalRecord.writeString(dataOutput, this.roomId);
+			JournalRecord.writeStrings(dataOutput, this.droneIds);
+			break;
+		}
+	}
+
+	/**
+	 * Returns the unique ID of the command this {@link JournalRecord} is about, if any.
+	 *
+	 * @return The unique ID of the command this {@link JournalRecord} is about, if any.
+	 */
+	public String getCommandId() {
+		return this.commandId;
+	}
+
+	/**
+	 * Returns the IDs of the {@link Room}s connected to the explored {@link Room}, resolving them
+	 * if they were interned.
+	 *
+	 * @return The IDs of the {@link Room}s connected to the explored {@link Room}.
+	 */
+	public List<String> getConnectedRoomIds() {
+		final List<String> connectedRoomIds;
+
+		if (this.connectedRoomIds != null) {
+			connectedRoomIds = this.connectedRoomIds;
+		} else if (this.connectedRooms != null) {
+			connectedRoomIds = new ArrayList<>(this.connectedRooms.length);
+
+			for (final int connectedRoom : this.connectedRooms) {
+				connectedRoomIds.add(this.roomIndex.getRoomId(connectedRoom));
+			}
+		} else {
+			connectedRoomIds = Collections.emptyList();
+		}
+
+		return connectedRoomIds;
+	}
+
+	/**
+	 * Returns the ID of the {@link Drone} the command was sent to, if any.
+	 *
+	 * @return The ID of the {@link Drone} the command was sent to, if any.
+	 */
+	public String getDroneId() {
+		return this.droneId;
+	}
+
+	/**
+	 * Returns the IDs of the {@link Drone}s usable for exploration, if any.
+	 *
+	 * @return The IDs of the {@link Drone}s usable for exploration, if any.
+	 */
+	public List<String> getDroneIds() {
+		return this.droneIds;
+	}
+
+	/**
+	 * Returns the order of the writing found, or -1 if no meaningful writing was found.
+	 *
+	 * @return The order of the writing found, or -1 if no meaningful writing was found.
+	 */
+	public int getOrder() {
+		return this.order;
+	}
+
+	/**
+	 * Returns the ID of the {@link Room} this {@link JournalRecord} is about.
+	 *
+	 * @return The ID of the {@link Room} this {@link JournalRecord} is about.
+	 */
+	public String getRoomId() {
+		return this.roomId;
+	}
+
+	/**
+	 * Returns the kind of this {@link JournalRecord}.
+	 *
+	 * @return The kind of this {@link JournalRecord}.
+	 */
+	public Type getType() {
+		return this.type;
+	}
+
+	/**
+	 * Returns the writing found, if any.
+	 *
+	 * @return The writing found, if any.
+	 */
+	public String getWriting() {
+		return this.writing;
+	}
+
+	/**
+	 * Returns whether the command is an "explore" command, as opposed to a "read" command.
+	 *
+	 * @return Whether the command is an "explore" command, as opposed to a "read" command.
+	 */
+	public boolean isExplore() {
+		return this.explore;
+	}
+}
\ No newline at end of file
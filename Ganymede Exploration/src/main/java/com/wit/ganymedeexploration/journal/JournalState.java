@@ -0,0 +1,366 @@
+package com.wit.ganymedeexploration.journal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.wit.ganymedeexploration.collection.HeapRoomIndex;
+import com.wit.ganymedeexploration.collection.RoomIndex;
+import com.wit.ganymedeexploration.model.Drone;
+import com.wit.ganymedeexploration.model.Room;
+
+/**
+ * The progress of an exploration as far as it can be rebuilt from its {@link JournalRecord}s.
+ * Applying a {@link JournalRecord} more than once, or applying records already covered by a
+ * snapshot, leaves the {@link JournalState} as it would be had every record been applied exactly
+ * once, which is what lets a journal be replayed on top of a snapshot without knowing exactly where
+ * the snapshot was taken.
+ * <p>
+ * Writings are not part of the {@link JournalState}, since they are kept in a file of their own by
+ * the {@link ExplorationJournal}. Only a recovered {@link JournalState} holds a {@link RoomIndex}
+ * of its own: while exploring, it shares that of the exploration, which assigns the same indices.
+ */
+public final class JournalState {
+	/**
+	 * Identifies a snapshot written through {@link #writeSnapshot(DataOutput)}.
+	 */
+	private static final int SNAPSHOT_MAGIC = 0x47414e59;
+
+	/**
+	 * The version of the format written through {@link #writeSnapshot(DataOutput)}.
+	 */
+	private static final int SNAPSHOT_VERSION = 2;
+
+	/**
+	 * Reads a {@link JournalState} previously written through {@link #writeSnapshot(DataOutput)}.
+	 *
+	 * @param dataInput
+	 *            The {@link DataInput} to read from.
+	 * @return The {@link JournalState} read.
+	 * @throws IOException
+	 *             The snapshot could not be read or is not a snapshot at all.
+	 */
+	public static JournalState readSnapshot(final DataInput dataInput) throws IOException {
+		final int magic = dataInput.readInt();
+		final int version = dataInput.readInt();
+
+		if ((magic != JournalState.SNAPSHOT_MAGIC) || (version != JournalState.SNAPSHOT_VERSION)) {
+			throw new IOException("Not an exploration journal snapshot.");
+		}
+
+		final JournalState journalState = new JournalState();
+
+		if (dataInput.readBoolean()) {
+			journalState.startingRoomId = JournalRecord.readString(dataInput);
+			journalState.droneIds = JournalRecord.readStrings(dataInput);
+		}
+
+		final int roomCount = dataInput.readInt();
+
+		for (int room = 0; room < roomCount; room++) {
+			journalState.roomIndex.index(JournalRecord.readString(dataInput));
+		}
+
+		JournalState.readBitSet(dataInput, journalState.exploredRooms);
+		JournalState.readBitSet(dataInput, journalState.readRooms);
+		JournalState.readCommands(dataInput, journalState.inFlightExplores);
+		JournalState.readCommands(dataInput, journalState.inFlightReads);
+
+		return journalState;
+	}
+
+	/**
+	 * Reads a {@link BitSet} written through {@link #writeBitSet(DataOutput, BitSet)}.
+	 *
+	 * @param dataInput
+	 *            The {@link DataInput} to read from.
+	 * @param bitSet
+	 *            The {@link BitSet} to set the bits read in.
+	 * @throws IOException
+	 *             The {@link BitSet} could not be read.
+	 */
+	private static void readBitSet(final DataInput dataInput, final BitSet bitSet)
+			throws IOException {
+		final int wordCount = dataInput.readInt();
+		final long[] words = new long[wordCount];
+
+		for (int index = 0; index < wordCount; index++) {
+			words[index] = dataInput.readLong();
+		}
+
+		bitSet.or(BitSet.valueOf(words));
+	}
+
+	/**
+	 * Reads commands written through {@link #writeCommands(DataOutput, Map)}.
+	 *
+	 * @param dataInput
+	 *            The {@link DataInput} to read from.
+	 * @param roomCommandIds
+	 *            The {@link Map} to put the commands read in.
+	 * @throws IOException
+	 *             The commands could not be read.
+	 */
+	private static void readCommands(final DataInput dataInput,
+			final Map<Integer, String> roomCommandIds) throws IOException {
+		final int commandCount = dataInput.readInt();
+
+		for (int index = 0; index < commandCount; index++) {
+			final int room = dataInput.readInt();
+			final String commandId = JournalRecord.readString(dataInput);
+
+			roomCommandIds.put(room, commandId);
+		}
+	}
+
+	/**
+	 * Writes a {@link BitSet} as its number of words followed by every word.
+	 *
+	 * @param dataOutput
+	 *            The {@link DataOutput} to write to.
+	 * @param bitSet
+	 *            The {@link BitSet} to write.
+	 * @throws IOException
+	 *             The {@link BitSet} could not be written.
+	 */
+	private static void writeBitSet(final DataOutput dataOutput, final BitSet bitSet)
+			throws IOException {
+		final long[] words = bitSet.toLongArray();
+
+		dataOutput.writeInt(words.length);
+
+		for (final long word : words) {
+			dataOutput.writeLong(word);
+		}
+	}
+
+	/**
+	 * Writes commands as their count followed by the {@link Room} index and ID of every command.
+	 *
+	 * @param dataOutput
+	 *            The {@link DataOutput} to write to.
+	 * @param roomCommandIds
+	 *            The commands to write.
+	 * @throws IOException
+	 *             The commands could not be written.
+	 */
+	private static void writeCommands(final DataOutput dataOutput,
+			final Map<Integer, String> roomCommandIds) throws IOException {
+		dataOutput.writeInt(roomCommandIds.size());
+
+		for (final Map.Entry<Integer, String> roomCommandIdsEntry : roomCommandIds.entrySet()) {
+			dataOutput.writeInt(roomCommandIdsEntry.getKey());
+			JournalRecord.writeString(dataOutput, roomCommandIdsEntry.getValue());
+		}
+	}
+
+	/**
+	 * The IDs of the {@link Drone}s usable for exploration, once started.
+	 */
+	private List<String> droneIds = Collections.emptyList();
+
+	/**
+	 * The indices of the {@link Room}s whose "explore" command has completed.
+	 */
+	private final BitSet exploredRooms = new BitSet();
+
+	/**
+	 * The IDs of the "explore" commands sent whose results have not been received, by the index of
+	 * the {@link Room} they are about, in the order they were sent. A {@link Room} is only ever
+	 * explored by one command at a time, so re-sending a command after resuming supersedes the
+	 * original one.
+	 */
+	private final Map<Integer, String> inFlightExplores = new LinkedHashMap<>();
+
+	/**
+	 * The IDs of the "read" commands sent whose results have not been received, by the index of
+	 * the {@link Room} they are about, in the order they were sent.
+	 */
+	private final Map<Integer, String> inFlightReads = new LinkedHashMap<>();
+
+	/**
+	 * The indices of the {@link Room}s whose "read" command has completed.
+	 */
+	private final BitSet readRooms = new BitSet();
+
+	/**
+	 * The dense indices assigned to the IDs of every {@link Room} seen so far, in the order they
+	 * were first seen.
+	 */
+	private RoomIndex roomIndex = new HeapRoomIndex();
+
+	/**
+	 * The ID of the {@link Room} the exploration started from, once started.
+	 */
+	private String startingRoomId;
+
+	/**
+	 * Applies a {@link JournalRecord} to this {@link JournalState}.
+	 *
+	 * @param journalRecord
+	 *            The {@link JournalRecord} to apply.
+	 */
+	public void apply(final JournalRecord journalRecord) {
+		final int room = this.roomIndex.index(journalRecord.getRoomId());
+
+		switch (journalRecord.getType()) {
+		case DISPATCHED:
+			if (journalRecord.isExplore()) {
+				this.inFlightExplores.put(room, journalRecord.getCommandId());
+			} else {
+				this.inFlightReads.put(room, journalRecord.getCommandId());
+			}
+			break;
+		case EXPLORED:
+			this.inFlightExplores.remove(room);
+			this.exploredRooms.set(room);
+
+			for (final String connectedRoomId : journalRecord.getConnectedRoomIds()) {
+				this.roomIndex.index(connectedRoomId);
+			}
+			break;
+		case READ:
+			this.inFlightReads.remove(room);
+			this.readRooms.set(room);
+			break;
+		case START:
+		default:
+			this.startingRoomId = journalRecord.getRoomId();
+			this.droneIds = journalRecord.getDroneIds();
+			break;
+		}
+	}
+
+	/**
+	 * Returns the IDs of the {@link Drone}s usable for exploration, once started.
+	 *
+	 * @return The IDs of the {@link Drone}s usable for exploration, once started.
+	 */
+	public List<String> getDroneIds() {
+		return this.droneIds;
+	}
+
+	/**
+	 * Returns the indices of the {@link Room}s whose "explore" command has completed.
+	 *
+	 * @return The indices of the {@link Room}s whose "explore" command has completed.
+	 */
+	public BitSet getExploredRooms() {
+		return this.exploredRooms;
+	}
+
+	/**
+	 * Returns the IDs of the "explore" commands sent whose results have not been received, by the
+	 * index of the {@link Room} they are about, in the order they were sent.
+	 *
+	 * @return The IDs of the "explore" commands sent whose results have not been received.
+	 */
+	public Map<Integer, String> getInFlightExplores() {
+		return this.inFlightExplores;
+	}
+
+	/**
+	 * Returns the IDs of the "read" commands sent whose results have not been received, by the
+	 * index of the {@link Room} they are about, in the order they were sent.
+	 *
+	 * @return The IDs of the "read" commands sent whose results have not been received.
+	 */
+	public Map<Integer, String> getInFlightReads() {
+		return this.inFlightReads;
+	}
+
+	/**
+	 * Returns the indices of the {@link Room}s whose "read" command has completed.
+	 *
+	 * @return The indices of the {@link Room}s whose "read" command has completed.
+	 */
+	public BitSet getReadRooms() {
+		return this.readRooms;
+	}
+
+	/**
+	 * Returns the dense indices assigned to the IDs of every {@link Room} seen so far, in the
+	 * order they were first seen.
+	 *
+	 * @return The dense indices assigned to the IDs of every {@link Room} seen so far.
+	 */
+	public RoomIndex getRoomIndex() {
+		return this.roomIndex;
+	}
+
+	/**
+	 * Returns the ID of the {@link Room} the exploration started from, once started.
+	 *
+	 * @return The ID of the {@link Room} the exploration started from, or <code>null</code> if the
+	 *         exploration never started.
+	 */
+	public String getStartingRoomId() {
+		return this.startingRoomId;
+	}
+
+	/**
+	 * Returns whether the exploration had started, that is, whether there is anything to resume.
+	 *
+	 * @return Whether the exploration had started.
+	 */
+	public boolean isStarted() {
+		return this.startingRoomId != null;
+	}
+
+	/**
+	 * Replaces the {@link RoomIndex} with one that assigns the same indices to every {@link Room}
+	 * ID seen so far, so that {@link Room} IDs are not held twice while journaling, and releases
+	 * the one replaced. The {@link RoomIndex} given may already hold {@link Room}s not yet
+	 * journaled, which then end up in the next snapshot and are explored again if resuming.
+	 *
+	 * @param roomIndex
+	 *            The {@link RoomIndex} of the exploration.
+	 * @throws IOException
+	 *             The replaced {@link RoomIndex} could not be released.
+	 */
+	public void setRoomIndex(final RoomIndex roomIndex) throws IOException {
+		final RoomIndex replacedRoomIndex = this.roomIndex;
+
+		this.roomIndex = roomIndex;
+
+		replacedRoomIndex.close();
+	}
+
+	/**
+	 * Writes this {@link JournalState} in full, so that it can be read back through
+	 * {@link #readSnapshot(DataInput)} and replace every {@link JournalRecord} applied so far.
+	 *
+	 * @param dataOutput
+	 *            The {@link DataOutput} to write to.
+	 * @throws IOException
+	 *             The snapshot could not be written.
+	 */
+	public void writeSnapshot(final DataOutput dataOutput) throws IOException {
+		dataOutput.writeInt(JournalState.SNAPSHOT_MAGIC);
+		dataOutput.writeInt(JournalState.SNAPSHOT_VERSION);
+		dataOutput.writeBoolean(this.isStarted());
+
+		if (this.isStarted()) {
+			JournalRecord.writeString(dataOutput, this.startingRoomId);
+			JournalRecord.writeStrings(dataOutput, this.droneIds);
+		}
+
+		final int roomCount = this.roomIndex.size();
+
+		dataOutput.writeInt(roomCount);
+
+		for (int room = 0; room < roomCount; room++) {
+			JournalRecord.writeString(dataOutput, this.roomIndex.getRoomId(room));
+		}
+
+		JournalState.writeBitSet(dataOutput, this.exploredRooms);
+		JournalState.writeBitSet(dataOutput, this.readRooms);
+		JournalState.writeCommands(dataOutput, this.inFlightExplores);
+		JournalState.writeCommands(dataOutput, this.inFlightReads);
+	}
+}
\ No newline at end of file
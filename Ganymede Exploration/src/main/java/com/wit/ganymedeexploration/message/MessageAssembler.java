@@ -0,0 +1,152 @@
+package com.wit.ganymedeexploration.message;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assembles the message uncovered through the writings as they are read, in whatever order they
+ * arrive. Every writing that extends the contiguous prefix of the message, starting from order 0,
+ * is written to a {@link Writer} straight away, along with any writings already held that follow
+ * it, so only writings that arrived ahead of their predecessors are kept in memory. Whatever is
+ * still held once the exploration ends, because of gaps in the orders, is written out in order by
+ * {@link #finish()}.
+ */
+public final class MessageAssembler {
+	/**
+	 * The order of the next writing to be written.
+	 */
+	private int nextOrder = 0;
+
+	/**
+	 * The writings that arrived ahead of their predecessors, by order.
+	 */
+	private final Map<Integer, String> pendingWritings = new HashMap<>();
+
+	/**
+	 * The largest number of writings held at once until their predecessors arrived.
+	 */
+	private int peakPendingWritingCount = 0;
+
+	/**
+	 * The {@link Writer} the message is written to.
+	 */
+	private final Writer writer;
+
+	/**
+	 * The number of writings written so far.
+	 */
+	private int writtenWritingCount = 0;
+
+	/**
+	 * Creates a new {@link MessageAssembler}.
+	 *
+	 * @param writer
+	 *            The {@link Writer} the message is written to.
+	 */
+	public MessageAssembler(final Writer writer) {
+		this.writer = writer;
+	}
+
+	/**
+	 * Adds a writing to the message, writing it and any held writings following it if it extends
+	 * the contiguous prefix of the message, or holding it until its predecessors arrive otherwise.
+	 * A writing whose order was already added is ignored.
+	 *
+	 * @param order
+	 *            The order of the writing within the message.
+	 * @param writing
+	 *            The writing.
+	 * @throws IOException
+	 *             The message could not be written.
+	 */
+	public void add(final int order, final String writing) throws IOException {
+		if (order == this.nextOrder) {
+			this.write(writing);
+
+			String pendingWriting = this.pendingWritings.remove(this.nextOrder);
+
+			while (pendingWriting != null) {
+				this.write(pendingWriting);
+
+				pendingWriting = this.pendingWritings.remove(this.nextOrder);
+			}
+		} else if ((order > this.nextOrder) && !this.pendingWritings.containsKey(order)) {
+			this.pendingWritings.put(order, writing);
+
+			this.peakPendingWritingCount = Math.max(this.peakPendingWritingCount,
+					this.pendingWritings.size());
+		}
+	}
+
+	/**
+	 * Writes every writing still held, in order, skipping over any gaps, then flushes the
+	 * {@link Writer}.
+	 *
+	 * @throws IOException
+	 *             The message could not be written.
+	 */
+	public void finish() throws IOException {
+		final List<Integer> orders = new ArrayList<>(this.pendingWritings.keySet());
+
+		Collections.sort(orders);
+
+		for (final Integer order : orders) {
+			final String writing = this.pendingWritings.remove(order);
+
+			this.nextOrder = order;
+
+			this.write(writing);
+		}
+
+		this.writer.flush();
+	}
+
+	/**
+	 * Returns the number of writings held until their predecessors arrive.
+	 *
+	 * @return The number of writings held until their predecessors arrive.
+	 */
+	public int getPendingWritingCount() {
+		return this.pendingWritings.size();
+	}
+
+	/**
+	 * Returns the largest number of writings held at once until their predecessors arrived.
+	 *
+	 * @return The largest number of writings held at once until their predecessors arrived.
+	 */
+	public int getPeakPendingWritingCount() {
+		return this.peakPendingWritingCount;
+	}
+
+	/**
+	 * Returns the number of writings written so far.
+	 *
+	 * @return The number of writings written so far.
+	 */
+	public int getWrittenWritingCount() {
+		return this.writtenWritingCount;
+	}
+
+	/**
+	 * Writes the writing of order {@link #nextOrder} and moves on to the next order.
+	 *
+	 * @param writing
+	 *            The writing, if any.
+	 * @throws IOException
+	 *             The message could not be written.
+	 */
+	private void write(final String writing) throws IOException {
+		if (writing != null) {
+			this.writer.write(writing);
+		}
+
+		this.nextOrder++;
+		this.writtenWritingCount++;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.wit.ganymedeexploration.metrics;
+
+import com.wit.ganymedeexploration.model.Drone;
+
+/**
+ * The metrics recorded for a single {@link Drone}.
+ */
+public final class DroneMetrics implements DroneMetricsMBean {
+	/**
+	 * The ID of the {@link Drone}.
+	 */
+	private final String id;
+
+	/**
+	 * How long the {@link Drone} had spent idle as of the last batch sent to it, in nanoseconds.
+	 */
+	private volatile long idleNanoseconds = 0;
+
+	/**
+	 * The round-trip times of the batches the {@link Drone} completed.
+	 */
+	private final LatencyHistogram roundTripHistogram = new LatencyHistogram();
+
+	/**
+	 * Creates a new {@link DroneMetrics}.
+	 *
+	 * @param id
+	 *            The ID of the {@link Drone}.
+	 */
+	public DroneMetrics(final String id) {
+		this.id = id;
+	}
+
+	@Override
+	public long getBatchCount() {
+		return this.roundTripHistogram.getCount();
+	}
+
+	@Override
+	public String getId() {
+		return this.id;
+	}
+
+	@Override
+	public double getIdleMilliseconds() {
+		return LatencyHistogram.toMilliseconds(this.idleNanoseconds);
+	}
+
+	/**
+	 * Returns how long the {@link Drone} had spent idle as of the last batch sent to it, in
+	 * nanoseconds.
+	 *
+	 * @return How long the {@link Drone} had spent idle, in nanoseconds.
+	 */
+	public long getIdleNanoseconds() {
+		return this.idleNanoseconds;
+	}
+
+	/**
+	 * Returns the round-trip times of the batches the {@link Drone} completed.
+	 *
+	 * @return The round-trip times of the batches the {@link Drone} completed.
+	 */
+	public LatencyHistogram getRoundTripHistogram() {
+		return this.roundTripHistogram;
+	}
+
+	@Override
+	public double getRoundTripMeanMilliseconds() {
+		return this.roundTripHistogram.getMeanMilliseconds();
+	}
+
+	@Override
+	public double getRoundTripP99Milliseconds() {
+		return this.roundTripHistogram.getP99Milliseconds();
+	}
+
+	/**
+	 * Sets how long the {@link Drone} had spent idle as of the last batch sent to it.
+	 *
+	 * @param idleNanoseconds
+	 *            How long the {@link Drone} had spent idle, in nanoseconds.
+	 */
+	public void setIdleNanoseconds(final long idleNanoseconds) {
+		this.idleNanoseconds = idleNanoseconds;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.wit.ganymedeexploration.metrics;
+
+import com.wit.ganymedeexploration.model.Drone;
+
+/**
+ * The management interface through which the {@link DroneMetrics} of a {@link Drone} are exposed
+ * over JMX.
+ */
+public interface DroneMetricsMBean {
+	/**
+	 * Returns the number of batches of commands the {@link Drone} completed.
+	 *
+	 * @return The number of batches of commands the {@link Drone} completed.
+	 */
+	long getBatchCount();
+
+	/**
+	 * Returns the ID of the {@link Drone}.
+	 *
+	 * @return The ID of the {@link Drone}.
+	 */
+	String getId();
+
+	/**
+	 * Returns how long the {@link Drone} had spent idle as of the last batch sent to it, in
+	 * milliseconds.
+	 *
+	 * @return How long the {@link Drone} had spent idle, in milliseconds.
+	 */
+	double getIdleMilliseconds();
+
+	/**
+	 * Returns the mean round-trip time of the batches the {@link Drone} completed, in
+	 * milliseconds.
+	 *
+	 * @return The mean round-trip time of the batches, in milliseconds.
+	 */
+	double getRoundTripMeanMilliseconds();
+
+	/**
+	 * Returns the 99th percentile of the round-trip times of the batches the {@link Drone}
+	 * completed, in milliseconds.
+	 *
+	 * @return The 99th percentile of the round-trip times of the batches, in milliseconds.
+	 */
+	double getRoundTripP99Milliseconds();
+}
\ No newline at end of file
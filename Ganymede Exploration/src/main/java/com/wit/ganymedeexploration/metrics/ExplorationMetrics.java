@@ -0,0 +1,601 @@
+package com.wit.ganymedeexploration.metrics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.wit.ganymedeexploration.model.Drone;
+import com.wit.ganymedeexploration.model.Room;
+
+/**
+ * The metrics recorded during an exploration: round-trip times per {@link Drone} and per kind of
+ * command, how full batches are, how large the frontiers are, how quickly {@link Room}s are
+ * explored, how long merging results takes and how idle {@link Drone}s are. Everything is recorded
+ * by the coordinating thread without allocating, and may be read from any thread, either through
+ * JMX once {@link #register()}ed or as a line of text from {@link #format()}.
+ */
+public final class ExplorationMetrics implements ExplorationMetricsMBean {
+	/**
+	 * Prints {@link ExplorationMetrics#format()} every time it runs.
+	 */
+	private static final class DumpTask implements Runnable {
+		/**
+		 * The {@link ExplorationMetrics} to print.
+		 */
+		private final ExplorationMetrics explorationMetrics;
+
+		/**
+		 * The {@link PrintStream} to print to.
+		 */
+		private final PrintStream printStream;
+
+		/**
+		 * Creates a new {@link DumpTask}.
+		 *
+		 * @param explorationMetrics
+		 *            The {@link ExplorationMetrics} to print.
+		 * @param printStream
+		 *            The {@link PrintStream} to print to.
+		 */
+		public DumpTask(final ExplorationMetrics explorationMetrics,
+				final PrintStream printStream) {
+			this.explorationMetrics = explorationMetrics;
+			this.printStream = printStream;
+		}
+
+		@Override
+		public void run() {
+			this.printStream.println(this.explorationMetrics.format());
+		}
+	}
+
+	/**
+	 * Names and marks as a daemon the thread printing metrics periodically.
+	 */
+	private static final class DumpThreadFactory implements ThreadFactory {
+		@Override
+		public Thread newThread(final Runnable runnable) {
+			final Thread thread = new Thread(runnable, "ganymede-metrics");
+
+			thread.setDaemon(true);
+
+			return thread;
+		}
+	}
+
+	/**
+	 * The system property setting how often, in seconds, the metrics are printed while exploring.
+	 * They are not printed periodically unless it is set.
+	 */
+	public static final String INTERVAL_SECONDS_PROPERTY = "ganymede.metricsIntervalSeconds";
+
+	/**
+	 * The system property that, if set to <code>true</code>, exposes the metrics over JMX while
+	 * exploring.
+	 */
+	public static final String JMX_PROPERTY = "ganymede.metricsJmx";
+
+	/**
+	 * The domain of the names under which the metrics are exposed over JMX.
+	 */
+	public static final String OBJECT_NAME_DOMAIN = "com.wit.ganymedeexploration";
+
+	/**
+	 * The number of batches of commands sent.
+	 */
+	private final AtomicLong batchCount = new AtomicLong();
+
+	/**
+	 * The round-trip times of every batch of commands, whatever it held.
+	 */
+	private final LatencyHistogram batchRoundTripHistogram = new LatencyHistogram();
+
+	/**
+	 * The number of commands sent.
+	 */
+	private final AtomicLong commandCount = new AtomicLong();
+
+	/**
+	 * The metrics of every {@link Drone}, by the partition of the {@link Drone}.
+	 */
+	private volatile DroneMetrics[] droneMetrics = new DroneMetrics[0];
+
+	/**
+	 * The {@link ScheduledExecutorService} printing the metrics periodically, if any.
+	 */
+	private ScheduledExecutorService dumpScheduledExecutorService;
+
+	/**
+	 * The {@link System#nanoTime()} at which the exploration finished, or 0 while it runs.
+	 */
+	private volatile long endNanoTime = 0;
+
+	/**
+	 * The number of {@link Room}s explored.
+	 */
+	private final AtomicLong exploredRoomCount = new AtomicLong();
+
+	/**
+	 * The round-trip times of every "explore" command, that is, of the batch it was sent in.
+	 */
+	private final LatencyHistogram exploreRoundTripHistogram = new LatencyHistogram();
+
+	/**
+	 * The maximum number of commands within a batch.
+	 */
+	private final int maximumBatchSize;
+
+	/**
+	 * The time the coordinating thread took to merge the results of every batch.
+	 */
+	private final LatencyHistogram mergeHistogram = new LatencyHistogram();
+
+	/**
+	 * The names under which the metrics are currently exposed over JMX.
+	 */
+	private final List<ObjectName> objectNames = new ArrayList<>();
+
+	/**
+	 * The number of {@link Room}s read.
+	 */
+	private final AtomicLong readRoomCount = new AtomicLong();
+
+	/**
+	 * The round-trip times of every "read" command, that is, of the batch it was sent in.
+	 */
+	private final LatencyHistogram readRoundTripHistogram = new LatencyHistogram();
+
+	/**
+	 * The name telling these metrics apart from those of other explorations running alongside,
+	 * or <code>null</code> if there are none.
+	 */
+	private volatile String sessionName;
+
+	/**
+	 * The {@link System#nanoTime()} at which the exploration started, or 0 until it does.
+	 */
+	private volatile long startNanoTime = 0;
+
+	/**
+	 * The number of times a {@link Drone} took {@link Room}s from another one, as of the last
+	 * batch sent.
+	 */
+	private volatile long stealCount = 0;
+
+	/**
+	 * The number of {@link Room}s waiting to be explored as of the last batch sent.
+	 */
+	private volatile int unexploredFrontierSize = 0;
+
+	/**
+	 * The number of {@link Room}s waiting to be read as of the last batch sent.
+	 */
+	private volatile int unreadFrontierSize = 0;
+
+	/**
+	 * Creates a new {@link ExplorationMetrics}.
+	 *
+	 * @param maximumBatchSize
+	 *            The maximum number of commands within a batch.
+	 */
+	public ExplorationMetrics(final int maximumBatchSize) {
+		this.maximumBatchSize = maximumBatchSize;
+	}
+
+	/**
+	 * Marks the end of the exploration, after which rates stop changing.
+	 *
+	 * @param nanoTime
+	 *            The {@link System#nanoTime()} at which the exploration finished.
+	 */
+	public void finish(final long nanoTime) {
+		this.endNanoTime = nanoTime;
+	}
+
+	/**
+	 * Formats the metrics as a single line of text.
+	 *
+	 * @return The metrics as a single line of text.
+	 */
+	public String format() {
+		double slowestDroneP99Milliseconds = 0;
+
+		for (final DroneMetrics droneMetrics : this.droneMetrics) {
+			slowestDroneP99Milliseconds = Math.max(slowestDroneP99Milliseconds,
+					droneMetrics.getRoundTripP99Milliseconds());
+		}
+
+		final String prefix = (this.sessionName == null) ? "[metrics]" : String.format(
+				"[metrics %s]", this.sessionName);
+
+		return String.format("%s %.1f s: %d rooms explored (%.0f/s), %d read; "
+				+ "%d batches (%.0f%% full); frontier %d to explore, %d to read, %d steals; "
+				+ "round trip p50/p99 explore %.1f/%.1f ms, read %.1f/%.1f ms, "
+				+ "slowest drone p99 %.1f ms; merge p50/p99 %.0f/%.0f us; drones idle %.1f%%",
+				prefix, this.getElapsedMilliseconds() / TimeUnit.SECONDS.toMillis(1),
+				this.getExploredRoomCount(), this.getRoomsPerSecond(), this.getReadRoomCount(),
+				this.getBatchCount(), 100 * this.getBatchFillRatio(),
+				this.getUnexploredFrontierSize(), this.getUnreadFrontierSize(),
+				this.getStealCount(),
+				this.exploreRoundTripHistogram.getP50Milliseconds(),
+				this.exploreRoundTripHistogram.getP99Milliseconds(),
+				this.readRoundTripHistogram.getP50Milliseconds(),
+				this.readRoundTripHistogram.getP99Milliseconds(), slowestDroneP99Milliseconds,
+				this.mergeHistogram.getPercentileNanoseconds(50) / 1000.0,
+				this.mergeHistogram.getPercentileNanoseconds(99) / 1000.0,
+				this.getDroneIdlePercentage());
+	}
+
+	@Override
+	public long getBatchCount() {
+		return this.batchCount.get();
+	}
+
+	@Override
+	public double getBatchFillRatio() {
+		final long capacity = this.batchCount.get() * this.maximumBatchSize;
+
+		return (capacity == 0) ? 0 : ((double) this.commandCount.get() / capacity);
+	}
+
+	/**
+	 * Returns the round-trip times of every batch of commands, whatever it held.
+	 *
+	 * @return The round-trip times of every batch of commands.
+	 */
+	public LatencyHistogram getBatchRoundTripHistogram() {
+		return this.batchRoundTripHistogram;
+	}
+
+	@Override
+	public long getCommandCount() {
+		return this.commandCount.get();
+	}
+
+	@Override
+	public double getDroneIdlePercentage() {
+		final DroneMetrics[] droneMetrics = this.droneMetrics;
+		final long elapsedNanoseconds = this.getElapsedNanoseconds();
+		long idleNanoseconds = 0;
+
+		for (final DroneMetrics currentDroneMetrics : droneMetrics) {
+			idleNanoseconds += currentDroneMetrics.getIdleNanoseconds();
+		}
+
+		final double availableNanoseconds = (double) elapsedNanoseconds * droneMetrics.length;
+
+		return (availableNanoseconds == 0) ? 0 : ((100 * idleNanoseconds) / availableNanoseconds);
+	}
+
+	/**
+	 * Returns the metrics of the {@link Drone} owning the given partition.
+	 *
+	 * @param dronePartition
+	 *            The partition owned by the {@link Drone}.
+	 * @return The metrics of the {@link Drone}.
+	 */
+	public DroneMetrics getDroneMetrics(final int dronePartition) {
+		return this.droneMetrics[dronePartition];
+	}
+
+	@Override
+	public double getElapsedMilliseconds() {
+		return LatencyHistogram.toMilliseconds(this.getElapsedNanoseconds());
+	}
+
+	/**
+	 * Returns how long the exploration has been running, or ran, in nanoseconds.
+	 *
+	 * @return How long the exploration has been running, in nanoseconds.
+	 */
+	private long getElapsedNanoseconds() {
+		final long startNanoTime = this.startNanoTime;
+		final long endNanoTime = this.endNanoTime;
+		final long elapsedNanoseconds;
+
+		if (startNanoTime == 0) {
+			elapsedNanoseconds = 0;
+		} else if (endNanoTime == 0) {
+			elapsedNanoseconds = System.nanoTime() - startNanoTime;
+		} else {
+			elapsedNanoseconds = endNanoTime - startNanoTime;
+		}
+
+		return elapsedNanoseconds;
+	}
+
+	@Override
+	public long getExploredRoomCount() {
+		return this.exploredRoomCount.get();
+	}
+
+	/**
+	 * Returns the round-trip times of every "explore" command.
+	 *
+	 * @return The round-trip times of every "explore" command.
+	 */
+	public LatencyHistogram getExploreRoundTripHistogram() {
+		return this.exploreRoundTripHistogram;
+	}
+
+	/**
+	 * Returns the time the coordinating thread took to merge the results of every batch.
+	 *
+	 * @return The time the coordinating thread took to merge the results of every batch.
+	 */
+	public LatencyHistogram getMergeHistogram() {
+		return this.mergeHistogram;
+	}
+
+	@Override
+	public long getReadRoomCount() {
+		return this.readRoomCount.get();
+	}
+
+	/**
+	 * Returns the round-trip times of every "read" command.
+	 *
+	 * @return The round-trip times of every "read" command.
+	 */
+	public LatencyHistogram getReadRoundTripHistogram() {
+		return this.readRoundTripHistogram;
+	}
+
+	@Override
+	public double getRoomsPerSecond() {
+		final long elapsedNanoseconds = this.getElapsedNanoseconds();
+
+		return (elapsedNanoseconds == 0) ? 0 : ((this.exploredRoomCount.get()
+				* (double) TimeUnit.SECONDS.toNanos(1)) / elapsedNanoseconds);
+	}
+
+	/**
+	 * Returns the name telling these metrics apart from those of other explorations running
+	 * alongside.
+	 *
+	 * @return The session name, or <code>null</code> if there is none.
+	 */
+	public String getSessionName() {
+		return this.sessionName;
+	}
+
+	@Override
+	public long getStealCount() {
+		return this.stealCount;
+	}
+
+	@Override
+	public int getUnexploredFrontierSize() {
+		return this.unexploredFrontierSize;
+	}
+
+	@Override
+	public int getUnreadFrontierSize() {
+		return this.unreadFrontierSize;
+	}
+
+	/**
+	 * Records a batch of commands being sent.
+	 *
+	 * @param commandCount
+	 *            The number of commands within the batch.
+	 */
+	public void recordBatch(final int commandCount) {
+		this.batchCount.incrementAndGet();
+		this.commandCount.addAndGet(commandCount);
+	}
+
+	/**
+	 * Records the current size of the frontiers.
+	 *
+	 * @param unexploredFrontierSize
+	 *            The number of {@link Room}s waiting to be explored.
+	 * @param unreadFrontierSize
+	 *            The number of {@link Room}s waiting to be read.
+	 */
+	public void recordFrontierSizes(final int unexploredFrontierSize,
+			final int unreadFrontierSize) {
+		this.unexploredFrontierSize = unexploredFrontierSize;
+		this.unreadFrontierSize = unreadFrontierSize;
+	}
+
+	/**
+	 * Records how long a {@link Drone} had spent idle when it was sent a batch of commands.
+	 *
+	 * @param dronePartition
+	 *            The partition owned by the {@link Drone}.
+	 * @param idleNanoseconds
+	 *            How long the {@link Drone} had spent idle, in nanoseconds.
+	 */
+	public void recordIdle(final int dronePartition, final long idleNanoseconds) {
+		this.droneMetrics[dronePartition].setIdleNanoseconds(idleNanoseconds);
+	}
+
+	/**
+	 * Records how long the coordinating thread took to merge the results of a batch.
+	 *
+	 * @param nanoseconds
+	 *            How long merging took, in nanoseconds.
+	 */
+	public void recordMerge(final long nanoseconds) {
+		this.mergeHistogram.record(nanoseconds);
+	}
+
+	/**
+	 * Records the round-trip time of a batch of commands, once for the {@link Drone} and once for
+	 * every command within the batch, by kind of command.
+	 *
+	 * @param dronePartition
+	 *            The partition owned by the {@link Drone} that executed the batch.
+	 * @param roundTripNanoseconds
+	 *            The round-trip time of the batch, in nanoseconds.
+	 * @param exploreCommandCount
+	 *            The number of "explore" commands within the batch.
+	 * @param readCommandCount
+	 *            The number of "read" commands within the batch.
+	 */
+	public void recordRoundTrip(final int dronePartition, final long roundTripNanoseconds,
+			final int exploreCommandCount, final int readCommandCount) {
+		this.droneMetrics[dronePartition].getRoundTripHistogram().record(roundTripNanoseconds);
+		this.batchRoundTripHistogram.record(roundTripNanoseconds);
+		this.exploreRoundTripHistogram.record(roundTripNanoseconds, exploreCommandCount);
+		this.readRoundTripHistogram.record(roundTripNanoseconds, readCommandCount);
+		this.exploredRoomCount.addAndGet(exploreCommandCount);
+		this.readRoomCount.addAndGet(readCommandCount);
+	}
+
+	/**
+	 * Records how many times, so far, a {@link Drone} took {@link Room}s from another one.
+	 *
+	 * @param stealCount
+	 *            The number of times a {@link Drone} took {@link Room}s from another one.
+	 */
+	public void recordStealCount(final long stealCount) {
+		this.stealCount = stealCount;
+	}
+
+	/**
+	 * Exposes the metrics over JMX, under {@link #OBJECT_NAME_DOMAIN} and, if there is one, a
+	 * <code>session</code> key holding the session name. Calling it again once the exploration
+	 * has started also exposes the metrics of every {@link Drone}.
+	 *
+	 * @throws JMException
+	 *             The metrics could not be exposed.
+	 */
+	public synchronized void register() throws JMException {
+		this.unregister();
+
+		final String domain = ExplorationMetrics.OBJECT_NAME_DOMAIN;
+		final String session = (this.sessionName == null) ? "" : String.format(",session=%s",
+				ObjectName.quote(this.sessionName));
+
+		this.register(new ObjectName(String.format("%s:type=Exploration%s", domain, session)),
+				this);
+		this.register(new ObjectName(String.format("%s:type=Latency,name=batchRoundTrip%s",
+				domain, session)), this.batchRoundTripHistogram);
+		this.register(new ObjectName(String.format("%s:type=Latency,name=exploreRoundTrip%s",
+				domain, session)), this.exploreRoundTripHistogram);
+		this.register(new ObjectName(String.format("%s:type=Latency,name=readRoundTrip%s",
+				domain, session)), this.readRoundTripHistogram);
+		this.register(new ObjectName(String.format("%s:type=Latency,name=merge%s", domain,
+				session)), this.mergeHistogram);
+
+		for (final DroneMetrics droneMetrics : this.droneMetrics) {
+			final String droneId = ObjectName.quote(droneMetrics.getId());
+
+			this.register(new ObjectName(String.format("%s:type=Drone,name=%s%s", domain,
+					droneId, session)), droneMetrics);
+		}
+	}
+
+	/**
+	 * Exposes an MBean over JMX, remembering its name so it can be unregistered.
+	 *
+	 * @param objectName
+	 *            The name to expose the MBean under.
+	 * @param mBean
+	 *            The MBean.
+	 * @throws JMException
+	 *             The MBean could not be exposed.
+	 */
+	private void register(final ObjectName objectName, final Object mBean) throws JMException {
+		final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+		mBeanServer.registerMBean(mBean, objectName);
+
+		this.objectNames.add(objectName);
+	}
+
+	/**
+	 * Sets the name telling these metrics apart from those of other explorations running
+	 * alongside, used when formatting them and when exposing them over JMX.
+	 *
+	 * @param sessionName
+	 *            The session name, or <code>null</code> if there is none.
+	 */
+	public void setSessionName(final String sessionName) {
+		this.sessionName = sessionName;
+	}
+
+	/**
+	 * Marks the start of the exploration, from which rates are measured.
+	 *
+	 * @param droneIds
+	 *            The IDs of the {@link Drone}s taking part, in the order of their partitions.
+	 * @param nanoTime
+	 *            The {@link System#nanoTime()} at which the exploration started.
+	 */
+	public void start(final List<String> droneIds, final long nanoTime) {
+		final DroneMetrics[] droneMetrics = new DroneMetrics[droneIds.size()];
+
+		for (int dronePartition = 0; dronePartition < droneMetrics.length; dronePartition++) {
+			droneMetrics[dronePartition] = new DroneMetrics(droneIds.get(dronePartition));
+		}
+
+		this.droneMetrics = droneMetrics;
+		this.startNanoTime = nanoTime;
+		this.endNanoTime = 0;
+	}
+
+	/**
+	 * Starts printing the metrics periodically on a daemon thread, until
+	 * {@link #stopDumping()} is called.
+	 *
+	 * @param intervalSeconds
+	 *            How often, in seconds, to print the metrics.
+	 * @param printStream
+	 *            The {@link PrintStream} to print to.
+	 */
+	public synchronized void startDumping(final long intervalSeconds,
+			final PrintStream printStream) {
+		this.stopDumping();
+
+		this.dumpScheduledExecutorService = Executors
+				.newSingleThreadScheduledExecutor(new DumpThreadFactory());
+		this.dumpScheduledExecutorService.scheduleAtFixedRate(new DumpTask(this, printStream),
+				intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Stops printing the metrics periodically, if they were.
+	 */
+	public synchronized void stopDumping() {
+		if (this.dumpScheduledExecutorService != null) {
+			this.dumpScheduledExecutorService.shutdownNow();
+
+			this.dumpScheduledExecutorService = null;
+		}
+	}
+
+	/**
+	 * Stops exposing the metrics over JMX, if they were.
+	 *
+	 * @throws JMException
+	 *             The metrics could not be unregistered.
+	 */
+	public synchronized void unregister() throws JMException {
+		if (!this.objectNames.isEmpty()) {
+			final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+			try {
+				for (final ObjectName objectName : this.objectNames) {
+					if (mBeanServer.isRegistered(objectName)) {
+						mBeanServer.unregisterMBean(objectName);
+					}
+				}
+			} finally {
+				this.objectNames.clear();
+			}
+		}
+	}
+}
\ No newline at end of file
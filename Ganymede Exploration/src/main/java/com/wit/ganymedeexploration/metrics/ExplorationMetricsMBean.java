@@ -0,0 +1,90 @@
+package com.wit.ganymedeexploration.metrics;
+
+import com.wit.ganymedeexploration.model.Drone;
+import com.wit.ganymedeexploration.model.Room;
+
+/**
+ * The management interface through which the {@link ExplorationMetrics} of an exploration are
+ * exposed over JMX.
+ */
+public interface ExplorationMetricsMBean {
+	/**
+	 * Returns the number of batches of commands sent.
+	 *
+	 * @return The number of batches of commands sent.
+	 */
+	long getBatchCount();
+
+	/**
+	 * Returns the share of the room within batches that was filled with commands, between 0 and 1.
+	 *
+	 * @return The share of the room within batches that was filled with commands.
+	 */
+	double getBatchFillRatio();
+
+	/**
+	 * Returns the number of commands sent.
+	 *
+	 * @return The number of commands sent.
+	 */
+	long getCommandCount();
+
+	/**
+	 * Returns the share of the exploration, as a percentage, that the average {@link Drone} spent
+	 * idle as of the last batch sent to it.
+	 *
+	 * @return The share of the exploration, as a percentage, that the average {@link Drone} spent
+	 *         idle.
+	 */
+	double getDroneIdlePercentage();
+
+	/**
+	 * Returns how long the exploration has been running, or ran, in milliseconds.
+	 *
+	 * @return How long the exploration has been running, in milliseconds.
+	 */
+	double getElapsedMilliseconds();
+
+	/**
+	 * Returns the number of {@link Room}s explored.
+	 *
+	 * @return The number of {@link Room}s explored.
+	 */
+	long getExploredRoomCount();
+
+	/**
+	 * Returns the number of {@link Room}s read.
+	 *
+	 * @return The number of {@link Room}s read.
+	 */
+	long getReadRoomCount();
+
+	/**
+	 * Returns the number of {@link Room}s explored per second since the exploration started.
+	 *
+	 * @return The number of {@link Room}s explored per second.
+	 */
+	double getRoomsPerSecond();
+
+	/**
+	 * Returns the number of times a {@link Drone} ran out of {@link Room}s of its own and took
+	 * some from another {@link Drone}, as of the last batch sent.
+	 *
+	 * @return The number of times a {@link Drone} took {@link Room}s from another one.
+	 */
+	long getStealCount();
+
+	/**
+	 * Returns the number of {@link Room}s waiting to be explored as of the last batch sent.
+	 *
+	 * @return The number of {@link Room}s waiting to be explored.
+	 */
+	int getUnexploredFrontierSize();
+
+	/**
+	 * Returns the number of {@link Room}s waiting to be read as of the last batch sent.
+	 *
+	 * @return The number of {@link Room}s waiting to be read.
+	 */
+	int getUnreadFrontierSize();
+}
\ No newline at end of file
@@ -0,0 +1,218 @@
+package com.wit.ganymedeexploration.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts latencies, in nanoseconds, into logarithmic buckets each split into
+ * {@link #SUB_BUCKET_COUNT} linear sub-buckets, so that any percentile is known to within an
+ * eighth of its value while the whole range of a <code>long</code> fits in under 500 counters.
+ * Recording a latency never allocates and may happen on any thread, as may reading the
+ * {@link LatencyHistogram}.
+ */
+public final class LatencyHistogram implements LatencyHistogramMBean {
+	/**
+	 * The number of bits of every latency, below its highest set bit, that pick its sub-bucket.
+	 */
+	private static final int SUB_BUCKET_BITS = 3;
+
+	/**
+	 * The number of linear sub-buckets each power of two is split into.
+	 */
+	private static final int SUB_BUCKET_COUNT = 1 << LatencyHistogram.SUB_BUCKET_BITS;
+
+	/**
+	 * The number of buckets needed for every non-negative <code>long</code>.
+	 */
+	private static final int BUCKET_COUNT = (Long.SIZE - LatencyHistogram.SUB_BUCKET_BITS)
+			* LatencyHistogram.SUB_BUCKET_COUNT;
+
+	/**
+	 * Returns the index of the bucket a latency is counted in.
+	 *
+	 * @param nanoseconds
+	 *            The latency, which must not be negative.
+	 * @return The index of the bucket the latency is counted in.
+	 */
+	private static int getBucketIndex(final long nanoseconds) {
+		final int bucketIndex;
+
+		if (nanoseconds < LatencyHistogram.SUB_BUCKET_COUNT) {
+			bucketIndex = (int) nanoseconds;
+		} else {
+			final int highestBit = (Long.SIZE - 1) - Long.numberOfLeadingZeros(nanoseconds);
+			final int shift = highestBit - LatencyHistogram.SUB_BUCKET_BITS;
+			final int subBucketIndex = (int) ((nanoseconds >>> shift)
+					& (LatencyHistogram.SUB_BUCKET_COUNT - 1));
+
+			bucketIndex = ((shift + 1) * LatencyHistogram.SUB_BUCKET_COUNT) + subBucketIndex;
+		}
+
+		return bucketIndex;
+	}
+
+	/**
+	 * Returns the largest latency counted in a bucket.
+	 *
+	 * @param bucketIndex
+	 *            The index of the bucket.
+	 * @return The largest latency counted in the bucket, in nanoseconds.
+	 */
+	private static long getBucketUpperBound(final int bucketIndex) {
+		final long upperBound;
+
+		if (bucketIndex < LatencyHistogram.SUB_BUCKET_COUNT) {
+			upperBound = bucketIndex;
+		} else {
+			final int shift = (bucketIndex / LatencyHistogram.SUB_BUCKET_COUNT) - 1;
+			final long subBucketIndex = bucketIndex % LatencyHistogram.SUB_BUCKET_COUNT;
+			final long lowerBound = (LatencyHistogram.SUB_BUCKET_COUNT + subBucketIndex) << shift;
+
+			upperBound = lowerBound + ((1L << shift) - 1);
+		}
+
+		return upperBound;
+	}
+
+	/**
+	 * Converts nanoseconds to fractional milliseconds.
+	 *
+	 * @param nanoseconds
+	 *            The nanoseconds to convert.
+	 * @return The fractional milliseconds.
+	 */
+	static double toMilliseconds(final double nanoseconds) {
+		return nanoseconds / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	/**
+	 * The number of latencies counted in every bucket.
+	 */
+	private final AtomicLongArray bucketCounts = new AtomicLongArray(
+			LatencyHistogram.BUCKET_COUNT);
+
+	/**
+	 * The number of latencies recorded.
+	 */
+	private final AtomicLong count = new AtomicLong();
+
+	/**
+	 * The largest latency recorded, in nanoseconds.
+	 */
+	private final AtomicLong maxNanoseconds = new AtomicLong();
+
+	/**
+	 * The sum of the latencies recorded, in nanoseconds.
+	 */
+	private final AtomicLong totalNanoseconds = new AtomicLong();
+
+	@Override
+	public long getCount() {
+		return this.count.get();
+	}
+
+	@Override
+	public double getMaxMilliseconds() {
+		return LatencyHistogram.toMilliseconds(this.getMaxNanoseconds());
+	}
+
+	/**
+	 * Returns the largest latency recorded, in nanoseconds.
+	 *
+	 * @return The largest latency recorded, in nanoseconds.
+	 */
+	public long getMaxNanoseconds() {
+		return this.maxNanoseconds.get();
+	}
+
+	@Override
+	public double getMeanMilliseconds() {
+		return LatencyHistogram.toMilliseconds(this.getMeanNanoseconds());
+	}
+
+	/**
+	 * Returns the mean of the latencies recorded, in nanoseconds.
+	 *
+	 * @return The mean of the latencies recorded, in nanoseconds, or 0 if none were recorded.
+	 */
+	public double getMeanNanoseconds() {
+		final long count = this.count.get();
+
+		return (count == 0) ? 0 : ((double) this.totalNanoseconds.get() / count);
+	}
+
+	@Override
+	public double getP50Milliseconds() {
+		return LatencyHistogram.toMilliseconds(this.getPercentileNanoseconds(50));
+	}
+
+	@Override
+	public double getP90Milliseconds() {
+		return LatencyHistogram.toMilliseconds(this.getPercentileNanoseconds(90));
+	}
+
+	@Override
+	public double getP99Milliseconds() {
+		return LatencyHistogram.toMilliseconds(this.getPercentileNanoseconds(99));
+	}
+
+	/**
+	 * Returns the latency that the given percentage of the latencies recorded are no larger than,
+	 * rounded up to the upper bound of its bucket but never past the largest latency recorded.
+	 *
+	 * @param percentile
+	 *            The percentage, between 0 and 100.
+	 * @return The latency at the given percentile, in nanoseconds, or 0 if none were recorded.
+	 */
+	public long getPercentileNanoseconds(final double percentile) {
+		final long count = this.count.get();
+		final long rank = (long) Math.ceil((percentile / 100) * count);
+		long seenCount = 0;
+		long percentileNanoseconds = 0;
+
+		for (int bucketIndex = 0; (bucketIndex < LatencyHistogram.BUCKET_COUNT)
+				&& (seenCount < Math.max(1, rank)) && (count > 0); bucketIndex++) {
+			seenCount += this.bucketCounts.get(bucketIndex);
+			percentileNanoseconds = LatencyHistogram.getBucketUpperBound(bucketIndex);
+		}
+
+		return Math.min(percentileNanoseconds, this.getMaxNanoseconds());
+	}
+
+	/**
+	 * Records a latency.
+	 *
+	 * @param nanoseconds
+	 *            The latency, in nanoseconds, counted as 0 if negative.
+	 */
+	public void record(final long nanoseconds) {
+		this.record(nanoseconds, 1);
+	}
+
+	/**
+	 * Records the same latency several times over, for instance once for every command of a batch
+	 * that took that long.
+	 *
+	 * @param nanoseconds
+	 *            The latency, in nanoseconds, counted as 0 if negative.
+	 * @param times
+	 *            The number of times to record the latency.
+	 */
+	public void record(final long nanoseconds, final int times) {
+		if (times > 0) {
+			final long clampedNanoseconds = Math.max(0, nanoseconds);
+			final int bucketIndex = LatencyHistogram.getBucketIndex(clampedNanoseconds);
+			long maxNanoseconds = this.maxNanoseconds.get();
+
+			this.bucketCounts.addAndGet(bucketIndex, times);
+			this.count.addAndGet(times);
+			this.totalNanoseconds.addAndGet(clampedNanoseconds * times);
+
+			while ((clampedNanoseconds > maxNanoseconds)
+					&& !this.maxNanoseconds.compareAndSet(maxNanoseconds, clampedNanoseconds)) {
+				maxNanoseconds = this.maxNanoseconds.get();
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.wit.ganymedeexploration.metrics;
+
+/**
+ * The management interface through which a {@link LatencyHistogram} is exposed over JMX.
+ */
+public interface LatencyHistogramMBean {
+	/**
+	 * Returns the number of latencies recorded.
+	 *
+	 * @return The number of latencies recorded.
+	 */
+	long getCount();
+
+	/**
+	 * Returns the largest latency recorded, in milliseconds.
+	 *
+	 * @return The largest latency recorded, in milliseconds.
+	 */
+	double getMaxMilliseconds();
+
+	/**
+	 * Returns the mean of the latencies recorded, in milliseconds.
+	 *
+	 * @return The mean of the latencies recorded, in milliseconds.
+	 */
+	double getMeanMilliseconds();
+
+	/**
+	 * Returns the median latency recorded, in milliseconds.
+	 *
+	 * @return The median latency recorded, in milliseconds.
+	 */
+	double getP50Milliseconds();
+
+	/**
+	 * Returns the 90th percentile of the latencies recorded, in milliseconds.
+	 *
+	 * @return The 90th percentile of the latencies recorded, in milliseconds.
+	 */
+	double getP90Milliseconds();
+
+	/**
+	 * Returns the 99th percentile of the latencies recorded, in milliseconds.
+	 *
+	 * @return The 99th percentile of the latencies recorded, in milliseconds.
+	 */
+	double getP99Milliseconds();
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.wit.ganymedeexploration.model;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.wit.ganymedeexploration.model.command.CommandContents;
+
+/**
+ * The outcome of a single batch of commands executed by a {@link Drone}, handed over exactly once
+ * and never modified afterwards.
+ */
+public final class CommandBatchResult {
+	/**
+	 * The unique command IDs and their associated contents, as sent.
+	 */
+	private final Map<String, CommandContents> commandIdCommandContents;
+
+	/**
+	 * The unique command IDs and their associated results, as received, which is empty if the
+	 * batch failed.
+	 */
+	private final Map<String, CommandResult> commandIdCommandResults;
+
+	/**
+	 * The {@link Drone} that executed the batch of commands.
+	 */
+	private final Drone drone;
+
+	/**
+	 * Why the batch of commands failed, if it did.
+	 */
+	private final Exception exception;
+
+	/**
+	 * The number of nanoseconds between the batch of commands being sent and its results being
+	 * received.
+	 */
+	private final long roundTripNanoseconds;
+
+	/**
+	 * Creates a new {@link CommandBatchResult}.
+	 *
+	 * @param drone
+	 *            The {@link Drone} that executed the batch of commands.
+	 * @param commandIdCommandContents
+	 *            The unique command IDs and their associated contents, as sent.
+	 * @param commandIdCommandResults
+	 *            The unique command IDs and their associated results, as received.
+	 */
+	public CommandBatchResult(final Drone drone,
+			final Map<String, CommandContents> commandIdCommandContents,
+			final Map<String, CommandResult> commandIdCommandResults) {
+		this(drone, commandIdCommandContents, commandIdCommandResults, 0);
+	}
+
+	/**
+	 * Creates a new {@link CommandBatchResult}.
+	 *
+	 * @param drone
+	 *            The {@link Drone} that executed the batch of commands.
+	 * @param commandIdCommandContents
+	 *            The unique command IDs and their associated contents, as sent.
+	 * @param commandIdCommandResults
+	 *            The unique command IDs and their associated results, as received.
+	 * @param roundTripNanoseconds
+	 *            The number of nanoseconds between the batch of commands being sent and its
+	 *            results being received.
+	 */
+	public CommandBatchResult(final Drone drone,
+			final Map<String, CommandContents> commandIdCommandContents,
+			final Map<String, CommandResult> commandIdCommandResults,
+			final long roundTripNanoseconds) {
+		this.drone = drone;
+		this.commandIdCommandContents = Collections.unmodifiableMap(commandIdCommandContents);
+		this.commandIdCommandResults = Collections.unmodifiableMap(commandIdCommandResults);
+		this.exception = null;
+		this.roundTripNanoseconds = roundTripNanoseconds;
+	}
+
+	/**
+	 * Creates a new {@link CommandBatchResult} for a batch of commands that failed, once any
+	 * retries were exhausted, and so has no results.
+	 *
+	 * @param drone
+	 *            The {@link Drone} that executed the batch of commands.
+	 * @param commandIdCommandContents
+	 *            The unique command IDs and their associated contents, as sent.
+	 * @param exception
+	 *            Why the batch of commands failed.
+	 * @param roundTripNanoseconds
+	 *            The number of nanoseconds between the batch of commands being sent and its
+	 *            failure.
+	 */
+	public CommandBatchResult(final Drone drone,
+			final Map<String, CommandContents> commandIdCommandContents,
+			final Exception exception, final long roundTripNanoseconds) {
+		this.drone = drone;
+		this.commandIdCommandContents = Collections.unmodifiableMap(commandIdCommandContents);
+		this.commandIdCommandResults = Collections.emptyMap();
+		this.exception = exception;
+		this.roundTripNanoseconds = roundTripNanoseconds;
+	}
+
+	/**
+	 * Returns the unique command IDs and their associated contents, as sent.
+	 *
+	 * @return The unique command IDs and their associated contents, as sent.
+	 */
+	public Map<String, CommandContents> getCommandIdCommandContents() {
+		return this.commandIdCommandContents;
+	}
+
+	/**
+	 * Returns the unique command IDs and their associated results, as received.
+	 *
+	 * @return The unique command IDs and their associated results, as received.
+	 */
+	public Map<String, CommandResult> getCommandIdCommandResults() {
+		return this.commandIdCommandResults;
+	}
+
+	/**
+	 * Returns the {@link Drone} that executed the batch of commands.
+	 *
+	 * @return The {@link Drone} that executed the batch of commands.
+	 */
+	public Drone getDrone() {
+		return this.drone;
+	}
+
+	/**
+	 * Returns why the batch of commands failed, if it did.
+	 *
+	 * @return Why the batch of commands failed, or <code>null</code> if it succeeded.
+	 */
+	public Exception getException() {
+		return this.exception;
+	}
+
+	/**
+	 * Returns the number of nanoseconds between the batch of commands being sent and its results
+	 * being received.
+	 *
+	 * @return The number of nanoseconds between the batch of commands being sent and its results
+	 *         being received.
+	 */
+	public long getRoundTripNanoseconds() {
+		return this.roundTripNanoseconds;
+	}
+
+	/**
+	 * Returns whether the batch of commands was executed, whatever the results of its individual
+	 * commands.
+	 *
+	 * @return Whether the batch of commands was executed.
+	 */
+	public boolean isSuccessful() {
+		return this.exception == null;
+	}
+}
\ No newline at end of file
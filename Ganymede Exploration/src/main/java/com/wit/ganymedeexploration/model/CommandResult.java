@@ -3,6 +3,7 @@ package com.wit.ganymedeexploration.model;
 import java.util.List;
 
 import com.google.gson.annotations.SerializedName;
+import com.wit.ganymedeexploration.collection.RoomIndex;
 
 /**
  * The results of a command.
@@ -14,6 +15,12 @@ public class CommandResult {
 	@SerializedName("connections")
 	private List<String> connectedRoomIds;
 
+	/**
+	 * The indices, within a {@link RoomIndex}, of the {@link Room}s that are connected to the
+	 * explored {@link Room}, if they were interned while the results were being parsed.
+	 */
+	private transient int[] connectedRooms;
+
 	/**
 	 * The writing found within a {@link Room}, if any.
 	 */
@@ -33,6 +40,57 @@ public class CommandResult {
 	@SerializedName("error")
 	private String error;
 
+	/**
+	 * Creates a new, empty {@link CommandResult} to be populated during deserialization.
+	 */
+	public CommandResult() {
+	}
+
+	/**
+	 * Creates a new {@link CommandResult}.
+	 *
+	 * @param connectedRoomIds
+	 *            The IDs of the {@link Room}s that are connected to the explored {@link Room}.
+	 * @param writing
+	 *            The writing found within a {@link Room}, if any.
+	 * @param order
+	 *            The order of the writing found within a {@link Room}, or -1 if no meaningful
+	 *            writing was found.
+	 * @param error
+	 *            A description of the error encountered when attempting to execute the command.
+	 */
+	public CommandResult(final List<String> connectedRoomIds, final String writing,
+			final Integer order, final String error) {
+		this(connectedRoomIds, null, writing, order, error);
+	}
+
+	/**
+	 * Creates a new {@link CommandResult} whose connected {@link Room}s may already have been
+	 * interned.
+	 *
+	 * @param connectedRoomIds
+	 *            The IDs of the {@link Room}s that are connected to the explored {@link Room}, or
+	 *            <code>null</code> if they were interned.
+	 * @param connectedRooms
+	 *            The indices, within a {@link RoomIndex}, of the {@link Room}s that are connected
+	 *            to the explored {@link Room}, or <code>null</code> if they were not interned.
+	 * @param writing
+	 *            The writing found within a {@link Room}, if any.
+	 * @param order
+	 *            The order of the writing found within a {@link Room}, or -1 if no meaningful
+	 *            writing was found.
+	 * @param error
+	 *            A description of the error encountered when attempting to execute the command.
+	 */
+	public CommandResult(final List<String> connectedRoomIds, final int[] connectedRooms,
+			final String writing, final Integer order, final String error) {
+		this.connectedRoomIds = connectedRoomIds;
+		this.connectedRooms = connectedRooms;
+		this.writing = writing;
+		this.order = order;
+		this.error = error;
+	}
+
 	/**
 	 * Returns the IDs of the {@link Room}s that are connected to the explored {@link Room}.
 	 *
@@ -42,6 +100,17 @@ public class CommandResult {
 		return this.connectedRoomIds;
 	}
 
+	/**
+	 * Returns the indices, within a {@link RoomIndex}, of the {@link Room}s that are connected to
+	 * the explored {@link Room}, if they were interned while the results were being parsed.
+	 *
+	 * @return The indices of the connected {@link Room}s, or <code>null</code> if they were not
+	 *         interned.
+	 */
+	public int[] getConnectedRooms() {
+		return this.connectedRooms;
+	}
+
 	/**
 	 * Returns a description of the error encountered when attempting to execute the command.
 	 *
@@ -70,4 +139,14 @@ public class CommandResult {
 	public String getWriting() {
 		return this.writing;
 	}
+
+	/**
+	 * Returns whether the explored {@link Room}'s connections were included, either as IDs or as
+	 * interned indices.
+	 *
+	 * @return Whether the explored {@link Room}'s connections were included.
+	 */
+	public boolean hasConnections() {
+		return (this.connectedRoomIds != null) || (this.connectedRooms != null);
+	}
 }
\ No newline at end of file
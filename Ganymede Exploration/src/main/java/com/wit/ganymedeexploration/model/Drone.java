@@ -1,49 +1,166 @@
 package com.wit.ganymedeexploration.model;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import com.wit.ganymedeexploration.exception.ServerException;
 import com.wit.ganymedeexploration.model.command.CommandContents;
+import com.wit.ganymedeexploration.service.CancellationSignal;
+import com.wit.ganymedeexploration.service.DroneExecutors;
 import com.wit.ganymedeexploration.service.ExplorationManager;
+import com.wit.ganymedeexploration.service.FairExecutor;
 
 /**
  * An unmanned aerial vehicle used for exploration.
  */
 public class Drone {
+	/**
+	 * Sends a batch of commands through the asynchronous API of {@link ExplorationManager} on
+	 * the turn of a {@link FairExecutor.Lane}, which it holds until the batch has completed, so
+	 * that asynchronous sessions take turns on the network as others take turns on threads.
+	 */
+	private static final class AsynchronousExplorationTask implements FairExecutor.AsynchronousTask,
+			ExplorationManager.OnCompletedListener<Map<String, CommandResult>> {
+		/**
+		 * Cancels the batch of commands.
+		 */
+		private final CancellationSignal cancellationSignal;
+
+		/**
+		 * The unique command IDs and their associated contents.
+		 */
+		private final Map<String, CommandContents> commandIdCommandContents;
+
+		/**
+		 * The {@link Drone} executing the commands.
+		 */
+		private final Drone drone;
+
+		/**
+		 * The listener to call once the commands have been executed.
+		 */
+		private final CurrentExplorationOnCompletedListener onCompletedListener;
+
+		/**
+		 * Gives the turn of the {@link FairExecutor.Lane} back, once the task has started.
+		 */
+		private Runnable onFinished;
+
+		/**
+		 * Creates a new {@link AsynchronousExplorationTask}.
+		 *
+		 * @param commandIdCommandContents
+		 *            The unique command IDs and their associated contents.
+		 * @param cancellationSignal
+		 *            Cancels the batch of commands.
+		 * @param drone
+		 *            The {@link Drone} executing the commands.
+		 * @param onCompletedListener
+		 *            The listener to call once the commands have been executed.
+		 */
+		public AsynchronousExplorationTask(
+				final Map<String, CommandContents> commandIdCommandContents,
+				final CancellationSignal cancellationSignal, final Drone drone,
+				final CurrentExplorationOnCompletedListener onCompletedListener) {
+			this.commandIdCommandContents = commandIdCommandContents;
+			this.cancellationSignal = cancellationSignal;
+			this.drone = drone;
+			this.onCompletedListener = onCompletedListener;
+		}
+
+		@Override
+		public void onCompleted(final Map<String, CommandResult> commandIdCommandResults) {
+			try {
+				this.onFinished.run();
+			} finally {
+				this.onCompletedListener.onCompleted(commandIdCommandResults);
+			}
+		}
+
+		@Override
+		public void onFailed(final Exception exception) {
+			try {
+				this.onFinished.run();
+			} finally {
+				this.onCompletedListener.onFailed(exception);
+			}
+		}
+
+		@Override
+		public void start(final Runnable onFinished) {
+			this.onFinished = onFinished;
+
+			this.drone.getExplorationManager().executeAsync(this.drone.getId(),
+					this.commandIdCommandContents, this.cancellationSignal, this);
+		}
+	}
+
 	private static final class CurrentExplorationOnCompletedListener
-			implements ExplorationThread.OnCompletedListener {
+			implements ExplorationTask.OnCompletedListener,
+			ExplorationManager.OnCompletedListener<Map<String, CommandResult>> {
+		private final Map<String, CommandContents> commandIdCommandContents;
 		private final Drone drone;
 		private final OnCommandsCompletedListener onCommandsCompletedListener;
 
-		public CurrentExplorationOnCompletedListener(final Drone drone) {
-			this(drone, null);
+		public CurrentExplorationOnCompletedListener(final Drone drone,
+				final Map<String, CommandContents> commandIdCommandContents) {
+			this(drone, commandIdCommandContents, null);
 		}
 
 		public CurrentExplorationOnCompletedListener(final Drone drone,
+				final Map<String, CommandContents> commandIdCommandContents,
 				final OnCommandsCompletedListener onCommandsCompletedListener) {
 			this.drone = drone;
+			this.commandIdCommandContents = commandIdCommandContents;
 			this.onCommandsCompletedListener = onCommandsCompletedListener;
 		}
 
-		@Override
-		public void onCompleted(final Map<String, CommandResult> commandIdCommandResults) {
-			this.drone.getCommandIdCommandResults().putAll(commandIdCommandResults);
+		/**
+		 * Marks the {@link Drone} idle again and hands over the outcome of its batch.
+		 *
+		 * @param nanoTime
+		 *            The {@link System#nanoTime()} at which the batch completed.
+		 * @param commandBatchResult
+		 *            The outcome of the batch.
+		 */
+		private void complete(final long nanoTime, final CommandBatchResult commandBatchResult) {
+			this.drone.idleSinceNanoTime = nanoTime;
 			this.drone.setRunning(false);
 
 			if (this.onCommandsCompletedListener != null) {
-				this.onCommandsCompletedListener.onCompleted();
+				this.onCommandsCompletedListener.onCompleted(commandBatchResult);
 			}
 		}
+
+		@Override
+		public void onCompleted(final Map<String, CommandResult> commandIdCommandResults) {
+			final long nanoTime = System.nanoTime();
+			final long roundTripNanoseconds = nanoTime - this.drone.sentNanoTime;
+			final CommandBatchResult commandBatchResult = new CommandBatchResult(this.drone,
+					this.commandIdCommandContents, commandIdCommandResults,
+					roundTripNanoseconds);
+
+			this.complete(nanoTime, commandBatchResult);
+		}
+
+		@Override
+		public void onFailed(final Exception exception) {
+			final long nanoTime = System.nanoTime();
+			final long roundTripNanoseconds = nanoTime - this.drone.sentNanoTime;
+			final CommandBatchResult commandBatchResult = new CommandBatchResult(this.drone,
+					this.commandIdCommandContents, exception, roundTripNanoseconds);
+
+			this.complete(nanoTime, commandBatchResult);
+		}
 	}
 
 	/**
 	 * Used to asynchronously execute commands given to the {@link Drone}.
 	 */
-	private static final class ExplorationThread extends Thread {
+	private static final class ExplorationTask implements Runnable {
 		/**
-		 * Allows other classes to listen to the completion of the {@link ExplorationThread}.
+		 * Allows other classes to listen to the completion of the {@link ExplorationTask}.
 		 */
 		public static interface OnCompletedListener {
 			/**
@@ -53,8 +170,22 @@ public class Drone {
 			 *            The results of executing the exploration commands.
 			 */
 			void onCompleted(final Map<String, CommandResult> commandIdCommandResults);
+
+			/**
+			 * Called if the exploration commands could not be executed, once any retries were
+			 * exhausted.
+			 *
+			 * @param exception
+			 *            Why the exploration commands could not be executed.
+			 */
+			void onFailed(final Exception exception);
 		}
 
+		/**
+		 * Cancels the batch of commands.
+		 */
+		private final CancellationSignal cancellationSignal;
+
 		/**
 		 * The unique command IDs and their associated contents.
 		 */
@@ -71,46 +202,43 @@ public class Drone {
 		private final OnCompletedListener onCompletedListener;
 
 		/**
-		 * Creates a new {@link ExplorationThread}.
+		 * Creates a new {@link ExplorationTask}.
 		 *
 		 * @param commandIdCommandContents
 		 *            The unique command IDs and their associated contents.
+		 * @param cancellationSignal
+		 *            Cancels the batch of commands.
 		 * @param drone
 		 *            The {@link Drone} executing the commands.
 		 * @param onCompletedListener
 		 *            The {@link OnCompletedListener} to call once the commands have been executed.
 		 */
-		public ExplorationThread(final Map<String, CommandContents> commandIdCommandContents,
-				final Drone drone, final OnCompletedListener onCompletedListener) {
+		public ExplorationTask(final Map<String, CommandContents> commandIdCommandContents,
+				final CancellationSignal cancellationSignal, final Drone drone,
+				final OnCompletedListener onCompletedListener) {
 			this.commandIdCommandContents = commandIdCommandContents;
+			this.cancellationSignal = cancellationSignal;
 			this.drone = drone;
 			this.onCompletedListener = onCompletedListener;
 		}
 
 		@Override
 		public void run() {
-			super.run();
-
-			final ExplorationManager explorationManager = ExplorationManager.getInstance();
+			final ExplorationManager explorationManager = this.drone.getExplorationManager();
 			final String droneId = this.drone.getId();
 
 			try {
 				final Map<String, CommandResult> commandIdCommandResults = explorationManager
-						.execute(droneId, this.commandIdCommandContents);
+						.execute(droneId, this.commandIdCommandContents, this.cancellationSignal);
 
 				this.onCompletedListener.onCompleted(commandIdCommandResults);
 			} catch (final IOException ioException) {
-				final String message = String
-						.format("Failed to execute commands from drone with ID \"%s\".", droneId);
-
-				System.err.println(message);
-				ioException.printStackTrace();
+				this.onCompletedListener.onFailed(ioException);
 			} catch (final ServerException serverException) {
-				final String message = String
-						.format("Failed to execute commands from drone with ID \"%s\".", droneId);
-
-				System.err.println(message);
-				serverException.printStackTrace();
+				this.onCompletedListener.onFailed(serverException);
+			} catch (final RuntimeException runtimeException) {
+				// An unreadable response must not leave the exploration waiting forever.
+				this.onCompletedListener.onFailed(runtimeException);
 			}
 		}
 	}
@@ -121,21 +249,62 @@ public class Drone {
 	 */
 	public static interface OnCommandsCompletedListener {
 		/**
-		 * Called once the latest batch of commands has finished being executed.
+		 * Called once the latest batch of commands has finished being executed, or has failed for
+		 * good.
+		 *
+		 * @param commandBatchResult
+		 *            The outcome of the batch of commands, handed over only this once.
+		 *            {@link CommandBatchResult#isSuccessful()} tells whether it failed.
 		 */
-		void onCompleted();
+		void onCompleted(final CommandBatchResult commandBatchResult);
 	}
 
 	/**
-	 * The unique command IDs and their associated results.
+	 * The system property that, if set to <code>true</code>, makes {@link Drone}s use the
+	 * asynchronous API of {@link ExplorationManager} rather than blocking a thread of their
+	 * {@link Executor} for every batch of commands. If that {@link Executor} is a
+	 * {@link FairExecutor.Lane}, every batch is still sent on its turn, which it holds until the
+	 * batch has completed.
 	 */
-	private final Map<String, CommandResult> commandIdCommandResults = new HashMap<>();
+	public static final String ASYNCHRONOUS_PROPERTY = "ganymede.asynchronous";
+
+	/**
+	 * Whether batches of commands are sent through the asynchronous API of
+	 * {@link ExplorationManager} rather than on a thread of {@link #executor}.
+	 */
+	private boolean asynchronous = Boolean.getBoolean(Drone.ASYNCHRONOUS_PROPERTY);
+
+	/**
+	 * Cancels the latest batch of commands.
+	 */
+	private CancellationSignal cancellationSignal;
+
+	/**
+	 * The {@link ExplorationManager} used to execute commands.
+	 */
+	private final ExplorationManager explorationManager;
+
+	/**
+	 * The {@link Executor} that batches of commands are executed on.
+	 */
+	private final Executor executor;
 
 	/**
 	 * The ID of this {@link Drone}.
 	 */
 	private final String id;
 
+	/**
+	 * The number of nanoseconds this {@link Drone} spent idle between batches of commands, not
+	 * counting the current idle period, if any.
+	 */
+	private long idleNanoseconds = 0;
+
+	/**
+	 * The {@link System#nanoTime()} at which this {@link Drone} last became idle.
+	 */
+	private volatile long idleSinceNanoTime = System.nanoTime();
+
 	/**
 	 * The listener used to listen to the completion of execution of the latest batch of commands.
 	 */
@@ -147,20 +316,47 @@ public class Drone {
 	private boolean running = false;
 
 	/**
-	 * Creates a new {@link Drone}.
+	 * The {@link System#nanoTime()} at which the latest batch of commands was sent.
+	 */
+	private volatile long sentNanoTime = 0;
+
+	/**
+	 * Creates a new {@link Drone} that executes commands through the singleton
+	 * {@link ExplorationManager} on the default {@link Executor}.
 	 *
 	 * @param id
 	 *            The ID of this {@link Drone}.
 	 */
 	public Drone(final String id) {
+		this(id, ExplorationManager.getInstance(), DroneExecutors.getDefault());
+	}
+
+	/**
+	 * Creates a new {@link Drone}.
+	 *
+	 * @param id
+	 *            The ID of this {@link Drone}.
+	 * @param explorationManager
+	 *            The {@link ExplorationManager} used to execute commands.
+	 * @param executor
+	 *            The {@link Executor} that batches of commands are executed on.
+	 */
+	public Drone(final String id, final ExplorationManager explorationManager,
+			final Executor executor) {
 		this.id = id;
+		this.explorationManager = explorationManager;
+		this.executor = executor;
 	}
 
 	/**
-	 * Clears any state of this {@link Drone}.
+	 * Cancels the latest batch of commands, giving up on the network call in flight and any retry
+	 * still to come. Unless the batch has completed already, it then fails with an
+	 * {@link java.io.InterruptedIOException}, handed over like any other outcome.
 	 */
-	public void clear() {
-		this.commandIdCommandResults.clear();
+	public void cancel() {
+		if (this.cancellationSignal != null) {
+			this.cancellationSignal.cancel();
+		}
 	}
 
 	/**
@@ -174,32 +370,48 @@ public class Drone {
 			throw new IllegalStateException(
 					"Unable to send commands to a currently running drone.");
 		} else {
+			final long nanoTime = System.nanoTime();
+
 			this.running = true;
+			this.idleNanoseconds += nanoTime - this.idleSinceNanoTime;
+			this.sentNanoTime = nanoTime;
+			this.cancellationSignal = new CancellationSignal();
 
 			final CurrentExplorationOnCompletedListener currentExplorationOnCompletedListener;
 
 			if (this.onCommandsCompletedListener == null) {
 				currentExplorationOnCompletedListener = new CurrentExplorationOnCompletedListener(
-						this);
+						this, commandIdCommandContents);
 			} else {
 				currentExplorationOnCompletedListener = new CurrentExplorationOnCompletedListener(
-						this, this.onCommandsCompletedListener);
+						this, commandIdCommandContents, this.onCommandsCompletedListener);
 			}
 
-			final ExplorationThread explorationThread = new ExplorationThread(
-					commandIdCommandContents, this, currentExplorationOnCompletedListener);
+			if (this.asynchronous && (this.executor instanceof FairExecutor.Lane)) {
+				((FairExecutor.Lane) this.executor)
+						.executeAsynchronously(new AsynchronousExplorationTask(
+								commandIdCommandContents, this.cancellationSignal, this,
+								currentExplorationOnCompletedListener));
+			} else if (this.asynchronous) {
+				this.explorationManager.executeAsync(this.id, commandIdCommandContents,
+						this.cancellationSignal, currentExplorationOnCompletedListener);
+			} else {
+				final ExplorationTask explorationTask = new ExplorationTask(
+						commandIdCommandContents, this.cancellationSignal, this,
+						currentExplorationOnCompletedListener);
 
-			explorationThread.start();
+				this.executor.execute(explorationTask);
+			}
 		}
 	}
 
 	/**
-	 * Returns the unique command IDs and their associated results.
+	 * Returns the {@link ExplorationManager} used to execute commands.
 	 *
-	 * @return The unique command IDs and their associated results.
+	 * @return The {@link ExplorationManager} used to execute commands.
 	 */
-	public Map<String, CommandResult> getCommandIdCommandResults() {
-		return this.commandIdCommandResults;
+	public ExplorationManager getExplorationManager() {
+		return this.explorationManager;
 	}
 
 	/**
@@ -211,6 +423,37 @@ public class Drone {
 		return this.id;
 	}
 
+	/**
+	 * Returns the number of nanoseconds this {@link Drone} has spent idle, that is, neither
+	 * executing commands nor waiting for new ones to be sent, up until the given time.
+	 *
+	 * @param nanoTime
+	 *            The {@link System#nanoTime()} up until which to count.
+	 * @return The number of nanoseconds this {@link Drone} has spent idle.
+	 */
+	public long getIdleNanoseconds(final long nanoTime) {
+		final long idleNanoseconds;
+
+		if (this.running) {
+			idleNanoseconds = this.idleNanoseconds;
+		} else {
+			idleNanoseconds = this.idleNanoseconds + (nanoTime - this.idleSinceNanoTime);
+		}
+
+		return idleNanoseconds;
+	}
+
+	/**
+	 * Returns whether batches of commands are sent through the asynchronous API of
+	 * {@link ExplorationManager}.
+	 *
+	 * @return Whether batches of commands are sent through the asynchronous API of
+	 *         {@link ExplorationManager}.
+	 */
+	public boolean isAsynchronous() {
+		return this.asynchronous;
+	}
+
 	/**
 	 * Returns whether this {@link Drone} is currently executing commands.
 	 *
@@ -220,6 +463,30 @@ public class Drone {
 		return this.running;
 	}
 
+	/**
+	 * Forgets any idle time counted so far and considers this {@link Drone} idle since the given
+	 * time.
+	 *
+	 * @param nanoTime
+	 *            The {@link System#nanoTime()} from which to start counting idle time.
+	 */
+	public void resetIdleTime(final long nanoTime) {
+		this.idleNanoseconds = 0;
+		this.idleSinceNanoTime = nanoTime;
+	}
+
+	/**
+	 * Sets whether batches of commands are sent through the asynchronous API of
+	 * {@link ExplorationManager} rather than on a thread of the {@link Executor}.
+	 *
+	 * @param asynchronous
+	 *            Whether batches of commands are sent through the asynchronous API of
+	 *            {@link ExplorationManager}.
+	 */
+	public void setAsynchronous(final boolean asynchronous) {
+		this.asynchronous = asynchronous;
+	}
+
 	/**
 	 * Sets the listener used to listen to the completion of execution of the latest batch of
 	 * commands.
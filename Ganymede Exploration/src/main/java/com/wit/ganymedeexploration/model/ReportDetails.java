@@ -21,4 +21,13 @@ public class ReportDetails {
 	public ReportDetails(final String message) {
 		this.message = message;
 	}
+
+	/**
+	 * Returns the message uncovered from the exploration.
+	 *
+	 * @return The message uncovered from the exploration.
+	 */
+	public String getMessage() {
+		return this.message;
+	}
 }
\ No newline at end of file
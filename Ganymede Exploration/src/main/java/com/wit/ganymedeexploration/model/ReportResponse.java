@@ -12,6 +12,22 @@ public class ReportResponse {
 	@SerializedName("response")
 	private String message;
 
+	/**
+	 * Creates a new, empty {@link ReportResponse} to be populated during deserialization.
+	 */
+	public ReportResponse() {
+	}
+
+	/**
+	 * Creates a new {@link ReportResponse}.
+	 *
+	 * @param message
+	 *            The message uncovered from the exploration.
+	 */
+	public ReportResponse(final String message) {
+		this.message = message;
+	}
+
 	/**
 	 * Returns the message uncovered from the exploration.
 	 * 
@@ -20,6 +20,25 @@ public class Room {
 	@SerializedName("drones")
 	private List<String> droneIds;
 
+	/**
+	 * Creates a new, empty {@link Room} to be populated during deserialization.
+	 */
+	public Room() {
+	}
+
+	/**
+	 * Creates a new {@link Room}.
+	 *
+	 * @param id
+	 *            The ID of this {@link Room}.
+	 * @param droneIds
+	 *            The IDs of the drones usable for exploration.
+	 */
+	public Room(final String id, final List<String> droneIds) {
+		this.id = id;
+		this.droneIds = droneIds;
+	}
+
 	/**
 	 * Returns the IDs of the drones usable for exploration.
 	 * 
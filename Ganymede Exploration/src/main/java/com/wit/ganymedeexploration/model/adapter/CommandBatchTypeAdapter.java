@@ -0,0 +1,85 @@
+package com.wit.ganymedeexploration.model.adapter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.wit.ganymedeexploration.service.ExplorationManager;
+
+/**
+ * Streams a batch of values keyed by their unique command IDs, such as the commands sent to a drone
+ * or the results it sends back, to and from a JSON object.
+ *
+ * @param <T>
+ *            The type of the values within the batch.
+ */
+public class CommandBatchTypeAdapter<T> extends TypeAdapter<Map<String, T>> {
+	/**
+	 * The initial capacity of every batch read, large enough to hold a full batch without growing.
+	 */
+	private static final int INITIAL_CAPACITY = ((ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE * 4)
+			/ 3) + 1;
+
+	/**
+	 * The {@link TypeAdapter} used for every value within the batch.
+	 */
+	private final TypeAdapter<T> valueTypeAdapter;
+
+	/**
+	 * Creates a new {@link CommandBatchTypeAdapter}.
+	 *
+	 * @param valueTypeAdapter
+	 *            The {@link TypeAdapter} used for every value within the batch.
+	 */
+	public CommandBatchTypeAdapter(final TypeAdapter<T> valueTypeAdapter) {
+		this.valueTypeAdapter = valueTypeAdapter;
+	}
+
+	@Override
+	public Map<String, T> read(final JsonReader jsonReader) throws IOException {
+		final Map<String, T> commandIdValues;
+
+		if (jsonReader.peek() == JsonToken.NULL) {
+			jsonReader.nextNull();
+
+			commandIdValues = null;
+		} else {
+			commandIdValues = new HashMap<>(CommandBatchTypeAdapter.INITIAL_CAPACITY);
+
+			jsonReader.beginObject();
+
+			while (jsonReader.hasNext()) {
+				final String commandId = jsonReader.nextName();
+				final T value = this.valueTypeAdapter.read(jsonReader);
+
+				commandIdValues.put(commandId, value);
+			}
+
+			jsonReader.endObject();
+		}
+
+		return commandIdValues;
+	}
+
+	@Override
+	public void write(final JsonWriter jsonWriter, final Map<String, T> commandIdValues)
+			throws IOException {
+		if (commandIdValues == null) {
+			jsonWriter.nullValue();
+		} else {
+			jsonWriter.beginObject();
+
+			for (final Map.Entry<String, T> commandIdValuesEntry : commandIdValues.entrySet()) {
+				jsonWriter.name(commandIdValuesEntry.getKey());
+
+				this.valueTypeAdapter.write(jsonWriter, commandIdValuesEntry.getValue());
+			}
+
+			jsonWriter.endObject();
+		}
+	}
+}
\ No newline at end of file
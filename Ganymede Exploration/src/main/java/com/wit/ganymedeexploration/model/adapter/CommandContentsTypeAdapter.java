@@ -0,0 +1,97 @@
+package com.wit.ganymedeexploration.model.adapter;
+
+import java.io.IOException;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.wit.ganymedeexploration.model.command.CommandContents;
+import com.wit.ganymedeexploration.model.command.ExploreCommandContents;
+import com.wit.ganymedeexploration.model.command.ReadCommandContents;
+
+/**
+ * Streams {@link ExploreCommandContents} and {@link ReadCommandContents} to and from JSON without
+ * going through reflection, telling them apart by their only name.
+ */
+public class CommandContentsTypeAdapter extends TypeAdapter<CommandContents> {
+	/**
+	 * The name holding the ID of the room to explore within an "explore" command.
+	 */
+	private static final String EXPLORE_NAME = "explore";
+
+	/**
+	 * The name holding the ID of the room to read within a "read" command.
+	 */
+	private static final String READ_NAME = "read";
+
+	@Override
+	public CommandContents read(final JsonReader jsonReader) throws IOException {
+		final CommandContents commandContents;
+
+		if (jsonReader.peek() == JsonToken.NULL) {
+			jsonReader.nextNull();
+
+			commandContents = null;
+		} else {
+			CommandContents readCommandContents = null;
+
+			jsonReader.beginObject();
+
+			while (jsonReader.hasNext()) {
+				final String name = jsonReader.nextName();
+
+				switch (name) {
+				case EXPLORE_NAME:
+					readCommandContents = new ExploreCommandContents(jsonReader.nextString());
+					break;
+				case READ_NAME:
+					readCommandContents = new ReadCommandContents(jsonReader.nextString());
+					break;
+				default:
+					jsonReader.skipValue();
+					break;
+				}
+			}
+
+			jsonReader.endObject();
+
+			if (readCommandContents == null) {
+				throw new JsonParseException(
+						"The command is neither an \"explore\" nor a \"read\".");
+			}
+
+			commandContents = readCommandContents;
+		}
+
+		return commandContents;
+	}
+
+	@Override
+	public void write(final JsonWriter jsonWriter, final CommandContents commandContents)
+			throws IOException {
+		if (commandContents == null) {
+			jsonWriter.nullValue();
+		} else {
+			final String name;
+			final String roomId;
+
+			if (commandContents instanceof ExploreCommandContents) {
+				name = CommandContentsTypeAdapter.EXPLORE_NAME;
+				roomId = ((ExploreCommandContents) commandContents).getRoomId();
+			} else if (commandContents instanceof ReadCommandContents) {
+				name = CommandContentsTypeAdapter.READ_NAME;
+				roomId = ((ReadCommandContents) commandContents).getRoomId();
+			} else {
+				throw new IllegalArgumentException(String.format("Unsupported command contents %s.",
+						commandContents.getClass().getName()));
+			}
+
+			jsonWriter.beginObject();
+			jsonWriter.name(name);
+			jsonWriter.value(roomId);
+			jsonWriter.endObject();
+		}
+	}
+}
\ No newline at end of file
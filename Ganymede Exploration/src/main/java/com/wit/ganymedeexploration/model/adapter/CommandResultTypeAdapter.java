@@ -0,0 +1,294 @@
+package com.wit.ganymedeexploration.model.adapter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.wit.ganymedeexploration.collection.RoomIndex;
+import com.wit.ganymedeexploration.model.CommandResult;
+import com.wit.ganymedeexploration.model.Room;
+
+/**
+ * Streams {@link CommandResult}s to and from JSON without going through reflection.
+ * <p>
+ * Once given a {@link RoomIndex}, the IDs of connected {@link Room}s are interned as they are read
+ * and only their indices are kept, so {@link Room}s seen before cost no further allocation.
+ */
+public class CommandResultTypeAdapter extends TypeAdapter<CommandResult> {
+	/**
+	 * The name holding the IDs of the connected {@link Room}s.
+	 */
+	private static final String CONNECTIONS_NAME = "connections";
+
+	/**
+	 * The name holding the description of the error encountered, if any.
+	 */
+	private static final String ERROR_NAME = "error";
+
+	/**
+	 * The name holding the order of the writing.
+	 */
+	private static final String ORDER_NAME = "order";
+
+	/**
+	 * The name holding the writing.
+	 */
+	private static final String WRITING_NAME = "writing";
+
+	/**
+	 * Reads the next value, or <code>null</code> if it is a JSON null.
+	 *
+	 * @param jsonReader
+	 *            The {@link JsonReader} to read from.
+	 * @return The next value, or <code>null</code>.
+	 * @throws IOException
+	 *             The JSON could not be read.
+	 */
+	private static Integer nextNullableInteger(final JsonReader jsonReader) throws IOException {
+		final Integer value;
+
+		if (jsonReader.peek() == JsonToken.NULL) {
+			jsonReader.nextNull();
+
+			value = null;
+		} else {
+			value = jsonReader.nextInt();
+		}
+
+		return value;
+	}
+
+	/**
+	 * Reads the next value, or <code>null</code> if it is a JSON null.
+	 *
+	 * @param jsonReader
+	 *            The {@link JsonReader} to read from.
+	 * @return The next value, or <code>null</code>.
+	 * @throws IOException
+	 *             The JSON could not be read.
+	 */
+	private static String nextNullableString(final JsonReader jsonReader) throws IOException {
+		final String value;
+
+		if (jsonReader.peek() == JsonToken.NULL) {
+			jsonReader.nextNull();
+
+			value = null;
+		} else {
+			value = jsonReader.nextString();
+		}
+
+		return value;
+	}
+
+	/**
+	 * Reads an array of {@link Room} IDs.
+	 *
+	 * @param jsonReader
+	 *            The {@link JsonReader} to read from.
+	 * @return The {@link Room} IDs read.
+	 * @throws IOException
+	 *             The JSON could not be read.
+	 */
+	private static List<String> readRoomIds(final JsonReader jsonReader) throws IOException {
+		final List<String> roomIds = new ArrayList<>();
+
+		jsonReader.beginArray();
+
+		while (jsonReader.hasNext()) {
+			roomIds.add(jsonReader.nextString());
+		}
+
+		jsonReader.endArray();
+
+		return roomIds;
+	}
+
+	/**
+	 * Reads an array of {@link Room} IDs, interning each of them.
+	 *
+	 * @param jsonReader
+	 *            The {@link JsonReader} to read from.
+	 * @param roomIndex
+	 *            The {@link RoomIndex} to intern the {@link Room} IDs into.
+	 * @return The indices assigned to the {@link Room} IDs read.
+	 * @throws IOException
+	 *             The JSON could not be read.
+	 */
+	private static int[] readRooms(final JsonReader jsonReader, final RoomIndex roomIndex)
+			throws IOException {
+		int[] rooms = new int[4];
+		int roomCount = 0;
+
+		jsonReader.beginArray();
+
+		while (jsonReader.hasNext()) {
+			if (roomCount == rooms.length) {
+				rooms = Arrays.copyOf(rooms, roomCount * 2);
+			}
+
+			rooms[roomCount] = roomIndex.index(jsonReader.nextString());
+			roomCount++;
+		}
+
+		jsonReader.endArray();
+
+		final int[] readRooms;
+
+		if (roomCount == rooms.length) {
+			readRooms = rooms;
+		} else {
+			readRooms = Arrays.copyOf(rooms, roomCount);
+		}
+
+		return readRooms;
+	}
+
+	/**
+	 * The {@link RoomIndex} to intern the IDs of connected {@link Room}s into, or <code>null</code>
+	 * to keep them as IDs.
+	 */
+	private volatile RoomIndex roomIndex;
+
+	/**
+	 * Returns the {@link RoomIndex} to intern the IDs of connected {@link Room}s into.
+	 *
+	 * @return The {@link RoomIndex} to intern the IDs of connected {@link Room}s into, or
+	 *         <code>null</code> to keep them as IDs.
+	 */
+	public RoomIndex getRoomIndex() {
+		return this.roomIndex;
+	}
+
+	@Override
+	public CommandResult read(final JsonReader jsonReader) throws IOException {
+		final CommandResult commandResult;
+
+		if (jsonReader.peek() == JsonToken.NULL) {
+			jsonReader.nextNull();
+
+			commandResult = null;
+		} else {
+			final RoomIndex roomIndex = this.roomIndex;
+			List<String> connectedRoomIds = null;
+			int[] connectedRooms = null;
+			String writing = null;
+			Integer order = null;
+			String error = null;
+
+			jsonReader.beginObject();
+
+			while (jsonReader.hasNext()) {
+				final String name = jsonReader.nextName();
+
+				switch (name) {
+				case CONNECTIONS_NAME:
+					if (jsonReader.peek() == JsonToken.NULL) {
+						jsonReader.nextNull();
+					} else if (roomIndex == null) {
+						connectedRoomIds = CommandResultTypeAdapter.readRoomIds(jsonReader);
+					} else {
+						connectedRooms = CommandResultTypeAdapter.readRooms(jsonReader, roomIndex);
+					}
+					break;
+				case ERROR_NAME:
+					error = CommandResultTypeAdapter.nextNullableString(jsonReader);
+					break;
+				case ORDER_NAME:
+					order = CommandResultTypeAdapter.nextNullableInteger(jsonReader);
+					break;
+				case WRITING_NAME:
+					writing = CommandResultTypeAdapter.nextNullableString(jsonReader);
+					break;
+				default:
+					jsonReader.skipValue();
+					break;
+				}
+			}
+
+			jsonReader.endObject();
+
+			commandResult = new CommandResult(connectedRoomIds, connectedRooms, writing, order,
+					error);
+		}
+
+		return commandResult;
+	}
+
+	/**
+	 * Sets the {@link RoomIndex} to intern the IDs of connected {@link Room}s into. Only results
+	 * read afterwards are affected.
+	 *
+	 * @param roomIndex
+	 *            The {@link RoomIndex} to intern the IDs of connected {@link Room}s into, or
+	 *            <code>null</code> to keep them as IDs.
+	 */
+	public void setRoomIndex(final RoomIndex roomIndex) {
+		this.roomIndex = roomIndex;
+	}
+
+	@Override
+	public void write(final JsonWriter jsonWriter, final CommandResult commandResult)
+			throws IOException {
+		if (commandResult == null) {
+			jsonWriter.nullValue();
+		} else {
+			final List<String> connectedRoomIds = commandResult.getConnectedRoomIds();
+			final int[] connectedRooms = commandResult.getConnectedRooms();
+			final String writing = commandResult.getWriting();
+			final Integer order = commandResult.getOrder();
+			final String error = commandResult.getError();
+
+			jsonWriter.beginObject();
+
+			if (connectedRoomIds != null) {
+				jsonWriter.name(CommandResultTypeAdapter.CONNECTIONS_NAME);
+				jsonWriter.beginArray();
+
+				for (final String connectedRoomId : connectedRoomIds) {
+					jsonWriter.value(connectedRoomId);
+				}
+
+				jsonWriter.endArray();
+			} else if (connectedRooms != null) {
+				final RoomIndex roomIndex = this.roomIndex;
+
+				if (roomIndex == null) {
+					throw new IllegalStateException(
+							"Interned connections cannot be written without a room index.");
+				}
+
+				jsonWriter.name(CommandResultTypeAdapter.CONNECTIONS_NAME);
+				jsonWriter.beginArray();
+
+				for (final int connectedRoom : connectedRooms) {
+					jsonWriter.value(roomIndex.getRoomId(connectedRoom));
+				}
+
+				jsonWriter.endArray();
+			}
+
+			if (writing != null) {
+				jsonWriter.name(CommandResultTypeAdapter.WRITING_NAME);
+				jsonWriter.value(writing);
+			}
+
+			if (order != null) {
+				jsonWriter.name(CommandResultTypeAdapter.ORDER_NAME);
+				jsonWriter.value(order);
+			}
+
+			if (error != null) {
+				jsonWriter.name(CommandResultTypeAdapter.ERROR_NAME);
+				jsonWriter.value(error);
+			}
+
+			jsonWriter.endObject();
+		}
+	}
+}
\ No newline at end of file
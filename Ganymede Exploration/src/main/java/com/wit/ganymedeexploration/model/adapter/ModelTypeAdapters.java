@@ -0,0 +1,63 @@
+package com.wit.ganymedeexploration.model.adapter;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.wit.ganymedeexploration.model.CommandResult;
+import com.wit.ganymedeexploration.model.Room;
+import com.wit.ganymedeexploration.model.command.CommandContents;
+
+/**
+ * Creates {@link Gson} instances that stream the models exchanged with the labyrinth through
+ * hand-written {@link com.google.gson.TypeAdapter}s instead of reflection.
+ */
+public final class ModelTypeAdapters {
+	/**
+	 * The type of a batch of commands keyed by their unique command IDs.
+	 */
+	public static final Type COMMAND_BATCH_TYPE = new TypeToken<Map<String, CommandContents>>() {
+	}.getType();
+
+	/**
+	 * The type of a batch of {@link CommandResult}s keyed by their unique command IDs.
+	 */
+	public static final Type COMMAND_RESULT_BATCH_TYPE = new TypeToken<Map<String, CommandResult>>() {
+	}.getType();
+
+	/**
+	 * Creates a {@link Gson} that streams the models exchanged with the labyrinth.
+	 *
+	 * @param commandResultTypeAdapter
+	 *            The {@link CommandResultTypeAdapter} to read and write {@link CommandResult}s
+	 *            with, which decides whether connected {@link Room}s are interned.
+	 * @return The created {@link Gson}.
+	 */
+	public static Gson createGson(final CommandResultTypeAdapter commandResultTypeAdapter) {
+		final GsonBuilder gsonBuilder = new GsonBuilder();
+		final CommandContentsTypeAdapter commandContentsTypeAdapter = new CommandContentsTypeAdapter();
+		final CommandBatchTypeAdapter<CommandContents> commandBatchTypeAdapter = new CommandBatchTypeAdapter<>(
+				commandContentsTypeAdapter);
+		final CommandBatchTypeAdapter<CommandResult> commandResultBatchTypeAdapter = new CommandBatchTypeAdapter<>(
+				commandResultTypeAdapter);
+		final RoomTypeAdapter roomTypeAdapter = new RoomTypeAdapter();
+
+		gsonBuilder.registerTypeHierarchyAdapter(CommandContents.class,
+				commandContentsTypeAdapter);
+		gsonBuilder.registerTypeAdapter(CommandResult.class, commandResultTypeAdapter);
+		gsonBuilder.registerTypeAdapter(ModelTypeAdapters.COMMAND_BATCH_TYPE,
+				commandBatchTypeAdapter);
+		gsonBuilder.registerTypeAdapter(ModelTypeAdapters.COMMAND_RESULT_BATCH_TYPE,
+				commandResultBatchTypeAdapter);
+		gsonBuilder.registerTypeAdapter(Room.class, roomTypeAdapter);
+
+		final Gson gson = gsonBuilder.create();
+
+		return gson;
+	}
+
+	private ModelTypeAdapters() {
+	}
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.wit.ganymedeexploration.model.adapter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.wit.ganymedeexploration.model.Room;
+
+/**
+ * Streams {@link Room}s to and from JSON without going through reflection.
+ */
+public class RoomTypeAdapter extends TypeAdapter<Room> {
+	/**
+	 * The name holding the IDs of the drones usable for exploration.
+	 */
+	private static final String DRONES_NAME = "drones";
+
+	/**
+	 * The name holding the ID of the {@link Room}.
+	 */
+	private static final String ROOM_ID_NAME = "roomId";
+
+	@Override
+	public Room read(final JsonReader jsonReader) throws IOException {
+		final Room room;
+
+		if (jsonReader.peek() == JsonToken.NULL) {
+			jsonReader.nextNull();
+
+			room = null;
+		} else {
+			String id = null;
+			List<String> droneIds = null;
+
+			jsonReader.beginObject();
+
+			while (jsonReader.hasNext()) {
+				final String name = jsonReader.nextName();
+
+				if (jsonReader.peek() == JsonToken.NULL) {
+					jsonReader.nextNull();
+				} else {
+					switch (name) {
+					case DRONES_NAME:
+						droneIds = new ArrayList<>();
+
+						jsonReader.beginArray();
+
+						while (jsonReader.hasNext()) {
+							droneIds.add(jsonReader.nextString());
+						}
+
+						jsonReader.endArray();
+						break;
+					case ROOM_ID_NAME:
+						id = jsonReader.nextString();
+						break;
+					default:
+						jsonReader.skipValue();
+						break;
+					}
+				}
+			}
+
+			jsonReader.endObject();
+
+			room = new Room(id, droneIds);
+		}
+
+		return room;
+	}
+
+	@Override
+	public void write(final JsonWriter jsonWriter, final Room room) throws IOException {
+		if (room == null) {
+			jsonWriter.nullValue();
+		} else {
+			final String id = room.getId();
+			final List<String> droneIds = room.getDroneIds();
+
+			jsonWriter.beginObject();
+
+			if (id != null) {
+				jsonWriter.name(RoomTypeAdapter.ROOM_ID_NAME);
+				jsonWriter.value(id);
+			}
+
+			if (droneIds != null) {
+				jsonWriter.name(RoomTypeAdapter.DRONES_NAME);
+				jsonWriter.beginArray();
+
+				for (final String droneId : droneIds) {
+					jsonWriter.value(droneId);
+				}
+
+				jsonWriter.endArray();
+			}
+
+			jsonWriter.endObject();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,231 @@
+package com.wit.ganymedeexploration.model.command;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.wit.ganymedeexploration.model.Room;
+
+/**
+ * A batch of commands, mapping the ID of every command to its {@link CommandContents} like any
+ * other batch, but holding them in arrays sized once for the largest batch rather than in a hash
+ * table, along with the index of the {@link Room} every command is about. The ID of a command is
+ * only built when the batch is iterated as a map, so adding a command, looking it up by its ID or
+ * going through the contents allocates nothing, and a batch can be cleared and filled again.
+ */
+public final class CommandBatch extends AbstractMap<String, CommandContents> {
+	/**
+	 * Goes through the contents of the commands in the order they were added.
+	 */
+	private final class CommandContentsIterator implements Iterator<CommandContents> {
+		/**
+		 * The index of the next command.
+		 */
+		private int commandIndex = 0;
+
+		@Override
+		public boolean hasNext() {
+			return this.commandIndex < CommandBatch.this.size;
+		}
+
+		@Override
+		public CommandContents next() {
+			if (this.commandIndex >= CommandBatch.this.size) {
+				throw new NoSuchElementException("No command is left in the batch.");
+			}
+
+			return CommandBatch.this.commandContents[this.commandIndex++];
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException(
+					"Commands are only ever cleared from a batch all at once.");
+		}
+	}
+
+	/**
+	 * The contents of the commands, in the order they were added.
+	 */
+	private final CommandContents[] commandContents;
+
+	/**
+	 * The indices of the {@link Room}s the commands are about.
+	 */
+	private final int[] rooms;
+
+	/**
+	 * The number of commands in the batch.
+	 */
+	private int size = 0;
+
+	/**
+	 * Creates a new, empty {@link CommandBatch}.
+	 *
+	 * @param capacity
+	 *            The largest number of commands the batch can hold.
+	 */
+	public CommandBatch(final int capacity) {
+		this.commandContents = new CommandContents[capacity];
+		this.rooms = new int[capacity];
+	}
+
+	/**
+	 * Adds a command to the batch.
+	 *
+	 * @param commandContents
+	 *            The contents of the command.
+	 * @param room
+	 *            The index of the {@link Room} the command is about.
+	 * @throws IllegalStateException
+	 *             The batch is full.
+	 */
+	public void add(final CommandContents commandContents, final int room) {
+		if (this.size == this.commandContents.length) {
+			throw new IllegalStateException(String.format(
+					"A batch cannot hold more than %d commands.", this.commandContents.length));
+		}
+
+		this.commandContents[this.size] = commandContents;
+		this.rooms[this.size] = room;
+		this.size++;
+	}
+
+	@Override
+	public void clear() {
+		for (int commandIndex = 0; commandIndex < this.size; commandIndex++) {
+			this.commandContents[commandIndex] = null;
+		}
+
+		this.size = 0;
+	}
+
+	@Override
+	public boolean containsKey(final Object commandId) {
+		return this.indexOf(commandId) >= 0;
+	}
+
+	@Override
+	public Set<Map.Entry<String, CommandContents>> entrySet() {
+		return new AbstractSet<Map.Entry<String, CommandContents>>() {
+			@Override
+			public Iterator<Map.Entry<String, CommandContents>> iterator() {
+				final Iterator<CommandContents> commandContentsIterator =
+						new CommandContentsIterator();
+
+				return new Iterator<Map.Entry<String, CommandContents>>() {
+					@Override
+					public boolean hasNext() {
+						return commandContentsIterator.hasNext();
+					}
+
+					@Override
+					public Map.Entry<String, CommandContents> next() {
+						final CommandContents commandContents = commandContentsIterator.next();
+
+						return new AbstractMap.SimpleImmutableEntry<>(
+								commandContents.getCommandId(), commandContents);
+					}
+
+					@Override
+					public void remove() {
+						commandContentsIterator.remove();
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return CommandBatch.this.size;
+			}
+		};
+	}
+
+	@Override
+	public CommandContents get(final Object commandId) {
+		final int commandIndex = this.indexOf(commandId);
+
+		return (commandIndex < 0) ? null : this.commandContents[commandIndex];
+	}
+
+	/**
+	 * Returns the contents of a command.
+	 *
+	 * @param commandIndex
+	 *            The index of the command, in the order the commands were added.
+	 * @return The contents of the command.
+	 */
+	public CommandContents getCommandContents(final int commandIndex) {
+		return this.commandContents[commandIndex];
+	}
+
+	/**
+	 * Returns the index of the {@link Room} a command is about.
+	 *
+	 * @param commandIndex
+	 *            The index of the command, in the order the commands were added.
+	 * @return The index of the {@link Room} the command is about.
+	 */
+	public int getRoom(final int commandIndex) {
+		return this.rooms[commandIndex];
+	}
+
+	/**
+	 * Returns the index of the command with the given ID.
+	 *
+	 * @param commandId
+	 *            The ID of the command.
+	 * @return The index of the command, in the order the commands were added, or <code>-1</code>
+	 *         if no command in the batch has the given ID.
+	 */
+	public int indexOf(final Object commandId) {
+		int foundCommandIndex = -1;
+
+		if (commandId instanceof String) {
+			for (int commandIndex = 0; (foundCommandIndex < 0) && (commandIndex < this.size);
+					commandIndex++) {
+				if (this.commandContents[commandIndex].hasCommandId((String) commandId)) {
+					foundCommandIndex = commandIndex;
+				}
+			}
+		}
+
+		return foundCommandIndex;
+	}
+
+	/**
+	 * Returns whether a command is an "explore" command rather than a "read" command.
+	 *
+	 * @param commandIndex
+	 *            The index of the command, in the order the commands were added.
+	 * @return Whether the command is an "explore" command.
+	 */
+	public boolean isExplore(final int commandIndex) {
+		return this.commandContents[commandIndex] instanceof ExploreCommandContents;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public Collection<CommandContents> values() {
+		return new AbstractCollection<CommandContents>() {
+			@Override
+			public Iterator<CommandContents> iterator() {
+				return new CommandContentsIterator();
+			}
+
+			@Override
+			public int size() {
+				return CommandBatch.this.size;
+			}
+		};
+	}
+}
\ No newline at end of file
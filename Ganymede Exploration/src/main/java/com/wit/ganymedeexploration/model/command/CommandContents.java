@@ -1,7 +1,52 @@
 package com.wit.ganymedeexploration.model.command;
 
+import com.wit.ganymedeexploration.model.Room;
+
 /**
  * The contents sent along as part of a drone command.
  */
 public abstract class CommandContents {
+	/**
+	 * Returns the ID of the command, derived from its name and the {@link Room} it is about. The
+	 * same command always has the same ID, so a batch sent again, whether retried or hedged on
+	 * another drone, carries the same IDs and its results cannot be applied twice. The name and
+	 * the {@link Room} ID are simply joined, which is unique already and costs a single
+	 * concatenation rather than the formatting and hashing a name-based UUID would.
+	 *
+	 * @return The ID of the command, such as <code>explore:&lt;room ID&gt;</code>.
+	 */
+	public String getCommandId() {
+		return this.getName() + ':' + this.getRoomId();
+	}
+
+	/**
+	 * Returns the name of the command, as used as its key in JSON.
+	 *
+	 * @return The name of the command.
+	 */
+	public abstract String getName();
+
+	/**
+	 * Returns the ID of the {@link Room} the command is about.
+	 *
+	 * @return The ID of the {@link Room} the command is about.
+	 */
+	public abstract String getRoomId();
+
+	/**
+	 * Returns whether the command has the given ID, comparing it with the name and the
+	 * {@link Room} ID in place rather than building the ID of the command.
+	 *
+	 * @param commandId
+	 *            The ID to compare with.
+	 * @return Whether the command has the given ID.
+	 */
+	public boolean hasCommandId(final String commandId) {
+		final String name = this.getName();
+		final String roomId = this.getRoomId();
+
+		return (commandId.length() == (name.length() + 1 + roomId.length()))
+				&& commandId.startsWith(name) && (commandId.charAt(name.length()) == ':')
+				&& commandId.startsWith(roomId, name.length() + 1);
+	}
 }
\ No newline at end of file
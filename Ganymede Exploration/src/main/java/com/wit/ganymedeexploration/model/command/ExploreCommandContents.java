@@ -7,6 +7,11 @@ import com.wit.ganymedeexploration.model.Room;
  * The contents sent along as part of a drone "explore" command.
  */
 public class ExploreCommandContents extends CommandContents {
+	/**
+	 * The name of the command, as used as its key in JSON.
+	 */
+	public static final String NAME = "explore";
+
 	/**
 	 * The ID of the {@link Room} to explore.
 	 */
@@ -23,11 +28,17 @@ public class ExploreCommandContents extends CommandContents {
 		this.roomId = roomId;
 	}
 
+	@Override
+	public String getName() {
+		return ExploreCommandContents.NAME;
+	}
+
 	/**
 	 * Returns the ID of the {@link Room} to explore.
 	 *
 	 * @return The ID of the {@link Room} to explore.
 	 */
+	@Override
 	public String getRoomId() {
 		return this.roomId;
 	}
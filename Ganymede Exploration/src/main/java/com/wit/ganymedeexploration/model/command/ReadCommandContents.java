@@ -7,6 +7,11 @@ import com.wit.ganymedeexploration.model.Room;
  * The contents sent along as part of a drone "read" command.
  */
 public class ReadCommandContents extends CommandContents {
+	/**
+	 * The name of the command, as used as its key in JSON.
+	 */
+	public static final String NAME = "read";
+
 	/**
 	 * The ID of the {@link Room} to read the writing of.
 	 */
@@ -23,11 +28,17 @@ public class ReadCommandContents extends CommandContents {
 		this.roomId = roomId;
 	}
 
+	@Override
+	public String getName() {
+		return ReadCommandContents.NAME;
+	}
+
 	/**
 	 * Returns the ID of the {@link Room} to read the writing of.
 	 * 
 	 * @return The ID of the {@link Room} to read the writing of.
 	 */
+	@Override
 	public String getRoomId() {
 		return this.roomId;
 	}
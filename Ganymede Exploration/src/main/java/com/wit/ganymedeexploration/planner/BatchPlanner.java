@@ -0,0 +1,31 @@
+package com.wit.ganymedeexploration.planner;
+
+import com.wit.ganymedeexploration.model.Drone;
+import com.wit.ganymedeexploration.model.Room;
+
+/**
+ * Decides how a batch of commands about to be sent to a {@link Drone} is split between "explore"
+ * and "read" commands.
+ */
+public interface BatchPlanner {
+	/**
+	 * Returns how many "explore" commands the next batch should hold, the rest of it being filled
+	 * with "read" commands. If either kind of command runs short, the batch is topped up with the
+	 * other kind, so the answer is a preference rather than a hard limit.
+	 *
+	 * @param batchSize
+	 *            The maximum number of commands within a batch.
+	 * @param unexploredRoomCount
+	 *            The number of {@link Room}s waiting to be explored.
+	 * @param unreadRoomCount
+	 *            The number of {@link Room}s waiting to be read.
+	 * @param availableDroneCount
+	 *            The number of {@link Drone}s waiting for a batch, including the one this batch is
+	 *            for.
+	 * @param busyDroneCount
+	 *            The number of {@link Drone}s currently executing a batch.
+	 * @return How many "explore" commands the next batch should hold.
+	 */
+	int getExploreCommandCount(final int batchSize, final int unexploredRoomCount,
+			final int unreadRoomCount, final int availableDroneCount, final int busyDroneCount);
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.wit.ganymedeexploration.planner;
+
+/**
+ * Creates the {@link BatchPlanner}s that decide how batches of commands are composed.
+ */
+public final class BatchPlanners {
+	/**
+	 * The kinds of {@link BatchPlanner} that can compose batches of commands.
+	 */
+	public static enum Kind {
+		/**
+		 * An {@link ExploreFirstBatchPlanner}.
+		 */
+		EXPLORE_FIRST,
+
+		/**
+		 * A {@link ReadsFirstBatchPlanner}.
+		 */
+		READS_FIRST
+	}
+
+	/**
+	 * The system property naming the {@link Kind} of {@link BatchPlanner} to use by default.
+	 */
+	public static final String KIND_PROPERTY = "ganymede.batchPlanner";
+
+	/**
+	 * Creates a {@link BatchPlanner} of the given {@link Kind}.
+	 *
+	 * @param kind
+	 *            The {@link Kind} of {@link BatchPlanner} to create.
+	 * @return The created {@link BatchPlanner}.
+	 */
+	public static BatchPlanner create(final Kind kind) {
+		final BatchPlanner batchPlanner;
+
+		switch (kind) {
+		case EXPLORE_FIRST:
+			batchPlanner = new ExploreFirstBatchPlanner();
+			break;
+		case READS_FIRST:
+		default:
+			batchPlanner = new ReadsFirstBatchPlanner();
+			break;
+		}
+
+		return batchPlanner;
+	}
+
+	/**
+	 * Returns the {@link BatchPlanner} to use unless told otherwise, configured through the
+	 * {@link #KIND_PROPERTY} system property.
+	 *
+	 * @return The {@link BatchPlanner} to use unless told otherwise.
+	 */
+	public static BatchPlanner getDefault() {
+		final String kindName = System.getProperty(BatchPlanners.KIND_PROPERTY,
+				Kind.READS_FIRST.name());
+		final Kind kind = Kind.valueOf(kindName.toUpperCase());
+
+		return BatchPlanners.create(kind);
+	}
+
+	private BatchPlanners() {
+	}
+}
\ No newline at end of file
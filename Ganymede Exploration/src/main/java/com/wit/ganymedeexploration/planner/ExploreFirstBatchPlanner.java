@@ -0,0 +1,24 @@
+package com.wit.ganymedeexploration.planner;
+
+/**
+ * A {@link BatchPlanner} spending whole batches on "explore" commands for as long as the
+ * unexplored frontier is too small to give every drone a full batch of them, so that it grows as
+ * quickly as possible and no drone is left without work. Once the frontier is large enough, "read"
+ * commands are drained first.
+ */
+public class ExploreFirstBatchPlanner implements BatchPlanner {
+	@Override
+	public int getExploreCommandCount(final int batchSize, final int unexploredRoomCount,
+			final int unreadRoomCount, final int availableDroneCount, final int busyDroneCount) {
+		final long droneCount = (long) availableDroneCount + busyDroneCount;
+		final int exploreCommandCount;
+
+		if (unexploredRoomCount < (droneCount * batchSize)) {
+			exploreCommandCount = batchSize;
+		} else {
+			exploreCommandCount = Math.max(0, batchSize - unreadRoomCount);
+		}
+
+		return exploreCommandCount;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.wit.ganymedeexploration.planner;
+
+/**
+ * A {@link BatchPlanner} filling every batch with as many "read" commands as possible before
+ * adding any "explore" commands.
+ */
+public class ReadsFirstBatchPlanner implements BatchPlanner {
+	@Override
+	public int getExploreCommandCount(final int batchSize, final int unexploredRoomCount,
+			final int unreadRoomCount, final int availableDroneCount, final int busyDroneCount) {
+		return Math.max(0, batchSize - unreadRoomCount);
+	}
+}
\ No newline at end of file
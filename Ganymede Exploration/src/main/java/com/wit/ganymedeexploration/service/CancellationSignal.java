@@ -0,0 +1,106 @@
+package com.wit.ganymedeexploration.service;
+
+import java.io.InterruptedIOException;
+
+import com.wit.ganymedeexploration.model.Drone;
+
+/**
+ * Lets whoever sent a batch of commands give up on it, cancelling the network call in flight and
+ * any retry still to come, so that a batch whose {@link Drone} is no longer waited for stops
+ * using the network. A batch that is cancelled fails with an {@link InterruptedIOException}
+ * rather than being tried again.
+ */
+public final class CancellationSignal {
+	/**
+	 * Whether the batch has been cancelled.
+	 */
+	private boolean cancelled = false;
+
+	/**
+	 * Run once the batch is cancelled, to cancel whatever is currently in flight.
+	 */
+	private Runnable onCancelListener;
+
+	/**
+	 * Waits until either the batch is cancelled or the given time has elapsed.
+	 *
+	 * @param milliseconds
+	 *            The number of milliseconds to wait at most.
+	 * @return Whether the batch has been cancelled.
+	 * @throws InterruptedException
+	 *             Interrupted while waiting.
+	 */
+	synchronized boolean await(final long milliseconds) throws InterruptedException {
+		final long deadlineNanoTime = System.nanoTime() + (milliseconds * 1000000);
+		long remainingNanoseconds = deadlineNanoTime - System.nanoTime();
+
+		while (!this.cancelled && (remainingNanoseconds > 0)) {
+			this.wait(remainingNanoseconds / 1000000, (int) (remainingNanoseconds % 1000000));
+
+			remainingNanoseconds = deadlineNanoTime - System.nanoTime();
+		}
+
+		return this.cancelled;
+	}
+
+	/**
+	 * Cancels the batch, running the listener cancelling whatever is currently in flight. Has no
+	 * effect if the batch has been cancelled already.
+	 */
+	public void cancel() {
+		final Runnable onCancelListener;
+
+		synchronized (this) {
+			if (this.cancelled) {
+				return;
+			}
+
+			this.cancelled = true;
+			onCancelListener = this.onCancelListener;
+			this.onCancelListener = null;
+
+			this.notifyAll();
+		}
+
+		if (onCancelListener != null) {
+			onCancelListener.run();
+		}
+	}
+
+	/**
+	 * Returns the failure reported for a batch that was cancelled.
+	 *
+	 * @return The failure reported for a batch that was cancelled.
+	 */
+	InterruptedIOException createException() {
+		return new InterruptedIOException("The batch of commands was cancelled.");
+	}
+
+	/**
+	 * Returns whether the batch has been cancelled.
+	 *
+	 * @return Whether the batch has been cancelled.
+	 */
+	public synchronized boolean isCancelled() {
+		return this.cancelled;
+	}
+
+	/**
+	 * Sets the listener cancelling whatever of the batch is now in flight, replacing the previous
+	 * one. If the batch has been cancelled already, the listener is run at once instead.
+	 *
+	 * @param onCancelListener
+	 *            The listener cancelling whatever of the batch is now in flight.
+	 */
+	void setOnCancelListener(final Runnable onCancelListener) {
+		synchronized (this) {
+			if (!this.cancelled) {
+				this.onCancelListener = onCancelListener;
+
+				return;
+			}
+		}
+
+		onCancelListener.run();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,234 @@
+package com.wit.ganymedeexploration.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import com.wit.ganymedeexploration.model.command.CommandContents;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+/**
+ * A {@link RequestBody} holding the same JSON as a serialized batch of {@link CommandContents},
+ * but written straight into the pooled segments of the connection's sink rather than through a
+ * {@link com.google.gson.stream.JsonWriter} and an intermediate buffer. Its exact length is
+ * worked out once up front, so it is sent with a <code>Content-Length</code>, and it may be
+ * written any number of times, so the request may be retried or hedged.
+ * <p>
+ * IDs made only of printable ASCII characters needing no escape, as {@link CommandContents} IDs
+ * and {@link com.wit.ganymedeexploration.model.Room} IDs are, are written as they are; any other
+ * string is escaped first. The ID of every command is written from its name and
+ * {@link com.wit.ganymedeexploration.model.Room} ID, which is what every batch is keyed by, so that
+ * sending a batch never builds the IDs of its commands.
+ */
+public final class CommandBatchRequestBody extends RequestBody {
+	/**
+	 * The media type of the body.
+	 */
+	private static final MediaType MEDIA_TYPE = MediaType.parse("application/json; charset=UTF-8");
+
+	/**
+	 * Returns a string quoted and escaped as a JSON string.
+	 *
+	 * @param string
+	 *            The string to escape.
+	 * @return The quoted and escaped string.
+	 */
+	private static String escape(final String string) {
+		final StringBuilder stringBuilder = new StringBuilder(string.length() + 8);
+
+		stringBuilder.append('"');
+
+		for (int index = 0; index < string.length(); index++) {
+			StreamingReportRequestBody.escape(stringBuilder, string.charAt(index));
+		}
+
+		stringBuilder.append('"');
+
+		return stringBuilder.toString();
+	}
+
+	/**
+	 * Returns the number of bytes a string takes once written as a JSON string.
+	 *
+	 * @param string
+	 *            The string to measure.
+	 * @return The number of bytes the string takes once quoted and escaped.
+	 */
+	private static long getEncodedByteCount(final String string) {
+		final long encodedByteCount;
+
+		if (CommandBatchRequestBody.isPlain(string)) {
+			encodedByteCount = string.length() + 2;
+		} else {
+			encodedByteCount = CommandBatchRequestBody.escape(string)
+					.getBytes(StandardCharsets.UTF_8).length;
+		}
+
+		return encodedByteCount;
+	}
+
+	/**
+	 * Returns the number of bytes the ID of a command takes once written as a JSON string.
+	 *
+	 * @param commandContents
+	 *            The contents of the command.
+	 * @return The number of bytes the ID of the command takes once quoted and escaped.
+	 */
+	private static long getEncodedCommandIdByteCount(final CommandContents commandContents) {
+		final String name = commandContents.getName();
+		final String roomId = commandContents.getRoomId();
+		final long encodedByteCount;
+
+		if (CommandBatchRequestBody.isPlain(name) && CommandBatchRequestBody.isPlain(roomId)) {
+			// The quotes, and the colon joining the name and the room ID.
+			encodedByteCount = name.length() + roomId.length() + 3;
+		} else {
+			encodedByteCount = CommandBatchRequestBody.getEncodedByteCount(commandContents
+					.getCommandId());
+		}
+
+		return encodedByteCount;
+	}
+
+	/**
+	 * Returns whether a string is made only of printable ASCII characters that JSON does not
+	 * require to be escaped.
+	 *
+	 * @param string
+	 *            The string to check.
+	 * @return <code>true</code> if the string can be written between quotes as it is.
+	 */
+	private static boolean isPlain(final String string) {
+		boolean plain = true;
+
+		for (int index = 0; plain && (index < string.length()); index++) {
+			final char character = string.charAt(index);
+
+			plain = (character >= 0x20) && (character < 0x7f) && (character != '"')
+					&& (character != '\\');
+		}
+
+		return plain;
+	}
+
+	/**
+	 * Writes the ID of a command into a sink as a JSON string, joining its name and its room ID
+	 * in the sink rather than building the ID first.
+	 *
+	 * @param bufferedSink
+	 *            The sink to write to.
+	 * @param commandContents
+	 *            The contents of the command.
+	 * @throws IOException
+	 *             The sink could not be written to.
+	 */
+	private static void writeCommandId(final BufferedSink bufferedSink,
+			final CommandContents commandContents) throws IOException {
+		final String name = commandContents.getName();
+		final String roomId = commandContents.getRoomId();
+
+		if (CommandBatchRequestBody.isPlain(name) && CommandBatchRequestBody.isPlain(roomId)) {
+			bufferedSink.writeByte('"');
+			bufferedSink.writeUtf8(name);
+			bufferedSink.writeByte(':');
+			bufferedSink.writeUtf8(roomId);
+			bufferedSink.writeByte('"');
+		} else {
+			bufferedSink.writeUtf8(CommandBatchRequestBody.escape(commandContents.getCommandId()));
+		}
+	}
+
+	/**
+	 * Writes a string into a sink as a JSON string.
+	 *
+	 * @param bufferedSink
+	 *            The sink to write to.
+	 * @param string
+	 *            The string to write.
+	 * @throws IOException
+	 *             The sink could not be written to.
+	 */
+	private static void writeString(final BufferedSink bufferedSink, final String string)
+			throws IOException {
+		if (CommandBatchRequestBody.isPlain(string)) {
+			bufferedSink.writeByte('"');
+			bufferedSink.writeUtf8(string);
+			bufferedSink.writeByte('"');
+		} else {
+			bufferedSink.writeUtf8(CommandBatchRequestBody.escape(string));
+		}
+	}
+
+	/**
+	 * The unique command IDs and their associated contents, which must not change while the body
+	 * may still be written.
+	 */
+	private final Map<String, CommandContents> commandIdCommandContents;
+
+	/**
+	 * The exact number of bytes of the body.
+	 */
+	private final long contentLength;
+
+	/**
+	 * Creates a new {@link CommandBatchRequestBody}.
+	 *
+	 * @param commandIdCommandContents
+	 *            The unique command IDs and their associated contents, which must not change while
+	 *            the body may still be written.
+	 */
+	public CommandBatchRequestBody(final Map<String, CommandContents> commandIdCommandContents) {
+		// The braces of the batch, plus a comma between every two commands.
+		long contentLength = 2 + Math.max(0, commandIdCommandContents.size() - 1);
+
+		for (final CommandContents commandContents : commandIdCommandContents.values()) {
+			// The colon after the command ID, and the braces and colon of the contents.
+			contentLength += 4;
+			contentLength += CommandBatchRequestBody.getEncodedCommandIdByteCount(commandContents);
+			contentLength += CommandBatchRequestBody.getEncodedByteCount(commandContents.getName());
+			contentLength += CommandBatchRequestBody
+					.getEncodedByteCount(commandContents.getRoomId());
+		}
+
+		this.commandIdCommandContents = commandIdCommandContents;
+		this.contentLength = contentLength;
+	}
+
+	@Override
+	public long contentLength() {
+		return this.contentLength;
+	}
+
+	@Override
+	public MediaType contentType() {
+		return CommandBatchRequestBody.MEDIA_TYPE;
+	}
+
+	@Override
+	public void writeTo(final BufferedSink bufferedSink) throws IOException {
+		boolean first = true;
+
+		bufferedSink.writeByte('{');
+
+		for (final CommandContents commandContents : this.commandIdCommandContents.values()) {
+			if (!first) {
+				bufferedSink.writeByte(',');
+			}
+
+			CommandBatchRequestBody.writeCommandId(bufferedSink, commandContents);
+			bufferedSink.writeByte(':');
+			bufferedSink.writeByte('{');
+			CommandBatchRequestBody.writeString(bufferedSink, commandContents.getName());
+			bufferedSink.writeByte(':');
+			CommandBatchRequestBody.writeString(bufferedSink, commandContents.getRoomId());
+			bufferedSink.writeByte('}');
+
+			first = false;
+		}
+
+		bufferedSink.writeByte('}');
+	}
+}
\ No newline at end of file
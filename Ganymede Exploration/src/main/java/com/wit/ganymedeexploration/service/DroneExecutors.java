@@ -0,0 +1,187 @@
+package com.wit.ganymedeexploration.service;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.wit.ganymedeexploration.model.Drone;
+
+/**
+ * Creates the {@link Executor}s that {@link Drone}s run their batches of commands on.
+ */
+public final class DroneExecutors {
+	/**
+	 * The kinds of {@link Executor} that {@link Drone}s can run their batches of commands on.
+	 */
+	public static enum Kind {
+		/**
+		 * A bounded pool of platform threads shared by all {@link Drone}s.
+		 */
+		POOL,
+
+		/**
+		 * A new platform thread for every batch of commands.
+		 */
+		THREAD,
+
+		/**
+		 * A new virtual thread for every batch of commands, which requires Java 21 or later at
+		 * runtime. Falls back to {@link #POOL} on older runtimes.
+		 */
+		VIRTUAL
+	}
+
+	/**
+	 * Names and marks as daemons the threads of a {@link Kind#POOL}.
+	 */
+	private static final class DroneThreadFactory implements ThreadFactory {
+		/**
+		 * The number of threads created so far.
+		 */
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		@Override
+		public Thread newThread(final Runnable runnable) {
+			final int threadNumber = this.threadCount.incrementAndGet();
+			final Thread thread = new Thread(runnable, String.format("drone-%d", threadNumber));
+
+			thread.setDaemon(true);
+
+			return thread;
+		}
+	}
+
+	/**
+	 * Runs every task on a brand new platform thread.
+	 */
+	private static final class ThreadPerTaskExecutor implements Executor {
+		@Override
+		public void execute(final Runnable runnable) {
+			final Thread thread = new Thread(runnable);
+
+			thread.start();
+		}
+	}
+
+	/**
+	 * The number of threads within a {@link Kind#POOL} when none is configured.
+	 */
+	public static final int DEFAULT_THREAD_COUNT = 256;
+
+	/**
+	 * The system property naming the {@link Kind} of the default {@link Executor}.
+	 */
+	public static final String KIND_PROPERTY = "ganymede.droneExecutor";
+
+	/**
+	 * The system property giving the number of threads within a {@link Kind#POOL}.
+	 */
+	public static final String THREAD_COUNT_PROPERTY = "ganymede.droneThreads";
+
+	/**
+	 * The default {@link Executor}, once created.
+	 */
+	private static Executor defaultExecutor;
+
+	/**
+	 * Creates an {@link Executor} of the given {@link Kind}.
+	 *
+	 * @param kind
+	 *            The {@link Kind} of {@link Executor} to create.
+	 * @param threadCount
+	 *            The number of threads within a {@link Kind#POOL}.
+	 * @return The created {@link Executor}.
+	 */
+	public static Executor create(final Kind kind, final int threadCount) {
+		final Executor executor;
+
+		switch (kind) {
+		case THREAD:
+			executor = new ThreadPerTaskExecutor();
+			break;
+		case VIRTUAL:
+			executor = DroneExecutors.createVirtual(threadCount);
+			break;
+		case POOL:
+		default:
+			executor = DroneExecutors.createPool(threadCount);
+			break;
+		}
+
+		return executor;
+	}
+
+	/**
+	 * Creates a bounded pool of daemon platform threads that are let go of while idle.
+	 *
+	 * @param threadCount
+	 *            The maximum number of threads within the pool.
+	 * @return The created pool.
+	 */
+	private static ExecutorService createPool(final int threadCount) {
+		final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(threadCount,
+				threadCount, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+				new DroneThreadFactory());
+
+		threadPoolExecutor.allowCoreThreadTimeOut(true);
+
+		return threadPoolExecutor;
+	}
+
+	/**
+	 * Creates an {@link Executor} starting a virtual thread per task if the runtime supports them,
+	 * or a bounded pool otherwise. Virtual threads are looked up reflectively, as the application
+	 * itself is compiled for Java 1.7.
+	 *
+	 * @param threadCount
+	 *            The maximum number of threads within the pool used as a fallback.
+	 * @return The created {@link Executor}.
+	 */
+	private static Executor createVirtual(final int threadCount) {
+		Executor executor;
+
+		try {
+			final Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+			executor = (Executor) method.invoke(null);
+		} catch (final NoSuchMethodException | IllegalAccessException
+				| InvocationTargetException exception) {
+			System.err.println(
+					"Virtual threads are not supported by this runtime; using a thread pool instead.");
+
+			executor = DroneExecutors.createPool(threadCount);
+		}
+
+		return executor;
+	}
+
+	/**
+	 * Returns the {@link Executor} shared by all {@link Drone}s unless told otherwise, configured
+	 * through the {@link #KIND_PROPERTY} and {@link #THREAD_COUNT_PROPERTY} system properties.
+	 *
+	 * @return The {@link Executor} shared by all {@link Drone}s unless told otherwise.
+	 */
+	public static synchronized Executor getDefault() {
+		if (DroneExecutors.defaultExecutor == null) {
+			final String kindName = System.getProperty(DroneExecutors.KIND_PROPERTY,
+					Kind.POOL.name());
+			final Kind kind = Kind.valueOf(kindName.toUpperCase());
+			final int threadCount = Integer.getInteger(DroneExecutors.THREAD_COUNT_PROPERTY,
+					DroneExecutors.DEFAULT_THREAD_COUNT);
+
+			DroneExecutors.defaultExecutor = DroneExecutors.create(kind, threadCount);
+		}
+
+		return DroneExecutors.defaultExecutor;
+	}
+
+	private DroneExecutors() {
+	}
+}
\ No newline at end of file
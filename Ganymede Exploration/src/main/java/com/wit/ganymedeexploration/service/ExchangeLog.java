@@ -0,0 +1,289 @@
+package com.wit.ganymedeexploration.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.zip.CRC32;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Sink;
+import okio.Timeout;
+
+/**
+ * The log of exchanges with the labyrinth written by {@link ExchangeRecorder} and served back by
+ * {@link ExchangeReplayer}. The log is gzip-compressed and, following {@link #MAGIC} and
+ * {@link #VERSION}, holds an entry for every exchange, made of:
+ * <ol>
+ * <li>its kind, one of {@link #START_KIND}, {@link #COMMANDS_KIND} and {@link #REPORT_KIND};</li>
+ * <li>how long it took, in nanoseconds;</li>
+ * <li>the status code and message of the response;</li>
+ * <li>for commands, the body of the request, and for a report, the checksum and length of the
+ * body of the request, which is never kept, however long the message is;</li>
+ * <li>the body of the response.</li>
+ * </ol>
+ * Every body is written as its length followed by its bytes.
+ */
+final class ExchangeLog {
+	/**
+	 * A {@link RequestBody} computing the checksum and length of another one while it is written.
+	 */
+	static final class ChecksumRequestBody extends RequestBody {
+		/**
+		 * The {@link ChecksumSink} of the last time the body was written, if any.
+		 */
+		private ChecksumSink checksumSink;
+
+		/**
+		 * The {@link RequestBody} written.
+		 */
+		private final RequestBody requestBody;
+
+		/**
+		 * Creates a new {@link ChecksumRequestBody}.
+		 *
+		 * @param requestBody
+		 *            The {@link RequestBody} written.
+		 */
+		public ChecksumRequestBody(final RequestBody requestBody) {
+			this.requestBody = requestBody;
+		}
+
+		@Override
+		public long contentLength() throws IOException {
+			return this.requestBody.contentLength();
+		}
+
+		@Override
+		public MediaType contentType() {
+			return this.requestBody.contentType();
+		}
+
+		/**
+		 * Returns the {@link ChecksumSink} of the last time the body was written.
+		 *
+		 * @return The {@link ChecksumSink} of the last time the body was written, or
+		 *         <code>null</code> if it has not been written.
+		 */
+		public synchronized ChecksumSink getChecksumSink() {
+			return this.checksumSink;
+		}
+
+		@Override
+		public void writeTo(final BufferedSink bufferedSink) throws IOException {
+			final ChecksumSink checksumSink = new ChecksumSink(bufferedSink);
+			final BufferedSink checksumBufferedSink = Okio.buffer(checksumSink);
+
+			this.requestBody.writeTo(checksumBufferedSink);
+			checksumBufferedSink.emit();
+
+			synchronized (this) {
+				this.checksumSink = checksumSink;
+			}
+		}
+	}
+
+	/**
+	 * A {@link Sink} computing the checksum and length of everything written to it before passing
+	 * it on, if anywhere.
+	 */
+	static final class ChecksumSink implements Sink {
+		/**
+		 * The checksum of everything written so far.
+		 */
+		private final CRC32 checksum = new CRC32();
+
+		/**
+		 * The number of bytes written so far.
+		 */
+		private long length = 0;
+
+		/**
+		 * The {@link Sink} everything written is passed on to, if any.
+		 */
+		private final Sink sink;
+
+		/**
+		 * Creates a new {@link ChecksumSink}.
+		 *
+		 * @param sink
+		 *            The {@link Sink} everything written is passed on to, or <code>null</code> to
+		 *            drop it.
+		 */
+		public ChecksumSink(final Sink sink) {
+			this.sink = sink;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (this.sink != null) {
+				this.sink.close();
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (this.sink != null) {
+				this.sink.flush();
+			}
+		}
+
+		/**
+		 * Returns the checksum of everything written so far.
+		 *
+		 * @return The CRC-32 of everything written so far.
+		 */
+		public long getChecksum() {
+			return this.checksum.getValue();
+		}
+
+		/**
+		 * Returns the number of bytes written so far.
+		 *
+		 * @return The number of bytes written so far.
+		 */
+		public long getLength() {
+			return this.length;
+		}
+
+		@Override
+		public Timeout timeout() {
+			return (this.sink == null) ? Timeout.NONE : this.sink.timeout();
+		}
+
+		@Override
+		public void write(final Buffer source, final long byteCount) throws IOException {
+			final byte[] bytes = source.readByteArray(byteCount);
+
+			this.checksum.update(bytes, 0, bytes.length);
+			this.length += bytes.length;
+
+			if (this.sink != null) {
+				final Buffer buffer = new Buffer();
+
+				buffer.write(bytes);
+
+				this.sink.write(buffer, byteCount);
+			}
+		}
+	}
+
+	/**
+	 * The kind of an exchange sending a batch of commands to a
+	 * {@link com.wit.ganymedeexploration.model.Drone}.
+	 */
+	static final byte COMMANDS_KIND = 2;
+
+	/**
+	 * The path preceding the identifier of a {@link com.wit.ganymedeexploration.model.Drone} in
+	 * the path of an exchange sending it commands.
+	 */
+	private static final String COMMANDS_PATH_PREFIX = "/drone/";
+
+	/**
+	 * The path following the identifier of a {@link com.wit.ganymedeexploration.model.Drone} in
+	 * the path of an exchange sending it commands.
+	 */
+	private static final String COMMANDS_PATH_SUFFIX = "/commands";
+
+	/**
+	 * The number starting every log, which tells it apart from any other file.
+	 */
+	static final int MAGIC = 0x47454C47;
+
+	/**
+	 * The media type of every body.
+	 */
+	static final MediaType MEDIA_TYPE = MediaType.parse("application/json; charset=UTF-8");
+
+	/**
+	 * The kind of any other exchange, which is neither recorded nor replayed.
+	 */
+	static final byte OTHER_KIND = 0;
+
+	/**
+	 * The kind of an exchange reporting the message.
+	 */
+	static final byte REPORT_KIND = 3;
+
+	/**
+	 * The path of an exchange reporting the message.
+	 */
+	private static final String REPORT_PATH = "/report";
+
+	/**
+	 * The kind of an exchange starting the exploration.
+	 */
+	static final byte START_KIND = 1;
+
+	/**
+	 * The version of the format of the log.
+	 */
+	static final int VERSION = 1;
+
+	/**
+	 * Returns the kind of the exchange a request starts, from its path.
+	 *
+	 * @param request
+	 *            The request starting the exchange.
+	 * @return {@link #START_KIND}, {@link #COMMANDS_KIND}, {@link #REPORT_KIND} or
+	 *         {@link #OTHER_KIND}.
+	 */
+	static byte getKind(final Request request) {
+		final String path = request.url().encodedPath();
+		final byte kind;
+
+		if (path.endsWith(ExplorationManager.START_PATH)) {
+			kind = ExchangeLog.START_KIND;
+		} else if (path.endsWith(ExchangeLog.REPORT_PATH)) {
+			kind = ExchangeLog.REPORT_KIND;
+		} else if (path.contains(ExchangeLog.COMMANDS_PATH_PREFIX)
+				&& path.endsWith(ExchangeLog.COMMANDS_PATH_SUFFIX)) {
+			kind = ExchangeLog.COMMANDS_KIND;
+		} else {
+			kind = ExchangeLog.OTHER_KIND;
+		}
+
+		return kind;
+	}
+
+	/**
+	 * Reads a body written by {@link #writeBytes(DataOutputStream, byte[])}.
+	 *
+	 * @param dataInputStream
+	 *            The {@link DataInputStream} to read from.
+	 * @return The bytes of the body.
+	 * @throws IOException
+	 *             Could not read the body.
+	 */
+	static byte[] readBytes(final DataInputStream dataInputStream) throws IOException {
+		final byte[] bytes = new byte[dataInputStream.readInt()];
+
+		dataInputStream.readFully(bytes);
+
+		return bytes;
+	}
+
+	/**
+	 * Writes a body as its length followed by its bytes.
+	 *
+	 * @param dataOutputStream
+	 *            The {@link DataOutputStream} to write to.
+	 * @param bytes
+	 *            The bytes of the body.
+	 * @throws IOException
+	 *             Could not write the body.
+	 */
+	static void writeBytes(final DataOutputStream dataOutputStream, final byte[] bytes)
+			throws IOException {
+		dataOutputStream.writeInt(bytes.length);
+		dataOutputStream.write(bytes);
+	}
+
+	private ExchangeLog() {
+	}
+}
\ No newline at end of file
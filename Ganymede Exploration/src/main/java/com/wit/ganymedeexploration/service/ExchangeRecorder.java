@@ -0,0 +1,111 @@
+package com.wit.ganymedeexploration.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+/**
+ * Records every exchange starting the exploration, sending commands or reporting the message to
+ * an {@link ExchangeLog}, with how long it took, so that {@link ExchangeReplayer} can serve the
+ * same workload back later. The log is flushed after every exchange, so it needs no closing, and a
+ * run cut short still leaves every exchange it completed.
+ */
+final class ExchangeRecorder implements Interceptor {
+	/**
+	 * The stream the {@link ExchangeLog} is written to.
+	 */
+	private final DataOutputStream dataOutputStream;
+
+	/**
+	 * Creates a new {@link ExchangeRecorder}, overwriting the given file.
+	 *
+	 * @param file
+	 *            The file to write the {@link ExchangeLog} to.
+	 * @throws IOException
+	 *             Could not create the file.
+	 */
+	public ExchangeRecorder(final File file) throws IOException {
+		this.dataOutputStream = new DataOutputStream(new BufferedOutputStream(
+				new GZIPOutputStream(new FileOutputStream(file), true)));
+
+		this.dataOutputStream.writeInt(ExchangeLog.MAGIC);
+		this.dataOutputStream.writeInt(ExchangeLog.VERSION);
+		this.dataOutputStream.flush();
+	}
+
+	@Override
+	public Response intercept(final Chain chain) throws IOException {
+		final Request request = chain.request();
+		final byte kind = ExchangeLog.getKind(request);
+		final Response recordedResponse;
+
+		if (kind == ExchangeLog.OTHER_KIND) {
+			recordedResponse = chain.proceed(request);
+		} else {
+			final Request.Builder sentRequestBuilder = request.newBuilder();
+			final byte[] requestBytes;
+			final ExchangeLog.ChecksumRequestBody checksumRequestBody;
+
+			if (kind == ExchangeLog.COMMANDS_KIND) {
+				final Buffer buffer = new Buffer();
+
+				request.body().writeTo(buffer);
+
+				requestBytes = buffer.readByteArray();
+				checksumRequestBody = null;
+
+				sentRequestBuilder.post(RequestBody.create(request.body().contentType(),
+						requestBytes));
+			} else if (kind == ExchangeLog.REPORT_KIND) {
+				requestBytes = null;
+				checksumRequestBody = new ExchangeLog.ChecksumRequestBody(request.body());
+
+				sentRequestBuilder.post(checksumRequestBody);
+			} else {
+				requestBytes = null;
+				checksumRequestBody = null;
+			}
+
+			final long startNanoTime = System.nanoTime();
+			final Response response = chain.proceed(sentRequestBuilder.build());
+			final ResponseBody responseBody = response.body();
+			final byte[] responseBytes = responseBody.bytes();
+			final long durationNanoseconds = System.nanoTime() - startNanoTime;
+
+			synchronized (this) {
+				this.dataOutputStream.writeByte(kind);
+				this.dataOutputStream.writeLong(durationNanoseconds);
+				this.dataOutputStream.writeShort(response.code());
+				this.dataOutputStream.writeUTF(response.message());
+
+				if (requestBytes != null) {
+					ExchangeLog.writeBytes(this.dataOutputStream, requestBytes);
+				} else if (checksumRequestBody != null) {
+					final ExchangeLog.ChecksumSink checksumSink = checksumRequestBody
+							.getChecksumSink();
+
+					this.dataOutputStream.writeLong(checksumSink.getChecksum());
+					this.dataOutputStream.writeLong(checksumSink.getLength());
+				}
+
+				ExchangeLog.writeBytes(this.dataOutputStream, responseBytes);
+				this.dataOutputStream.flush();
+			}
+
+			recordedResponse = response.newBuilder()
+					.body(ResponseBody.create(responseBody.contentType(), responseBytes)).build();
+		}
+
+		return recordedResponse;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,433 @@
+package com.wit.ganymedeexploration.service;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+
+/**
+ * Serves back the exchanges recorded by {@link ExchangeRecorder} instead of reaching the
+ * labyrinth, either taking as long as each of them originally took or as fast as possible, so
+ * that the exact same workload can be run again after every change to the exploration.
+ * <p>
+ * The result of a command is looked up by its contents rather than by its identifier, and returned
+ * under the identifier it is given this time. Identifiers are now derived from the contents, but
+ * logs recorded while every command was given a random identifier still replay this way. The
+ * results recorded for the same contents are served in the order they were recorded, the last
+ * of them being served again to any further command. A command recorded in a batch that failed as
+ * a whole fails the batch it is sent in again.
+ */
+final class ExchangeReplayer implements Interceptor {
+	/**
+	 * What an exchange, or a single command within one, recorded.
+	 */
+	private static final class Outcome {
+		/**
+		 * The body of the response, unless the outcome is the result of a single command.
+		 */
+		private final byte[] bytes;
+
+		/**
+		 * How long the exchange took, in nanoseconds.
+		 */
+		private final long durationNanoseconds;
+
+		/**
+		 * The message of the response.
+		 */
+		private final String message;
+
+		/**
+		 * The result of a single command, if the outcome is one.
+		 */
+		private final JsonElement result;
+
+		/**
+		 * The status code of the response.
+		 */
+		private final int statusCode;
+
+		/**
+		 * Creates a new {@link Outcome}.
+		 *
+		 * @param durationNanoseconds
+		 *            How long the exchange took, in nanoseconds.
+		 * @param statusCode
+		 *            The status code of the response.
+		 * @param message
+		 *            The message of the response.
+		 * @param bytes
+		 *            The body of the response, unless the outcome is the result of a single
+		 *            command.
+		 * @param result
+		 *            The result of a single command, if the outcome is one.
+		 */
+		public Outcome(final long durationNanoseconds, final int statusCode, final String message,
+				final byte[] bytes, final JsonElement result) {
+			this.durationNanoseconds = durationNanoseconds;
+			this.statusCode = statusCode;
+			this.message = message;
+			this.bytes = bytes;
+			this.result = result;
+		}
+	}
+
+	/**
+	 * The status code of the response to an exchange that was never recorded.
+	 */
+	private static final int NOT_RECORDED_STATUS_CODE = 404;
+
+	/**
+	 * The status code of the response to a report whose message differs from the one recorded.
+	 */
+	private static final int REPORT_MISMATCH_STATUS_CODE = 422;
+
+	/**
+	 * The status code of the response to a batch of commands whose results were recorded.
+	 */
+	private static final int SUCCESS_STATUS_CODE = 200;
+
+	/**
+	 * Returns the key under which the report of a message is recorded.
+	 *
+	 * @param checksum
+	 *            The checksum of the body of the report.
+	 * @param length
+	 *            The length of the body of the report.
+	 * @return The key under which the report is recorded.
+	 */
+	private static String getReportKey(final long checksum, final long length) {
+		return String.format("%08x:%d", checksum, length);
+	}
+
+	/**
+	 * Takes the next of the recorded outcomes, keeping the last of them to serve again.
+	 *
+	 * @param outcomes
+	 *            The recorded outcomes, in order, or <code>null</code> if none was recorded.
+	 * @return The next outcome, or <code>null</code> if none was recorded.
+	 */
+	private static Outcome takeOutcome(final Deque<Outcome> outcomes) {
+		final Outcome outcome;
+
+		if (outcomes == null) {
+			outcome = null;
+		} else if (outcomes.size() > 1) {
+			outcome = outcomes.pollFirst();
+		} else {
+			outcome = outcomes.peekFirst();
+		}
+
+		return outcome;
+	}
+
+	/**
+	 * The outcomes of the commands recorded, by their contents, in order.
+	 */
+	private final Map<String, Deque<Outcome>> commandOutcomes = new HashMap<>();
+
+	/**
+	 * Whether exchanges are served as fast as possible rather than at their original timing.
+	 */
+	private final boolean fast;
+
+	/**
+	 * The outcomes of the reports recorded, by the checksum and length of their body.
+	 */
+	private final Map<String, Deque<Outcome>> reportOutcomes = new HashMap<>();
+
+	/**
+	 * The outcomes of the exchanges starting the exploration recorded, in order.
+	 */
+	private final Deque<Outcome> startOutcomes = new ArrayDeque<>();
+
+	/**
+	 * Creates a new {@link ExchangeReplayer}, reading the whole {@link ExchangeLog} in the given
+	 * file.
+	 *
+	 * @param file
+	 *            The file the {@link ExchangeLog} was written to.
+	 * @param fast
+	 *            Whether exchanges are served as fast as possible rather than at their original
+	 *            timing.
+	 * @throws IOException
+	 *             Could not read the file, or it does not hold an {@link ExchangeLog}.
+	 */
+	public ExchangeReplayer(final File file, final boolean fast) throws IOException {
+		this.fast = fast;
+
+		try (final DataInputStream dataInputStream = new DataInputStream(
+				new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+			if ((dataInputStream.readInt() != ExchangeLog.MAGIC)
+					|| (dataInputStream.readInt() != ExchangeLog.VERSION)) {
+				throw new IOException(
+						String.format("\"%s\" does not hold recorded exchanges.", file));
+			}
+
+			try {
+				while (true) {
+					this.readExchange(dataInputStream);
+				}
+			} catch (final EOFException eofException) {
+				// The log ends after the last exchange completed, even if the run recording it
+				// was cut short.
+			}
+		}
+	}
+
+	/**
+	 * Adds an outcome to those recorded under a key.
+	 *
+	 * @param outcomes
+	 *            The outcomes recorded, by key.
+	 * @param key
+	 *            The key to record the outcome under.
+	 * @param outcome
+	 *            The outcome to add.
+	 */
+	private void addOutcome(final Map<String, Deque<Outcome>> outcomes, final String key,
+			final Outcome outcome) {
+		Deque<Outcome> keyOutcomes = outcomes.get(key);
+
+		if (keyOutcomes == null) {
+			keyOutcomes = new ArrayDeque<>();
+
+			outcomes.put(key, keyOutcomes);
+		}
+
+		keyOutcomes.addLast(outcome);
+	}
+
+	/**
+	 * Creates the response to a request.
+	 *
+	 * @param request
+	 *            The request to respond to.
+	 * @param statusCode
+	 *            The status code of the response.
+	 * @param message
+	 *            The message of the response.
+	 * @param bytes
+	 *            The body of the response.
+	 * @return The response.
+	 */
+	private Response createResponse(final Request request, final int statusCode,
+			final String message, final byte[] bytes) {
+		return new Response.Builder().request(request).protocol(Protocol.HTTP_1_1)
+				.code(statusCode).message(message)
+				.body(ResponseBody.create(ExchangeLog.MEDIA_TYPE, bytes)).build();
+	}
+
+	@Override
+	public Response intercept(final Chain chain) throws IOException {
+		final Request request = chain.request();
+		final byte kind = ExchangeLog.getKind(request);
+		final Response response;
+
+		if (kind == ExchangeLog.COMMANDS_KIND) {
+			response = this.replayCommands(request);
+		} else if (kind == ExchangeLog.REPORT_KIND) {
+			final ExchangeLog.ChecksumSink checksumSink = new ExchangeLog.ChecksumSink(null);
+			final BufferedSink bufferedSink = Okio.buffer(checksumSink);
+
+			request.body().writeTo(bufferedSink);
+			bufferedSink.flush();
+
+			final Outcome outcome;
+
+			synchronized (this) {
+				outcome = ExchangeReplayer.takeOutcome(this.reportOutcomes.get(ExchangeReplayer
+						.getReportKey(checksumSink.getChecksum(), checksumSink.getLength())));
+			}
+
+			if (outcome == null) {
+				response = this.createResponse(request,
+						ExchangeReplayer.REPORT_MISMATCH_STATUS_CODE,
+						"The reported message differs from the one recorded.", new byte[0]);
+			} else {
+				this.pace(outcome.durationNanoseconds);
+
+				response = this.createResponse(request, outcome.statusCode, outcome.message,
+						outcome.bytes);
+			}
+		} else {
+			final Outcome outcome;
+
+			synchronized (this) {
+				outcome = (kind == ExchangeLog.START_KIND) ? ExchangeReplayer
+						.takeOutcome(this.startOutcomes) : null;
+			}
+
+			if (outcome == null) {
+				response = this.createResponse(request, ExchangeReplayer.NOT_RECORDED_STATUS_CODE,
+						"The exchange was not recorded.", new byte[0]);
+			} else {
+				this.pace(outcome.durationNanoseconds);
+
+				response = this.createResponse(request, outcome.statusCode, outcome.message,
+						outcome.bytes);
+			}
+		}
+
+		return response;
+	}
+
+	/**
+	 * Takes as long as a recorded exchange took, unless exchanges are served as fast as possible.
+	 *
+	 * @param durationNanoseconds
+	 *            How long the recorded exchange took, in nanoseconds.
+	 * @throws InterruptedIOException
+	 *             Interrupted while waiting.
+	 */
+	private void pace(final long durationNanoseconds) throws InterruptedIOException {
+		if (!this.fast && (durationNanoseconds > 0)) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(durationNanoseconds);
+			} catch (final InterruptedException interruptedException) {
+				Thread.currentThread().interrupt();
+
+				throw new InterruptedIOException("Interrupted while replaying an exchange.");
+			}
+		}
+	}
+
+	/**
+	 * Reads a single exchange from an {@link ExchangeLog} and records its outcomes.
+	 *
+	 * @param dataInputStream
+	 *            The stream the {@link ExchangeLog} is read from.
+	 * @throws IOException
+	 *             Could not read the exchange.
+	 */
+	private void readExchange(final DataInputStream dataInputStream) throws IOException {
+		final byte kind = dataInputStream.readByte();
+		final long durationNanoseconds = dataInputStream.readLong();
+		final int statusCode = dataInputStream.readShort();
+		final String message = dataInputStream.readUTF();
+
+		if (kind == ExchangeLog.COMMANDS_KIND) {
+			final byte[] requestBytes = ExchangeLog.readBytes(dataInputStream);
+			final byte[] responseBytes = ExchangeLog.readBytes(dataInputStream);
+			final JsonObject commandIdCommandContents = new JsonParser()
+					.parse(new String(requestBytes, StandardCharsets.UTF_8)).getAsJsonObject();
+			final boolean successful = (statusCode >= 200) && (statusCode < 300);
+			final JsonObject commandIdCommandResults = successful ? new JsonParser()
+					.parse(new String(responseBytes, StandardCharsets.UTF_8)).getAsJsonObject()
+					: null;
+
+			for (final Map.Entry<String, JsonElement> commandEntry : commandIdCommandContents
+					.entrySet()) {
+				final String key = commandEntry.getValue().toString();
+				final Outcome outcome;
+
+				if (successful) {
+					outcome = new Outcome(durationNanoseconds, statusCode, message, null,
+							commandIdCommandResults.get(commandEntry.getKey()));
+				} else {
+					outcome = new Outcome(durationNanoseconds, statusCode, message,
+							responseBytes, null);
+				}
+
+				this.addOutcome(this.commandOutcomes, key, outcome);
+			}
+		} else if (kind == ExchangeLog.REPORT_KIND) {
+			final long checksum = dataInputStream.readLong();
+			final long length = dataInputStream.readLong();
+			final byte[] responseBytes = ExchangeLog.readBytes(dataInputStream);
+
+			this.addOutcome(this.reportOutcomes, ExchangeReplayer.getReportKey(checksum, length),
+					new Outcome(durationNanoseconds, statusCode, message, responseBytes, null));
+		} else {
+			final byte[] responseBytes = ExchangeLog.readBytes(dataInputStream);
+
+			this.startOutcomes.addLast(
+					new Outcome(durationNanoseconds, statusCode, message, responseBytes, null));
+		}
+	}
+
+	/**
+	 * Serves back the results recorded for a batch of commands, under the identifiers they are
+	 * given this time. The batch takes as long as the slowest of the exchanges the results were
+	 * recorded in.
+	 *
+	 * @param request
+	 *            The request sending the batch of commands.
+	 * @return The response holding the results of the commands.
+	 * @throws IOException
+	 *             Could not read the batch of commands, or was interrupted while waiting.
+	 */
+	private Response replayCommands(final Request request) throws IOException {
+		final Buffer buffer = new Buffer();
+
+		request.body().writeTo(buffer);
+
+		final JsonObject commandIdCommandContents = new JsonParser().parse(buffer.readUtf8())
+				.getAsJsonObject();
+		final JsonObject commandIdCommandResults = new JsonObject();
+		long durationNanoseconds = 0;
+		Outcome failedOutcome = null;
+
+		synchronized (this) {
+			for (final Map.Entry<String, JsonElement> commandEntry : commandIdCommandContents
+					.entrySet()) {
+				final Outcome outcome = ExchangeReplayer.takeOutcome(this.commandOutcomes
+						.get(commandEntry.getValue().toString()));
+
+				if (outcome == null) {
+					continue;
+				}
+
+				durationNanoseconds = Math.max(durationNanoseconds, outcome.durationNanoseconds);
+
+				if (outcome.result != null) {
+					commandIdCommandResults.add(commandEntry.getKey(),
+							outcome.result);
+				} else if ((outcome.bytes != null) && (failedOutcome == null)) {
+					failedOutcome = outcome;
+				}
+			}
+		}
+
+		this.pace(durationNanoseconds);
+
+		final Response response;
+
+		if (failedOutcome != null) {
+			response = this.createResponse(request, failedOutcome.statusCode,
+					failedOutcome.message, failedOutcome.bytes);
+		} else if (commandIdCommandResults.entrySet().isEmpty()
+				&& !commandIdCommandContents.entrySet().isEmpty()) {
+			response = this.createResponse(request, ExchangeReplayer.NOT_RECORDED_STATUS_CODE,
+					"None of the commands was recorded.", new byte[0]);
+		} else {
+			response = this.createResponse(request, ExchangeReplayer.SUCCESS_STATUS_CODE, "OK",
+					commandIdCommandResults.toString().getBytes(StandardCharsets.UTF_8));
+		}
+
+		return response;
+	}
+}
\ No newline at end of file
@@ -1,7 +1,12 @@
 package com.wit.ganymedeexploration.service;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
 import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.wit.ganymedeexploration.exception.ServerException;
 import com.wit.ganymedeexploration.model.CommandResult;
@@ -11,7 +16,9 @@ import com.wit.ganymedeexploration.model.ReportResponse;
 import com.wit.ganymedeexploration.model.Room;
 import com.wit.ganymedeexploration.model.command.CommandContents;
 
+import okhttp3.RequestBody;
 import retrofit2.Call;
+import retrofit2.Callback;
 import retrofit2.Response;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
@@ -22,16 +29,221 @@ import retrofit2.http.Path;
  * Used to start the exploration.
  */
 public class ExplorationManager extends Manager {
+	/**
+	 * Cancels the attempt of a batch of commands currently in flight once the batch is cancelled.
+	 */
+	private static final class CallCanceller implements Runnable {
+		/**
+		 * The call of the attempt in flight.
+		 */
+		private final Call<?> call;
+
+		/**
+		 * Creates a new {@link CallCanceller}.
+		 *
+		 * @param call
+		 *            The call of the attempt in flight.
+		 */
+		public CallCanceller(final Call<?> call) {
+			this.call = call;
+		}
+
+		@Override
+		public void run() {
+			this.call.cancel();
+		}
+	}
+
+	/**
+	 * Adapts an {@link OnCompletedListener} to a Retrofit {@link Callback}, turning unsuccessful
+	 * responses into {@link ServerException}s.
+	 *
+	 * @param <T>
+	 *            The type of the response body.
+	 */
+	private static final class OnCompletedListenerCallback<T> implements Callback<T> {
+		/**
+		 * The {@link OnCompletedListener} to notify.
+		 */
+		private final OnCompletedListener<T> onCompletedListener;
+
+		/**
+		 * Creates a new {@link OnCompletedListenerCallback}.
+		 *
+		 * @param onCompletedListener
+		 *            The {@link OnCompletedListener} to notify.
+		 */
+		public OnCompletedListenerCallback(final OnCompletedListener<T> onCompletedListener) {
+			this.onCompletedListener = onCompletedListener;
+		}
+
+		@Override
+		public void onFailure(final Call<T> call, final Throwable throwable) {
+			final Exception exception;
+
+			if (throwable instanceof Exception) {
+				exception = (Exception) throwable;
+			} else {
+				exception = new IOException(throwable);
+			}
+
+			this.onCompletedListener.onFailed(exception);
+		}
+
+		@Override
+		public void onResponse(final Call<T> call, final Response<T> response) {
+			final boolean successful = response.isSuccessful();
+
+			if (successful) {
+				final T body = response.body();
+
+				this.onCompletedListener.onCompleted(body);
+			} else {
+				final String message = response.message();
+				final int statusCode = response.code();
+
+				this.onCompletedListener.onFailed(new ServerException(message, statusCode));
+			}
+		}
+	}
+
+	/**
+	 * Notifies an {@link OnCompletedListener} of the outcome of an asynchronous batch of commands,
+	 * trying the batch again after a backoff for as long as the {@link RetryPolicy} allows and the
+	 * batch has not been cancelled.
+	 */
+	private final class RetryingOnCompletedListener
+			implements OnCompletedListener<Map<String, CommandResult>>, Runnable {
+		/**
+		 * The number of times the batch has been attempted so far.
+		 */
+		private int attemptCount = 0;
+
+		/**
+		 * The call sending the batch, cloned for every attempt.
+		 */
+		private final Call<Map<String, CommandResult>> call;
+
+		/**
+		 * Cancels the attempt in flight, or the retry waiting for its backoff to elapse.
+		 */
+		private final CancellationSignal cancellationSignal;
+
+		/**
+		 * The {@link OnCompletedListener} to notify once the batch has succeeded or failed for
+		 * good.
+		 */
+		private final OnCompletedListener<Map<String, CommandResult>> onCompletedListener;
+
+		/**
+		 * Creates a new {@link RetryingOnCompletedListener}.
+		 *
+		 * @param call
+		 *            The call sending the batch, cloned for every attempt.
+		 * @param cancellationSignal
+		 *            Cancels the attempt in flight, or the retry waiting for its backoff to elapse.
+		 * @param onCompletedListener
+		 *            The {@link OnCompletedListener} to notify once the batch has succeeded or
+		 *            failed for good.
+		 */
+		public RetryingOnCompletedListener(final Call<Map<String, CommandResult>> call,
+				final CancellationSignal cancellationSignal,
+				final OnCompletedListener<Map<String, CommandResult>> onCompletedListener) {
+			this.call = call;
+			this.cancellationSignal = cancellationSignal;
+			this.onCompletedListener = onCompletedListener;
+		}
+
+		@Override
+		public void onCompleted(final Map<String, CommandResult> commandIdCommandResults) {
+			this.onCompletedListener.onCompleted(commandIdCommandResults);
+		}
+
+		@Override
+		public void onFailed(final Exception exception) {
+			final RetryPolicy retryPolicy = ExplorationManager.this.retryPolicy;
+
+			if (this.cancellationSignal.isCancelled()) {
+				this.onCompletedListener.onFailed(this.cancellationSignal.createException());
+			} else if (retryPolicy.shouldRetry(this.attemptCount, exception)) {
+				final long backoffMilliseconds = retryPolicy
+						.getBackoffMilliseconds(this.attemptCount);
+
+				ExplorationManager.this.retryCount.incrementAndGet();
+
+				final ScheduledFuture<?> scheduledRetry = ExplorationManager.this.schedule(this,
+						backoffMilliseconds);
+
+				// A retry cancelled while it waits reports the cancellation right away.
+				this.cancellationSignal.setOnCancelListener(new Runnable() {
+					@Override
+					public void run() {
+						if (scheduledRetry.cancel(false)) {
+							ExplorationManager.this.schedule(RetryingOnCompletedListener.this, 0);
+						}
+					}
+				});
+			} else {
+				this.onCompletedListener.onFailed(exception);
+			}
+		}
+
+		@Override
+		public void run() {
+			if (this.cancellationSignal.isCancelled()) {
+				this.onCompletedListener.onFailed(this.cancellationSignal.createException());
+			} else {
+				final OnCompletedListenerCallback<Map<String, CommandResult>> onCompletedListenerCallback = new OnCompletedListenerCallback<>(
+						this);
+				final Call<Map<String, CommandResult>> attemptCall = this.call.clone();
+
+				this.attemptCount++;
+
+				this.cancellationSignal.setOnCancelListener(new CallCanceller(attemptCall));
+
+				ExplorationManager.this.enqueue(attemptCall, onCompletedListenerCallback);
+			}
+		}
+	}
+
+	/**
+	 * Used to listen to the completion of an asynchronous network call.
+	 *
+	 * @param <T>
+	 *            The type of the result of the network call.
+	 */
+	public static interface OnCompletedListener<T> {
+		/**
+		 * Called once the network call has completed successfully.
+		 *
+		 * @param result
+		 *            The result of the network call.
+		 */
+		void onCompleted(final T result);
+
+		/**
+		 * Called if the network call failed.
+		 *
+		 * @param exception
+		 *            An {@link IOException} if a network error occurred, or a
+		 *            {@link ServerException} if the server returned an error.
+		 */
+		void onFailed(final Exception exception);
+	}
+
 	private interface ExplorationManagerRetrofitCore {
 		@POST("/drone/{id}/commands")
 		Call<Map<String, CommandResult>> execute(@Path("id") String droneId,
-				@Body Map<String, CommandContents> commandIdCommandContents);
+				@Body RequestBody commandBatchRequestBody);
 
-		@GET("/start")
+		@GET(ExplorationManager.START_PATH)
 		Call<Room> get();
 
 		@POST("/report")
 		Call<ReportResponse> report(@Body ReportDetails reportDetails);
+
+		@POST("/report")
+		Call<ReportResponse> report(@Body RequestBody reportRequestBody);
 	}
 
 	/**
@@ -44,6 +256,12 @@ public class ExplorationManager extends Manager {
 	 */
 	public static final int MAXIMUM_COMMAND_BATCH_SIZE = 5;
 
+	/**
+	 * The path that starts the exploration, which only describes the starting {@link Room} and
+	 * may be requested any number of times.
+	 */
+	static final String START_PATH = "/start";
+
 	/**
 	 * Returns the singleton instance of {@link ExplorationManager}.
 	 *
@@ -55,7 +273,22 @@ public class ExplorationManager extends Manager {
 
 	private final ExplorationManagerRetrofitCore explorationManagerRetrofitCore;
 
-	private ExplorationManager() {
+	/**
+	 * The number of times a failed batch of commands was tried again.
+	 */
+	private final AtomicLong retryCount = new AtomicLong();
+
+	/**
+	 * Decides whether failed batches of commands are tried again and how long to wait first.
+	 */
+	private volatile RetryPolicy retryPolicy = RetryPolicy.getDefault();
+
+	/**
+	 * Creates a new {@link ExplorationManager} whose network calls go to the base URL configured
+	 * for {@link Manager}. Subclasses may override the network calls entirely, for instance to
+	 * stand in for the server during benchmarks.
+	 */
+	protected ExplorationManager() {
 		super();
 
 		this.explorationManagerRetrofitCore = this
@@ -63,7 +296,79 @@ public class ExplorationManager extends Manager {
 	}
 
 	/**
-	 * Executes commands using a particular {@link Drone}.
+	 * Creates a new {@link ExplorationManager} whose network calls go to the given base URL, for
+	 * instance that of a stand-in server.
+	 *
+	 * @param baseUrl
+	 *            The base URL of all network calls.
+	 */
+	protected ExplorationManager(final String baseUrl) {
+		super(baseUrl);
+
+		this.explorationManagerRetrofitCore = this
+				.create(ExplorationManager.ExplorationManagerRetrofitCore.class);
+	}
+
+	/**
+	 * Creates a new {@link ExplorationManager} sharing the connections, dispatcher and timeouts
+	 * described by a {@link TransportConfiguration} with every other {@link Manager} using it.
+	 * Unlike the singleton returned by {@link #getInstance()}, it may explore a labyrinth of its
+	 * own alongside others.
+	 *
+	 * @param transportConfiguration
+	 *            Describes how to reach the labyrinth.
+	 */
+	public ExplorationManager(final TransportConfiguration transportConfiguration) {
+		super(transportConfiguration);
+
+		this.explorationManagerRetrofitCore = this
+				.create(ExplorationManager.ExplorationManagerRetrofitCore.class);
+	}
+
+	/**
+	 * Waits before a failed call is tried again, or gives up on it if the {@link RetryPolicy} says
+	 * so or its batch is cancelled.
+	 *
+	 * @param attemptCount
+	 *            The number of times the call has been attempted so far.
+	 * @param exception
+	 *            The failure of the latest attempt.
+	 * @param cancellationSignal
+	 *            Cuts the wait short once the batch is cancelled.
+	 * @throws E
+	 *             The failure of the latest attempt, if the call is not to be tried again or the
+	 *             wait was interrupted.
+	 * @throws InterruptedIOException
+	 *             The batch was cancelled.
+	 */
+	private <E extends Exception> void awaitRetry(final int attemptCount, final E exception,
+			final CancellationSignal cancellationSignal) throws E, InterruptedIOException {
+		if (cancellationSignal.isCancelled()) {
+			throw cancellationSignal.createException();
+		} else if (this.retryPolicy.shouldRetry(attemptCount, exception)) {
+			final long backoffMilliseconds = this.retryPolicy.getBackoffMilliseconds(attemptCount);
+
+			this.retryCount.incrementAndGet();
+
+			try {
+				if (cancellationSignal.await(backoffMilliseconds)) {
+					throw cancellationSignal.createException();
+				}
+			} catch (final InterruptedException interruptedException) {
+				Thread.currentThread().interrupt();
+
+				throw exception;
+			}
+		} else {
+			throw exception;
+		}
+	}
+
+	/**
+	 * Executes commands using a particular {@link Drone}, trying them again after a backoff if
+	 * they fail for a reason the {@link RetryPolicy} deems passing. Command IDs are sent unchanged
+	 * on every attempt, so a batch that the server did execute before the response was lost is
+	 * recognized as the same batch.
 	 *
 	 * @param droneId
 	 *            The ID of the {@link Drone} used to execute the commands.
@@ -78,6 +383,30 @@ public class ExplorationManager extends Manager {
 	public Map<String, CommandResult> execute(final String droneId,
 			final Map<String, CommandContents> commandIdCommandContents)
 					throws IOException, ServerException {
+		return this.execute(droneId, commandIdCommandContents, new CancellationSignal());
+	}
+
+	/**
+	 * Executes commands using a particular {@link Drone}, trying them again after a backoff if
+	 * they fail for a reason the {@link RetryPolicy} deems passing, until the
+	 * {@link CancellationSignal} says the batch is no longer wanted.
+	 *
+	 * @param droneId
+	 *            The ID of the {@link Drone} used to execute the commands.
+	 * @param commandIdCommandContents
+	 *            The unique command IDs and their associated contents to execute.
+	 * @param cancellationSignal
+	 *            Cancels the attempt in flight and any retry still to come.
+	 * @return The unique command IDs and their associated {@link CommandResult}s.
+	 * @throws IOException
+	 *             A network error occurred, or an {@link InterruptedIOException} if the batch was
+	 *             cancelled.
+	 * @throws ServerException
+	 *             The server returned an error.
+	 */
+	public Map<String, CommandResult> execute(final String droneId,
+			final Map<String, CommandContents> commandIdCommandContents,
+			final CancellationSignal cancellationSignal) throws IOException, ServerException {
 		final Map<String, CommandResult> commandIdCommandResults;
 
 		if (commandIdCommandContents.size() > ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE) {
@@ -86,22 +415,138 @@ public class ExplorationManager extends Manager {
 							ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE));
 		} else {
 			final Call<Map<String, CommandResult>> call = this.explorationManagerRetrofitCore
-					.execute(droneId, commandIdCommandContents);
-			final Response<Map<String, CommandResult>> response = call.execute();
-			final boolean successful = response.isSuccessful();
+					.execute(droneId, new CommandBatchRequestBody(commandIdCommandContents));
+			Map<String, CommandResult> attemptCommandIdCommandResults = null;
+			int attemptCount = 0;
 
-			if (successful) {
-				commandIdCommandResults = response.body();
-			} else {
-				final String message = response.message();
+			while (attemptCommandIdCommandResults == null) {
+				final Call<Map<String, CommandResult>> attemptCall = (attemptCount == 0) ? call
+						: call.clone();
 
-				throw new ServerException(message);
+				attemptCount++;
+
+				if (cancellationSignal.isCancelled()) {
+					throw cancellationSignal.createException();
+				}
+
+				cancellationSignal.setOnCancelListener(new CallCanceller(attemptCall));
+
+				try {
+					attemptCommandIdCommandResults = this.executeAttempt(attemptCall);
+				} catch (final IOException ioException) {
+					this.awaitRetry(attemptCount, ioException, cancellationSignal);
+				} catch (final ServerException serverException) {
+					this.awaitRetry(attemptCount, serverException, cancellationSignal);
+				}
 			}
+
+			commandIdCommandResults = attemptCommandIdCommandResults;
+		}
+
+		return commandIdCommandResults;
+	}
+
+	/**
+	 * Executes commands using a particular {@link Drone} without blocking the calling thread,
+	 * trying them again after a backoff if they fail for a reason the {@link RetryPolicy} deems
+	 * passing.
+	 *
+	 * @param droneId
+	 *            The ID of the {@link Drone} used to execute the commands.
+	 * @param commandIdCommandContents
+	 *            The unique command IDs and their associated contents to execute.
+	 * @param onCompletedListener
+	 *            Notified with the unique command IDs and their associated {@link CommandResult}s,
+	 *            or with the failure, once the network call has completed.
+	 */
+	public void executeAsync(final String droneId,
+			final Map<String, CommandContents> commandIdCommandContents,
+			final OnCompletedListener<Map<String, CommandResult>> onCompletedListener) {
+		this.executeAsync(droneId, commandIdCommandContents, new CancellationSignal(),
+				onCompletedListener);
+	}
+
+	/**
+	 * Executes commands using a particular {@link Drone} without blocking the calling thread,
+	 * trying them again after a backoff if they fail for a reason the {@link RetryPolicy} deems
+	 * passing, until the {@link CancellationSignal} says the batch is no longer wanted.
+	 *
+	 * @param droneId
+	 *            The ID of the {@link Drone} used to execute the commands.
+	 * @param commandIdCommandContents
+	 *            The unique command IDs and their associated contents to execute.
+	 * @param cancellationSignal
+	 *            Cancels the attempt in flight and any retry still to come.
+	 * @param onCompletedListener
+	 *            Notified with the unique command IDs and their associated {@link CommandResult}s,
+	 *            or with the failure, once the network call has completed. A cancelled batch
+	 *            fails with an {@link InterruptedIOException}.
+	 */
+	public void executeAsync(final String droneId,
+			final Map<String, CommandContents> commandIdCommandContents,
+			final CancellationSignal cancellationSignal,
+			final OnCompletedListener<Map<String, CommandResult>> onCompletedListener) {
+		if (commandIdCommandContents.size() > ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE) {
+			throw new IllegalArgumentException(
+					String.format("The maximum number of commands that can be batched is %s",
+							ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE));
+		} else {
+			final Call<Map<String, CommandResult>> call = this.explorationManagerRetrofitCore
+					.execute(droneId, new CommandBatchRequestBody(commandIdCommandContents));
+			final RetryingOnCompletedListener retryingOnCompletedListener = new RetryingOnCompletedListener(
+					call, cancellationSignal, onCompletedListener);
+
+			retryingOnCompletedListener.run();
+		}
+	}
+
+	/**
+	 * Makes a single attempt at executing a batch of commands.
+	 *
+	 * @param call
+	 *            The call sending the batch, which must not have been executed yet.
+	 * @return The unique command IDs and their associated {@link CommandResult}s.
+	 * @throws IOException
+	 *             A network error occurred.
+	 * @throws ServerException
+	 *             The server returned an error.
+	 */
+	private Map<String, CommandResult> executeAttempt(
+			final Call<Map<String, CommandResult>> call) throws IOException, ServerException {
+		final Response<Map<String, CommandResult>> response = this.execute(call);
+		final boolean successful = response.isSuccessful();
+		final Map<String, CommandResult> commandIdCommandResults;
+
+		if (successful) {
+			commandIdCommandResults = response.body();
+		} else {
+			final String message = response.message();
+			final int statusCode = response.code();
+
+			throw new ServerException(message, statusCode);
 		}
 
 		return commandIdCommandResults;
 	}
 
+	/**
+	 * Returns the number of times a failed batch of commands was tried again.
+	 *
+	 * @return The number of times a failed batch of commands was tried again.
+	 */
+	public long getRetryCount() {
+		return this.retryCount.get();
+	}
+
+	/**
+	 * Returns the {@link RetryPolicy} deciding whether failed batches of commands are tried again.
+	 *
+	 * @return The {@link RetryPolicy} deciding whether failed batches of commands are tried again.
+	 */
+	public RetryPolicy getRetryPolicy() {
+		return this.retryPolicy;
+	}
+
 	/**
 	 * Sends the {@link ReportDetails} uncovered as part of the exploration.
 	 *
@@ -114,7 +559,7 @@ public class ExplorationManager extends Manager {
 	public ReportResponse report(final ReportDetails reportDetails)
 			throws IOException, ServerException {
 		final Call<ReportResponse> call = this.explorationManagerRetrofitCore.report(reportDetails);
-		final Response<ReportResponse> response = call.execute();
+		final Response<ReportResponse> response = this.execute(call);
 		final boolean successful = response.isSuccessful();
 		final ReportResponse reportResponse;
 
@@ -122,13 +567,112 @@ public class ExplorationManager extends Manager {
 			reportResponse = response.body();
 		} else {
 			final String message = response.message();
+			final int statusCode = response.code();
 
-			throw new ServerException(message);
+			throw new ServerException(message, statusCode);
 		}
 
 		return reportResponse;
 	}
 
+	/**
+	 * Sends the message uncovered as part of the exploration, streaming it from a UTF-8 file
+	 * straight into the request so that it is never held in memory as a whole.
+	 *
+	 * @param messageFile
+	 *            The file holding the message.
+	 * @return The {@link ReportResponse} received.
+	 * @throws IOException
+	 *             A network error occurred, or the file could not be read.
+	 * @throws ServerException
+	 *             The server returned an error.
+	 */
+	public ReportResponse report(final File messageFile) throws IOException, ServerException {
+		final StreamingReportRequestBody streamingReportRequestBody = StreamingReportRequestBody
+				.fromFile(messageFile);
+
+		return this.report(streamingReportRequestBody);
+	}
+
+	/**
+	 * Sends the message uncovered as part of the exploration, streaming it from a {@link Reader}
+	 * straight into the request so that it is never held in memory as a whole. The {@link Reader}
+	 * is closed once read.
+	 *
+	 * @param messageReader
+	 *            The {@link Reader} over the message.
+	 * @return The {@link ReportResponse} received.
+	 * @throws IOException
+	 *             A network error occurred, or the {@link Reader} could not be read.
+	 * @throws ServerException
+	 *             The server returned an error.
+	 */
+	public ReportResponse report(final Reader messageReader) throws IOException, ServerException {
+		final StreamingReportRequestBody streamingReportRequestBody = StreamingReportRequestBody
+				.fromReader(messageReader);
+
+		return this.report(streamingReportRequestBody);
+	}
+
+	/**
+	 * Sends a report whose body is streamed while the request is written.
+	 *
+	 * @param streamingReportRequestBody
+	 *            The body of the report.
+	 * @return The {@link ReportResponse} received.
+	 * @throws IOException
+	 *             A network error occurred, or the message could not be read.
+	 * @throws ServerException
+	 *             The server returned an error.
+	 */
+	private ReportResponse report(final StreamingReportRequestBody streamingReportRequestBody)
+			throws IOException, ServerException {
+		final Call<ReportResponse> call = this.explorationManagerRetrofitCore
+				.report(streamingReportRequestBody);
+		final Response<ReportResponse> response = this.execute(call);
+		final boolean successful = response.isSuccessful();
+		final ReportResponse reportResponse;
+
+		if (successful) {
+			reportResponse = response.body();
+		} else {
+			final String message = response.message();
+			final int statusCode = response.code();
+
+			throw new ServerException(message, statusCode);
+		}
+
+		return reportResponse;
+	}
+
+	/**
+	 * Sends the {@link ReportDetails} uncovered as part of the exploration without blocking the
+	 * calling thread.
+	 *
+	 * @param reportDetails
+	 *            The {@link ReportDetails} to send.
+	 * @param onCompletedListener
+	 *            Notified with the {@link ReportResponse} received, or with the failure, once the
+	 *            network call has completed.
+	 */
+	public void reportAsync(final ReportDetails reportDetails,
+			final OnCompletedListener<ReportResponse> onCompletedListener) {
+		final Call<ReportResponse> call = this.explorationManagerRetrofitCore.report(reportDetails);
+
+		this.enqueue(call, new OnCompletedListenerCallback<ReportResponse>(onCompletedListener));
+	}
+
+	/**
+	 * Sets the {@link RetryPolicy} deciding whether failed batches of commands are tried again.
+	 *
+	 * @param retryPolicy
+	 *            The {@link RetryPolicy} deciding whether failed batches of commands are tried
+	 *            again.
+	 */
+	public void setRetryPolicy(final RetryPolicy retryPolicy) {
+		this.retryPolicy = retryPolicy;
+	}
+
 	/**
 	 * Starts the exploration process.
 	 *
@@ -140,7 +684,7 @@ public class ExplorationManager extends Manager {
 	 */
 	public Room start() throws IOException, ServerException {
 		final Call<Room> call = this.explorationManagerRetrofitCore.get();
-		final Response<Room> response = call.execute();
+		final Response<Room> response = this.execute(call);
 		final boolean successful = response.isSuccessful();
 		final Room room;
 
@@ -148,10 +692,24 @@ public class ExplorationManager extends Manager {
 			room = response.body();
 		} else {
 			final String message = response.message();
+			final int statusCode = response.code();
 
-			throw new ServerException(message);
+			throw new ServerException(message, statusCode);
 		}
 
 		return room;
 	}
+
+	/**
+	 * Starts the exploration process without blocking the calling thread.
+	 *
+	 * @param onCompletedListener
+	 *            Notified with the starting room of the exploration, or with the failure, once the
+	 *            network call has completed.
+	 */
+	public void startAsync(final OnCompletedListener<Room> onCompletedListener) {
+		final Call<Room> call = this.explorationManagerRetrofitCore.get();
+
+		this.enqueue(call, new OnCompletedListenerCallback<Room>(onCompletedListener));
+	}
 }
\ No newline at end of file
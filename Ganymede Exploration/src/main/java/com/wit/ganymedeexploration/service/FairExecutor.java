@@ -0,0 +1,222 @@
+package com.wit.ganymedeexploration.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+
+/**
+ * Shares an {@link Executor} between several explorations running at once, so that an exploration
+ * with more {@link com.wit.ganymedeexploration.model.Drone}s or faster responses cannot crowd out
+ * the others. Every exploration submits its tasks to a {@link Lane} of its own, and at most a
+ * given number of tasks run on the shared {@link Executor} at once, taken from the {@link Lane}s
+ * waiting in turn, one task each. An {@link AsynchronousTask} holds its turn from when it starts
+ * until it tells it has finished, rather than only while it runs on a thread.
+ */
+public final class FairExecutor {
+	/**
+	 * A task that goes on after it has started, such as a network call completing on another
+	 * thread, and holds its turn until it tells it has finished.
+	 */
+	public static interface AsynchronousTask {
+		/**
+		 * Starts the task, without waiting for it to finish.
+		 *
+		 * @param onFinished
+		 *            To run exactly once, on any thread, when the task has finished, unless
+		 *            starting it throws.
+		 */
+		void start(final Runnable onFinished);
+	}
+
+	/**
+	 * The tasks submitted by a single exploration, which run in the order they were submitted.
+	 */
+	public final class Lane implements Executor {
+		/**
+		 * Whether the {@link Lane} is waiting in {@link FairExecutor#waitingLanes}.
+		 */
+		private boolean waiting = false;
+
+		/**
+		 * The tasks submitted that have not started yet.
+		 */
+		private final Deque<LaneTask> pendingTasks = new ArrayDeque<>();
+
+		/**
+		 * Queues a task behind those submitted before it.
+		 *
+		 * @param laneTask
+		 *            The task to queue.
+		 */
+		private void add(final LaneTask laneTask) {
+			synchronized (FairExecutor.this) {
+				this.pendingTasks.add(laneTask);
+
+				if (!this.waiting) {
+					this.waiting = true;
+
+					FairExecutor.this.waitingLanes.add(this);
+				}
+			}
+
+			FairExecutor.this.dispatch();
+		}
+
+		@Override
+		public void execute(final Runnable runnable) {
+			this.add(new LaneTask(runnable, null));
+		}
+
+		/**
+		 * Submits an {@link AsynchronousTask}, which holds its turn until it has finished.
+		 *
+		 * @param asynchronousTask
+		 *            The {@link AsynchronousTask} to submit.
+		 */
+		public void executeAsynchronously(final AsynchronousTask asynchronousTask) {
+			this.add(new LaneTask(null, asynchronousTask));
+		}
+	}
+
+	/**
+	 * Runs a task taken from a {@link Lane}, then hands its place on to the next one waiting once
+	 * it has finished.
+	 */
+	private final class LaneTask implements Runnable {
+		/**
+		 * The {@link AsynchronousTask} taken from a {@link Lane}, if the task is one.
+		 */
+		private final AsynchronousTask asynchronousTask;
+
+		/**
+		 * The task taken from a {@link Lane}, unless it is an {@link AsynchronousTask}.
+		 */
+		private final Runnable runnable;
+
+		/**
+		 * Creates a new {@link LaneTask}.
+		 *
+		 * @param runnable
+		 *            The task taken from a {@link Lane}, or <code>null</code> if it is an
+		 *            {@link AsynchronousTask}.
+		 * @param asynchronousTask
+		 *            The {@link AsynchronousTask} taken from a {@link Lane}, or <code>null</code>
+		 *            if the task is not one.
+		 */
+		public LaneTask(final Runnable runnable, final AsynchronousTask asynchronousTask) {
+			this.runnable = runnable;
+			this.asynchronousTask = asynchronousTask;
+		}
+
+		@Override
+		public void run() {
+			boolean finishing = true;
+
+			try {
+				if (this.asynchronousTask == null) {
+					this.runnable.run();
+				} else {
+					this.asynchronousTask.start(new Runnable() {
+						@Override
+						public void run() {
+							FairExecutor.this.finish();
+						}
+					});
+
+					finishing = false;
+				}
+			} finally {
+				if (finishing) {
+					FairExecutor.this.finish();
+				}
+			}
+		}
+	}
+
+	/**
+	 * The {@link Executor} the tasks of every {@link Lane} run on.
+	 */
+	private final Executor executor;
+
+	/**
+	 * The maximum number of tasks running on {@link #executor} at once.
+	 */
+	private final int maximumRunningTaskCount;
+
+	/**
+	 * The number of tasks currently running on {@link #executor}.
+	 */
+	private int runningTaskCount = 0;
+
+	/**
+	 * The {@link Lane}s holding tasks that have not started yet, in the order they get to start
+	 * their next one.
+	 */
+	private final Deque<Lane> waitingLanes = new ArrayDeque<>();
+
+	/**
+	 * Creates a new {@link FairExecutor}.
+	 *
+	 * @param executor
+	 *            The {@link Executor} the tasks of every {@link Lane} run on.
+	 * @param maximumRunningTaskCount
+	 *            The maximum number of tasks running on the {@link Executor} at once, usually the
+	 *            number of threads it has.
+	 */
+	public FairExecutor(final Executor executor, final int maximumRunningTaskCount) {
+		this.executor = executor;
+		this.maximumRunningTaskCount = maximumRunningTaskCount;
+	}
+
+	/**
+	 * Starts tasks from the waiting {@link Lane}s in turn, for as long as fewer than
+	 * {@link #maximumRunningTaskCount} run.
+	 */
+	private void dispatch() {
+		while (true) {
+			final LaneTask laneTask;
+
+			synchronized (this) {
+				final Lane lane = this.waitingLanes.peekFirst();
+
+				if ((lane == null) || (this.runningTaskCount >= this.maximumRunningTaskCount)) {
+					return;
+				}
+
+				this.waitingLanes.pollFirst();
+
+				laneTask = lane.pendingTasks.pollFirst();
+
+				if (lane.pendingTasks.isEmpty()) {
+					lane.waiting = false;
+				} else {
+					this.waitingLanes.addLast(lane);
+				}
+
+				this.runningTaskCount++;
+			}
+
+			this.executor.execute(laneTask);
+		}
+	}
+
+	/**
+	 * Hands the turn of a task that has finished on to the next one waiting.
+	 */
+	private void finish() {
+		synchronized (this) {
+			this.runningTaskCount--;
+		}
+
+		this.dispatch();
+	}
+
+	/**
+	 * Creates a new {@link Lane}, to be used by a single exploration.
+	 *
+	 * @return The created {@link Lane}.
+	 */
+	public Lane newLane() {
+		return new Lane();
+	}
+}
\ No newline at end of file
@@ -1,12 +1,38 @@
 package com.wit.ganymedeexploration.service;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.google.gson.Gson;
+import com.wit.ganymedeexploration.collection.RoomIndex;
+import com.wit.ganymedeexploration.model.Drone;
+import com.wit.ganymedeexploration.model.Room;
+import com.wit.ganymedeexploration.model.adapter.CommandResultTypeAdapter;
+import com.wit.ganymedeexploration.model.adapter.ModelTypeAdapters;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.logging.HttpLoggingInterceptor;
 import okhttp3.logging.HttpLoggingInterceptor.Level;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
@@ -14,13 +40,152 @@ import retrofit2.converter.gson.GsonConverterFactory;
  * Manages network requests.
  */
 public abstract class Manager {
+	/**
+	 * Abandons a call once the call timeout of its {@link TransportConfiguration} elapses, by
+	 * cancelling it, and reports the cancellation as a timeout.
+	 *
+	 * @param <T>
+	 *            The type of the response body.
+	 */
+	private static final class CallTimeout<T> implements Callback<T>, Runnable {
+		/**
+		 * The call to abandon.
+		 */
+		private final Call<T> call;
+
+		/**
+		 * The {@link Callback} notified of the outcome of the call, if it is asynchronous.
+		 */
+		private final Callback<T> callback;
+
+		/**
+		 * Whether the call timeout elapsed before the call completed.
+		 */
+		private volatile boolean elapsed = false;
+
+		/**
+		 * The scheduled cancellation of the call, if any.
+		 */
+		private ScheduledFuture<?> scheduledFuture;
+
+		/**
+		 * The number of milliseconds after which the call is abandoned.
+		 */
+		private final long timeoutMilliseconds;
+
+		/**
+		 * Creates a new {@link CallTimeout}.
+		 *
+		 * @param call
+		 *            The call to abandon.
+		 * @param callback
+		 *            The {@link Callback} notified of the outcome of the call, if it is
+		 *            asynchronous.
+		 * @param timeoutMilliseconds
+		 *            The number of milliseconds after which the call is abandoned, or 0 never to
+		 *            abandon it.
+		 */
+		public CallTimeout(final Call<T> call, final Callback<T> callback,
+				final long timeoutMilliseconds) {
+			this.call = call;
+			this.callback = callback;
+			this.timeoutMilliseconds = timeoutMilliseconds;
+		}
+
+		/**
+		 * Stops the call from being abandoned, once it has completed.
+		 */
+		public synchronized void cancel() {
+			if (this.scheduledFuture != null) {
+				this.scheduledFuture.cancel(false);
+			}
+		}
+
+		@Override
+		public void onFailure(final Call<T> call, final Throwable throwable) {
+			this.cancel();
+
+			this.callback.onFailure(call, this.translate(throwable));
+		}
+
+		@Override
+		public void onResponse(final Call<T> call, final Response<T> response) {
+			this.cancel();
+
+			this.callback.onResponse(call, response);
+		}
+
+		@Override
+		public void run() {
+			this.elapsed = true;
+
+			this.call.cancel();
+		}
+
+		/**
+		 * Schedules the call to be abandoned once the call timeout elapses, unless there is none.
+		 */
+		public synchronized void schedule() {
+			if (this.timeoutMilliseconds > 0) {
+				this.scheduledFuture = Manager.getScheduledExecutorService()
+						.schedule(this, this.timeoutMilliseconds, TimeUnit.MILLISECONDS);
+			}
+		}
+
+		/**
+		 * Turns the failure of a call that was abandoned into an {@link InterruptedIOException}
+		 * saying so, leaving any other failure as is.
+		 *
+		 * @param throwable
+		 *            The failure of the call.
+		 * @return The failure to report.
+		 */
+		public Throwable translate(final Throwable throwable) {
+			final Throwable translatedThrowable;
+
+			if (this.elapsed) {
+				final InterruptedIOException interruptedIOException = new InterruptedIOException(
+						String.format("The call timed out after %d ms.",
+								this.timeoutMilliseconds));
+
+				interruptedIOException.initCause(throwable);
+
+				translatedThrowable = interruptedIOException;
+			} else {
+				translatedThrowable = throwable;
+			}
+
+			return translatedThrowable;
+		}
+	}
+
+	/**
+	 * Adds the headers of a {@link TransportConfiguration} to every request.
+	 */
 	private static final class HeaderInterceptor implements Interceptor {
+		/**
+		 * The headers to add, by name.
+		 */
+		private final Map<String, String> headers;
+
+		/**
+		 * Creates a new {@link HeaderInterceptor}.
+		 *
+		 * @param headers
+		 *            The headers to add, by name.
+		 */
+		public HeaderInterceptor(final Map<String, String> headers) {
+			this.headers = headers;
+		}
+
 		@Override
 		public okhttp3.Response intercept(final Chain chain) throws IOException {
 			final Request originalRequest = chain.request();
 			final Request.Builder newRequestBuilder = originalRequest.newBuilder();
 
-			newRequestBuilder.addHeader(Manager.EMAIL_HEADER_KEY, Manager.EMAIL_HEADER_VALUE);
+			for (final Map.Entry<String, String> headersEntry : this.headers.entrySet()) {
+				newRequestBuilder.addHeader(headersEntry.getKey(), headersEntry.getValue());
+			}
 
 			final Request newRequest = newRequestBuilder.build();
 			final okhttp3.Response response = chain.proceed(newRequest);
@@ -29,6 +194,21 @@ public abstract class Manager {
 		}
 	}
 
+	/**
+	 * Names and marks as a daemon the thread running delayed tasks, such as abandoning calls that
+	 * time out or retrying failed ones.
+	 */
+	private static final class SchedulerThreadFactory implements ThreadFactory {
+		@Override
+		public Thread newThread(final Runnable runnable) {
+			final Thread thread = new Thread(runnable, "ganymede-scheduler");
+
+			thread.setDaemon(true);
+
+			return thread;
+		}
+	}
+
 	private static final class StandardOutLogger implements HttpLoggingInterceptor.Logger {
 		@Override
 		public void log(final String message) {
@@ -37,19 +217,82 @@ public abstract class Manager {
 	}
 
 	/**
-	 * The base URL of all network calls.
+	 * Hands the response to a warm-up request over, unread, to the thread warming up, which
+	 * closes it once every request has completed, and counts the request as completed, without
+	 * ever blocking the dispatcher thread it runs on.
 	 */
-	private static final String BASE_URL = "http://challenge2.airtime.com:10001";
+	private static final class WarmUpCallback implements okhttp3.Callback {
+		/**
+		 * Closes every response received so far.
+		 *
+		 * @param responses
+		 *            The responses received so far.
+		 */
+		private static void close(final Queue<okhttp3.Response> responses) {
+			for (okhttp3.Response response; (response = responses.poll()) != null;) {
+				response.body().close();
+			}
+		}
+
+		/**
+		 * Counted down once a request has completed, whatever its outcome.
+		 */
+		private final CountDownLatch countDownLatch;
+
+		/**
+		 * Set once the thread warming up has stopped waiting, from when responses are closed as
+		 * soon as they are received.
+		 */
+		private final AtomicBoolean released;
+
+		/**
+		 * The responses received so far, left open until every request has completed.
+		 */
+		private final Queue<okhttp3.Response> responses;
+
+		/**
+		 * Creates a new {@link WarmUpCallback}.
+		 *
+		 * @param countDownLatch
+		 *            Counted down once a request has completed, whatever its outcome.
+		 * @param responses
+		 *            The responses received so far, left open until every request has completed.
+		 * @param released
+		 *            Set once the thread warming up has stopped waiting, from when responses are
+		 *            closed as soon as they are received.
+		 */
+		public WarmUpCallback(final CountDownLatch countDownLatch,
+				final Queue<okhttp3.Response> responses, final AtomicBoolean released) {
+			this.countDownLatch = countDownLatch;
+			this.responses = responses;
+			this.released = released;
+		}
+
+		@Override
+		public void onFailure(final okhttp3.Call call, final IOException ioException) {
+			this.countDownLatch.countDown();
+		}
+
+		@Override
+		public void onResponse(final okhttp3.Call call, final okhttp3.Response response) {
+			this.responses.add(response);
+			this.countDownLatch.countDown();
+
+			if (this.released.get()) {
+				WarmUpCallback.close(this.responses);
+			}
+		}
+	}
 
 	/**
-	 * The key to use in the header for identification.
+	 * The header through which a request names the encodings it accepts.
 	 */
-	public static final String EMAIL_HEADER_KEY = "x-commander-email";
+	private static final String ACCEPT_ENCODING_HEADER_KEY = "Accept-Encoding";
 
 	/**
-	 * The value to use in the header for identification.
+	 * The encoding accepted when responses are not to be compressed.
 	 */
-	public static final String EMAIL_HEADER_VALUE = "witkurowski@gmail.com";
+	private static final String IDENTITY_ENCODING = "identity";
 
 	/**
 	 * The level at which to log HTTP requests and responses.
@@ -57,21 +300,51 @@ public abstract class Manager {
 	private static final HttpLoggingInterceptor.Level LEVEL = Level.NONE;
 
 	/**
-	 * The properly configured instance of {@link Retrofit} to use to generate network call
-	 * implementations.
+	 * Runs delayed tasks, such as abandoning calls that time out or retrying failed ones, created
+	 * the first time one is scheduled.
 	 */
-	private final Retrofit retrofit;
+	private static ScheduledExecutorService scheduledExecutorService;
 
 	/**
-	 * Creates a new {@link Manager}.
+	 * Builds the {@link OkHttpClient} described by a {@link TransportConfiguration}.
+	 *
+	 * @param transportConfiguration
+	 *            Describes how to reach the labyrinth.
+	 * @param sharedOkHttpClient
+	 *            The {@link OkHttpClient} whose connection pool and dispatcher are to be shared, or
+	 *            <code>null</code> to build new ones as described by the
+	 *            {@link TransportConfiguration}.
+	 * @return The {@link OkHttpClient} described by the {@link TransportConfiguration}.
+	 * @throws IllegalArgumentException
+	 *             Could not open the file exchanges are recorded to or replayed from.
 	 */
-	public Manager() {
-		final Retrofit.Builder retrofitBuilder = new Retrofit.Builder();
+	static OkHttpClient createOkHttpClient(final TransportConfiguration transportConfiguration,
+			final OkHttpClient sharedOkHttpClient) {
+		final OkHttpClient.Builder okHttpClientBuilder = new OkHttpClient.Builder();
+		final Dispatcher dispatcher;
+		final ConnectionPool connectionPool;
 
-		retrofitBuilder.addConverterFactory(GsonConverterFactory.create());
-		retrofitBuilder.baseUrl(Manager.BASE_URL);
+		if (sharedOkHttpClient != null) {
+			dispatcher = sharedOkHttpClient.dispatcher();
+			connectionPool = sharedOkHttpClient.connectionPool();
+		} else {
+			dispatcher = new Dispatcher();
+			connectionPool = new ConnectionPool(transportConfiguration.getConnectionPoolSize(),
+					transportConfiguration.getKeepAliveSeconds(), TimeUnit.SECONDS);
+
+			dispatcher.setMaxRequests(transportConfiguration.getMaximumRequests());
+			dispatcher.setMaxRequestsPerHost(transportConfiguration.getMaximumRequestsPerHost());
+		}
+
+		okHttpClientBuilder.dispatcher(dispatcher);
+		okHttpClientBuilder.connectionPool(connectionPool);
+		okHttpClientBuilder.connectTimeout(transportConfiguration.getConnectTimeoutMilliseconds(),
+				TimeUnit.MILLISECONDS);
+		okHttpClientBuilder.readTimeout(transportConfiguration.getReadTimeoutMilliseconds(),
+				TimeUnit.MILLISECONDS);
+		okHttpClientBuilder.writeTimeout(transportConfiguration.getWriteTimeoutMilliseconds(),
+				TimeUnit.MILLISECONDS);
 
-		final OkHttpClient.Builder okHttpClientBuilder = new OkHttpClient.Builder();
 		final StandardOutLogger standardOutLogger = new StandardOutLogger();
 		final HttpLoggingInterceptor httpLoggingInterceptor = new HttpLoggingInterceptor(
 				standardOutLogger);
@@ -80,13 +353,131 @@ public abstract class Manager {
 
 		okHttpClientBuilder.addInterceptor(httpLoggingInterceptor);
 
-		final HeaderInterceptor headerInterceptor = new HeaderInterceptor();
+		final Map<String, String> headers = new LinkedHashMap<>(
+				transportConfiguration.getHeaders());
+
+		// OkHttp asks for gzip and transparently inflates responses unless a request already
+		// names the encodings it accepts.
+		if (!transportConfiguration.isGzip()) {
+			headers.put(Manager.ACCEPT_ENCODING_HEADER_KEY, Manager.IDENTITY_ENCODING);
+		}
+
+		final HeaderInterceptor headerInterceptor = new HeaderInterceptor(headers);
 
 		okHttpClientBuilder.addInterceptor(headerInterceptor);
 
-		final OkHttpClient okHttpClient = okHttpClientBuilder.build();
+		final File replayFile = transportConfiguration.getReplayFile();
+		final File recordFile = transportConfiguration.getRecordFile();
+
+		try {
+			if (replayFile != null) {
+				okHttpClientBuilder.addInterceptor(
+						new ExchangeReplayer(replayFile, transportConfiguration.isReplayFast()));
+			} else if (recordFile != null) {
+				okHttpClientBuilder.addInterceptor(new ExchangeRecorder(recordFile));
+			}
+		} catch (final IOException ioException) {
+			throw new IllegalArgumentException(String.format("Could not open \"%s\".",
+					(replayFile != null) ? replayFile : recordFile), ioException);
+		}
+
+		return okHttpClientBuilder.build();
+	}
 
-		retrofitBuilder.client(okHttpClient);
+	/**
+	 * Returns the {@link ScheduledExecutorService} running delayed tasks, creating it the first
+	 * time it is needed.
+	 *
+	 * @return The {@link ScheduledExecutorService} running delayed tasks.
+	 */
+	private static synchronized ScheduledExecutorService getScheduledExecutorService() {
+		if (Manager.scheduledExecutorService == null) {
+			Manager.scheduledExecutorService = Executors
+					.newSingleThreadScheduledExecutor(new SchedulerThreadFactory());
+		}
+
+		return Manager.scheduledExecutorService;
+	}
+
+	/**
+	 * The base URL of all network calls.
+	 */
+	private final String baseUrl;
+
+	/**
+	 * Reads and writes the results of commands, interning connected {@link Room}s once given a
+	 * {@link RoomIndex}.
+	 */
+	private final CommandResultTypeAdapter commandResultTypeAdapter = new CommandResultTypeAdapter();
+
+	/**
+	 * The {@link OkHttpClient} shared with every other {@link Manager} using the same
+	 * {@link TransportConfiguration}.
+	 */
+	private final OkHttpClient okHttpClient;
+
+	/**
+	 * The properly configured instance of {@link Retrofit} to use to generate network call
+	 * implementations.
+	 */
+	private final Retrofit retrofit;
+
+	/**
+	 * Describes how to reach the labyrinth.
+	 */
+	private final TransportConfiguration transportConfiguration;
+
+	/**
+	 * Creates a new {@link Manager} using the {@link TransportConfiguration} described by the
+	 * system properties.
+	 */
+	public Manager() {
+		this(TransportConfiguration.getDefault());
+	}
+
+	/**
+	 * Creates a new {@link Manager} using the {@link TransportConfiguration} described by the
+	 * system properties, but whose network calls go to the given base URL.
+	 *
+	 * @param baseUrl
+	 *            The base URL of all network calls.
+	 */
+	public Manager(final String baseUrl) {
+		this(TransportConfiguration.getDefault(), baseUrl);
+	}
+
+	/**
+	 * Creates a new {@link Manager}.
+	 *
+	 * @param transportConfiguration
+	 *            Describes how to reach the labyrinth.
+	 */
+	public Manager(final TransportConfiguration transportConfiguration) {
+		this(transportConfiguration, transportConfiguration.getBaseUrl());
+	}
+
+	/**
+	 * Creates a new {@link Manager}.
+	 *
+	 * @param transportConfiguration
+	 *            Describes how to reach the labyrinth.
+	 * @param baseUrl
+	 *            The base URL of all network calls, which may differ from that of the
+	 *            {@link TransportConfiguration}.
+	 */
+	private Manager(final TransportConfiguration transportConfiguration, final String baseUrl) {
+		final Retrofit.Builder retrofitBuilder = new Retrofit.Builder();
+
+		final Gson gson = ModelTypeAdapters.createGson(this.commandResultTypeAdapter);
+
+		retrofitBuilder.addConverterFactory(GsonConverterFactory.create(gson));
+		retrofitBuilder.baseUrl(baseUrl);
+
+		this.baseUrl = baseUrl;
+		this.transportConfiguration = transportConfiguration;
+		this.okHttpClient = transportConfiguration.getOkHttpClient();
+
+		retrofitBuilder.client(this.okHttpClient);
 
 		this.retrofit = retrofitBuilder.build();
 	}
@@ -103,4 +494,142 @@ public abstract class Manager {
 
 		return createdClassInstance;
 	}
+
+	/**
+	 * Runs a call without blocking the calling thread, abandoning it once the call timeout of the
+	 * {@link TransportConfiguration} elapses.
+	 *
+	 * @param call
+	 *            The call to run.
+	 * @param callback
+	 *            Notified of the outcome of the call, with an {@link InterruptedIOException} if
+	 *            it timed out.
+	 */
+	protected <T> void enqueue(final Call<T> call, final Callback<T> callback) {
+		final CallTimeout<T> callTimeout = new CallTimeout<>(call, callback,
+				this.transportConfiguration.getCallTimeoutMilliseconds());
+
+		callTimeout.schedule();
+
+		call.enqueue(callTimeout);
+	}
+
+	/**
+	 * Runs a call on the calling thread, abandoning it once the call timeout of the
+	 * {@link TransportConfiguration} elapses.
+	 *
+	 * @param call
+	 *            The call to run.
+	 * @return The response to the call.
+	 * @throws IOException
+	 *             A network error occurred, or an {@link InterruptedIOException} if the call timed
+	 *             out.
+	 */
+	protected <T> Response<T> execute(final Call<T> call) throws IOException {
+		final CallTimeout<T> callTimeout = new CallTimeout<>(call, null,
+				this.transportConfiguration.getCallTimeoutMilliseconds());
+
+		final Response<T> response;
+
+		callTimeout.schedule();
+
+		try {
+			response = call.execute();
+		} catch (final IOException ioException) {
+			throw (IOException) callTimeout.translate(ioException);
+		} finally {
+			callTimeout.cancel();
+		}
+
+		return response;
+	}
+
+	/**
+	 * Returns the {@link TransportConfiguration} describing how to reach the labyrinth.
+	 *
+	 * @return The {@link TransportConfiguration} describing how to reach the labyrinth.
+	 */
+	public TransportConfiguration getTransportConfiguration() {
+		return this.transportConfiguration;
+	}
+
+	/**
+	 * Runs a task on a shared daemon thread once a delay elapses.
+	 *
+	 * @param task
+	 *            The task to run, which should be quick.
+	 * @param delayMilliseconds
+	 *            The number of milliseconds to wait before running the task.
+	 * @return The scheduled task, which may still be cancelled until it has started.
+	 */
+	protected ScheduledFuture<?> schedule(final Runnable task, final long delayMilliseconds) {
+		return Manager.getScheduledExecutorService().schedule(task, delayMilliseconds,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Sets the {@link RoomIndex} that the IDs of connected {@link Room}s are interned into while
+	 * the results of commands are being parsed. Interned results only carry the indices of their
+	 * connected {@link Room}s.
+	 *
+	 * @param roomIndex
+	 *            The {@link RoomIndex} to intern the IDs of connected {@link Room}s into, or
+	 *            <code>null</code> to keep them as IDs.
+	 */
+	public void setRoomIndex(final RoomIndex roomIndex) {
+		this.commandResultTypeAdapter.setRoomIndex(roomIndex);
+	}
+
+	/**
+	 * Opens connections to the server ahead of time, so that the first batch of every
+	 * {@link Drone} does not pay for connecting. As many <code>GET</code> requests to the warm-up
+	 * path of the {@link TransportConfiguration} as there are connections to open are sent at
+	 * once. Their callbacks only hand the responses over, unread, so that no request can reuse
+	 * another's connection without ever blocking a dispatcher thread, and the responses are closed
+	 * once all have completed, releasing their connections to the pool. Fewer connections are
+	 * opened if the pool or the per-host limit of the {@link TransportConfiguration} cannot hold
+	 * them all.
+	 *
+	 * @param connectionCount
+	 *            The number of connections to open, typically the number of {@link Drone}s.
+	 * @return The number of idle connections in the pool once warmed up.
+	 */
+	public int warmUpConnections(final int connectionCount) {
+		final int requestCount = Math.min(connectionCount,
+				Math.min(this.transportConfiguration.getConnectionPoolSize(),
+						this.transportConfiguration.getMaximumRequestsPerHost()));
+		final CountDownLatch countDownLatch = new CountDownLatch(requestCount);
+		final Queue<okhttp3.Response> responses = new ConcurrentLinkedQueue<>();
+		final AtomicBoolean released = new AtomicBoolean(false);
+		final Request.Builder requestBuilder = new Request.Builder();
+
+		final HttpUrl baseHttpUrl = HttpUrl.parse(this.baseUrl);
+
+		requestBuilder.url(
+				baseHttpUrl.resolve(this.transportConfiguration.getWarmUpPath()));
+		requestBuilder.get();
+
+		final Request request = requestBuilder.build();
+
+		final long timeoutMilliseconds = this.transportConfiguration
+				.getConnectTimeoutMilliseconds()
+				+ this.transportConfiguration.getReadTimeoutMilliseconds();
+
+		for (int requestIndex = 0; requestIndex < requestCount; requestIndex++) {
+			this.okHttpClient.newCall(request)
+					.enqueue(new WarmUpCallback(countDownLatch, responses, released));
+		}
+
+		try {
+			countDownLatch.await(timeoutMilliseconds, TimeUnit.MILLISECONDS);
+		} catch (final InterruptedException interruptedException) {
+			Thread.currentThread().interrupt();
+		}
+
+		// Responses arriving after the timeout are closed by their callbacks instead.
+		released.set(true);
+		WarmUpCallback.close(responses);
+
+		return this.okHttpClient.connectionPool().idleConnectionCount();
+	}
 }
\ No newline at end of file
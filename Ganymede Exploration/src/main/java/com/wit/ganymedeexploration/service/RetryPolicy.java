@@ -0,0 +1,225 @@
+package com.wit.ganymedeexploration.service;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.wit.ganymedeexploration.exception.ServerException;
+
+/**
+ * Decides whether a failed network call is tried again and how long to wait before doing so. The
+ * wait grows exponentially with every retry, up to a cap, and is drawn uniformly between nothing
+ * and that bound ("full jitter"), so that many drones failing at once do not all retry in step.
+ * Network errors and server errors (status 5xx or 429) are retried, while any other error
+ * returned by the server would only fail again and is not.
+ */
+public class RetryPolicy {
+	/**
+	 * Holds the {@link RetryPolicy} described by the system properties, created the first time it
+	 * is needed.
+	 */
+	private static final class DefaultHolder {
+		/**
+		 * The {@link RetryPolicy} described by the system properties.
+		 */
+		private static final RetryPolicy DEFAULT = RetryPolicy.fromSystemProperties();
+	}
+
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_MAXIMUM_ATTEMPTS}.
+	 */
+	public static final String ATTEMPTS_PROPERTY = "ganymede.retryAttempts";
+
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_INITIAL_BACKOFF_MILLISECONDS}.
+	 */
+	public static final String BACKOFF_PROPERTY = "ganymede.retryBackoffMs";
+
+	/**
+	 * The bound of the wait before the first retry, in milliseconds, unless overridden.
+	 */
+	public static final long DEFAULT_INITIAL_BACKOFF_MILLISECONDS = 50;
+
+	/**
+	 * The number of times a call is attempted in all before giving up, unless overridden.
+	 */
+	public static final int DEFAULT_MAXIMUM_ATTEMPTS = 5;
+
+	/**
+	 * The cap on the bound of the wait before any retry, in milliseconds, unless overridden.
+	 */
+	public static final long DEFAULT_MAXIMUM_BACKOFF_MILLISECONDS = 2000;
+
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_MAXIMUM_BACKOFF_MILLISECONDS}.
+	 */
+	public static final String MAXIMUM_BACKOFF_PROPERTY = "ganymede.retryMaxBackoffMs";
+
+	/**
+	 * The HTTP status code the server answers with when asked to slow down.
+	 */
+	private static final int TOO_MANY_REQUESTS_STATUS_CODE = 429;
+
+	/**
+	 * Creates a new {@link RetryPolicy} from the system properties, leaving anything not given at
+	 * its default.
+	 *
+	 * @return The {@link RetryPolicy} described by the system properties.
+	 */
+	public static RetryPolicy fromSystemProperties() {
+		final RetryPolicy retryPolicy = new RetryPolicy();
+
+		retryPolicy.setInitialBackoffMilliseconds(Long.getLong(RetryPolicy.BACKOFF_PROPERTY,
+				RetryPolicy.DEFAULT_INITIAL_BACKOFF_MILLISECONDS));
+		retryPolicy.setMaximumAttempts(Integer.getInteger(RetryPolicy.ATTEMPTS_PROPERTY,
+				RetryPolicy.DEFAULT_MAXIMUM_ATTEMPTS));
+		retryPolicy.setMaximumBackoffMilliseconds(Long.getLong(
+				RetryPolicy.MAXIMUM_BACKOFF_PROPERTY,
+				RetryPolicy.DEFAULT_MAXIMUM_BACKOFF_MILLISECONDS));
+
+		return retryPolicy;
+	}
+
+	/**
+	 * Returns the {@link RetryPolicy} described by the system properties, created the first time
+	 * it is needed and shared from then on.
+	 *
+	 * @return The {@link RetryPolicy} described by the system properties.
+	 */
+	public static RetryPolicy getDefault() {
+		return DefaultHolder.DEFAULT;
+	}
+
+	/**
+	 * The bound of the wait before the first retry, in milliseconds.
+	 */
+	private volatile long initialBackoffMilliseconds = RetryPolicy.DEFAULT_INITIAL_BACKOFF_MILLISECONDS;
+
+	/**
+	 * The number of times a call is attempted in all before giving up.
+	 */
+	private volatile int maximumAttempts = RetryPolicy.DEFAULT_MAXIMUM_ATTEMPTS;
+
+	/**
+	 * The cap on the bound of the wait before any retry, in milliseconds.
+	 */
+	private volatile long maximumBackoffMilliseconds = RetryPolicy.DEFAULT_MAXIMUM_BACKOFF_MILLISECONDS;
+
+	/**
+	 * Returns how long to wait before trying a call again, drawn at random below a bound that
+	 * doubles with every attempt made so far.
+	 *
+	 * @param attemptCount
+	 *            The number of times the call has been attempted so far.
+	 * @return The number of milliseconds to wait before trying the call again.
+	 */
+	public long getBackoffMilliseconds(final int attemptCount) {
+		final int doublingCount = Math.min(Math.max(0, attemptCount - 1), Long.SIZE - 2);
+		final long uncappedBoundMilliseconds = this.initialBackoffMilliseconds << doublingCount;
+		final long boundMilliseconds;
+
+		// Shifting far enough overflows, which only ever happens well past the cap.
+		if ((uncappedBoundMilliseconds <= 0)
+				|| (uncappedBoundMilliseconds > this.maximumBackoffMilliseconds)) {
+			boundMilliseconds = this.maximumBackoffMilliseconds;
+		} else {
+			boundMilliseconds = uncappedBoundMilliseconds;
+		}
+
+		return (boundMilliseconds <= 0) ? 0
+				: ThreadLocalRandom.current().nextLong(boundMilliseconds + 1);
+	}
+
+	/**
+	 * Returns the bound of the wait before the first retry, in milliseconds.
+	 *
+	 * @return The bound of the wait before the first retry, in milliseconds.
+	 */
+	public long getInitialBackoffMilliseconds() {
+		return this.initialBackoffMilliseconds;
+	}
+
+	/**
+	 * Returns the number of times a call is attempted in all before giving up.
+	 *
+	 * @return The number of times a call is attempted in all before giving up.
+	 */
+	public int getMaximumAttempts() {
+		return this.maximumAttempts;
+	}
+
+	/**
+	 * Returns the cap on the bound of the wait before any retry, in milliseconds.
+	 *
+	 * @return The cap on the bound of the wait before any retry, in milliseconds.
+	 */
+	public long getMaximumBackoffMilliseconds() {
+		return this.maximumBackoffMilliseconds;
+	}
+
+	/**
+	 * Returns whether a failure could go away if the call were tried again.
+	 *
+	 * @param exception
+	 *            The failure of the call.
+	 * @return Whether the failure could go away if the call were tried again.
+	 */
+	public boolean isRetryable(final Exception exception) {
+		final boolean retryable;
+
+		if (exception instanceof IOException) {
+			retryable = true;
+		} else if (exception instanceof ServerException) {
+			final int statusCode = ((ServerException) exception).getStatusCode();
+
+			retryable = (statusCode == 0) || (statusCode >= 500)
+					|| (statusCode == RetryPolicy.TOO_MANY_REQUESTS_STATUS_CODE);
+		} else {
+			retryable = false;
+		}
+
+		return retryable;
+	}
+
+	/**
+	 * Sets the bound of the wait before the first retry, in milliseconds.
+	 *
+	 * @param initialBackoffMilliseconds
+	 *            The bound of the wait before the first retry, in milliseconds.
+	 */
+	public void setInitialBackoffMilliseconds(final long initialBackoffMilliseconds) {
+		this.initialBackoffMilliseconds = initialBackoffMilliseconds;
+	}
+
+	/**
+	 * Sets the number of times a call is attempted in all before giving up, where 1 never retries.
+	 *
+	 * @param maximumAttempts
+	 *            The number of times a call is attempted in all before giving up.
+	 */
+	public void setMaximumAttempts(final int maximumAttempts) {
+		this.maximumAttempts = maximumAttempts;
+	}
+
+	/**
+	 * Sets the cap on the bound of the wait before any retry, in milliseconds.
+	 *
+	 * @param maximumBackoffMilliseconds
+	 *            The cap on the bound of the wait before any retry, in milliseconds.
+	 */
+	public void setMaximumBackoffMilliseconds(final long maximumBackoffMilliseconds) {
+		this.maximumBackoffMilliseconds = maximumBackoffMilliseconds;
+	}
+
+	/**
+	 * Returns whether a failed call should be tried again.
+	 *
+	 * @param attemptCount
+	 *            The number of times the call has been attempted so far.
+	 * @param exception
+	 *            The failure of the latest attempt.
+	 * @return Whether the call should be tried again.
+	 */
+	public boolean shouldRetry(final int attemptCount, final Exception exception) {
+		return (attemptCount < this.maximumAttempts) && this.isRetryable(exception);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,240 @@
+package com.wit.ganymedeexploration.service;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import com.wit.ganymedeexploration.model.ReportDetails;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+/**
+ * A {@link RequestBody} holding the same JSON as a serialized {@link ReportDetails}, but whose
+ * message is read from a {@link Reader} and escaped a chunk at a time while the request is being
+ * written. Its length is not known up front, so it is sent with chunked transfer encoding, and no
+ * more than a chunk of the message is ever held in memory, however long the message is.
+ */
+public final class StreamingReportRequestBody extends RequestBody {
+	/**
+	 * The number of characters of the message read and escaped at a time.
+	 */
+	private static final int CHUNK_SIZE = 8192;
+
+	/**
+	 * The characters that introduce the escape of every control character.
+	 */
+	private static final String CONTROL_CHARACTER_ESCAPE_PREFIX = "\\u00";
+
+	/**
+	 * The hexadecimal digits used to escape control characters.
+	 */
+	private static final char[] HEXADECIMAL_DIGITS = "0123456789abcdef".toCharArray();
+
+	/**
+	 * The media type of the body.
+	 */
+	private static final MediaType MEDIA_TYPE = MediaType.parse("application/json; charset=UTF-8");
+
+	/**
+	 * The JSON preceding the message.
+	 */
+	private static final String PREFIX = "{\"message\":\"";
+
+	/**
+	 * The JSON following the message.
+	 */
+	private static final String SUFFIX = "\"}";
+
+	/**
+	 * Appends the JSON escape of a character to a {@link StringBuilder}.
+	 *
+	 * @param stringBuilder
+	 *            The {@link StringBuilder} to append to.
+	 * @param character
+	 *            The character to escape.
+	 */
+	static void escape(final StringBuilder stringBuilder, final char character) {
+		switch (character) {
+		case '"':
+			stringBuilder.append("\\\"");
+			break;
+		case '\\':
+			stringBuilder.append("\\\\");
+			break;
+		case '\b':
+			stringBuilder.append("\\b");
+			break;
+		case '\f':
+			stringBuilder.append("\\f");
+			break;
+		case '\n':
+			stringBuilder.append("\\n");
+			break;
+		case '\r':
+			stringBuilder.append("\\r");
+			break;
+		case '\t':
+			stringBuilder.append("\\t");
+			break;
+		case '\u2028':
+			stringBuilder.append("\\u2028");
+			break;
+		case '\u2029':
+			stringBuilder.append("\\u2029");
+			break;
+		default:
+			if (character < 0x20) {
+				final char[] hexadecimalDigits = StreamingReportRequestBody.HEXADECIMAL_DIGITS;
+
+				stringBuilder.append(StreamingReportRequestBody.CONTROL_CHARACTER_ESCAPE_PREFIX);
+				stringBuilder.append(hexadecimalDigits[character >> 4]);
+				stringBuilder.append(hexadecimalDigits[character & 0xf]);
+			} else {
+				stringBuilder.append(character);
+			}
+			break;
+		}
+	}
+
+	/**
+	 * Creates a {@link StreamingReportRequestBody} reading the message from a UTF-8 file, which is
+	 * reopened every time the body is written, so the request may be retried.
+	 *
+	 * @param messageFile
+	 *            The file holding the message.
+	 * @return The created {@link StreamingReportRequestBody}.
+	 */
+	public static StreamingReportRequestBody fromFile(final File messageFile) {
+		return new StreamingReportRequestBody(messageFile, null);
+	}
+
+	/**
+	 * Creates a {@link StreamingReportRequestBody} reading the message from a {@link Reader}, which
+	 * can only be read once, so the body can only be written once.
+	 *
+	 * @param messageReader
+	 *            The {@link Reader} over the message.
+	 * @return The created {@link StreamingReportRequestBody}.
+	 */
+	public static StreamingReportRequestBody fromReader(final Reader messageReader) {
+		return new StreamingReportRequestBody(null, messageReader);
+	}
+
+	/**
+	 * The file holding the message, if it is read from a file.
+	 */
+	private final File messageFile;
+
+	/**
+	 * The {@link Reader} over the message, if it is read from a {@link Reader} that has not been
+	 * read yet.
+	 */
+	private Reader messageReader;
+
+	/**
+	 * Creates a new {@link StreamingReportRequestBody}.
+	 *
+	 * @param messageFile
+	 *            The file holding the message, if it is read from a file.
+	 * @param messageReader
+	 *            The {@link Reader} over the message, if it is read from a {@link Reader}.
+	 */
+	private StreamingReportRequestBody(final File messageFile, final Reader messageReader) {
+		this.messageFile = messageFile;
+		this.messageReader = messageReader;
+	}
+
+	@Override
+	public long contentLength() {
+		return -1;
+	}
+
+	@Override
+	public MediaType contentType() {
+		return StreamingReportRequestBody.MEDIA_TYPE;
+	}
+
+	/**
+	 * Returns a {@link Reader} over the message, opening the file it is held in if need be.
+	 *
+	 * @return A {@link Reader} over the message.
+	 * @throws IOException
+	 *             The message could not be opened, or was already read from a {@link Reader}.
+	 */
+	private synchronized Reader openMessageReader() throws IOException {
+		final Reader reader;
+
+		if (this.messageFile != null) {
+			final FileInputStream fileInputStream = new FileInputStream(this.messageFile);
+
+			reader = new InputStreamReader(fileInputStream, StandardCharsets.UTF_8);
+		} else if (this.messageReader != null) {
+			reader = this.messageReader;
+
+			this.messageReader = null;
+		} else {
+			throw new IOException("The message was already read and cannot be sent again.");
+		}
+
+		return reader;
+	}
+
+	@Override
+	public void writeTo(final BufferedSink bufferedSink) throws IOException {
+		final Reader reader = this.openMessageReader();
+
+		try {
+			final char[] chunk = new char[StreamingReportRequestBody.CHUNK_SIZE + 1];
+			final StringBuilder escapedChunkStringBuilder = new StringBuilder(
+					StreamingReportRequestBody.CHUNK_SIZE * 2);
+			int chunkLength = 0;
+			int readCount = reader.read(chunk, 0, StreamingReportRequestBody.CHUNK_SIZE);
+
+			bufferedSink.writeUtf8(StreamingReportRequestBody.PREFIX);
+
+			while (readCount != -1) {
+				chunkLength += readCount;
+
+				// A high surrogate is held back until its low surrogate is read, so that the pair
+				// is encoded together.
+				final boolean splitSurrogatePair = Character
+						.isHighSurrogate(chunk[chunkLength - 1]);
+				final int escapedLength = splitSurrogatePair ? (chunkLength - 1) : chunkLength;
+
+				escapedChunkStringBuilder.setLength(0);
+
+				for (int index = 0; index < escapedLength; index++) {
+					StreamingReportRequestBody.escape(escapedChunkStringBuilder, chunk[index]);
+				}
+
+				bufferedSink.writeUtf8(escapedChunkStringBuilder.toString());
+
+				if (splitSurrogatePair) {
+					chunk[0] = chunk[chunkLength - 1];
+					chunkLength = 1;
+				} else {
+					chunkLength = 0;
+				}
+
+				readCount = reader.read(chunk, chunkLength, StreamingReportRequestBody.CHUNK_SIZE);
+			}
+
+			if (chunkLength > 0) {
+				escapedChunkStringBuilder.setLength(0);
+
+				StreamingReportRequestBody.escape(escapedChunkStringBuilder, chunk[0]);
+
+				bufferedSink.writeUtf8(escapedChunkStringBuilder.toString());
+			}
+
+			bufferedSink.writeUtf8(StreamingReportRequestBody.SUFFIX);
+		} finally {
+			reader.close();
+		}
+	}
+}
\ No newline at end of file
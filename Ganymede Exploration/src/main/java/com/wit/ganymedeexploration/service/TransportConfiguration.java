@@ -0,0 +1,784 @@
+package com.wit.ganymedeexploration.service;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.wit.ganymedeexploration.model.Drone;
+
+import okhttp3.OkHttpClient;
+
+/**
+ * Describes how {@link Manager}s reach the labyrinth: where the server is, which headers identify
+ * the client, and how the underlying {@link OkHttpClient} pools connections, limits concurrent
+ * calls and times them out. Every {@link Manager} created from the same
+ * {@link TransportConfiguration} shares a single {@link OkHttpClient}, and with it a single
+ * connection pool and dispatcher, which is built the first time a {@link Manager} uses it. From
+ * then on the {@link TransportConfiguration} can no longer be changed.
+ * <p>
+ * A {@link TransportConfiguration} {@link #derive()}d from another may point at a different
+ * server, identify itself differently or time calls out differently, while still sharing the
+ * connection pool and dispatcher of the one it was derived from, so that several explorations
+ * running at once stay within the same limits.
+ */
+public class TransportConfiguration {
+	/**
+	 * Holds the {@link TransportConfiguration} described by the system properties, created the
+	 * first time it is needed.
+	 */
+	private static final class DefaultHolder {
+		/**
+		 * The {@link TransportConfiguration} described by the system properties.
+		 */
+		private static final TransportConfiguration DEFAULT = TransportConfiguration
+				.fromSystemProperties();
+	}
+
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_BASE_URL}.
+	 */
+	public static final String BASE_URL_PROPERTY = "ganymede.baseUrl";
+
+	/**
+	 * The system property that, if set, gives the number of milliseconds after which a whole call
+	 * is abandoned.
+	 */
+	public static final String CALL_TIMEOUT_PROPERTY = "ganymede.callTimeoutMs";
+
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_CONNECT_TIMEOUT_MILLISECONDS}.
+	 */
+	public static final String CONNECT_TIMEOUT_PROPERTY = "ganymede.connectTimeoutMs";
+
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_CONNECTION_POOL_SIZE}.
+	 */
+	public static final String CONNECTION_POOL_SIZE_PROPERTY = "ganymede.connectionPoolSize";
+
+	/**
+	 * The base URL of all network calls, unless overridden.
+	 */
+	public static final String DEFAULT_BASE_URL = "http://challenge2.airtime.com:10001";
+
+	/**
+	 * The number of milliseconds allowed to establish a connection, unless overridden.
+	 */
+	public static final long DEFAULT_CONNECT_TIMEOUT_MILLISECONDS = 10000;
+
+	/**
+	 * The maximum number of idle connections kept open, unless overridden. OkHttp would otherwise
+	 * only keep 5, so most {@link Drone}s would reconnect for every batch.
+	 */
+	public static final int DEFAULT_CONNECTION_POOL_SIZE = 256;
+
+	/**
+	 * The number of seconds an idle connection is kept open, unless overridden.
+	 */
+	public static final long DEFAULT_KEEP_ALIVE_SECONDS = 300;
+
+	/**
+	 * The maximum number of network calls running at once, across all hosts, unless overridden.
+	 */
+	public static final int DEFAULT_MAXIMUM_REQUESTS = 256;
+
+	/**
+	 * The maximum number of network calls running at once to any single host, unless overridden.
+	 */
+	public static final int DEFAULT_MAXIMUM_REQUESTS_PER_HOST = 256;
+
+	/**
+	 * The number of milliseconds allowed between two reads of a response, unless overridden.
+	 */
+	public static final long DEFAULT_READ_TIMEOUT_MILLISECONDS = 10000;
+
+	/**
+	 * The path that connections are warmed up against, unless overridden: the root of the server,
+	 * which serves nothing, so requesting it changes nothing.
+	 */
+	public static final String DEFAULT_WARM_UP_PATH = "/";
+
+	/**
+	 * The number of milliseconds allowed between two writes of a request, unless overridden.
+	 */
+	public static final long DEFAULT_WRITE_TIMEOUT_MILLISECONDS = 10000;
+
+	/**
+	 * The system property that, if set, overrides {@link #EMAIL_HEADER_VALUE}.
+	 */
+	public static final String EMAIL_HEADER_PROPERTY = "ganymede.email";
+
+	/**
+	 * The key to use in the header for identification.
+	 */
+	public static final String EMAIL_HEADER_KEY = "x-commander-email";
+
+	/**
+	 * The value to use in the header for identification, unless overridden.
+	 */
+	public static final String EMAIL_HEADER_VALUE = "witkurowski@gmail.com";
+
+	/**
+	 * The system property that, if set to <code>false</code>, stops responses from being requested
+	 * gzip-compressed.
+	 */
+	public static final String GZIP_PROPERTY = "ganymede.gzip";
+
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_KEEP_ALIVE_SECONDS}.
+	 */
+	public static final String KEEP_ALIVE_PROPERTY = "ganymede.keepAliveSeconds";
+
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_MAXIMUM_REQUESTS}.
+	 */
+	public static final String MAXIMUM_REQUESTS_PROPERTY = "ganymede.maxRequests";
+
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_MAXIMUM_REQUESTS_PER_HOST}.
+	 */
+	public static final String MAXIMUM_REQUESTS_PER_HOST_PROPERTY = "ganymede.maxRequestsPerHost";
+
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_READ_TIMEOUT_MILLISECONDS}.
+	 */
+	public static final String READ_TIMEOUT_PROPERTY = "ganymede.readTimeoutMs";
+
+	/**
+	 * The system property that, if set, names the file every exchange with the labyrinth is
+	 * recorded to.
+	 */
+	public static final String RECORD_FILE_PROPERTY = "ganymede.recordFile";
+
+	/**
+	 * The system property that, if set to <code>true</code>, replays recorded exchanges as fast as
+	 * possible rather than at their original timing.
+	 */
+	public static final String REPLAY_FAST_PROPERTY = "ganymede.replayFast";
+
+	/**
+	 * The system property that, if set, names the file of recorded exchanges served back instead
+	 * of reaching the labyrinth.
+	 */
+	public static final String REPLAY_FILE_PROPERTY = "ganymede.replayFile";
+
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_WARM_UP_PATH}.
+	 */
+	public static final String WARM_UP_PATH_PROPERTY = "ganymede.warmUpPath";
+
+	/**
+	 * The system property that, if set to <code>true</code>, opens a connection for every
+	 * {@link Drone} before the first batch is sent.
+	 */
+	public static final String WARM_UP_PROPERTY = "ganymede.warmUpConnections";
+
+	/**
+	 * The system property that, if set, overrides {@link #DEFAULT_WRITE_TIMEOUT_MILLISECONDS}.
+	 */
+	public static final String WRITE_TIMEOUT_PROPERTY = "ganymede.writeTimeoutMs";
+
+	/**
+	 * Creates a new {@link TransportConfiguration} from the system properties, leaving anything not
+	 * given at its default.
+	 *
+	 * @return The {@link TransportConfiguration} described by the system properties.
+	 */
+	public static TransportConfiguration fromSystemProperties() {
+		final TransportConfiguration transportConfiguration = new TransportConfiguration();
+		final String gzip = System.getProperty(TransportConfiguration.GZIP_PROPERTY,
+				Boolean.TRUE.toString());
+		final String recordFile = System.getProperty(TransportConfiguration.RECORD_FILE_PROPERTY);
+		final String replayFile = System.getProperty(TransportConfiguration.REPLAY_FILE_PROPERTY);
+
+		transportConfiguration.setBaseUrl(System.getProperty(
+				TransportConfiguration.BASE_URL_PROPERTY, TransportConfiguration.DEFAULT_BASE_URL));
+		transportConfiguration.setCallTimeoutMilliseconds(
+				Long.getLong(TransportConfiguration.CALL_TIMEOUT_PROPERTY, 0));
+		transportConfiguration.setConnectTimeoutMilliseconds(
+				Long.getLong(TransportConfiguration.CONNECT_TIMEOUT_PROPERTY,
+						TransportConfiguration.DEFAULT_CONNECT_TIMEOUT_MILLISECONDS));
+		transportConfiguration.setConnectionPoolSize(
+				Integer.getInteger(TransportConfiguration.CONNECTION_POOL_SIZE_PROPERTY,
+						TransportConfiguration.DEFAULT_CONNECTION_POOL_SIZE));
+		transportConfiguration.setGzip(Boolean.parseBoolean(gzip));
+		transportConfiguration.setHeader(TransportConfiguration.EMAIL_HEADER_KEY,
+				System.getProperty(TransportConfiguration.EMAIL_HEADER_PROPERTY,
+						TransportConfiguration.EMAIL_HEADER_VALUE));
+		transportConfiguration.setKeepAliveSeconds(
+				Long.getLong(TransportConfiguration.KEEP_ALIVE_PROPERTY,
+						TransportConfiguration.DEFAULT_KEEP_ALIVE_SECONDS));
+		transportConfiguration.setMaximumRequests(
+				Integer.getInteger(TransportConfiguration.MAXIMUM_REQUESTS_PROPERTY,
+						TransportConfiguration.DEFAULT_MAXIMUM_REQUESTS));
+		transportConfiguration.setMaximumRequestsPerHost(
+				Integer.getInteger(TransportConfiguration.MAXIMUM_REQUESTS_PER_HOST_PROPERTY,
+						TransportConfiguration.DEFAULT_MAXIMUM_REQUESTS_PER_HOST));
+		transportConfiguration.setReadTimeoutMilliseconds(
+				Long.getLong(TransportConfiguration.READ_TIMEOUT_PROPERTY,
+						TransportConfiguration.DEFAULT_READ_TIMEOUT_MILLISECONDS));
+		transportConfiguration.setRecordFile((recordFile == null) ? null : new File(recordFile));
+		transportConfiguration.setReplayFast(
+				Boolean.getBoolean(TransportConfiguration.REPLAY_FAST_PROPERTY));
+		transportConfiguration.setReplayFile((replayFile == null) ? null : new File(replayFile));
+		transportConfiguration.setWarmUpConnections(
+				Boolean.getBoolean(TransportConfiguration.WARM_UP_PROPERTY));
+		transportConfiguration.setWarmUpPath(System.getProperty(
+				TransportConfiguration.WARM_UP_PATH_PROPERTY,
+				TransportConfiguration.DEFAULT_WARM_UP_PATH));
+		transportConfiguration.setWriteTimeoutMilliseconds(
+				Long.getLong(TransportConfiguration.WRITE_TIMEOUT_PROPERTY,
+						TransportConfiguration.DEFAULT_WRITE_TIMEOUT_MILLISECONDS));
+
+		return transportConfiguration;
+	}
+
+	/**
+	 * Returns the {@link TransportConfiguration} described by the system properties, created the
+	 * first time it is needed and shared from then on.
+	 *
+	 * @return The {@link TransportConfiguration} described by the system properties.
+	 */
+	public static TransportConfiguration getDefault() {
+		return DefaultHolder.DEFAULT;
+	}
+
+	/**
+	 * The base URL of all network calls.
+	 */
+	private String baseUrl = TransportConfiguration.DEFAULT_BASE_URL;
+
+	/**
+	 * The number of milliseconds after which a whole call is abandoned, or 0 for no limit.
+	 */
+	private long callTimeoutMilliseconds = 0;
+
+	/**
+	 * The number of milliseconds allowed to establish a connection.
+	 */
+	private long connectTimeoutMilliseconds = TransportConfiguration.DEFAULT_CONNECT_TIMEOUT_MILLISECONDS;
+
+	/**
+	 * The maximum number of idle connections kept open.
+	 */
+	private int connectionPoolSize = TransportConfiguration.DEFAULT_CONNECTION_POOL_SIZE;
+
+	/**
+	 * Whether responses are requested gzip-compressed.
+	 */
+	private boolean gzip = true;
+
+	/**
+	 * The headers added to every request, by name.
+	 */
+	private final Map<String, String> headers = new LinkedHashMap<>();
+
+	/**
+	 * The number of seconds an idle connection is kept open.
+	 */
+	private long keepAliveSeconds = TransportConfiguration.DEFAULT_KEEP_ALIVE_SECONDS;
+
+	/**
+	 * The maximum number of network calls running at once, across all hosts.
+	 */
+	private int maximumRequests = TransportConfiguration.DEFAULT_MAXIMUM_REQUESTS;
+
+	/**
+	 * The maximum number of network calls running at once to any single host.
+	 */
+	private int maximumRequestsPerHost = TransportConfiguration.DEFAULT_MAXIMUM_REQUESTS_PER_HOST;
+
+	/**
+	 * The {@link OkHttpClient} shared by every {@link Manager} using this
+	 * {@link TransportConfiguration}, once built.
+	 */
+	private OkHttpClient okHttpClient;
+
+	/**
+	 * The {@link TransportConfiguration} whose connection pool and dispatcher are shared, or
+	 * <code>null</code> if this one has its own.
+	 */
+	private final TransportConfiguration parent;
+
+	/**
+	 * The number of milliseconds allowed between two reads of a response.
+	 */
+	private long readTimeoutMilliseconds = TransportConfiguration.DEFAULT_READ_TIMEOUT_MILLISECONDS;
+
+	/**
+	 * The file every exchange with the labyrinth is recorded to, if any.
+	 */
+	private File recordFile;
+
+	/**
+	 * Whether recorded exchanges are replayed as fast as possible rather than at their original
+	 * timing.
+	 */
+	private boolean replayFast = false;
+
+	/**
+	 * The file of recorded exchanges served back instead of reaching the labyrinth, if any.
+	 */
+	private File replayFile;
+
+	/**
+	 * Whether a connection is opened for every {@link Drone} before the first batch is sent.
+	 */
+	private boolean warmUpConnections = false;
+
+	/**
+	 * The path that connections are warmed up against.
+	 */
+	private String warmUpPath = TransportConfiguration.DEFAULT_WARM_UP_PATH;
+
+	/**
+	 * The number of milliseconds allowed between two writes of a request.
+	 */
+	private long writeTimeoutMilliseconds = TransportConfiguration.DEFAULT_WRITE_TIMEOUT_MILLISECONDS;
+
+	/**
+	 * Creates a new {@link TransportConfiguration} with every setting at its default, identifying
+	 * the client through the {@link #EMAIL_HEADER_KEY} header.
+	 */
+	public TransportConfiguration() {
+		this.parent = null;
+
+		this.headers.put(TransportConfiguration.EMAIL_HEADER_KEY,
+				TransportConfiguration.EMAIL_HEADER_VALUE);
+	}
+
+	/**
+	 * Creates a new {@link TransportConfiguration} with the same settings as the given one, sharing
+	 * its connection pool and dispatcher.
+	 *
+	 * @param parent
+	 *            The {@link TransportConfiguration} to derive from.
+	 */
+	private TransportConfiguration(final TransportConfiguration parent) {
+		this.parent = parent;
+
+		synchronized (parent) {
+			this.baseUrl = parent.baseUrl;
+			this.callTimeoutMilliseconds = parent.callTimeoutMilliseconds;
+			this.connectTimeoutMilliseconds = parent.connectTimeoutMilliseconds;
+			this.connectionPoolSize = parent.connectionPoolSize;
+			this.gzip = parent.gzip;
+			this.headers.putAll(parent.headers);
+			this.keepAliveSeconds = parent.keepAliveSeconds;
+			this.maximumRequests = parent.maximumRequests;
+			this.maximumRequestsPerHost = parent.maximumRequestsPerHost;
+			this.readTimeoutMilliseconds = parent.readTimeoutMilliseconds;
+			this.recordFile = parent.recordFile;
+			this.replayFast = parent.replayFast;
+			this.replayFile = parent.replayFile;
+			this.warmUpConnections = parent.warmUpConnections;
+			this.warmUpPath = parent.warmUpPath;
+			this.writeTimeoutMilliseconds = parent.writeTimeoutMilliseconds;
+		}
+	}
+
+	/**
+	 * Makes sure the {@link OkHttpClient} has not been built yet.
+	 *
+	 * @throws IllegalStateException
+	 *             The {@link OkHttpClient} has already been built.
+	 */
+	private synchronized void checkModifiable() {
+		if (this.okHttpClient != null) {
+			throw new IllegalStateException(
+					"The transport configuration cannot change once a manager uses it.");
+		}
+	}
+
+	/**
+	 * Creates a new {@link TransportConfiguration} starting with the same settings as this one and
+	 * sharing its connection pool and dispatcher. The settings of the new one may then be changed,
+	 * except that its connection pool size, keep-alive and request limits are ignored in favour of
+	 * those of this one. Once a {@link Manager} uses the new one, neither can change anymore.
+	 *
+	 * @return The derived {@link TransportConfiguration}.
+	 */
+	public TransportConfiguration derive() {
+		return new TransportConfiguration(this);
+	}
+
+	/**
+	 * Returns the base URL of all network calls.
+	 *
+	 * @return The base URL of all network calls.
+	 */
+	public String getBaseUrl() {
+		return this.baseUrl;
+	}
+
+	/**
+	 * Returns the number of milliseconds after which a whole call is abandoned, or 0 for no limit.
+	 *
+	 * @return The number of milliseconds after which a whole call is abandoned, or 0 for no limit.
+	 */
+	public long getCallTimeoutMilliseconds() {
+		return this.callTimeoutMilliseconds;
+	}
+
+	/**
+	 * Returns the number of milliseconds allowed to establish a connection.
+	 *
+	 * @return The number of milliseconds allowed to establish a connection.
+	 */
+	public long getConnectTimeoutMilliseconds() {
+		return this.connectTimeoutMilliseconds;
+	}
+
+	/**
+	 * Returns the maximum number of idle connections kept open.
+	 *
+	 * @return The maximum number of idle connections kept open.
+	 */
+	public int getConnectionPoolSize() {
+		return this.connectionPoolSize;
+	}
+
+	/**
+	 * Returns the headers added to every request, by name.
+	 *
+	 * @return The headers added to every request, by name.
+	 */
+	public Map<String, String> getHeaders() {
+		return Collections.unmodifiableMap(this.headers);
+	}
+
+	/**
+	 * Returns the number of seconds an idle connection is kept open.
+	 *
+	 * @return The number of seconds an idle connection is kept open.
+	 */
+	public long getKeepAliveSeconds() {
+		return this.keepAliveSeconds;
+	}
+
+	/**
+	 * Returns the maximum number of network calls running at once, across all hosts.
+	 *
+	 * @return The maximum number of network calls running at once, across all hosts.
+	 */
+	public int getMaximumRequests() {
+		return this.maximumRequests;
+	}
+
+	/**
+	 * Returns the maximum number of network calls running at once to any single host.
+	 *
+	 * @return The maximum number of network calls running at once to any single host.
+	 */
+	public int getMaximumRequestsPerHost() {
+		return this.maximumRequestsPerHost;
+	}
+
+	/**
+	 * Returns the {@link OkHttpClient} shared by every {@link Manager} using this
+	 * {@link TransportConfiguration}, building it the first time it is needed.
+	 *
+	 * @return The shared {@link OkHttpClient}.
+	 */
+	synchronized OkHttpClient getOkHttpClient() {
+		if (this.okHttpClient == null) {
+			final OkHttpClient sharedOkHttpClient = (this.parent == null) ? null : this.parent
+					.getOkHttpClient();
+
+			this.okHttpClient = Manager.createOkHttpClient(this, sharedOkHttpClient);
+		}
+
+		return this.okHttpClient;
+	}
+
+	/**
+	 * Returns the number of milliseconds allowed between two reads of a response.
+	 *
+	 * @return The number of milliseconds allowed between two reads of a response.
+	 */
+	public long getReadTimeoutMilliseconds() {
+		return this.readTimeoutMilliseconds;
+	}
+
+	/**
+	 * Returns the file every exchange with the labyrinth is recorded to.
+	 *
+	 * @return The file every exchange with the labyrinth is recorded to, or <code>null</code> if
+	 *         none is recorded.
+	 */
+	public File getRecordFile() {
+		return this.recordFile;
+	}
+
+	/**
+	 * Returns the file of recorded exchanges served back instead of reaching the labyrinth.
+	 *
+	 * @return The file of recorded exchanges served back, or <code>null</code> if the labyrinth
+	 *         is reached.
+	 */
+	public File getReplayFile() {
+		return this.replayFile;
+	}
+
+	/**
+	 * Returns the path that connections are warmed up against.
+	 *
+	 * @return The path that connections are warmed up against.
+	 */
+	public String getWarmUpPath() {
+		return this.warmUpPath;
+	}
+
+	/**
+	 * Returns the number of milliseconds allowed between two writes of a request.
+	 *
+	 * @return The number of milliseconds allowed between two writes of a request.
+	 */
+	public long getWriteTimeoutMilliseconds() {
+		return this.writeTimeoutMilliseconds;
+	}
+
+	/**
+	 * Returns whether responses are requested gzip-compressed.
+	 *
+	 * @return Whether responses are requested gzip-compressed.
+	 */
+	public boolean isGzip() {
+		return this.gzip;
+	}
+
+	/**
+	 * Returns whether recorded exchanges are replayed as fast as possible rather than at their
+	 * original timing.
+	 *
+	 * @return Whether recorded exchanges are replayed as fast as possible.
+	 */
+	public boolean isReplayFast() {
+		return this.replayFast;
+	}
+
+	/**
+	 * Returns whether a connection is opened for every {@link Drone} before the first batch is
+	 * sent.
+	 *
+	 * @return Whether a connection is opened for every {@link Drone} before the first batch is
+	 *         sent.
+	 */
+	public boolean isWarmUpConnections() {
+		return this.warmUpConnections;
+	}
+
+	/**
+	 * Stops adding a header to every request.
+	 *
+	 * @param name
+	 *            The name of the header.
+	 */
+	public void removeHeader(final String name) {
+		this.checkModifiable();
+
+		this.headers.remove(name);
+	}
+
+	/**
+	 * Sets the base URL of all network calls.
+	 *
+	 * @param baseUrl
+	 *            The base URL of all network calls.
+	 */
+	public void setBaseUrl(final String baseUrl) {
+		this.checkModifiable();
+
+		this.baseUrl = baseUrl;
+	}
+
+	/**
+	 * Sets the number of milliseconds after which a whole call is abandoned, or 0 for no limit.
+	 *
+	 * @param callTimeoutMilliseconds
+	 *            The number of milliseconds after which a whole call is abandoned, or 0 for no
+	 *            limit.
+	 */
+	public void setCallTimeoutMilliseconds(final long callTimeoutMilliseconds) {
+		this.checkModifiable();
+
+		this.callTimeoutMilliseconds = callTimeoutMilliseconds;
+	}
+
+	/**
+	 * Sets the number of milliseconds allowed to establish a connection.
+	 *
+	 * @param connectTimeoutMilliseconds
+	 *            The number of milliseconds allowed to establish a connection.
+	 */
+	public void setConnectTimeoutMilliseconds(final long connectTimeoutMilliseconds) {
+		this.checkModifiable();
+
+		this.connectTimeoutMilliseconds = connectTimeoutMilliseconds;
+	}
+
+	/**
+	 * Sets the maximum number of idle connections kept open.
+	 *
+	 * @param connectionPoolSize
+	 *            The maximum number of idle connections kept open.
+	 */
+	public void setConnectionPoolSize(final int connectionPoolSize) {
+		this.checkModifiable();
+
+		this.connectionPoolSize = connectionPoolSize;
+	}
+
+	/**
+	 * Sets whether responses are requested gzip-compressed.
+	 *
+	 * @param gzip
+	 *            Whether responses are requested gzip-compressed.
+	 */
+	public void setGzip(final boolean gzip) {
+		this.checkModifiable();
+
+		this.gzip = gzip;
+	}
+
+	/**
+	 * Sets a header added to every request, replacing any previous value.
+	 *
+	 * @param name
+	 *            The name of the header.
+	 * @param value
+	 *            The value of the header.
+	 */
+	public void setHeader(final String name, final String value) {
+		this.checkModifiable();
+
+		this.headers.put(name, value);
+	}
+
+	/**
+	 * Sets the number of seconds an idle connection is kept open.
+	 *
+	 * @param keepAliveSeconds
+	 *            The number of seconds an idle connection is kept open.
+	 */
+	public void setKeepAliveSeconds(final long keepAliveSeconds) {
+		this.checkModifiable();
+
+		this.keepAliveSeconds = keepAliveSeconds;
+	}
+
+	/**
+	 * Sets the maximum number of network calls running at once, across all hosts.
+	 *
+	 * @param maximumRequests
+	 *            The maximum number of network calls running at once, across all hosts.
+	 */
+	public void setMaximumRequests(final int maximumRequests) {
+		this.checkModifiable();
+
+		this.maximumRequests = maximumRequests;
+	}
+
+	/**
+	 * Sets the maximum number of network calls running at once to any single host.
+	 *
+	 * @param maximumRequestsPerHost
+	 *            The maximum number of network calls running at once to any single host.
+	 */
+	public void setMaximumRequestsPerHost(final int maximumRequestsPerHost) {
+		this.checkModifiable();
+
+		this.maximumRequestsPerHost = maximumRequestsPerHost;
+	}
+
+	/**
+	 * Sets the number of milliseconds allowed between two reads of a response.
+	 *
+	 * @param readTimeoutMilliseconds
+	 *            The number of milliseconds allowed between two reads of a response.
+	 */
+	public void setReadTimeoutMilliseconds(final long readTimeoutMilliseconds) {
+		this.checkModifiable();
+
+		this.readTimeoutMilliseconds = readTimeoutMilliseconds;
+	}
+
+	/**
+	 * Sets the file every exchange with the labyrinth is recorded to. The file is overwritten
+	 * once a {@link Manager} first uses this {@link TransportConfiguration}.
+	 *
+	 * @param recordFile
+	 *            The file every exchange with the labyrinth is recorded to, or <code>null</code>
+	 *            to record none.
+	 */
+	public void setRecordFile(final File recordFile) {
+		this.checkModifiable();
+
+		this.recordFile = recordFile;
+	}
+
+	/**
+	 * Sets whether recorded exchanges are replayed as fast as possible rather than at their
+	 * original timing.
+	 *
+	 * @param replayFast
+	 *            Whether recorded exchanges are replayed as fast as possible.
+	 */
+	public void setReplayFast(final boolean replayFast) {
+		this.checkModifiable();
+
+		this.replayFast = replayFast;
+	}
+
+	/**
+	 * Sets the file of recorded exchanges served back instead of reaching the labyrinth. While it
+	 * is set, no exchange is recorded.
+	 *
+	 * @param replayFile
+	 *            The file of recorded exchanges served back, or <code>null</code> to reach the
+	 *            labyrinth.
+	 */
+	public void setReplayFile(final File replayFile) {
+		this.checkModifiable();
+
+		this.replayFile = replayFile;
+	}
+
+	/**
+	 * Sets whether a connection is opened for every {@link Drone} before the first batch is sent.
+	 *
+	 * @param warmUpConnections
+	 *            Whether a connection is opened for every {@link Drone} before the first batch
+	 *            is sent.
+	 */
+	public void setWarmUpConnections(final boolean warmUpConnections) {
+		this.checkModifiable();
+
+		this.warmUpConnections = warmUpConnections;
+	}
+
+	/**
+	 * Sets the path that connections are warmed up against, which must be safe to request any
+	 * number of times and answered without closing the connection.
+	 *
+	 * @param warmUpPath
+	 *            The path that connections are warmed up against.
+	 */
+	public void setWarmUpPath(final String warmUpPath) {
+		this.checkModifiable();
+
+		this.warmUpPath = warmUpPath;
+	}
+
+	/**
+	 * Sets the number of milliseconds allowed between two writes of a request.
+	 *
+	 * @param writeTimeoutMilliseconds
+	 *            The number of milliseconds allowed between two writes of a request.
+	 */
+	public void setWriteTimeoutMilliseconds(final long writeTimeoutMilliseconds) {
+		this.checkModifiable();
+
+		this.writeTimeoutMilliseconds = writeTimeoutMilliseconds;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,1038 @@
+package com.wit.ganymedeexploration.shard;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.wit.ganymedeexploration.exception.ServerException;
+import com.wit.ganymedeexploration.model.Room;
+import com.wit.ganymedeexploration.service.ExplorationManager;
+
+/**
+ * Splits a single exploration between several processes, called shards, each of which owns the
+ * {@link Room}s whose IDs hash to it and only explores and reads those. Connections to
+ * {@link Room}s owned by another shard are forwarded to it, and every writing read is forwarded to
+ * the coordinator, shard 0, which alone assembles and reports the message.
+ * <p>
+ * Shards talk over plain TCP sockets. Every shard connects to the coordinator through a control
+ * connection, over which the coordinator hands out the starting {@link Room}, an equal share of
+ * the {@link com.wit.ganymedeexploration.model.Drone}s and the addresses of every other shard, and
+ * later detects the end of the exploration. Every shard then opens a one-way data connection to
+ * every other, carrying nothing but forwarded {@link Room} IDs and writings.
+ * <p>
+ * The exploration ends once every shard is idle and every forwarded message has been taken in. The
+ * coordinator checks this by probing every shard for whether it is idle and how many messages it
+ * has forwarded and taken in, and only stops the shards once two probes in a row find them all
+ * idle, with the same counts and as many messages taken in as forwarded.
+ * <p>
+ * Apart from {@link #close()}, only the coordinating thread of the exploration may use a
+ * {@link ShardCluster}.
+ */
+public final class ShardCluster implements Closeable {
+	/**
+	 * A writing read by a shard, along with its position within the message.
+	 */
+	public static final class Writing {
+		/**
+		 * The position of the writing within the message.
+		 */
+		private final int order;
+
+		/**
+		 * The writing itself.
+		 */
+		private final String writing;
+
+		/**
+		 * Creates a new {@link Writing}.
+		 *
+		 * @param order
+		 *            The position of the writing within the message.
+		 * @param writing
+		 *            The writing itself.
+		 */
+		public Writing(final int order, final String writing) {
+			this.order = order;
+			this.writing = writing;
+		}
+
+		/**
+		 * Returns the position of the writing within the message.
+		 *
+		 * @return The position of the writing within the message.
+		 */
+		public int getOrder() {
+			return this.order;
+		}
+
+		/**
+		 * Returns the writing itself.
+		 *
+		 * @return The writing itself.
+		 */
+		public String getWriting() {
+			return this.writing;
+		}
+	}
+
+	/**
+	 * The system property giving the address of the coordinator, as <code>host:port</code>, on
+	 * which it listens for the control connections of the other shards.
+	 */
+	public static final String COORDINATOR_PROPERTY = "ganymede.shardCoordinator";
+
+	/**
+	 * The system property giving the number of shards. The exploration is only sharded if it is
+	 * greater than 1.
+	 */
+	public static final String COUNT_PROPERTY = "ganymede.shardCount";
+
+	/**
+	 * The frame sent by every other shard when it first connects to the coordinator, followed by
+	 * its index and the port of its data connections.
+	 */
+	private static final byte HELLO_FRAME = 1;
+
+	/**
+	 * The system property giving the index of this shard, from 0, the coordinator, up to the
+	 * number of shards.
+	 */
+	public static final String INDEX_PROPERTY = "ganymede.shardIndex";
+
+	/**
+	 * How long the coordinating thread of a sharded exploration waits for results at most before
+	 * taking in the messages forwarded to it, in nanoseconds.
+	 */
+	public static final long POLL_INTERVAL_NANOSECONDS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	/**
+	 * The frame probing a shard for its status.
+	 */
+	private static final byte PROBE_FRAME = 2;
+
+	/**
+	 * How long the coordinator waits between two probes of every shard, in milliseconds.
+	 */
+	private static final long PROBE_INTERVAL_MILLISECONDS = 10;
+
+	/**
+	 * The frame forwarding the ID of a {@link Room} to the shard owning it.
+	 */
+	private static final byte ROOM_FRAME = 3;
+
+	/**
+	 * The frame sent by the coordinator to every other shard once it has started the exploration,
+	 * followed by the starting {@link Room}, the share of drones of the shard and the addresses of
+	 * every shard.
+	 */
+	private static final byte START_FRAME = 4;
+
+	/**
+	 * The frame answering a probe, followed by whether the shard is idle and how many messages it
+	 * has forwarded and taken in.
+	 */
+	private static final byte STATUS_FRAME = 5;
+
+	/**
+	 * The frame ending the exploration.
+	 */
+	private static final byte STOP_FRAME = 6;
+
+	/**
+	 * The frame forwarding a writing to the coordinator.
+	 */
+	private static final byte WRITING_FRAME = 7;
+
+	/**
+	 * Creates the coordinator of a new cluster, listening for the control connections of the other
+	 * shards on the given port.
+	 *
+	 * @param shardCount
+	 *            The number of shards.
+	 * @param port
+	 *            The port to listen on, or 0 to pick any free port.
+	 * @return The coordinator of the cluster.
+	 * @throws IOException
+	 *             The coordinator could not listen on the port.
+	 */
+	public static ShardCluster coordinate(final int shardCount, final int port)
+			throws IOException {
+		final ServerSocket controlServerSocket = new ServerSocket(port);
+
+		return new ShardCluster(shardCount, 0, controlServerSocket, null);
+	}
+
+	/**
+	 * Returns the shard described by the {@link #COUNT_PROPERTY}, {@link #INDEX_PROPERTY} and
+	 * {@link #COORDINATOR_PROPERTY} system properties, if the exploration is to be sharded.
+	 *
+	 * @return The shard described by the system properties, or <code>null</code> if the
+	 *         exploration is not to be sharded.
+	 * @throws IOException
+	 *             The coordinator could not listen on its port, or could not be connected to.
+	 */
+	public static ShardCluster getDefault() throws IOException {
+		final int shardCount = Integer.getInteger(ShardCluster.COUNT_PROPERTY, 1);
+		final ShardCluster shardCluster;
+
+		if (shardCount <= 1) {
+			shardCluster = null;
+		} else {
+			final int shardIndex = Integer.getInteger(ShardCluster.INDEX_PROPERTY, 0);
+			final String coordinator = System.getProperty(ShardCluster.COORDINATOR_PROPERTY);
+
+			if (coordinator == null) {
+				throw new IllegalArgumentException(String.format(
+						"Sharding requires the \"%s\" system property to give the coordinator.",
+						ShardCluster.COORDINATOR_PROPERTY));
+			}
+
+			final int separatorIndex = coordinator.lastIndexOf(':');
+			final String host = coordinator.substring(0, separatorIndex);
+			final int port = Integer.parseInt(coordinator.substring(separatorIndex + 1));
+
+			if (shardIndex == 0) {
+				shardCluster = ShardCluster.coordinate(shardCount, port);
+			} else {
+				shardCluster = ShardCluster.join(shardCount, shardIndex,
+						new InetSocketAddress(host, port));
+			}
+		}
+
+		return shardCluster;
+	}
+
+	/**
+	 * Returns the shard owning the {@link Room} with the given ID.
+	 *
+	 * @param roomId
+	 *            The ID of the {@link Room}.
+	 * @param shardCount
+	 *            The number of shards.
+	 * @return The index of the shard owning the {@link Room}.
+	 */
+	public static int getOwner(final String roomId, final int shardCount) {
+		int hash = roomId.hashCode();
+
+		// Spreads IDs that only differ in their last characters over every shard.
+		hash ^= hash >>> 16;
+		hash *= 0x85EBCA6B;
+		hash ^= hash >>> 13;
+
+		return (hash & Integer.MAX_VALUE) % shardCount;
+	}
+
+	/**
+	 * Joins a cluster as a shard other than the coordinator, connecting to the coordinator.
+	 *
+	 * @param shardCount
+	 *            The number of shards.
+	 * @param shardIndex
+	 *            The index of the shard, from 1 up to the number of shards.
+	 * @param coordinatorAddress
+	 *            The address the coordinator listens on for control connections.
+	 * @return The joined shard.
+	 * @throws IOException
+	 *             The coordinator could not be connected to.
+	 */
+	public static ShardCluster join(final int shardCount, final int shardIndex,
+			final InetSocketAddress coordinatorAddress) throws IOException {
+		final Socket controlSocket = new Socket(coordinatorAddress.getHostString(),
+				coordinatorAddress.getPort());
+
+		controlSocket.setTcpNoDelay(true);
+
+		return new ShardCluster(shardCount, shardIndex, null, controlSocket);
+	}
+
+	/**
+	 * Reads the given frame, failing if another arrives instead.
+	 *
+	 * @param dataInputStream
+	 *            The stream to read from.
+	 * @param frame
+	 *            The expected frame.
+	 * @throws IOException
+	 *             Another frame arrived, or the frame could not be read.
+	 */
+	private static void readFrame(final DataInputStream dataInputStream, final byte frame)
+			throws IOException {
+		final byte readFrame = dataInputStream.readByte();
+
+		if (readFrame != frame) {
+			throw new IOException(String.format("Expected frame %d but read frame %d.", frame,
+					readFrame));
+		}
+	}
+
+	/**
+	 * Whether {@link #close()} has been called.
+	 */
+	private volatile boolean closed = false;
+
+	/**
+	 * The streams of the control connections, that of the coordinator if this is another shard, or
+	 * that of every other shard, by index, if this is the coordinator.
+	 */
+	private final DataInputStream[] controlInputStreams;
+
+	/**
+	 * The streams of the control connections, in the same way as {@link #controlInputStreams}.
+	 */
+	private final DataOutputStream[] controlOutputStreams;
+
+	/**
+	 * The socket the coordinator listens on for control connections, if this is the coordinator.
+	 */
+	private final ServerSocket controlServerSocket;
+
+	/**
+	 * The control connections, in the same way as {@link #controlInputStreams}.
+	 */
+	private final Socket[] controlSockets;
+
+	/**
+	 * The streams of the data connections to every other shard, by index.
+	 */
+	private final DataOutputStream[] dataOutputStreams;
+
+	/**
+	 * The socket this shard listens on for data connections from every other shard.
+	 */
+	private final ServerSocket dataServerSocket;
+
+	/**
+	 * Every data connection, to and from every other shard.
+	 */
+	private final List<Socket> dataSockets = new ArrayList<>();
+
+	/**
+	 * What broke the cluster, if anything did.
+	 */
+	private volatile IOException failure;
+
+	/**
+	 * The number of {@link Room} IDs forwarded to other shards.
+	 */
+	private long forwardedRoomCount = 0;
+
+	/**
+	 * Whether this shard has nothing left to do until more messages are forwarded to it.
+	 */
+	private boolean idle = false;
+
+	/**
+	 * The number of {@link Room} IDs and writings taken in by this shard.
+	 */
+	private long receivedMessageCount = 0;
+
+	/**
+	 * The {@link Room} IDs forwarded to this shard but not taken in yet.
+	 */
+	private final Queue<String> receivedRoomIds = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The writings forwarded to this shard, if it is the coordinator, but not taken in yet.
+	 */
+	private final Queue<Writing> receivedWritings = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The number of {@link Room} IDs and writings forwarded by this shard.
+	 */
+	private long sentMessageCount = 0;
+
+	/**
+	 * The number of shards.
+	 */
+	private final int shardCount;
+
+	/**
+	 * The index of this shard.
+	 */
+	private final int shardIndex;
+
+	/**
+	 * Whether the exploration has ended for every shard.
+	 */
+	private volatile boolean stopped = false;
+
+	/**
+	 * Creates a new {@link ShardCluster} and starts accepting data connections from the other
+	 * shards.
+	 *
+	 * @param shardCount
+	 *            The number of shards.
+	 * @param shardIndex
+	 *            The index of this shard.
+	 * @param controlServerSocket
+	 *            The socket the coordinator listens on for control connections, if this is the
+	 *            coordinator.
+	 * @param controlSocket
+	 *            The control connection to the coordinator, if this is another shard.
+	 * @throws IOException
+	 *             This shard could not listen for data connections.
+	 */
+	private ShardCluster(final int shardCount, final int shardIndex,
+			final ServerSocket controlServerSocket, final Socket controlSocket)
+			throws IOException {
+		this.shardCount = shardCount;
+		this.shardIndex = shardIndex;
+		this.controlServerSocket = controlServerSocket;
+		this.controlSockets = new Socket[shardCount];
+		this.controlInputStreams = new DataInputStream[shardCount];
+		this.controlOutputStreams = new DataOutputStream[shardCount];
+		this.dataOutputStreams = new DataOutputStream[shardCount];
+		this.dataServerSocket = new ServerSocket(0);
+
+		if (controlSocket != null) {
+			this.openControlConnection(0, controlSocket);
+		}
+
+		final Thread acceptThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				ShardCluster.this.acceptDataConnections();
+			}
+		}, "ganymede-shard-accept");
+
+		acceptThread.setDaemon(true);
+		acceptThread.start();
+	}
+
+	/**
+	 * Accepts a data connection from every other shard, reading each on a thread of its own.
+	 */
+	private void acceptDataConnections() {
+		try {
+			for (int shardIndex = 1; shardIndex < this.shardCount; shardIndex++) {
+				final Socket dataSocket = this.dataServerSocket.accept();
+
+				synchronized (this.dataSockets) {
+					this.dataSockets.add(dataSocket);
+				}
+
+				final Thread readThread = new Thread(new Runnable() {
+					@Override
+					public void run() {
+						ShardCluster.this.readDataConnection(dataSocket);
+					}
+				}, "ganymede-shard-data");
+
+				readThread.setDaemon(true);
+				readThread.start();
+			}
+		} catch (final IOException ioException) {
+			this.fail(ioException);
+		}
+	}
+
+	/**
+	 * Closes every connection. The exploration must have stopped first, or the other shards fail.
+	 *
+	 * @throws IOException
+	 *             A connection could not be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		final List<Closeable> closeables = new ArrayList<>();
+
+		this.closed = true;
+
+		if (this.controlServerSocket != null) {
+			closeables.add(this.controlServerSocket);
+		}
+
+		closeables.add(this.dataServerSocket);
+
+		for (final Socket controlSocket : this.controlSockets) {
+			if (controlSocket != null) {
+				closeables.add(controlSocket);
+			}
+		}
+
+		synchronized (this.dataSockets) {
+			closeables.addAll(this.dataSockets);
+		}
+
+		IOException closeException = null;
+
+		for (final Closeable closeable : closeables) {
+			try {
+				closeable.close();
+			} catch (final IOException ioException) {
+				if (closeException == null) {
+					closeException = ioException;
+				}
+			}
+		}
+
+		if (closeException != null) {
+			throw closeException;
+		}
+	}
+
+	/**
+	 * Probes every shard until the exploration has ended everywhere, then stops every shard.
+	 */
+	private void detectTermination() {
+		final long[] wave = new long[3 * this.shardCount];
+		long[] previousWave = null;
+
+		try {
+			while (!this.stopped && !this.closed) {
+				Thread.sleep(ShardCluster.PROBE_INTERVAL_MILLISECONDS);
+
+				boolean idle;
+				long sentMessageCount;
+				long receivedMessageCount;
+
+				synchronized (this) {
+					idle = this.idle;
+					sentMessageCount = this.sentMessageCount;
+					receivedMessageCount = this.receivedMessageCount;
+				}
+
+				wave[0] = idle ? 1 : 0;
+				wave[1] = sentMessageCount;
+				wave[2] = receivedMessageCount;
+
+				for (int shardIndex = 1; shardIndex < this.shardCount; shardIndex++) {
+					this.controlOutputStreams[shardIndex].writeByte(ShardCluster.PROBE_FRAME);
+					this.controlOutputStreams[shardIndex].flush();
+				}
+
+				for (int shardIndex = 1; shardIndex < this.shardCount; shardIndex++) {
+					final DataInputStream controlInputStream = this.controlInputStreams[shardIndex];
+
+					ShardCluster.readFrame(controlInputStream, ShardCluster.STATUS_FRAME);
+
+					final boolean shardIdle = controlInputStream.readBoolean();
+
+					wave[3 * shardIndex] = shardIdle ? 1 : 0;
+					wave[(3 * shardIndex) + 1] = controlInputStream.readLong();
+					wave[(3 * shardIndex) + 2] = controlInputStream.readLong();
+
+					idle &= shardIdle;
+					sentMessageCount += wave[(3 * shardIndex) + 1];
+					receivedMessageCount += wave[(3 * shardIndex) + 2];
+				}
+
+				if (idle && (sentMessageCount == receivedMessageCount)
+						&& Arrays.equals(wave, previousWave)) {
+					for (int shardIndex = 1; shardIndex < this.shardCount; shardIndex++) {
+						this.controlOutputStreams[shardIndex].writeByte(ShardCluster.STOP_FRAME);
+						this.controlOutputStreams[shardIndex].flush();
+					}
+
+					this.stopped = true;
+				}
+
+				previousWave = wave.clone();
+			}
+		} catch (final IOException ioException) {
+			this.fail(ioException);
+		} catch (final InterruptedException interruptedException) {
+			this.fail(new IOException("Interrupted while detecting the end of the exploration.",
+					interruptedException));
+		}
+	}
+
+	/**
+	 * Records what broke the cluster, unless it is being closed.
+	 *
+	 * @param ioException
+	 *            What broke the cluster.
+	 */
+	private void fail(final IOException ioException) {
+		if (!this.closed && !this.stopped && (this.failure == null)) {
+			this.failure = ioException;
+		}
+	}
+
+	/**
+	 * Sends everything forwarded so far on its way, failing if the cluster broke.
+	 *
+	 * @throws IOException
+	 *             The cluster broke, or a data connection could not be written to.
+	 */
+	public void flush() throws IOException {
+		if (this.failure != null) {
+			throw new IOException("The shard cluster broke.", this.failure);
+		}
+
+		for (final DataOutputStream dataOutputStream : this.dataOutputStreams) {
+			if (dataOutputStream != null) {
+				dataOutputStream.flush();
+			}
+		}
+	}
+
+	/**
+	 * Forwards the ID of a {@link Room} to the shard owning it. It is only sent on its way by
+	 * {@link #flush()}.
+	 *
+	 * @param shardIndex
+	 *            The index of the shard owning the {@link Room}.
+	 * @param roomId
+	 *            The ID of the {@link Room}.
+	 * @throws IOException
+	 *             The data connection could not be written to.
+	 */
+	public void forwardRoom(final int shardIndex, final String roomId) throws IOException {
+		final DataOutputStream dataOutputStream = this.dataOutputStreams[shardIndex];
+
+		dataOutputStream.writeByte(ShardCluster.ROOM_FRAME);
+		dataOutputStream.writeUTF(roomId);
+
+		synchronized (this) {
+			this.forwardedRoomCount++;
+			this.sentMessageCount++;
+		}
+	}
+
+	/**
+	 * Forwards a writing to the coordinator. It is only sent on its way by {@link #flush()}.
+	 *
+	 * @param order
+	 *            The position of the writing within the message.
+	 * @param writing
+	 *            The writing itself.
+	 * @throws IOException
+	 *             The data connection could not be written to.
+	 */
+	public void forwardWriting(final int order, final String writing) throws IOException {
+		final DataOutputStream dataOutputStream = this.dataOutputStreams[0];
+
+		dataOutputStream.writeByte(ShardCluster.WRITING_FRAME);
+		dataOutputStream.writeInt(order);
+		dataOutputStream.writeUTF(writing);
+
+		synchronized (this) {
+			this.sentMessageCount++;
+		}
+	}
+
+	/**
+	 * Returns the port the coordinator listens on for control connections.
+	 *
+	 * @return The port the coordinator listens on, or -1 if this is not the coordinator.
+	 */
+	public int getCoordinatorPort() {
+		return (this.controlServerSocket == null) ? -1 : this.controlServerSocket.getLocalPort();
+	}
+
+	/**
+	 * Returns the number of {@link Room} IDs forwarded to other shards.
+	 *
+	 * @return The number of {@link Room} IDs forwarded to other shards.
+	 */
+	public synchronized long getForwardedRoomCount() {
+		return this.forwardedRoomCount;
+	}
+
+	/**
+	 * Returns the shard owning the {@link Room} with the given ID.
+	 *
+	 * @param roomId
+	 *            The ID of the {@link Room}.
+	 * @return The index of the shard owning the {@link Room}.
+	 */
+	public int getOwner(final String roomId) {
+		return ShardCluster.getOwner(roomId, this.shardCount);
+	}
+
+	/**
+	 * Returns the number of shards.
+	 *
+	 * @return The number of shards.
+	 */
+	public int getShardCount() {
+		return this.shardCount;
+	}
+
+	/**
+	 * Returns the share of the drones of a shard, which is every drone whose position is the index
+	 * of the shard modulo the number of shards.
+	 *
+	 * @param droneIds
+	 *            The IDs of every drone.
+	 * @param shardIndex
+	 *            The index of the shard.
+	 * @return The IDs of the drones of the shard.
+	 */
+	private List<String> getShardDroneIds(final List<String> droneIds, final int shardIndex) {
+		final List<String> shardDroneIds = new ArrayList<>();
+
+		for (int droneIndex = shardIndex; droneIndex < droneIds.size();
+				droneIndex += this.shardCount) {
+			shardDroneIds.add(droneIds.get(droneIndex));
+		}
+
+		return shardDroneIds;
+	}
+
+	/**
+	 * Returns the index of this shard.
+	 *
+	 * @return The index of this shard, 0 being the coordinator.
+	 */
+	public int getShardIndex() {
+		return this.shardIndex;
+	}
+
+	/**
+	 * Returns whether this shard is the coordinator, which alone assembles and reports the
+	 * message.
+	 *
+	 * @return Whether this shard is the coordinator.
+	 */
+	public boolean isCoordinator() {
+		return this.shardIndex == 0;
+	}
+
+	/**
+	 * Returns whether the exploration has ended for every shard, after which no more messages are
+	 * forwarded to this shard.
+	 *
+	 * @return Whether the exploration has ended for every shard.
+	 */
+	public boolean isStopped() {
+		return this.stopped;
+	}
+
+	/**
+	 * Keeps a control connection and its streams.
+	 *
+	 * @param shardIndex
+	 *            The index the control connection is kept under.
+	 * @param controlSocket
+	 *            The control connection.
+	 * @throws IOException
+	 *             The streams of the control connection could not be opened.
+	 */
+	private void openControlConnection(final int shardIndex, final Socket controlSocket)
+			throws IOException {
+		this.controlSockets[shardIndex] = controlSocket;
+		this.controlInputStreams[shardIndex] = new DataInputStream(
+				new BufferedInputStream(controlSocket.getInputStream()));
+		this.controlOutputStreams[shardIndex] = new DataOutputStream(
+				new BufferedOutputStream(controlSocket.getOutputStream()));
+	}
+
+	/**
+	 * Opens a data connection to another shard.
+	 *
+	 * @param shardIndex
+	 *            The index of the other shard.
+	 * @param host
+	 *            The host of the other shard.
+	 * @param port
+	 *            The port the other shard listens on for data connections.
+	 * @throws IOException
+	 *             The other shard could not be connected to.
+	 */
+	private void openDataConnection(final int shardIndex, final String host, final int port)
+			throws IOException {
+		final Socket dataSocket = new Socket(host, port);
+
+		synchronized (this.dataSockets) {
+			this.dataSockets.add(dataSocket);
+		}
+
+		dataSocket.setTcpNoDelay(true);
+
+		this.dataOutputStreams[shardIndex] = new DataOutputStream(
+				new BufferedOutputStream(dataSocket.getOutputStream()));
+	}
+
+	/**
+	 * Takes in the next {@link Room} ID forwarded to this shard.
+	 *
+	 * @return The next {@link Room} ID forwarded to this shard, or <code>null</code> if there is
+	 *         none.
+	 */
+	public String pollRoomId() {
+		final String roomId = this.receivedRoomIds.poll();
+
+		if (roomId != null) {
+			synchronized (this) {
+				this.receivedMessageCount++;
+			}
+		}
+
+		return roomId;
+	}
+
+	/**
+	 * Takes in the next writing forwarded to the coordinator.
+	 *
+	 * @return The next writing forwarded to the coordinator, or <code>null</code> if there is none.
+	 */
+	public Writing pollWriting() {
+		final Writing writing = this.receivedWritings.poll();
+
+		if (writing != null) {
+			synchronized (this) {
+				this.receivedMessageCount++;
+			}
+		}
+
+		return writing;
+	}
+
+	/**
+	 * Answers the probes of the coordinator until it stops the exploration.
+	 */
+	private void readControlConnection() {
+		final DataInputStream controlInputStream = this.controlInputStreams[0];
+		final DataOutputStream controlOutputStream = this.controlOutputStreams[0];
+
+		try {
+			while (!this.stopped) {
+				final byte frame = controlInputStream.readByte();
+
+				if (frame == ShardCluster.STOP_FRAME) {
+					this.stopped = true;
+				} else if (frame == ShardCluster.PROBE_FRAME) {
+					synchronized (this) {
+						controlOutputStream.writeByte(ShardCluster.STATUS_FRAME);
+						controlOutputStream.writeBoolean(this.idle);
+						controlOutputStream.writeLong(this.sentMessageCount);
+						controlOutputStream.writeLong(this.receivedMessageCount);
+					}
+
+					controlOutputStream.flush();
+				} else {
+					throw new IOException(String.format("Unexpected frame %d.", frame));
+				}
+			}
+		} catch (final IOException ioException) {
+			this.fail(ioException);
+		}
+	}
+
+	/**
+	 * Reads the messages forwarded over a data connection until the other shard closes it.
+	 *
+	 * @param dataSocket
+	 *            The data connection.
+	 */
+	private void readDataConnection(final Socket dataSocket) {
+		try {
+			final DataInputStream dataInputStream = new DataInputStream(
+					new BufferedInputStream(dataSocket.getInputStream()));
+
+			while (true) {
+				final byte frame = dataInputStream.readByte();
+
+				if (frame == ShardCluster.ROOM_FRAME) {
+					this.receivedRoomIds.add(dataInputStream.readUTF());
+				} else if (frame == ShardCluster.WRITING_FRAME) {
+					final int order = dataInputStream.readInt();
+					final String writing = dataInputStream.readUTF();
+
+					this.receivedWritings.add(new Writing(order, writing));
+				} else {
+					throw new IOException(String.format("Unexpected frame %d.", frame));
+				}
+			}
+		} catch (final EOFException eofException) {
+			// The other shard is done, which the coordinator notices by itself if it is early.
+		} catch (final IOException ioException) {
+			this.fail(ioException);
+		}
+	}
+
+	/**
+	 * Records whether this shard has nothing left to do until more messages are forwarded to it,
+	 * which the coordinator asks for when probing.
+	 *
+	 * @param idle
+	 *            Whether this shard has nothing left to do.
+	 */
+	public synchronized void setIdle(final boolean idle) {
+		this.idle = idle;
+	}
+
+	/**
+	 * Starts the exploration across the cluster. The coordinator waits for every other shard to
+	 * connect, starts the exploration and hands every shard the starting {@link Room} and an equal
+	 * share of the drones, while every other shard waits for its share. Every shard then connects
+	 * to every other.
+	 *
+	 * @param explorationManager
+	 *            The {@link ExplorationManager} the coordinator starts the exploration with.
+	 * @return The starting {@link Room}, with the share of the drones of this shard.
+	 * @throws IOException
+	 *             A network error occurred.
+	 * @throws ServerException
+	 *             The server returned an error.
+	 */
+	public Room start(final ExplorationManager explorationManager)
+			throws IOException, ServerException {
+		final Room room;
+
+		if (this.isCoordinator()) {
+			room = this.startCoordinator(explorationManager);
+		} else {
+			room = this.startShard();
+		}
+
+		return room;
+	}
+
+	/**
+	 * Starts the exploration as the coordinator.
+	 *
+	 * @param explorationManager
+	 *            The {@link ExplorationManager} the exploration is started with.
+	 * @return The starting {@link Room}, with the share of the drones of the coordinator.
+	 * @throws IOException
+	 *             A network error occurred.
+	 * @throws ServerException
+	 *             The server returned an error.
+	 */
+	private Room startCoordinator(final ExplorationManager explorationManager)
+			throws IOException, ServerException {
+		final String[] hosts = new String[this.shardCount];
+		final int[] dataPorts = new int[this.shardCount];
+
+		for (int acceptedCount = 1; acceptedCount < this.shardCount; acceptedCount++) {
+			final Socket controlSocket = this.controlServerSocket.accept();
+
+			controlSocket.setTcpNoDelay(true);
+
+			final DataInputStream controlInputStream = new DataInputStream(
+					new BufferedInputStream(controlSocket.getInputStream()));
+
+			ShardCluster.readFrame(controlInputStream, ShardCluster.HELLO_FRAME);
+
+			final int shardIndex = controlInputStream.readInt();
+
+			if ((shardIndex <= 0) || (shardIndex >= this.shardCount)
+					|| (this.controlSockets[shardIndex] != null)) {
+				controlSocket.close();
+
+				throw new IOException(String.format("Shard %d joined unexpectedly.", shardIndex));
+			}
+
+			this.controlSockets[shardIndex] = controlSocket;
+			this.controlInputStreams[shardIndex] = controlInputStream;
+			this.controlOutputStreams[shardIndex] = new DataOutputStream(
+					new BufferedOutputStream(controlSocket.getOutputStream()));
+
+			hosts[shardIndex] = controlSocket.getInetAddress().getHostAddress();
+			dataPorts[shardIndex] = controlInputStream.readInt();
+		}
+
+		final Room startingRoom = explorationManager.start();
+		final List<String> droneIds = startingRoom.getDroneIds();
+
+		if (droneIds.size() < this.shardCount) {
+			throw new IllegalStateException(String.format(
+					"The labyrinth has %d drones, too few for %d shards.", droneIds.size(),
+					this.shardCount));
+		}
+
+		dataPorts[0] = this.dataServerSocket.getLocalPort();
+
+		for (int shardIndex = 1; shardIndex < this.shardCount; shardIndex++) {
+			final DataOutputStream controlOutputStream = this.controlOutputStreams[shardIndex];
+			final List<String> shardDroneIds = this.getShardDroneIds(droneIds, shardIndex);
+
+			hosts[0] = this.controlSockets[shardIndex].getLocalAddress().getHostAddress();
+
+			controlOutputStream.writeByte(ShardCluster.START_FRAME);
+			controlOutputStream.writeUTF(startingRoom.getId());
+			controlOutputStream.writeInt(shardDroneIds.size());
+
+			for (final String droneId : shardDroneIds) {
+				controlOutputStream.writeUTF(droneId);
+			}
+
+			for (int peerIndex = 0; peerIndex < this.shardCount; peerIndex++) {
+				controlOutputStream.writeUTF(hosts[peerIndex]);
+				controlOutputStream.writeInt(dataPorts[peerIndex]);
+			}
+
+			controlOutputStream.flush();
+		}
+
+		for (int shardIndex = 1; shardIndex < this.shardCount; shardIndex++) {
+			this.openDataConnection(shardIndex, hosts[shardIndex], dataPorts[shardIndex]);
+		}
+
+		final Thread probeThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				ShardCluster.this.detectTermination();
+			}
+		}, "ganymede-shard-probe");
+
+		probeThread.setDaemon(true);
+		probeThread.start();
+
+		return new Room(startingRoom.getId(), this.getShardDroneIds(droneIds, 0));
+	}
+
+	/**
+	 * Starts the exploration as a shard other than the coordinator.
+	 *
+	 * @return The starting {@link Room}, with the share of the drones of this shard.
+	 * @throws IOException
+	 *             A network error occurred.
+	 */
+	private Room startShard() throws IOException {
+		final DataInputStream controlInputStream = this.controlInputStreams[0];
+		final DataOutputStream controlOutputStream = this.controlOutputStreams[0];
+
+		controlOutputStream.writeByte(ShardCluster.HELLO_FRAME);
+		controlOutputStream.writeInt(this.shardIndex);
+		controlOutputStream.writeInt(this.dataServerSocket.getLocalPort());
+		controlOutputStream.flush();
+
+		ShardCluster.readFrame(controlInputStream, ShardCluster.START_FRAME);
+
+		final String startingRoomId = controlInputStream.readUTF();
+		final int droneCount = controlInputStream.readInt();
+		final List<String> droneIds = new ArrayList<>(droneCount);
+
+		for (int droneIndex = 0; droneIndex < droneCount; droneIndex++) {
+			droneIds.add(controlInputStream.readUTF());
+		}
+
+		for (int peerIndex = 0; peerIndex < this.shardCount; peerIndex++) {
+			final String host = controlInputStream.readUTF();
+			final int port = controlInputStream.readInt();
+
+			if (peerIndex != this.shardIndex) {
+				this.openDataConnection(peerIndex, host, port);
+			}
+		}
+
+		final Thread controlThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				ShardCluster.this.readControlConnection();
+			}
+		}, "ganymede-shard-control");
+
+		controlThread.setDaemon(true);
+		controlThread.start();
+
+		return new Room(startingRoomId, droneIds);
+	}
+}
\ No newline at end of file
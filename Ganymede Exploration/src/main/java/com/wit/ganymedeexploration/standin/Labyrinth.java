@@ -0,0 +1,414 @@
+package com.wit.ganymedeexploration.standin;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.wit.ganymedeexploration.model.Room;
+
+/**
+ * A randomly generated labyrinth whose {@link Room}s are derived on demand from a seed, so that
+ * labyrinths of tens of millions of {@link Room}s need no per-{@link Room} memory.
+ * <p>
+ * Every {@link Room} has a position within a tree of the configured branching factor, rooted at the
+ * starting {@link Room}, which guarantees that every {@link Room} can be reached. Some {@link Room}s
+ * additionally have a cross link to another random {@link Room}, so the same {@link Room} can be
+ * reached through more than one path. {@link Room} IDs are the positions scrambled by a keyed,
+ * reversible permutation, so they look random but can be mapped back to positions without a lookup
+ * table.
+ */
+public class Labyrinth {
+	/**
+	 * The characters used to generate a message when none is configured.
+	 */
+	private static final String MESSAGE_ALPHABET = "abcdefghijklmnopqrstuvwxyz ";
+
+	/**
+	 * The number of hexadecimal characters within every {@link Room} ID.
+	 */
+	private static final int ROOM_ID_LENGTH = 16;
+
+	/**
+	 * The number of rounds used by the Feistel network that scrambles {@link Room} positions.
+	 */
+	private static final int ROUNDS = 4;
+
+	/**
+	 * Mixes the bits of the given value.
+	 *
+	 * @param value
+	 *            The value to mix.
+	 * @return The mixed value.
+	 */
+	private static long mix(final long value) {
+		long mixedValue = value;
+
+		mixedValue = (mixedValue ^ (mixedValue >>> 33)) * 0xff51afd7ed558ccdL;
+		mixedValue = (mixedValue ^ (mixedValue >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		mixedValue = mixedValue ^ (mixedValue >>> 33);
+
+		return mixedValue;
+	}
+
+	/**
+	 * Returns the non-negative remainder of dividing the given value by the given modulus.
+	 *
+	 * @param value
+	 *            The value to divide.
+	 * @param modulus
+	 *            The modulus to divide by.
+	 * @return The non-negative remainder.
+	 */
+	private static long modulo(final long value, final long modulus) {
+		final long remainder = value % modulus;
+
+		return (remainder < 0) ? (remainder + modulus) : remainder;
+	}
+
+	/**
+	 * How many children each {@link Room} has within the spanning tree of the labyrinth.
+	 */
+	private final int branchingFactor;
+
+	/**
+	 * The probability of a {@link Room} having an additional cross link to another {@link Room}.
+	 */
+	private final double crossLinkProbability;
+
+	/**
+	 * The IDs of the drones usable for exploration.
+	 */
+	private final List<String> droneIds;
+
+	/**
+	 * The message hidden within the writings of the labyrinth.
+	 */
+	private final String message;
+
+	/**
+	 * The number of {@link Room}s within the labyrinth.
+	 */
+	private final long roomCount;
+
+	/**
+	 * The seed from which the entire labyrinth is derived.
+	 */
+	private final long seed;
+
+	/**
+	 * The number of {@link Room}s having a piece of the message written within them.
+	 */
+	private final long writingCount;
+
+	/**
+	 * The modular inverse of the multiplier used to scatter pieces of the message across
+	 * {@link Room} positions, used to map positions back to pieces.
+	 */
+	private final long writingMultiplierInverse;
+
+	/**
+	 * The offset used to scatter pieces of the message across {@link Room} positions.
+	 */
+	private final long writingOffset;
+
+	/**
+	 * Creates a new {@link Labyrinth}.
+	 *
+	 * @param standInConfiguration
+	 *            The {@link StandInConfiguration} describing the labyrinth to generate.
+	 */
+	public Labyrinth(final StandInConfiguration standInConfiguration) {
+		this.seed = standInConfiguration.getSeed();
+		this.roomCount = standInConfiguration.getRoomCount();
+		this.branchingFactor = standInConfiguration.getBranchingFactor();
+		this.crossLinkProbability = standInConfiguration.getCrossLinkProbability();
+
+		if ((this.roomCount < 1) || (this.roomCount > Integer.MAX_VALUE)) {
+			throw new IllegalArgumentException(String.format(
+					"A labyrinth needs between 1 and %d rooms.", Integer.MAX_VALUE));
+		} else if (this.branchingFactor < 1) {
+			throw new IllegalArgumentException("The branching factor must be at least 1.");
+		}
+
+		final Random random = new Random(this.seed);
+		final int droneCount = standInConfiguration.getDroneCount();
+
+		this.droneIds = new ArrayList<>(droneCount);
+
+		for (int droneIndex = 0; droneIndex < droneCount; droneIndex++) {
+			final String droneId = String.format("drone-%016x", random.nextLong());
+
+			this.droneIds.add(droneId);
+		}
+
+		final String configuredMessage = standInConfiguration.getMessage();
+
+		if (configuredMessage == null) {
+			final int messageLength = standInConfiguration.getMessageLength();
+			final StringBuilder messageStringBuilder = new StringBuilder(messageLength);
+
+			for (int characterIndex = 0; characterIndex < messageLength; characterIndex++) {
+				final int alphabetIndex = random.nextInt(Labyrinth.MESSAGE_ALPHABET.length());
+
+				messageStringBuilder.append(Labyrinth.MESSAGE_ALPHABET.charAt(alphabetIndex));
+			}
+
+			this.message = messageStringBuilder.toString();
+		} else {
+			this.message = configuredMessage;
+		}
+
+		this.writingCount = Math.min(this.roomCount,
+				Math.max(1, Math.min(standInConfiguration.getWritingCount(),
+						this.message.length())));
+
+		final BigInteger roomCountBigInteger = BigInteger.valueOf(this.roomCount);
+		long writingMultiplier = 1;
+
+		if (this.roomCount > 1) {
+			do {
+				writingMultiplier = 1 + Labyrinth.modulo(random.nextLong(), this.roomCount - 1);
+			} while (!BigInteger.valueOf(writingMultiplier).gcd(roomCountBigInteger)
+					.equals(BigInteger.ONE));
+		}
+
+		this.writingMultiplierInverse = BigInteger.valueOf(writingMultiplier)
+				.modInverse(roomCountBigInteger).longValue();
+		this.writingOffset = Labyrinth.modulo(random.nextLong(), this.roomCount);
+	}
+
+	/**
+	 * Returns the IDs of the {@link Room}s connected to the {@link Room} with the given ID.
+	 *
+	 * @param roomId
+	 *            The ID of the {@link Room} to explore.
+	 * @return The IDs of the connected {@link Room}s, or <code>null</code> if no such {@link Room}
+	 *         exists.
+	 */
+	public List<String> explore(final String roomId) {
+		final long position = this.toPosition(roomId);
+		final List<String> connectedRoomIds;
+
+		if (position < 0) {
+			connectedRoomIds = null;
+		} else {
+			connectedRoomIds = new ArrayList<>(this.branchingFactor + 2);
+
+			if (position > 0) {
+				final long parentPosition = (position - 1) / this.branchingFactor;
+
+				connectedRoomIds.add(this.toRoomId(parentPosition));
+			}
+
+			final long firstChildPosition = (position * this.branchingFactor) + 1;
+
+			for (long childPosition = firstChildPosition; (childPosition < (firstChildPosition
+					+ this.branchingFactor)) && (childPosition < this.roomCount); childPosition++) {
+				connectedRoomIds.add(this.toRoomId(childPosition));
+			}
+
+			final long crossLinkHash = Labyrinth.mix(this.seed ^ Labyrinth.mix(position));
+			final double crossLinkRoll = (crossLinkHash >>> 11) * 0x1.0p-53;
+
+			if (crossLinkRoll < this.crossLinkProbability) {
+				final long crossLinkPosition = Labyrinth.modulo(Labyrinth.mix(crossLinkHash),
+						this.roomCount);
+
+				if (crossLinkPosition != position) {
+					connectedRoomIds.add(this.toRoomId(crossLinkPosition));
+				}
+			}
+		}
+
+		return connectedRoomIds;
+	}
+
+	/**
+	 * Scrambles or unscrambles a position using a keyed Feistel network over two 32-bit halves.
+	 *
+	 * @param value
+	 *            The value to scramble or unscramble.
+	 * @param forward
+	 *            Whether to scramble rather than unscramble.
+	 * @return The scrambled or unscrambled value.
+	 */
+	private long feistel(final long value, final boolean forward) {
+		int left = (int) (value >>> 32);
+		int right = (int) value;
+
+		for (int round = 0; round < Labyrinth.ROUNDS; round++) {
+			final int key = forward ? round : (Labyrinth.ROUNDS - 1 - round);
+
+			if (forward) {
+				final int roundOutput = (int) Labyrinth.mix(this.seed + key + (right & 0xffffffffL));
+				final int newRight = left ^ roundOutput;
+
+				left = right;
+				right = newRight;
+			} else {
+				final int roundOutput = (int) Labyrinth.mix(this.seed + key + (left & 0xffffffffL));
+				final int newLeft = right ^ roundOutput;
+
+				right = left;
+				left = newLeft;
+			}
+		}
+
+		return ((long) left << 32) | (right & 0xffffffffL);
+	}
+
+	/**
+	 * Returns the IDs of the drones usable for exploration.
+	 *
+	 * @return The IDs of the drones usable for exploration.
+	 */
+	public List<String> getDroneIds() {
+		return this.droneIds;
+	}
+
+	/**
+	 * Returns the message hidden within the writings of the labyrinth.
+	 *
+	 * @return The message hidden within the writings of the labyrinth.
+	 */
+	public String getMessage() {
+		return this.message;
+	}
+
+	/**
+	 * Returns the number of {@link Room}s within the labyrinth.
+	 *
+	 * @return The number of {@link Room}s within the labyrinth.
+	 */
+	public long getRoomCount() {
+		return this.roomCount;
+	}
+
+	/**
+	 * Returns the ID of the {@link Room} where exploration starts.
+	 *
+	 * @return The ID of the {@link Room} where exploration starts.
+	 */
+	public String getStartingRoomId() {
+		return this.toRoomId(0);
+	}
+
+	/**
+	 * Returns the order of the piece of the message written within the {@link Room} with the given
+	 * ID.
+	 *
+	 * @param roomId
+	 *            The ID of the {@link Room} to read.
+	 * @return The order of the piece of the message, -1 if the {@link Room} has no meaningful
+	 *         writing, or <code>null</code> if no such {@link Room} exists.
+	 */
+	public Integer readOrder(final String roomId) {
+		final long position = this.toPosition(roomId);
+		final Integer order;
+
+		if (position < 0) {
+			order = null;
+		} else {
+			final long writingIndex = this.toWritingIndex(position);
+
+			order = (writingIndex < this.writingCount) ? (int) writingIndex : -1;
+		}
+
+		return order;
+	}
+
+	/**
+	 * Returns the writing found within the {@link Room} with the given order.
+	 *
+	 * @param order
+	 *            The order returned by {@link #readOrder(String)}.
+	 * @return The writing found within the {@link Room}.
+	 */
+	public String readWriting(final int order) {
+		final String writing;
+
+		if (order < 0) {
+			writing = "";
+		} else {
+			final long messageLength = this.message.length();
+			final int start = (int) ((order * messageLength) / this.writingCount);
+			final int end = (int) (((order + 1) * messageLength) / this.writingCount);
+
+			writing = this.message.substring(start, end);
+		}
+
+		return writing;
+	}
+
+	/**
+	 * Returns the position of the {@link Room} with the given ID.
+	 *
+	 * @param roomId
+	 *            The ID of the {@link Room}.
+	 * @return The position of the {@link Room}, or -1 if no such {@link Room} exists.
+	 */
+	private long toPosition(final String roomId) {
+		long position = -1;
+
+		if ((roomId != null) && (roomId.length() == Labyrinth.ROOM_ID_LENGTH)) {
+			long scrambledPosition = 0;
+			boolean valid = true;
+
+			for (int characterIndex = 0; valid
+					&& (characterIndex < Labyrinth.ROOM_ID_LENGTH); characterIndex++) {
+				final int digit = Character.digit(roomId.charAt(characterIndex), 16);
+
+				valid = digit >= 0;
+				scrambledPosition = (scrambledPosition << 4) | digit;
+			}
+
+			if (valid) {
+				final long unscrambledPosition = this.feistel(scrambledPosition, false);
+
+				if ((unscrambledPosition >= 0) && (unscrambledPosition < this.roomCount)) {
+					position = unscrambledPosition;
+				}
+			}
+		}
+
+		return position;
+	}
+
+	/**
+	 * Returns the ID of the {@link Room} at the given position.
+	 *
+	 * @param position
+	 *            The position of the {@link Room}.
+	 * @return The ID of the {@link Room}.
+	 */
+	private String toRoomId(final long position) {
+		final long scrambledPosition = this.feistel(position, true);
+		final char[] roomIdCharacters = new char[Labyrinth.ROOM_ID_LENGTH];
+
+		for (int characterIndex = 0; characterIndex < Labyrinth.ROOM_ID_LENGTH; characterIndex++) {
+			final int shift = (Labyrinth.ROOM_ID_LENGTH - 1 - characterIndex) * 4;
+			final int digit = (int) ((scrambledPosition >>> shift) & 0xf);
+
+			roomIdCharacters[characterIndex] = Character.forDigit(digit, 16);
+		}
+
+		return new String(roomIdCharacters);
+	}
+
+	/**
+	 * Returns the index of the piece of the message that would be placed at the given position.
+	 *
+	 * @param position
+	 *            The position of the {@link Room}.
+	 * @return The index of the piece of the message.
+	 */
+	private long toWritingIndex(final long position) {
+		final long shiftedPosition = Labyrinth.modulo(position - this.writingOffset,
+				this.roomCount);
+		final long writingIndex = Labyrinth.modulo(shiftedPosition * this.writingMultiplierInverse,
+				this.roomCount);
+
+		return writingIndex;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,443 @@
+package com.wit.ganymedeexploration.standin;
+
+import com.wit.ganymedeexploration.model.Room;
+
+/**
+ * Describes the labyrinth served by a {@link StandInServer} along with how the server behaves.
+ */
+public class StandInConfiguration {
+	/**
+	 * The shapes of distribution that per-command latency can be drawn from.
+	 */
+	public static enum LatencyDistribution {
+		/**
+		 * Every command takes exactly the base latency.
+		 */
+		FIXED,
+
+		/**
+		 * Every command takes the base latency plus an exponentially distributed extra latency
+		 * whose mean is the latency jitter.
+		 */
+		EXPONENTIAL,
+
+		/**
+		 * Every command takes the base latency plus a uniformly distributed extra latency of up to
+		 * the latency jitter.
+		 */
+		UNIFORM
+	}
+
+	/**
+	 * How many children each {@link Room} has within the spanning tree of the labyrinth.
+	 */
+	private int branchingFactor = 3;
+
+	/**
+	 * The probability of a command failing with an error result.
+	 */
+	private double commandErrorRate = 0;
+
+	/**
+	 * The probability of a {@link Room} having an additional cross link to another {@link Room}.
+	 */
+	private double crossLinkProbability = 0.5;
+
+	/**
+	 * The number of drones usable for exploration.
+	 */
+	private int droneCount = 8;
+
+	/**
+	 * The probability of an entire batch of commands failing with a server error.
+	 */
+	private double errorRate = 0;
+
+	/**
+	 * The minimum number of milliseconds that every command takes.
+	 */
+	private double latencyBaseMilliseconds = 0;
+
+	/**
+	 * The shape of distribution that the extra per-command latency is drawn from.
+	 */
+	private LatencyDistribution latencyDistribution = LatencyDistribution.FIXED;
+
+	/**
+	 * The spread, in milliseconds, of the extra per-command latency.
+	 */
+	private double latencyJitterMilliseconds = 0;
+
+	/**
+	 * The message hidden within the labyrinth, or <code>null</code> to generate one.
+	 */
+	private String message = null;
+
+	/**
+	 * The length of the message to generate when none is given.
+	 */
+	private int messageLength = 4096;
+
+	/**
+	 * The port to listen on, or 0 to pick any free port.
+	 */
+	private int port = 0;
+
+	/**
+	 * The number of {@link Room}s within the labyrinth.
+	 */
+	private long roomCount = 10000;
+
+	/**
+	 * The seed from which the entire labyrinth is derived.
+	 */
+	private long seed = 0;
+
+	/**
+	 * The number of {@link Room}s having a piece of the message written within them.
+	 */
+	private long writingCount = 256;
+
+	/**
+	 * Creates a new {@link StandInConfiguration} from command line arguments of the form
+	 * <code>--name=value</code>, leaving anything not given at its default.
+	 *
+	 * @param args
+	 *            The command line arguments.
+	 * @return The {@link StandInConfiguration} described by the arguments.
+	 * @throws IllegalArgumentException
+	 *             An argument was not recognized.
+	 */
+	public static StandInConfiguration fromArguments(final String[] args) {
+		final StandInConfiguration standInConfiguration = new StandInConfiguration();
+
+		for (final String arg : args) {
+			final int separatorIndex = arg.indexOf('=');
+			final String name = (arg.startsWith("--") && (separatorIndex > 0))
+					? arg.substring(2, separatorIndex) : "";
+			final String value = arg.substring(separatorIndex + 1);
+
+			switch (name) {
+			case "branching-factor":
+				standInConfiguration.setBranchingFactor(Integer.parseInt(value));
+				break;
+			case "command-error-rate":
+				standInConfiguration.setCommandErrorRate(Double.parseDouble(value));
+				break;
+			case "cross-link-probability":
+				standInConfiguration.setCrossLinkProbability(Double.parseDouble(value));
+				break;
+			case "drones":
+				standInConfiguration.setDroneCount(Integer.parseInt(value));
+				break;
+			case "error-rate":
+				standInConfiguration.setErrorRate(Double.parseDouble(value));
+				break;
+			case "latency-ms":
+				standInConfiguration.setLatencyBaseMilliseconds(Double.parseDouble(value));
+				break;
+			case "latency-distribution":
+				standInConfiguration.setLatencyDistribution(
+						LatencyDistribution.valueOf(value.toUpperCase()));
+				break;
+			case "latency-jitter-ms":
+				standInConfiguration.setLatencyJitterMilliseconds(Double.parseDouble(value));
+				break;
+			case "message":
+				standInConfiguration.setMessage(value);
+				break;
+			case "message-length":
+				standInConfiguration.setMessageLength(Integer.parseInt(value));
+				break;
+			case "port":
+				standInConfiguration.setPort(Integer.parseInt(value));
+				break;
+			case "rooms":
+				standInConfiguration.setRoomCount(Long.parseLong(value));
+				break;
+			case "seed":
+				standInConfiguration.setSeed(Long.parseLong(value));
+				break;
+			case "writings":
+				standInConfiguration.setWritingCount(Long.parseLong(value));
+				break;
+			default:
+				throw new IllegalArgumentException(
+						String.format("Unrecognized argument \"%s\".", arg));
+			}
+		}
+
+		return standInConfiguration;
+	}
+
+	/**
+	 * Returns how many children each {@link Room} has within the spanning tree of the labyrinth.
+	 *
+	 * @return How many children each {@link Room} has within the spanning tree of the labyrinth.
+	 */
+	public int getBranchingFactor() {
+		return this.branchingFactor;
+	}
+
+	/**
+	 * Returns the probability of a command failing with an error result.
+	 *
+	 * @return The probability of a command failing with an error result.
+	 */
+	public double getCommandErrorRate() {
+		return this.commandErrorRate;
+	}
+
+	/**
+	 * Returns the probability of a {@link Room} having an additional cross link to another
+	 * {@link Room}.
+	 *
+	 * @return The probability of a {@link Room} having an additional cross link to another
+	 *         {@link Room}.
+	 */
+	public double getCrossLinkProbability() {
+		return this.crossLinkProbability;
+	}
+
+	/**
+	 * Returns the number of drones usable for exploration.
+	 *
+	 * @return The number of drones usable for exploration.
+	 */
+	public int getDroneCount() {
+		return this.droneCount;
+	}
+
+	/**
+	 * Returns the probability of an entire batch of commands failing with a server error.
+	 *
+	 * @return The probability of an entire batch of commands failing with a server error.
+	 */
+	public double getErrorRate() {
+		return this.errorRate;
+	}
+
+	/**
+	 * Returns the minimum number of milliseconds that every command takes.
+	 *
+	 * @return The minimum number of milliseconds that every command takes.
+	 */
+	public double getLatencyBaseMilliseconds() {
+		return this.latencyBaseMilliseconds;
+	}
+
+	/**
+	 * Returns the shape of distribution that the extra per-command latency is drawn from.
+	 *
+	 * @return The shape of distribution that the extra per-command latency is drawn from.
+	 */
+	public LatencyDistribution getLatencyDistribution() {
+		return this.latencyDistribution;
+	}
+
+	/**
+	 * Returns the spread, in milliseconds, of the extra per-command latency.
+	 *
+	 * @return The spread, in milliseconds, of the extra per-command latency.
+	 */
+	public double getLatencyJitterMilliseconds() {
+		return this.latencyJitterMilliseconds;
+	}
+
+	/**
+	 * Returns the message hidden within the labyrinth, or <code>null</code> to generate one.
+	 *
+	 * @return The message hidden within the labyrinth, or <code>null</code> to generate one.
+	 */
+	public String getMessage() {
+		return this.message;
+	}
+
+	/**
+	 * Returns the length of the message to generate when none is given.
+	 *
+	 * @return The length of the message to generate when none is given.
+	 */
+	public int getMessageLength() {
+		return this.messageLength;
+	}
+
+	/**
+	 * Returns the port to listen on, or 0 to pick any free port.
+	 *
+	 * @return The port to listen on, or 0 to pick any free port.
+	 */
+	public int getPort() {
+		return this.port;
+	}
+
+	/**
+	 * Returns the number of {@link Room}s within the labyrinth.
+	 *
+	 * @return The number of {@link Room}s within the labyrinth.
+	 */
+	public long getRoomCount() {
+		return this.roomCount;
+	}
+
+	/**
+	 * Returns the seed from which the entire labyrinth is derived.
+	 *
+	 * @return The seed from which the entire labyrinth is derived.
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * Returns the number of {@link Room}s having a piece of the message written within them.
+	 *
+	 * @return The number of {@link Room}s having a piece of the message written within them.
+	 */
+	public long getWritingCount() {
+		return this.writingCount;
+	}
+
+	/**
+	 * Sets how many children each {@link Room} has within the spanning tree of the labyrinth.
+	 *
+	 * @param branchingFactor
+	 *            How many children each {@link Room} has within the spanning tree of the
+	 *            labyrinth.
+	 */
+	public void setBranchingFactor(final int branchingFactor) {
+		this.branchingFactor = branchingFactor;
+	}
+
+	/**
+	 * Sets the probability of a command failing with an error result.
+	 *
+	 * @param commandErrorRate
+	 *            The probability of a command failing with an error result.
+	 */
+	public void setCommandErrorRate(final double commandErrorRate) {
+		this.commandErrorRate = commandErrorRate;
+	}
+
+	/**
+	 * Sets the probability of a {@link Room} having an additional cross link to another
+	 * {@link Room}.
+	 *
+	 * @param crossLinkProbability
+	 *            The probability of a {@link Room} having an additional cross link to another
+	 *            {@link Room}.
+	 */
+	public void setCrossLinkProbability(final double crossLinkProbability) {
+		this.crossLinkProbability = crossLinkProbability;
+	}
+
+	/**
+	 * Sets the number of drones usable for exploration.
+	 *
+	 * @param droneCount
+	 *            The number of drones usable for exploration.
+	 */
+	public void setDroneCount(final int droneCount) {
+		this.droneCount = droneCount;
+	}
+
+	/**
+	 * Sets the probability of an entire batch of commands failing with a server error.
+	 *
+	 * @param errorRate
+	 *            The probability of an entire batch of commands failing with a server error.
+	 */
+	public void setErrorRate(final double errorRate) {
+		this.errorRate = errorRate;
+	}
+
+	/**
+	 * Sets the minimum number of milliseconds that every command takes.
+	 *
+	 * @param latencyBaseMilliseconds
+	 *            The minimum number of milliseconds that every command takes.
+	 */
+	public void setLatencyBaseMilliseconds(final double latencyBaseMilliseconds) {
+		this.latencyBaseMilliseconds = latencyBaseMilliseconds;
+	}
+
+	/**
+	 * Sets the shape of distribution that the extra per-command latency is drawn from.
+	 *
+	 * @param latencyDistribution
+	 *            The shape of distribution that the extra per-command latency is drawn from.
+	 */
+	public void setLatencyDistribution(final LatencyDistribution latencyDistribution) {
+		this.latencyDistribution = latencyDistribution;
+	}
+
+	/**
+	 * Sets the spread, in milliseconds, of the extra per-command latency.
+	 *
+	 * @param latencyJitterMilliseconds
+	 *            The spread, in milliseconds, of the extra per-command latency.
+	 */
+	public void setLatencyJitterMilliseconds(final double latencyJitterMilliseconds) {
+		this.latencyJitterMilliseconds = latencyJitterMilliseconds;
+	}
+
+	/**
+	 * Sets the message hidden within the labyrinth, or <code>null</code> to generate one.
+	 *
+	 * @param message
+	 *            The message hidden within the labyrinth, or <code>null</code> to generate one.
+	 */
+	public void setMessage(final String message) {
+		this.message = message;
+	}
+
+	/**
+	 * Sets the length of the message to generate when none is given.
+	 *
+	 * @param messageLength
+	 *            The length of the message to generate when none is given.
+	 */
+	public void setMessageLength(final int messageLength) {
+		this.messageLength = messageLength;
+	}
+
+	/**
+	 * Sets the port to listen on, or 0 to pick any free port.
+	 *
+	 * @param port
+	 *            The port to listen on, or 0 to pick any free port.
+	 */
+	public void setPort(final int port) {
+		this.port = port;
+	}
+
+	/**
+	 * Sets the number of {@link Room}s within the labyrinth.
+	 *
+	 * @param roomCount
+	 *            The number of {@link Room}s within the labyrinth.
+	 */
+	public void setRoomCount(final long roomCount) {
+		this.roomCount = roomCount;
+	}
+
+	/**
+	 * Sets the seed from which the entire labyrinth is derived.
+	 *
+	 * @param seed
+	 *            The seed from which the entire labyrinth is derived.
+	 */
+	public void setSeed(final long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Sets the number of {@link Room}s having a piece of the message written within them.
+	 *
+	 * @param writingCount
+	 *            The number of {@link Room}s having a piece of the message written within them.
+	 */
+	public void setWritingCount(final long writingCount) {
+		this.writingCount = writingCount;
+	}
+}
\ No newline at end of file
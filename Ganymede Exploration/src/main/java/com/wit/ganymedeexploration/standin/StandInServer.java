@@ -0,0 +1,755 @@
+package com.wit.ganymedeexploration.standin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.wit.ganymedeexploration.ExplorationDaemon;
+import com.wit.ganymedeexploration.ExplorationSessions;
+import com.wit.ganymedeexploration.GanymedeExploration;
+import com.wit.ganymedeexploration.model.CommandResult;
+import com.wit.ganymedeexploration.model.ReportResponse;
+import com.wit.ganymedeexploration.model.Room;
+import com.wit.ganymedeexploration.service.DroneExecutors;
+import com.wit.ganymedeexploration.service.ExplorationManager;
+import com.wit.ganymedeexploration.service.TransportConfiguration;
+import com.wit.ganymedeexploration.shard.ShardCluster;
+
+/**
+ * An in-process stand-in for the labyrinth server, serving a randomly generated {@link Labyrinth}
+ * through the same endpoints and JSON shapes used by {@link ExplorationManager}.
+ */
+public class StandInServer {
+	/**
+	 * Serves <code>/drone/{id}/commands</code>, answering with a {@link CommandResult} per command.
+	 */
+	private final class CommandsHandler implements HttpHandler {
+		@Override
+		public void handle(final HttpExchange httpExchange) throws IOException {
+			final String path = httpExchange.getRequestURI().getPath();
+			final String[] pathSegments = path.split("/");
+			final ThreadLocalRandom threadLocalRandom = ThreadLocalRandom.current();
+
+			if ((pathSegments.length != 4) || !"commands".equals(pathSegments[3])
+					|| !StandInServer.this.labyrinth.getDroneIds().contains(pathSegments[2])) {
+				StandInServer.this.respond(httpExchange, 404, StandInServer.error("Unknown drone."));
+			} else if (threadLocalRandom
+					.nextDouble() < StandInServer.this.standInConfiguration.getErrorRate()) {
+				StandInServer.this.respond(httpExchange, 500,
+						StandInServer.error("Injected server error."));
+			} else {
+				final Map<String, Map<String, String>> commandIdCommandContents;
+
+				try (final Reader reader = StandInServer.reader(httpExchange)) {
+					commandIdCommandContents = StandInServer.this.gson.fromJson(reader,
+							StandInServer.COMMANDS_TYPE);
+				} catch (final JsonParseException jsonParseException) {
+					StandInServer.this.respond(httpExchange, 400,
+							StandInServer.error("Malformed commands."));
+
+					return;
+				}
+
+				if ((commandIdCommandContents == null) || (commandIdCommandContents
+						.size() > ExplorationManager.MAXIMUM_COMMAND_BATCH_SIZE)) {
+					StandInServer.this.respond(httpExchange, 400,
+							StandInServer.error("Too many commands."));
+				} else {
+					final JsonObject commandIdCommandResults = new JsonObject();
+
+					for (final Map.Entry<String, Map<String, String>> commandIdCommandContentsEntry : commandIdCommandContents
+							.entrySet()) {
+						final String commandId = commandIdCommandContentsEntry.getKey();
+						final Map<String, String> commandContents = commandIdCommandContentsEntry
+								.getValue();
+						final JsonObject commandResult = StandInServer.this
+								.executeCommand(commandContents, threadLocalRandom);
+
+						commandIdCommandResults.add(commandId, commandResult);
+					}
+
+					StandInServer.this.sleep(commandIdCommandContents.size(), threadLocalRandom);
+					StandInServer.this.respond(httpExchange, 200,
+							commandIdCommandResults.toString());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Serves every other path with an error, like the default handler of the server but without
+	 * closing the connection, so that warming up connections against <code>/</code> leaves them in
+	 * the pool.
+	 */
+	private final class NotFoundHandler implements HttpHandler {
+		@Override
+		public void handle(final HttpExchange httpExchange) throws IOException {
+			StandInServer.this.respond(httpExchange, 404, StandInServer.error("Not found."));
+		}
+	}
+
+	/**
+	 * Serves <code>/report</code>, answering with a {@link ReportResponse}.
+	 */
+	private final class ReportHandler implements HttpHandler {
+		@Override
+		public void handle(final HttpExchange httpExchange) throws IOException {
+			final JsonObject reportDetails;
+
+			try (final Reader reader = StandInServer.reader(httpExchange)) {
+				reportDetails = StandInServer.this.gson.fromJson(reader, JsonObject.class);
+			} catch (final JsonParseException jsonParseException) {
+				StandInServer.this.respond(httpExchange, 400,
+						StandInServer.error("Malformed report."));
+
+				return;
+			}
+
+			final String expectedMessage = StandInServer.this.labyrinth.getMessage();
+			final boolean correct = (reportDetails != null) && reportDetails.has("message")
+					&& expectedMessage.equals(reportDetails.get("message").getAsString());
+			final JsonObject reportResponse = new JsonObject();
+
+			reportResponse.addProperty("response",
+					correct ? "Correct! The message was fully decoded."
+							: "Incorrect. The message does not match.");
+
+			StandInServer.this.respond(httpExchange, 200, reportResponse.toString());
+		}
+	}
+
+	/**
+	 * Serves <code>/start</code>, answering with the starting {@link Room}.
+	 */
+	private final class StartHandler implements HttpHandler {
+		@Override
+		public void handle(final HttpExchange httpExchange) throws IOException {
+			final JsonObject room = new JsonObject();
+			final JsonArray droneIds = new JsonArray();
+
+			for (final String droneId : StandInServer.this.labyrinth.getDroneIds()) {
+				droneIds.add(droneId);
+			}
+
+			room.addProperty("roomId", StandInServer.this.labyrinth.getStartingRoomId());
+			room.add("drones", droneIds);
+
+			StandInServer.this.respond(httpExchange, 200, room.toString());
+		}
+	}
+
+	/**
+	 * The type of the body sent to <code>/drone/{id}/commands</code>.
+	 */
+	private static final Type COMMANDS_TYPE = new TypeToken<Map<String, Map<String, String>>>() {
+	}.getType();
+
+	/**
+	 * The argument that runs an exploration against the {@link StandInServer} once it has started.
+	 */
+	private static final String EXPLORE_ARGUMENT = "--explore";
+
+	/**
+	 * The prefix of the argument giving the number of times to explore the {@link StandInServer}
+	 * back to back, as jobs sent to one {@link ExplorationDaemon}.
+	 */
+	private static final String JOBS_ARGUMENT_PREFIX = "--jobs=";
+
+	/**
+	 * The smallest response body worth compressing, in bytes, below which the gzip header and
+	 * trailer would outweigh any savings.
+	 */
+	private static final int MINIMUM_COMPRESSED_LENGTH = 1024;
+
+	/**
+	 * The system property making the built-in HTTP server disable Nagle's algorithm. Otherwise it
+	 * holds back the body of every response on a kept-alive connection, which is written separately
+	 * from the headers, until the client's delayed acknowledgement arrives some 40 ms later.
+	 */
+	private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+	/**
+	 * The prefix of the argument giving the number of {@link StandInServer}s to start and explore
+	 * at once, as separate sessions of {@link ExplorationSessions}.
+	 */
+	private static final String SESSIONS_ARGUMENT_PREFIX = "--sessions=";
+
+	/**
+	 * The prefix of the argument giving the number of processes to split the exploration of the
+	 * {@link StandInServer} across, as the shards of a {@link ShardCluster}.
+	 */
+	private static final String SHARDS_ARGUMENT_PREFIX = "--shards=";
+
+	/**
+	 * Returns the JSON body describing an error.
+	 *
+	 * @param error
+	 *            A description of the error.
+	 * @return The JSON body describing the error.
+	 */
+	private static String error(final String error) {
+		final JsonObject errorJsonObject = new JsonObject();
+
+		errorJsonObject.addProperty("error", error);
+
+		return errorJsonObject.toString();
+	}
+
+	/**
+	 * Starts a {@link StandInServer} described by the given arguments and, if requested, runs a
+	 * full exploration against it and reports how long it took.
+	 *
+	 * @param args
+	 *            Arguments of the form <code>--name=value</code> as accepted by
+	 *            {@link StandInConfiguration#fromArguments(String[])}, optionally followed by
+	 *            <code>--explore</code> and, to resume a journaled exploration instead of starting
+	 *            afresh, {@link GanymedeExploration#RESUME_ARGUMENT}, or by
+	 *            <code>--sessions=N</code> to start N {@link StandInServer}s, with consecutive
+	 *            seeds, and explore them all at once, or by <code>--shards=N</code> to split the
+	 *            exploration across N processes on this machine.
+	 * @throws IOException
+	 *             The server could not be started.
+	 */
+	public static void main(final String[] args) throws IOException {
+		final List<String> arguments = new ArrayList<>(Arrays.asList(args));
+		final boolean explore = arguments.remove(StandInServer.EXPLORE_ARGUMENT);
+		final boolean resume = arguments.remove(GanymedeExploration.RESUME_ARGUMENT);
+		int jobCount = 1;
+		int sessionCount = 1;
+		int shardCount = 1;
+
+		for (final Iterator<String> iterator = arguments.iterator(); iterator.hasNext();) {
+			final String argument = iterator.next();
+
+			if (argument.startsWith(StandInServer.JOBS_ARGUMENT_PREFIX)) {
+				jobCount = Integer.parseInt(
+						argument.substring(StandInServer.JOBS_ARGUMENT_PREFIX.length()));
+
+				iterator.remove();
+			} else if (argument.startsWith(StandInServer.SESSIONS_ARGUMENT_PREFIX)) {
+				sessionCount = Integer.parseInt(
+						argument.substring(StandInServer.SESSIONS_ARGUMENT_PREFIX.length()));
+
+				iterator.remove();
+			} else if (argument.startsWith(StandInServer.SHARDS_ARGUMENT_PREFIX)) {
+				shardCount = Integer.parseInt(
+						argument.substring(StandInServer.SHARDS_ARGUMENT_PREFIX.length()));
+
+				iterator.remove();
+			}
+		}
+
+		final StandInConfiguration standInConfiguration = StandInConfiguration
+				.fromArguments(arguments.toArray(new String[arguments.size()]));
+
+		if (sessionCount > 1) {
+			StandInServer.runSessions(standInConfiguration, sessionCount, explore);
+		} else if (explore && (shardCount > 1)) {
+			StandInServer.runShards(standInConfiguration, shardCount);
+		} else if (explore && (jobCount > 1)) {
+			StandInServer.runJobs(standInConfiguration, jobCount);
+		} else {
+			StandInServer.run(standInConfiguration, explore, resume);
+		}
+	}
+
+	/**
+	 * Returns a {@link Reader} over the body of the given request.
+	 *
+	 * @param httpExchange
+	 *            The request to read the body of.
+	 * @return A {@link Reader} over the body of the request.
+	 */
+	private static Reader reader(final HttpExchange httpExchange) {
+		final InputStream inputStream = httpExchange.getRequestBody();
+
+		return new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Starts a {@link StandInServer} and, if requested, runs a full exploration against it and
+	 * reports how long it took.
+	 *
+	 * @param standInConfiguration
+	 *            The configuration of the {@link StandInServer}.
+	 * @param explore
+	 *            Whether to run an exploration against the {@link StandInServer}.
+	 * @param resume
+	 *            Whether to resume a journaled exploration instead of starting afresh.
+	 * @throws IOException
+	 *             The server could not be started.
+	 */
+	private static void run(final StandInConfiguration standInConfiguration,
+			final boolean explore, final boolean resume) throws IOException {
+		final StandInServer standInServer = new StandInServer(standInConfiguration);
+
+		standInServer.start();
+
+		final String baseUrl = standInServer.getBaseUrl();
+
+		System.out.println(String.format("Serving a labyrinth of %d rooms at %s",
+				standInServer.labyrinth.getRoomCount(), baseUrl));
+
+		if (explore) {
+			System.setProperty(TransportConfiguration.BASE_URL_PROPERTY, baseUrl);
+
+			final long startNanoTime = System.nanoTime();
+
+			try {
+				final String[] explorationArgs = resume ? new String[] {
+						GanymedeExploration.RESUME_ARGUMENT } : new String[0];
+
+				GanymedeExploration.main(explorationArgs);
+
+				final long elapsedMilliseconds = TimeUnit.NANOSECONDS
+						.toMillis(System.nanoTime() - startNanoTime);
+
+				System.out.println(String.format("Explored %d rooms in %d ms",
+						standInServer.labyrinth.getRoomCount(), elapsedMilliseconds));
+			} finally {
+				standInServer.stop();
+			}
+		}
+	}
+
+	/**
+	 * Starts a {@link StandInServer} and an {@link ExplorationDaemon} within this process, then
+	 * sends the daemon the given number of jobs exploring the {@link StandInServer}, one after
+	 * the other, and compares how long the first, cold job took with the warm ones after it.
+	 *
+	 * @param standInConfiguration
+	 *            The configuration of the {@link StandInServer}.
+	 * @param jobCount
+	 *            The number of jobs to send, at least 2.
+	 * @throws IOException
+	 *             The server or the daemon could not be started, or the daemon could not be
+	 *             reached.
+	 */
+	private static void runJobs(final StandInConfiguration standInConfiguration,
+			final int jobCount) throws IOException {
+		final StandInServer standInServer = new StandInServer(standInConfiguration);
+
+		standInServer.start();
+
+		final String baseUrl = standInServer.getBaseUrl();
+
+		System.out.println(String.format("Serving a labyrinth of %d rooms at %s",
+				standInServer.labyrinth.getRoomCount(), baseUrl));
+
+		final long startNanoTime = System.nanoTime();
+		final ExplorationDaemon explorationDaemon = new ExplorationDaemon(
+				ExplorationManager.getInstance(), DroneExecutors.getDefault(), 0);
+		final Thread daemonThread = new Thread(explorationDaemon, "ganymede-daemon");
+
+		daemonThread.setDaemon(true);
+		daemonThread.start();
+
+		System.out.println(String.format("Started the daemon in %d ms",
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanoTime)));
+
+		try {
+			long coldMilliseconds = 0;
+			long warmMilliseconds = 0;
+
+			for (int jobIndex = 0; jobIndex < jobCount; jobIndex++) {
+				final String reply = ExplorationDaemon.submit(explorationDaemon.getPort(),
+						String.format("%d %s=%s", jobIndex, ExplorationDaemon.BASE_URL_SETTING,
+								baseUrl));
+				final long elapsedMilliseconds = ExplorationDaemon.getElapsedMilliseconds(reply);
+
+				if (!ExplorationDaemon.isOk(reply)) {
+					System.out.println(reply);
+				}
+
+				if (jobIndex == 0) {
+					coldMilliseconds = elapsedMilliseconds;
+				} else {
+					warmMilliseconds += elapsedMilliseconds;
+				}
+			}
+
+			final long averageWarmMilliseconds = warmMilliseconds / (jobCount - 1);
+
+			System.out.println(String.format("Explored %d rooms %d times through the daemon",
+					standInServer.labyrinth.getRoomCount(), jobCount));
+			System.out.println(String.format(
+					"The cold job took %d ms and the warm ones %d ms on average (%.1fx faster)",
+					coldMilliseconds, averageWarmMilliseconds,
+					coldMilliseconds / (double) Math.max(1, averageWarmMilliseconds)));
+		} finally {
+			explorationDaemon.close();
+			standInServer.stop();
+		}
+	}
+
+	/**
+	 * Starts several {@link StandInServer}s alike but for their seeds, which follow on from the
+	 * configured one, and, if requested, explores all of them at once through
+	 * {@link ExplorationSessions}.
+	 *
+	 * @param standInConfiguration
+	 *            The configuration of the first {@link StandInServer}, which must leave the port to
+	 *            be picked.
+	 * @param sessionCount
+	 *            The number of {@link StandInServer}s to start.
+	 * @param explore
+	 *            Whether to explore the {@link StandInServer}s.
+	 * @throws IOException
+	 *             A server could not be started.
+	 */
+	private static void runSessions(final StandInConfiguration standInConfiguration,
+			final int sessionCount, final boolean explore) throws IOException {
+		final long seed = standInConfiguration.getSeed();
+		final List<StandInServer> standInServers = new ArrayList<>();
+		final ExplorationSessions explorationSessions = new ExplorationSessions();
+
+		try {
+			for (int sessionIndex = 0; sessionIndex < sessionCount; sessionIndex++) {
+				standInConfiguration.setSeed(seed + sessionIndex);
+
+				final StandInServer standInServer = new StandInServer(standInConfiguration);
+
+				standInServer.start();
+				standInServers.add(standInServer);
+
+				final String baseUrl = standInServer.getBaseUrl();
+
+				System.out.println(String.format("Serving a labyrinth of %d rooms at %s",
+						standInServer.labyrinth.getRoomCount(), baseUrl));
+
+				explorationSessions.addSession(String.valueOf(sessionIndex), baseUrl);
+			}
+
+			if (explore && !explorationSessions.run()) {
+				System.out.println("Not every session succeeded.");
+			}
+		} catch (final InterruptedException interruptedException) {
+			interruptedException.printStackTrace();
+		} finally {
+			for (final StandInServer standInServer : standInServers) {
+				standInServer.stop();
+			}
+		}
+	}
+
+	/**
+	 * Starts a {@link StandInServer} and explores it with the given number of shards, the
+	 * coordinator running within this process and every other shard in a process of its own,
+	 * started with the same JVM arguments and class path, then reports how long it took.
+	 *
+	 * @param standInConfiguration
+	 *            The configuration of the {@link StandInServer}.
+	 * @param shardCount
+	 *            The number of shards.
+	 * @throws IOException
+	 *             The server could not be started, or a process could not be started.
+	 */
+	private static void runShards(final StandInConfiguration standInConfiguration,
+			final int shardCount) throws IOException {
+		final StandInServer standInServer = new StandInServer(standInConfiguration);
+
+		standInServer.start();
+
+		final String baseUrl = standInServer.getBaseUrl();
+		final List<Process> processes = new ArrayList<>();
+
+		System.out.println(String.format("Serving a labyrinth of %d rooms at %s",
+				standInServer.labyrinth.getRoomCount(), baseUrl));
+
+		final long startNanoTime = System.nanoTime();
+		final ShardCluster shardCluster = ShardCluster.coordinate(shardCount, 0);
+
+		try {
+			final String java = new File(new File(System.getProperty("java.home"), "bin"),
+					"java").getPath();
+			final List<String> jvmArguments = ManagementFactory.getRuntimeMXBean()
+					.getInputArguments();
+
+			for (int shardIndex = 1; shardIndex < shardCount; shardIndex++) {
+				final List<String> command = new ArrayList<>();
+
+				command.add(java);
+				command.addAll(jvmArguments);
+				command.add(String.format("-D%s=%s", TransportConfiguration.BASE_URL_PROPERTY,
+						baseUrl));
+				command.add(String.format("-D%s=%d", ShardCluster.COUNT_PROPERTY, shardCount));
+				command.add(String.format("-D%s=%d", ShardCluster.INDEX_PROPERTY, shardIndex));
+				command.add(String.format("-D%s=localhost:%d", ShardCluster.COORDINATOR_PROPERTY,
+						shardCluster.getCoordinatorPort()));
+				command.add("-cp");
+				command.add(System.getProperty("java.class.path"));
+				command.add(GanymedeExploration.class.getName());
+
+				processes.add(new ProcessBuilder(command).inheritIO().start());
+			}
+
+			final GanymedeExploration ganymedeExploration = new GanymedeExploration(
+					ExplorationManager.getInstance());
+
+			ganymedeExploration.setShardCluster(shardCluster);
+			ganymedeExploration.execute();
+
+			for (final Process process : processes) {
+				process.waitFor();
+			}
+
+			final long elapsedMilliseconds = TimeUnit.NANOSECONDS
+					.toMillis(System.nanoTime() - startNanoTime);
+
+			System.out.println(String.format("Explored %d rooms in %d ms across %d processes",
+					standInServer.labyrinth.getRoomCount(), elapsedMilliseconds, shardCount));
+		} catch (final InterruptedException interruptedException) {
+			interruptedException.printStackTrace();
+		} finally {
+			for (final Process process : processes) {
+				process.destroy();
+			}
+
+			shardCluster.close();
+			standInServer.stop();
+		}
+	}
+
+	/**
+	 * The {@link ExecutorService} handling requests.
+	 */
+	private ExecutorService executorService;
+
+	/**
+	 * Used to parse request bodies.
+	 */
+	private final Gson gson = new Gson();
+
+	/**
+	 * The underlying HTTP server, once started.
+	 */
+	private HttpServer httpServer;
+
+	/**
+	 * The {@link Labyrinth} being served.
+	 */
+	private final Labyrinth labyrinth;
+
+	/**
+	 * Describes the labyrinth served along with how the server behaves.
+	 */
+	private final StandInConfiguration standInConfiguration;
+
+	/**
+	 * Creates a new {@link StandInServer}.
+	 *
+	 * @param standInConfiguration
+	 *            Describes the labyrinth served along with how the server behaves.
+	 */
+	public StandInServer(final StandInConfiguration standInConfiguration) {
+		this.standInConfiguration = standInConfiguration;
+		this.labyrinth = new Labyrinth(standInConfiguration);
+	}
+
+	/**
+	 * Executes a single command against the {@link Labyrinth}.
+	 *
+	 * @param commandContents
+	 *            The contents of the command.
+	 * @param threadLocalRandom
+	 *            The source of randomness for error injection.
+	 * @return The JSON result of the command.
+	 */
+	private JsonObject executeCommand(final Map<String, String> commandContents,
+			final ThreadLocalRandom threadLocalRandom) {
+		final JsonObject commandResult = new JsonObject();
+		final String exploreRoomId = commandContents.get("explore");
+		final String readRoomId = commandContents.get("read");
+
+		if (threadLocalRandom.nextDouble() < this.standInConfiguration.getCommandErrorRate()) {
+			commandResult.addProperty("error", "Injected command error.");
+		} else if (exploreRoomId != null) {
+			final List<String> connectedRoomIds = this.labyrinth.explore(exploreRoomId);
+
+			if (connectedRoomIds == null) {
+				commandResult.addProperty("error", "Unknown room.");
+			} else {
+				final JsonArray connections = new JsonArray();
+
+				for (final String connectedRoomId : connectedRoomIds) {
+					connections.add(connectedRoomId);
+				}
+
+				commandResult.add("connections", connections);
+			}
+		} else if (readRoomId != null) {
+			final Integer order = this.labyrinth.readOrder(readRoomId);
+
+			if (order == null) {
+				commandResult.addProperty("error", "Unknown room.");
+			} else {
+				commandResult.addProperty("writing", this.labyrinth.readWriting(order));
+				commandResult.addProperty("order", order);
+			}
+		} else {
+			commandResult.addProperty("error", "Unknown command.");
+		}
+
+		return commandResult;
+	}
+
+	/**
+	 * Returns the base URL that clients should use to reach this {@link StandInServer}.
+	 *
+	 * @return The base URL that clients should use to reach this {@link StandInServer}.
+	 */
+	public String getBaseUrl() {
+		final int port = this.httpServer.getAddress().getPort();
+
+		return String.format("http://localhost:%d", port);
+	}
+
+	/**
+	 * Returns the {@link Labyrinth} being served.
+	 *
+	 * @return The {@link Labyrinth} being served.
+	 */
+	public Labyrinth getLabyrinth() {
+		return this.labyrinth;
+	}
+
+	/**
+	 * Sends a JSON response, gzip-compressed if the client accepts it and the body is long enough
+	 * to benefit.
+	 *
+	 * @param httpExchange
+	 *            The request to respond to.
+	 * @param statusCode
+	 *            The HTTP status code of the response.
+	 * @param body
+	 *            The JSON body of the response.
+	 * @throws IOException
+	 *             The response could not be written.
+	 */
+	private void respond(final HttpExchange httpExchange, final int statusCode, final String body)
+			throws IOException {
+		final byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+		final String acceptEncoding = httpExchange.getRequestHeaders().getFirst("Accept-Encoding");
+		final boolean gzip = (acceptEncoding != null) && acceptEncoding.contains("gzip")
+				&& (bodyBytes.length >= StandInServer.MINIMUM_COMPRESSED_LENGTH);
+
+		httpExchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+
+		if (gzip) {
+			httpExchange.getResponseHeaders().set("Content-Encoding", "gzip");
+			httpExchange.sendResponseHeaders(statusCode, 0);
+
+			try (final OutputStream outputStream = new GZIPOutputStream(
+					httpExchange.getResponseBody())) {
+				outputStream.write(bodyBytes);
+			}
+		} else {
+			httpExchange.sendResponseHeaders(statusCode, bodyBytes.length);
+
+			try (final OutputStream outputStream = httpExchange.getResponseBody()) {
+				outputStream.write(bodyBytes);
+			}
+		}
+	}
+
+	/**
+	 * Simulates the latency of executing the given number of commands.
+	 *
+	 * @param commandCount
+	 *            The number of commands executed.
+	 * @param threadLocalRandom
+	 *            The source of randomness for the latency.
+	 */
+	private void sleep(final int commandCount, final ThreadLocalRandom threadLocalRandom) {
+		final double latencyBaseMilliseconds = this.standInConfiguration
+				.getLatencyBaseMilliseconds();
+		final double latencyJitterMilliseconds = this.standInConfiguration
+				.getLatencyJitterMilliseconds();
+		double latencyMilliseconds = 0;
+
+		for (int commandIndex = 0; commandIndex < commandCount; commandIndex++) {
+			latencyMilliseconds += latencyBaseMilliseconds;
+
+			switch (this.standInConfiguration.getLatencyDistribution()) {
+			case EXPONENTIAL:
+				latencyMilliseconds += -latencyJitterMilliseconds
+						* Math.log(1 - threadLocalRandom.nextDouble());
+				break;
+			case UNIFORM:
+				latencyMilliseconds += latencyJitterMilliseconds * threadLocalRandom.nextDouble();
+				break;
+			case FIXED:
+			default:
+				break;
+			}
+		}
+
+		final long latencyNanoseconds = (long) (latencyMilliseconds * 1000000);
+
+		if (latencyNanoseconds > 0) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(latencyNanoseconds);
+			} catch (final InterruptedException interruptedException) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Starts serving requests.
+	 *
+	 * @throws IOException
+	 *             The server could not be bound to its port.
+	 */
+	public void start() throws IOException {
+		final int port = this.standInConfiguration.getPort();
+		final InetSocketAddress inetSocketAddress = new InetSocketAddress("localhost", port);
+
+		if (System.getProperty(StandInServer.NO_DELAY_PROPERTY) == null) {
+			System.setProperty(StandInServer.NO_DELAY_PROPERTY, Boolean.TRUE.toString());
+		}
+
+		this.httpServer = HttpServer.create(inetSocketAddress, 0);
+		this.executorService = Executors.newCachedThreadPool();
+
+		this.httpServer.createContext("/", new NotFoundHandler());
+		this.httpServer.createContext("/start", new StartHandler());
+		this.httpServer.createContext("/drone/", new CommandsHandler());
+		this.httpServer.createContext("/report", new ReportHandler());
+		this.httpServer.setExecutor(this.executorService);
+		this.httpServer.start();
+	}
+
+	/**
+	 * Stops serving requests.
+	 */
+	public void stop() {
+		this.httpServer.stop(0);
+		this.executorService.shutdownNow();
+	}
+}
\ No newline at end of file